@@ -18,6 +18,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.core.Response;
+import java.sql.Connection;
 import java.sql.SQLException;
 
 import static com.jayway.jsonpath.Option.DEFAULT_PATH_LEAF_TO_NULL;
@@ -33,6 +34,7 @@ import static nl.knaw.huc.textrepo.Config.TEXT_MIMETYPE;
 import static nl.knaw.huc.textrepo.Config.TEXT_TYPE;
 import static nl.knaw.huc.textrepo.util.IndexUtils.emptyIndices;
 import static nl.knaw.huc.textrepo.util.RestUtils.createType;
+import static nl.knaw.huc.textrepo.util.TestUtils.sleepMs;
 
 @FullOGNL
 @RunWith(ConcordionRunner.class)
@@ -44,6 +46,7 @@ public abstract class AbstractConcordionTest {
 
   final Logger log = LoggerFactory.getLogger(this.getClass());
   protected final static Client client = JerseyClientBuilder.newClient();
+  private static final int FILE_CHANGES_SETTLE_MS = 2000;
   protected static int textTypeId;
   protected static int fooTypeId;
 
@@ -80,16 +83,34 @@ public abstract class AbstractConcordionTest {
   private void emptyTextRepoDatabase() {
     log.info("truncate tables owned by [{}]", POSTGRES_USER);
 
+    try (var connection = connectToDatabase()) {
+      var statement = connection.createStatement();
+      statement.executeQuery("select truncate_tables_by_owner('" + POSTGRES_USER + "');");
+      if (fileChangesEnabled(connection)) {
+        // let file changes listener handle pending changes before indices are emptied:
+        sleepMs(FILE_CHANGES_SETTLE_MS);
+      }
+    } catch (SQLException ex) {
+      throw new RuntimeException("Could not truncate tables", ex);
+    }
+  }
+
+  protected static Connection connectToDatabase() throws SQLException {
     var host = POSTGRES_HOST;
     var db = POSTGRES_DB;
     var user = POSTGRES_USER;
     var password = POSTGRES_PASSWORD;
+    return getConnection("jdbc:postgresql://" + host + "/" + db, user, password);
+  }
 
-    try (var connection = getConnection("jdbc:postgresql://" + host + "/" + db, user, password)) {
-      var statement = connection.createStatement();
-      statement.executeQuery("select truncate_tables_by_owner('" + POSTGRES_USER + "');");
-    } catch (SQLException ex) {
-      throw new RuntimeException("Could not truncate tables", ex);
+  /**
+   * Changes are only notified when textrepo-app switched on the triggers of its database.
+   */
+  protected static boolean fileChangesEnabled(Connection connection) throws SQLException {
+    try (var statement = connection.createStatement();
+         var result = statement.executeQuery(
+             "select current_setting('textrepo.file_changes', true)")) {
+      return result.next() && "on".equals(result.getString(1));
     }
   }
 
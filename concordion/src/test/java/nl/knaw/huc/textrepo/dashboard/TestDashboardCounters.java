@@ -0,0 +1,72 @@
+package nl.knaw.huc.textrepo.dashboard;
+
+import nl.knaw.huc.textrepo.AbstractConcordionTest;
+import nl.knaw.huc.textrepo.util.RestUtils;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static java.lang.String.format;
+import static nl.knaw.huc.textrepo.Config.HOST;
+import static nl.knaw.huc.textrepo.util.TestUtils.replaceUrlParams;
+
+public class TestDashboardCounters extends AbstractConcordionTest {
+
+  public String createDocument(String externalId) {
+    return RestUtils.createDocument(externalId);
+  }
+
+  public String createFile(String docId) {
+    return RestUtils.createFile(docId, getTextTypeId());
+  }
+
+  public void createMetadata(String docId, String key, String value) {
+    RestUtils.createDocumentMetadata(docId, key, value);
+  }
+
+  public String delete(Object endpoint, Object... params) {
+    var response = client
+        .target(replaceUrlParams(endpoint, params))
+        .request()
+        .delete();
+    return readableStatus(response);
+  }
+
+  public String retrieveCounts() {
+    var response = client
+        .target(HOST + "/dashboard")
+        .request()
+        .get();
+    var json = jsonPath.parse(response.readEntity(String.class));
+    return format("documents: %s, hasFile: %s, hasMetadata: %s, hasBoth: %s, hasNone: %s",
+        json.read("$.documentCount"),
+        json.read("$.hasFile"),
+        json.read("$.hasMetadata"),
+        json.read("$.hasBoth"),
+        json.read("$.hasNone"));
+  }
+
+  public String retrieveOrphans() {
+    var response = client
+        .target(HOST + "/dashboard/orphans")
+        .request()
+        .get();
+    var json = jsonPath.parse(response.readEntity(String.class));
+    return "externalId: " + json.read("$.items[*].externalId");
+  }
+
+  public String retrieveStats(String docId) {
+    var sql = "select file_count, metadata_count from documents_stats where document_id = ?";
+    try (var connection = connectToDatabase();
+         var statement = connection.prepareStatement(sql)) {
+      statement.setObject(1, UUID.fromString(docId));
+      var resultSet = statement.executeQuery();
+      if (!resultSet.next()) {
+        return "no stats";
+      }
+      return format("files: %d, metadata: %d", resultSet.getInt(1), resultSet.getInt(2));
+    } catch (SQLException ex) {
+      throw new RuntimeException("Could not retrieve document stats", ex);
+    }
+  }
+}
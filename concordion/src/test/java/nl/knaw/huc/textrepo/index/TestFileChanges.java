@@ -0,0 +1,96 @@
+package nl.knaw.huc.textrepo.index;
+
+import nl.knaw.huc.textrepo.AbstractConcordionTest;
+import nl.knaw.huc.textrepo.util.RestUtils;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static nl.knaw.huc.textrepo.Config.FILE_INDEX;
+import static nl.knaw.huc.textrepo.util.IndexUtils.indexToUrl;
+import static nl.knaw.huc.textrepo.util.TestUtils.asPrettyJson;
+import static nl.knaw.huc.textrepo.util.TestUtils.sleepMs;
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
+
+public class TestFileChanges extends AbstractConcordionTest {
+
+  private static final int POLL_MS = 250;
+  private static final int TIMEOUT_MS = 10000;
+
+  public String isFileChangesEnabled() {
+    try (var connection = connectToDatabase()) {
+      return fileChangesEnabled(connection) ? "on" : "off";
+    } catch (SQLException ex) {
+      throw new RuntimeException("Could not read file changes setting", ex);
+    }
+  }
+
+  public static class CreateResult {
+    public String fileId;
+    public String versionId1;
+    public String versionId2;
+  }
+
+  public CreateResult createFileWithVersions() {
+    var docId = RestUtils.createDocument("document-" + randomAlphabetic(5));
+    var result = new CreateResult();
+    result.fileId = RestUtils.createFile(docId, textTypeId);
+    result.versionId1 = RestUtils.createVersion(result.fileId, "first contents");
+    result.versionId2 = RestUtils.createVersion(result.fileId, "second contents");
+    return result;
+  }
+
+  public void updateInDatabase(String sql, String id) {
+    try (var connection = connectToDatabase();
+         var statement = connection.prepareStatement(sql)) {
+      statement.setObject(1, UUID.fromString(id));
+      statement.executeUpdate();
+    } catch (SQLException ex) {
+      throw new RuntimeException("Could not update database", ex);
+    }
+  }
+
+  public static class IndexResult {
+    public String body;
+    public String metadataKeys;
+    public int versionCount;
+  }
+
+  public IndexResult waitForFileMetadataKey(String fileId, String key) {
+    return waitForEsDoc(fileId, result -> result.metadataKeys.contains(key));
+  }
+
+  public IndexResult waitForVersionCount(String fileId, int count) {
+    return waitForEsDoc(fileId, result -> result.versionCount == count);
+  }
+
+  /**
+   * Changes made in the database are indexed asynchronously: retrieve ES doc until it matches.
+   */
+  private IndexResult waitForEsDoc(String fileId, Predicate<IndexResult> matches) {
+    var result = retrieveEsDoc(fileId);
+    for (int waited = 0; !matches.test(result) && waited < TIMEOUT_MS; waited += POLL_MS) {
+      sleepMs(POLL_MS);
+      result = retrieveEsDoc(fileId);
+    }
+    return result;
+  }
+
+  private IndexResult retrieveEsDoc(String fileId) {
+    var response = client
+        .target(indexToUrl(FILE_INDEX) + "/_doc/" + fileId)
+        .request()
+        .get();
+    var body = response.readEntity(String.class);
+    var json = jsonPath.parse(body);
+    var result = new IndexResult();
+    result.body = asPrettyJson(body);
+    List<String> keys = json.read("$._source.file.metadata[*].key");
+    result.metadataKeys = keys == null ? "" : String.join(", ", keys);
+    List<Object> versions = json.read("$._source.versions[*]");
+    result.versionCount = versions == null ? 0 : versions.size();
+    return result;
+  }
+}
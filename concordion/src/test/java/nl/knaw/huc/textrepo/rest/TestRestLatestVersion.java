@@ -0,0 +1,91 @@
+package nl.knaw.huc.textrepo.rest;
+
+import nl.knaw.huc.textrepo.AbstractConcordionTest;
+import nl.knaw.huc.textrepo.util.RestUtils;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.util.Map.of;
+import static nl.knaw.huc.textrepo.Config.TEXT_TYPE;
+import static nl.knaw.huc.textrepo.util.TestUtils.replaceInUrlAndQueryParams;
+import static nl.knaw.huc.textrepo.util.TestUtils.replaceUrlParams;
+
+public class TestRestLatestVersion extends AbstractConcordionTest {
+
+  /**
+   * Contents of created versions by version ID.
+   */
+  private final Map<String, String> contentsByVersionId = new HashMap<>();
+
+  public String createDocument(String externalId) {
+    return RestUtils.createDocument(externalId);
+  }
+
+  public String createFile(String docId) {
+    return RestUtils.createFile(docId, getTextTypeId());
+  }
+
+  public String createVersion(String fileId, String contents) {
+    var versionId = RestUtils.createVersion(fileId, contents);
+    contentsByVersionId.put(versionId, contents);
+    return versionId;
+  }
+
+  public String delete(Object endpoint, Object id) {
+    var response = client
+        .target(replaceUrlParams(endpoint, id))
+        .request()
+        .delete();
+    return readableStatus(response);
+  }
+
+  /**
+   * Latest version of file, as kept by the versions trigger, described by its contents.
+   */
+  public String latestVersion(String fileId) {
+    var sql = "select f.latest_version_id, f.latest_contents_sha = v.contents_sha "
+        + "from files f left join versions v on v.id = f.latest_version_id "
+        + "where f.id = ?";
+    try (var connection = connectToDatabase();
+         var statement = connection.prepareStatement(sql)) {
+      statement.setObject(1, UUID.fromString(fileId));
+      var resultSet = statement.executeQuery();
+      if (!resultSet.next()) {
+        return "no file";
+      }
+      var latestVersionId = resultSet.getString(1);
+      if (latestVersionId == null) {
+        return "no latest version";
+      }
+      var latest = "version with contents '" + contentsByVersionId.get(latestVersionId) + "'";
+      return resultSet.getBoolean(2) ? latest : latest + " and stale contents sha";
+    } catch (SQLException ex) {
+      throw new RuntimeException("Could not retrieve latest version", ex);
+    }
+  }
+
+  public String retrieveLatestContents(String endpoint, String externalId) {
+    var response = client
+        .target(replaceInUrlAndQueryParams(endpoint,
+            of("{externalId}", externalId, "{typeName}", TEXT_TYPE)))
+        .request()
+        .get();
+    return response.readEntity(String.class);
+  }
+
+  public int countVersions(String fileId) {
+    var sql = "select count(*) from versions where file_id = ?";
+    try (var connection = connectToDatabase();
+         var statement = connection.prepareStatement(sql)) {
+      statement.setObject(1, UUID.fromString(fileId));
+      var resultSet = statement.executeQuery();
+      resultSet.next();
+      return resultSet.getInt(1);
+    } catch (SQLException ex) {
+      throw new RuntimeException("Could not count versions", ex);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package nl.knaw.huc.textrepo.task;
+
+import nl.knaw.huc.textrepo.AbstractConcordionTest;
+import nl.knaw.huc.textrepo.util.RestUtils;
+
+import static javax.ws.rs.client.Entity.json;
+import static nl.knaw.huc.textrepo.Config.HOST;
+import static nl.knaw.huc.textrepo.util.TestUtils.asPrettyJson;
+
+public class TestDeleteDocuments extends AbstractConcordionTest {
+
+  public String createDocument(String externalId) {
+    return RestUtils.createDocument(externalId);
+  }
+
+  public void createMetadata(String docId, String key, String value) {
+    RestUtils.createDocumentMetadata(docId, key, value);
+  }
+
+  public static class DeleteResult {
+    public int status;
+    public long documents;
+    public String body;
+  }
+
+  public DeleteResult delete(String endpoint, String body) {
+    final var response = client
+        .target(HOST + endpoint)
+        .request()
+        .post(json(body));
+
+    final var result = new DeleteResult();
+    result.status = response.getStatus();
+    var responseBody = response.readEntity(String.class);
+    result.body = asPrettyJson(responseBody);
+    result.documents = jsonPath.parse(responseBody).read("$.documents", Long.class);
+    return result;
+  }
+
+  public int retrieveStatus(String docId) {
+    return client
+        .target(HOST + "/rest/documents/" + docId)
+        .request()
+        .get()
+        .getStatus();
+  }
+
+}
@@ -75,6 +75,21 @@ public class TestImportDocument extends AbstractConcordionTest {
     return result;
   }
 
+  public String versionIdOf(ImportResult result) {
+    return jsonPath.parse(result.body).read("$.versionId");
+  }
+
+  public String identicalVersion(ImportResult result, String earliestId, String latestId) {
+    final var versionId = versionIdOf(result);
+    if (versionId.equals(earliestId)) {
+      return "the earliest version with these contents";
+    }
+    if (versionId.equals(latestId)) {
+      return "the latest version with these contents";
+    }
+    return "another version";
+  }
+
   private String findValidUUID(DocumentContext json, String field) {
     final String str = json.read("$." + field);
     try {
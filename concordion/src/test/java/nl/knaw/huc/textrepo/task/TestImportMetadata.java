@@ -0,0 +1,86 @@
+package nl.knaw.huc.textrepo.task;
+
+import nl.knaw.huc.textrepo.AbstractConcordionTest;
+import nl.knaw.huc.textrepo.util.RestUtils;
+
+import java.util.List;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static javax.ws.rs.client.Entity.entity;
+import static nl.knaw.huc.textrepo.Config.HOST;
+import static nl.knaw.huc.textrepo.util.TestUtils.asCodeBlock;
+import static nl.knaw.huc.textrepo.util.TestUtils.asPrettyJson;
+import static nl.knaw.huc.textrepo.util.TestUtils.replaceUrlParams;
+
+public class TestImportMetadata extends AbstractConcordionTest {
+
+  public String createDocument(String externalId) {
+    return RestUtils.createDocument(externalId);
+  }
+
+  public void createMetadata(String docId, String key, String value) {
+    RestUtils.createDocumentMetadata(docId, key, value);
+  }
+
+  public static class ImportResult {
+    public String ndjson;
+    public int status;
+    public long upserted;
+    public long notFound;
+    public String notFoundLines;
+    public String body;
+  }
+
+  /**
+   * Update existing key and insert new key of document, and update key of unknown document.
+   */
+  public ImportResult importMetadata(String endpoint, String externalId, String unknownId) {
+    var ndjson = entry(externalId, "updatedKey", "new value")
+        + entry(externalId, "insertedKey", "inserted value")
+        + entry(unknownId, "updatedKey", "new value");
+    final var response = client
+        .target(HOST + endpoint)
+        .request()
+        .post(entity(ndjson, "application/x-ndjson"));
+
+    final var result = new ImportResult();
+    result.ndjson = asCodeBlock(ndjson);
+    result.status = response.getStatus();
+    var body = response.readEntity(String.class);
+    result.body = asPrettyJson(body);
+    var json = jsonPath.parse(body);
+    result.upserted = json.read("$.upserted", Long.class);
+    result.notFound = json.read("$.notFound", Long.class);
+    List<Object> lines = json.read("$.notFoundLines");
+    result.notFoundLines = lines.stream().map(String::valueOf).collect(joining(", "));
+    return result;
+  }
+
+  private static String entry(String externalId, String key, String value) {
+    return format("{\"externalId\": \"%s\", \"key\": \"%s\", \"value\": \"%s\"}\n",
+        externalId, key, value);
+  }
+
+  public static class MetadataResult {
+    public String updated;
+    public String inserted;
+    public String body;
+  }
+
+  public MetadataResult retrieveMetadata(String endpoint, String docId) {
+    final var response = client
+        .target(replaceUrlParams(endpoint, docId))
+        .request()
+        .get();
+
+    final var result = new MetadataResult();
+    var body = response.readEntity(String.class);
+    result.body = asPrettyJson(body);
+    var json = jsonPath.parse(body);
+    result.updated = json.read("$.updatedKey");
+    result.inserted = json.read("$.insertedKey");
+    return result;
+  }
+
+}
@@ -0,0 +1,79 @@
+package nl.knaw.huc.textrepo.task;
+
+import nl.knaw.huc.textrepo.AbstractConcordionTest;
+import nl.knaw.huc.textrepo.util.RestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static javax.ws.rs.client.Entity.entity;
+import static nl.knaw.huc.textrepo.Config.HOST;
+import static nl.knaw.huc.textrepo.util.TestUtils.asCodeBlock;
+
+public class TestRegisterIdentifiers extends AbstractConcordionTest {
+
+  /**
+   * External IDs containing delimiters of the copy text format.
+   */
+  private static final String TAB_ID = "register\ttab";
+  private static final String BACKSLASH_ID = "register\\backslash";
+
+  public String createDocument(String externalId) {
+    return RestUtils.createDocument(externalId);
+  }
+
+  public static class RegisterResult {
+    public int status;
+    public String body;
+    public String externalIds;
+    public String existingId;
+    public String duplicateIds;
+  }
+
+  /**
+   * Register existing, new, escaped and duplicate external IDs, one per line.
+   */
+  public RegisterResult register(
+      String endpoint,
+      String existing,
+      String existingDocId,
+      String created
+  ) {
+    var externalIds = List.of(existing, created, TAB_ID, BACKSLASH_ID, created);
+    var response = client
+        .target(HOST + endpoint)
+        .request()
+        .post(entity(String.join("\n", externalIds) + "\n", "text/plain"));
+
+    var result = new RegisterResult();
+    result.status = response.getStatus();
+    var body = response.readEntity(String.class);
+    result.body = asCodeBlock(body);
+    var registeredIds = new ArrayList<String>();
+    var registeredExternalIds = new ArrayList<String>();
+    body.lines().map(jsonPath::parse).forEach(line -> {
+      registeredIds.add(line.read("$.id"));
+      registeredExternalIds.add(line.read("$.externalId"));
+    });
+    result.externalIds = registeredExternalIds.equals(externalIds)
+        ? "in order of registration"
+        : "expected " + externalIds + " but got " + registeredExternalIds;
+    result.existingId = !registeredIds.isEmpty() && registeredIds.get(0).equals(existingDocId)
+        ? "its existing document" : "a different document: " + registeredIds;
+    result.duplicateIds = registeredIds.size() == externalIds.size()
+        && registeredIds.get(1).equals(registeredIds.get(4))
+        ? "the same" : "different: " + registeredIds;
+    return result;
+  }
+
+  public int countByExternalId(String which) {
+    var externalId = "tab".equals(which) ? TAB_ID : BACKSLASH_ID;
+    var body = client
+        .target(HOST + "/rest/documents")
+        .queryParam("externalId", externalId)
+        .queryParam("match", "exact")
+        .request()
+        .get(String.class);
+    return jsonPath.parse(body).read("$.total", Integer.class);
+  }
+}
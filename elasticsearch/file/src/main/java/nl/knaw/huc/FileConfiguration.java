@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.dropwizard.Configuration;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 public class FileConfiguration extends Configuration {
@@ -24,6 +25,18 @@ public class FileConfiguration extends Configuration {
   @NotNull
   private Integer pageSize;
 
+  /**
+   * Max. number of concurrent requests to textrepo.
+   */
+  @Min(1)
+  private int fetchParallelism = 4;
+
+  /**
+   * Seconds to cache types and external IDs of documents, zero to disable.
+   */
+  @Min(0)
+  private int cacheTtlSeconds = 60;
+
   @JsonProperty("mappingFile")
   public String getMappingFile() {
     return mappingFile;
@@ -63,4 +76,24 @@ public class FileConfiguration extends Configuration {
   public void setPageSize(Integer pageSize) {
     this.pageSize = pageSize;
   }
+
+  @JsonProperty("fetchParallelism")
+  public int getFetchParallelism() {
+    return fetchParallelism;
+  }
+
+  @JsonProperty("fetchParallelism")
+  public void setFetchParallelism(int fetchParallelism) {
+    this.fetchParallelism = fetchParallelism;
+  }
+
+  @JsonProperty("cacheTtlSeconds")
+  public int getCacheTtlSeconds() {
+    return cacheTtlSeconds;
+  }
+
+  @JsonProperty("cacheTtlSeconds")
+  public void setCacheTtlSeconds(int cacheTtlSeconds) {
+    this.cacheTtlSeconds = cacheTtlSeconds;
+  }
 }
@@ -18,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
@@ -57,7 +58,19 @@ public class FileIndexer extends Application<FileConfiguration> {
 
     var jsonPath = JsonPathFactory.withJackson(objectMapper);
 
-    var fieldsService = new FieldsService(config.getTextrepoHost(), jsonPath, config.getPageSize());
+    var fetchExecutor = environment
+        .lifecycle()
+        .executorService("fields-fetcher-%d")
+        .minThreads(config.getFetchParallelism())
+        .maxThreads(config.getFetchParallelism())
+        .build();
+    var fieldsService = new FieldsService(
+        config.getTextrepoHost(),
+        jsonPath,
+        config.getPageSize(),
+        fetchExecutor,
+        Duration.ofSeconds(config.getCacheTtlSeconds())
+    );
     var mappingService = new MappingService(config);
     var fileResource = new FileResource(fieldsService, mappingService);
     environment.jersey().register(fileResource);
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 public class FormVersion {
@@ -11,16 +12,19 @@ public class FormVersion {
   private final UUID id;
   private final String sha;
   private final LocalDateTime createdAt;
+  private final Map<String, String> metadata;
 
   @JsonCreator
   public FormVersion(
       @JsonProperty("id") UUID id,
       @JsonProperty("createdAt") LocalDateTime createdAt,
-      @JsonProperty("contentsSha") String sha
+      @JsonProperty("contentsSha") String sha,
+      @JsonProperty("metadata") Map<String, String> metadata
   ) {
     this.id = id;
     this.createdAt = createdAt;
     this.sha = sha;
+    this.metadata = metadata;
   }
 
 
@@ -35,4 +39,11 @@ public class FormVersion {
   public String getSha() {
     return sha;
   }
+
+  /**
+   * Only available in file index fields, null otherwise.
+   */
+  public Map<String, String> getMetadata() {
+    return metadata;
+  }
 }
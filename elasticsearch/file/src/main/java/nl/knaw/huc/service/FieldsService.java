@@ -11,13 +11,21 @@ import nl.knaw.huc.api.ResultFile;
 import nl.knaw.huc.api.ResultMetadataEntry;
 import nl.knaw.huc.api.ResultType;
 import nl.knaw.huc.api.ResultVersion;
+import nl.knaw.huc.exception.TextRepoRequestException;
 import org.glassfish.jersey.client.JerseyClientBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.client.Client;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -26,6 +34,13 @@ import static nl.knaw.huc.service.ResourceUtil.read;
 
 public class FieldsService {
 
+  private static final Logger log = LoggerFactory.getLogger(FieldsService.class);
+
+  /**
+   * File with type, document, metadata and versions in a single response.
+   */
+  private static final String FILE_INDEX_FIELDS_ENDPOINT = "%s/task/index/fields/%s";
+
   private static final String FILE_ENDPOINT = "%s/rest/files/%s";
   private static final String FILE_METADATA_ENDPOINT = "%s/rest/files/%s/metadata";
   private static final String DOC_ENDPOINT = "%s/rest/documents/%s";
@@ -45,17 +60,97 @@ public class FieldsService {
   private final ParseContext jsonPath;
   private final int pageSize;
 
+  /**
+   * Runs concurrent requests, bounding parallelism by its number of threads.
+   * Requests running in executor should not wait for other requests in executor.
+   */
+  private final ExecutorService executor;
+
+  private final TtlCache<Integer, CachedType> typeCache;
+  private final TtlCache<UUID, String> externalIdCache;
+
   public FieldsService(
       String textrepoHost,
       ParseContext jsonPath,
-      int pageSize
+      int pageSize,
+      ExecutorService executor,
+      Duration cacheTtl
   ) {
     this.textrepoHost = textrepoHost;
     this.jsonPath = jsonPath;
     this.pageSize = pageSize;
+    this.executor = executor;
+    this.typeCache = new TtlCache<>(cacheTtl);
+    this.externalIdCache = new TtlCache<>(cacheTtl);
   }
 
+  /**
+   * Create fields using the aggregated file index fields endpoint of textrepo.
+   * When textrepo does not provide this endpoint, request resources one by one.
+   */
   public ResultFields createFields(UUID fileId) {
+    var url = createUrl(textrepoHost, fileId, FILE_INDEX_FIELDS_ENDPOINT);
+    DocumentContext json;
+    try (var response = requestClient.target(url).request().get()) {
+      if (response.getStatus() == 404) {
+        log.debug("Could not find [{}], requesting resources one by one", url);
+        json = null;
+      } else if (response.getStatus() != 200) {
+        throw new TextRepoRequestException(format(
+            "Unexpected response status of [%s]: got %s instead of 200",
+            url, response.getStatus()
+        ));
+      } else {
+        json = jsonPath.parse(response.readEntity(String.class));
+      }
+    }
+    if (json == null) {
+      return createFieldsByResource(fileId);
+    }
+
+    var fields = new ResultFields();
+    var file = new ResultFile();
+    fields.setFile(file);
+    var doc = new ResultDoc();
+    fields.setDoc(doc);
+    var type = new ResultType();
+    file.setType(type);
+
+    file.setId(fileId);
+    file.setMetadata(toMetadataEntries(read(json, "$.fileMetadata")));
+
+    type.setId(read(json, "$.type.id"));
+    type.setName(read(json, "$.type.name"));
+    type.setMimetype(read(json, "$.type.mimetype"));
+
+    String docId = read(json, "$.file.docId");
+    if (docId != null) {
+      doc.setId(UUID.fromString(docId));
+      doc.setExternalId(read(json, "$.doc.externalId"));
+      doc.setMetadata(toMetadataEntries(read(json, "$.docMetadata")));
+    }
+
+    var versions = new ArrayList<ResultVersion>();
+    fields.setVersions(versions);
+    List<FormVersion> forms = read(json, "$.versions", new TypeRef<>() {});
+    forms.forEach(form -> {
+      var version = createResultVersion(form);
+      version.setMetadata(toMetadataEntries(form.getMetadata()));
+      versions.add(version);
+    });
+    setContentsModified(versions);
+    fields.setContentsLastModified(createContentsLastModified(fields));
+
+    return fields;
+  }
+
+  /**
+   * Request resources concurrently when they do not depend on each other.
+   * Types and external IDs of documents are cached, as they are shared by many files
+   * and rarely change.
+   * Document metadata is not cached: it could be indexed stale when changed just before.
+   */
+  private ResultFields createFieldsByResource(UUID fileId) {
     var fields = new ResultFields();
     var file = new ResultFile();
     fields.setFile(file);
@@ -66,15 +161,28 @@ public class FieldsService {
 
     file.setId(fileId);
 
+    var fileMetadata = async(() -> retrieveMetadata(FILE_METADATA_ENDPOINT, fileId));
+    var versions = async(() -> getAllVersions(fileId));
+
     addFileResource(fileId, doc, type);
-    file.setMetadata(retrieveMetadata(FILE_METADATA_ENDPOINT, fileId));
-    addTypeResource(type);
+    var typeResource = async(() -> typeCache.get(type.getId(), this::getTypeResource));
     var hasDocument = fields.getDoc().getId() != null;
+    var docResource = hasDocument
+        ? async(() -> externalIdCache.get(doc.getId(), this::getDocExternalId))
+        : null;
+    var docMetadata = hasDocument
+        ? async(() -> retrieveMetadata(DOC_METADATA_ENDPOINT, doc.getId()))
+        : null;
+
+    file.setMetadata(join(fileMetadata));
+    var cachedType = join(typeResource);
+    type.setName(cachedType.name());
+    type.setMimetype(cachedType.mimetype());
     if (hasDocument) {
-      addDocResource(doc);
-      doc.setMetadata(retrieveMetadata(DOC_METADATA_ENDPOINT, doc.getId()));
+      doc.setExternalId(join(docResource));
+      doc.setMetadata(join(docMetadata));
     }
-    addVersionsResource(fileId, fields);
+    addVersionsResource(join(versions), fields);
 
     return fields;
   }
@@ -88,37 +196,47 @@ public class FieldsService {
     type.setId(read(fileJson, "$.typeId"));
   }
 
-  private void addTypeResource(ResultType type) {
-    var typeJson = getRestResource(TYPE_ENDPOINT, type.getId());
-    type.setName(read(typeJson, "$.name"));
-    type.setMimetype(read(typeJson, "$.mimetype"));
+  private CachedType getTypeResource(Integer typeId) {
+    var typeJson = getRestResource(TYPE_ENDPOINT, typeId);
+    return new CachedType(read(typeJson, "$.name"), read(typeJson, "$.mimetype"));
   }
 
-  private void addDocResource(ResultDoc doc) {
-    var docJson = getRestResource(DOC_ENDPOINT, doc.getId());
-    doc.setExternalId(read(docJson, "$.externalId"));
+  private String getDocExternalId(UUID docId) {
+    return read(getRestResource(DOC_ENDPOINT, docId), "$.externalId");
   }
 
   private List<ResultMetadataEntry> retrieveMetadata(String endpoint, UUID id) {
     var docMetadataJson = getRestResource(endpoint, id);
     Map<String, String> form = read(docMetadataJson, "$");
-    return form
+    return toMetadataEntries(form);
+  }
+
+  private List<ResultMetadataEntry> toMetadataEntries(Map<String, String> metadata) {
+    if (metadata == null) {
+      return new ArrayList<>();
+    }
+    return metadata
         .entrySet()
         .stream()
         .map((entry) -> new ResultMetadataEntry(entry.getKey(), entry.getValue()))
         .collect(Collectors.toList());
   }
 
-  private void addVersionsResource(UUID fileId, ResultFields fields) {
-    var versions = new ArrayList<ResultVersion>();
+  private void addVersionsResource(ArrayList<ResultVersion> versions, ResultFields fields) {
     fields.setVersions(versions);
-    getAllVersions(fileId, versions);
     setContentsModified(versions);
     fields.setContentsLastModified(createContentsLastModified(fields));
-    versions.forEach(version -> version.setMetadata(retrieveMetadata(VERSION_METADATA_ENDPOINT, version.getId())));
+    var versionMetadata = versions
+        .stream()
+        .map(version -> async(() -> retrieveMetadata(VERSION_METADATA_ENDPOINT, version.getId())))
+        .collect(Collectors.toList());
+    for (var index = 0; index < versions.size(); index++) {
+      versions.get(index).setMetadata(join(versionMetadata.get(index)));
+    }
   }
 
-  private void getAllVersions(UUID fileId, ArrayList<ResultVersion> versions) {
+  private ArrayList<ResultVersion> getAllVersions(UUID fileId) {
+    var versions = new ArrayList<ResultVersion>();
     var versionsUrl = createUrl(textrepoHost, fileId, VERSIONS_ENDPOINT);
     var ref = new TypeRef<List<FormVersion>>() {};
 
@@ -126,6 +244,25 @@ public class FieldsService {
     pageTurner.turn(formVersions -> {
       formVersions.forEach((form) -> versions.add(createResultVersion(form)));
     });
+    return versions;
+  }
+
+  private <T> CompletableFuture<T> async(Supplier<T> request) {
+    return CompletableFuture.supplyAsync(request, executor);
+  }
+
+  /**
+   * Wait for request to complete, rethrowing its exception.
+   */
+  private static <T> T join(CompletableFuture<T> request) {
+    try {
+      return request.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
   }
 
   private void setContentsModified(ArrayList<ResultVersion> versions) {
@@ -180,12 +317,16 @@ public class FieldsService {
     var request = requestClient
         .target(url)
         .request();
-    var response = getResource(url, request);
-    return jsonPath.parse(response.readEntity(String.class));
+    try (var response = getResource(url, request)) {
+      return jsonPath.parse(response.readEntity(String.class));
+    }
   }
 
   private String createUrl(String host, Object id, String endpoint) {
     return format(endpoint, host, id);
   }
 
+  private record CachedType(String name, String mimetype) {
+  }
+
 }
@@ -16,16 +16,20 @@ import java.util.function.Consumer;
 import static nl.knaw.huc.service.ResourceUtil.read;
 
 /**
- * Turn the pages of a paginated resource based on query params:
+ * Turn the pages of a paginated resource based on query params.
+ * Query params are:
  * - limit
  * - offset (zero-based)
+ * - cursor (optional, replaces offset)
  * The following json-page-structure is expected:
  * ```
  * {
  * "items": [],
- * "total": number
+ * "total": number,
+ * "page": { "nextCursor": string (optional) }
  * }
  * ```
+ * When a page contains a next cursor, the next page is requested by cursor instead of offset
  *
  * <p>T is type of item in $.items.
  * JsonPath needs TypeRef to infer type correctly
@@ -68,23 +72,28 @@ public class PageTurner<T> {
 
     // set total number of items after retrieving first page:
     var total = -1;
+    String cursor = null;
 
     while (total == -1 || total > offset) {
-      var page = getPage(limit, offset);
+      var page = getPage(limit, offset, cursor);
       if (total == -1) {
         total = read(page, "$.total");
       }
       var items = read(page, "items", itemType);
       reader.accept(items);
       offset += limit;
+      cursor = read(page, "$.page.nextCursor");
     }
   }
 
-  private DocumentContext getPage(int limit, int offset) {
-    var response = client
+  private DocumentContext getPage(int limit, int offset, String cursor) {
+    var target = client
         .target(paginated)
-        .queryParam("limit", limit)
-        .queryParam("offset", offset)
+        .queryParam("limit", limit);
+    target = cursor == null
+        ? target.queryParam("offset", offset)
+        : target.queryParam("cursor", cursor);
+    var response = target
         .request()
         .get();
 
@@ -35,9 +35,14 @@ public class ResourceUtil {
     }
   }
 
+  /**
+   * Get resource, closing response when status is not 200.
+   * @throws TextRepoRequestException when status is not 200
+   */
   public static Response getResource(String url, Invocation.Builder request) {
     var response = request.get();
     if (response.getStatus() != 200) {
+      response.close();
       throw new TextRepoRequestException(format(
           "Unexpected response status of [%s]: got %s instead of 200",
           url, response.getStatus()
@@ -0,0 +1,45 @@
+package nl.knaw.huc.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache values for a fixed time to live.
+ *
+ * <p>Expired values are replaced on next request.
+ * A time to live of zero disables caching.
+ */
+public class TtlCache<K, V> {
+
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final long ttlNanos;
+
+  public TtlCache(Duration ttl) {
+    this.ttlNanos = ttl.toNanos();
+  }
+
+  public V get(K key, Function<K, V> loader) {
+    if (ttlNanos <= 0) {
+      return loader.apply(key);
+    }
+    var now = System.nanoTime();
+    var entry = entries.get(key);
+    if (entry != null && now - entry.createdAt < ttlNanos) {
+      return entry.value;
+    }
+    var value = loader.apply(key);
+    entries.put(key, new Entry<>(value, now));
+    removeExpired(now);
+    return value;
+  }
+
+  private void removeExpired(long now) {
+    entries.values().removeIf(entry -> now - entry.createdAt >= ttlNanos);
+  }
+
+  private record Entry<V>(V value, long createdAt) {
+  }
+
+}
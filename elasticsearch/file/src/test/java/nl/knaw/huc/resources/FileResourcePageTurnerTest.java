@@ -29,6 +29,7 @@ import javax.ws.rs.core.Response;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static javax.ws.rs.client.Entity.entity;
@@ -127,6 +128,45 @@ public class FileResourcePageTurnerTest {
     mockRequests.forEach((mr) -> mockServer.verify(mr, once()));
   }
 
+  @Test
+  public void testFields_retrievesVersionPagesByCursor() throws IOException {
+    // start resource mocks:
+    var mockRequests = startTextrepoMockServer();
+    startTextrepoMockServer_versionEndpointsWithCursor(mockRequests);
+
+    // create test file:
+    var fileContents = getResourceAsBytes("file.txt");
+    var fileId = UUID.randomUUID().toString();
+
+    var response = postTestContents(fileContents, "text/plain", fileId);
+    var fields = response.readEntity(String.class);
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    var json = JsonPath.parse(fields);
+    assertThat(json.read("$.versions.length()", Integer.class)).isEqualTo(5);
+    assertThat(json.read("$.versions[2].id", String.class)).contains("1111");
+    assertThat(json.read("$.versions[4].id", String.class)).contains("9999");
+
+    // check indexer has requested pages after first page by cursor:
+    mockRequests.forEach((mr) -> mockServer.verify(mr, once()));
+  }
+
+  private void startTextrepoMockServer_versionEndpointsWithCursor(
+      ArrayList<HttpRequest> mockRequests
+  ) throws IOException {
+    var versionsEndpoint = "/rest/files/[a-f0-9-]*/versions";
+
+    mockRequests.add(mockEndpointPage(versionsEndpoint, "textrepo-versions-cursor-page1.json", 0, 2));
+    mockRequests.add(mockEndpointCursorPage(versionsEndpoint, "textrepo-versions-cursor-page2.json",
+        "cursor-after-2222", 2));
+    mockRequests.add(mockEndpointCursorPage(versionsEndpoint, "textrepo-versions-page3.json",
+        "cursor-after-0000", 2));
+    for (var version : List.of("3333", "2222", "1111", "0000", "9999")) {
+      mockRequests.add(mockEndpoint("/rest/versions/" + version + "0128-02be-4938-ba84-8d9dd70e19a5/metadata",
+          "textrepo-no-metadata.json"));
+    }
+  }
+
   private void startTextrepoMockServer_versionEndpoints(
       ArrayList<HttpRequest> mockRequests
   ) throws IOException {
@@ -210,6 +250,24 @@ public class FileResourcePageTurnerTest {
     return request;
   }
 
+  private HttpRequest mockEndpointCursorPage(String versionsEndpoint, String versionPage, String cursor, int limit)
+      throws IOException {
+    var request = request()
+        .withMethod("GET")
+        .withPath(versionsEndpoint)
+        .withQueryStringParameter("limit", "" + limit)
+        .withQueryStringParameter("cursor", cursor);
+    mockServer.when(
+        request
+    ).respond(
+        response()
+            .withStatusCode(200)
+            .withHeader("content-type: application/json")
+            .withBody(getResourceAsBytes(versionPage))
+    );
+    return request;
+  }
+
   private HttpRequest mockEndpoint(String endpoint, String responseFilename) throws IOException {
     var request = request()
         .withMethod("GET")
@@ -37,6 +37,7 @@ import static nl.knaw.huc.service.JsonPathFactory.withJackson;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockserver.model.HttpRequest.request;
 import static org.mockserver.model.HttpResponse.response;
+import static org.mockserver.verify.VerificationTimes.exactly;
 import static org.mockserver.verify.VerificationTimes.once;
 
 @ExtendWith(DropwizardExtensionsSupport.class)
@@ -217,6 +218,36 @@ public class FileResourceTest {
     mockRequests.forEach((mr) -> mockServer.verify(mr, once()));
   }
 
+  @Test
+  public void testFields_requestsFileIndexFieldsOnce() throws IOException {
+    var fieldsRequest = mockEndpoint(
+        "/task/index/fields/[a-f0-9-]*",
+        "textrepo-file-index-fields.json"
+    );
+    var fileContents = getResourceAsBytes("file.txt");
+    var fileId = UUID.randomUUID().toString();
+
+    var response = postTestContents(fileContents, "text/plain", fileId);
+    var fields = response.readEntity(String.class);
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    var json = JsonPath.parse(fields);
+    assertThat(json.read("$.file.id", String.class)).isEqualTo(fileId);
+    assertThat(json.read("$.file.type.name", String.class)).isEqualTo("test-type");
+    assertThat(json.read("$.file.metadata[1].value", String.class)).isEqualTo("eggs");
+    assertThat(json.read("$.doc.externalId", String.class))
+        .isEqualTo("dat-pak-melk-buiten-de-koelkast");
+    assertThat(json.read("$.doc.metadata[0].key", String.class)).isEqualTo("docfoo");
+    assertThat(json.read("$.versions[0].metadata[1].value", String.class))
+        .isEqualTo("versioneggs");
+    assertThat(json.read("$.versions[1].contentsModified", Boolean.class)).isEqualTo(false);
+    assertThat(json.read("$.contentsLastModified.versionId", String.class))
+        .isEqualTo("33330128-02be-4938-ba84-8d9dd70e19a5");
+    // check indexer has not requested any other TR endpoint:
+    mockServer.verify(fieldsRequest, once());
+    mockServer.verify(request().withPath("/rest/.*"), exactly(0));
+  }
+
   private String getHost() {
     return "http://localhost:" + application.getLocalPort();
   }
@@ -0,0 +1,97 @@
+-- Notify listeners of changes that affect the ES docs of a file.
+-- Payload of channel 'file_changes' is the ID of the changed file.
+-- Identical notifications within a transaction are delivered once.
+--
+-- Triggers only fire when setting 'textrepo.file_changes' is 'on',
+-- which textrepo-app sets for the database when listening to file changes.
+-- Otherwise writes do not pay for looking up files and queueing notifications.
+create or replace function notify_file_change(changed_file_id uuid) returns void as $$
+begin
+  if changed_file_id is not null then
+    perform pg_notify('file_changes', changed_file_id::text);
+  end if;
+end;
+$$ language plpgsql;
+
+-- Trigger argument: name of column containing file ID
+create or replace function notify_file_change_by_file_id() returns trigger as $$
+begin
+  if tg_op in ('UPDATE', 'DELETE') then
+    perform notify_file_change((to_jsonb(old) ->> tg_argv[0])::uuid);
+  end if;
+  if tg_op in ('INSERT', 'UPDATE') then
+    perform notify_file_change((to_jsonb(new) ->> tg_argv[0])::uuid);
+  end if;
+  return null;
+end;
+$$ language plpgsql;
+
+-- Trigger argument: name of column containing version ID
+create or replace function notify_file_change_by_version_id() returns trigger as $$
+begin
+  if tg_op in ('UPDATE', 'DELETE') then
+    perform notify_file_change(v.file_id)
+      from versions v
+      where v.id = (to_jsonb(old) ->> tg_argv[0])::uuid;
+  end if;
+  if tg_op in ('INSERT', 'UPDATE') then
+    perform notify_file_change(v.file_id)
+      from versions v
+      where v.id = (to_jsonb(new) ->> tg_argv[0])::uuid;
+  end if;
+  return null;
+end;
+$$ language plpgsql;
+
+-- Trigger argument: name of column containing document ID
+create or replace function notify_file_change_by_document_id() returns trigger as $$
+begin
+  if tg_op in ('UPDATE', 'DELETE') then
+    perform notify_file_change(df.file_id)
+      from documents_files df
+      where df.document_id = (to_jsonb(old) ->> tg_argv[0])::uuid;
+  end if;
+  if tg_op in ('INSERT', 'UPDATE') then
+    perform notify_file_change(df.file_id)
+      from documents_files df
+      where df.document_id = (to_jsonb(new) ->> tg_argv[0])::uuid;
+  end if;
+  return null;
+end;
+$$ language plpgsql;
+
+create trigger files_notify_file_change
+  after insert or update or delete on files
+  for each row when (current_setting('textrepo.file_changes', true) = 'on')
+  execute function notify_file_change_by_file_id('id');
+
+create trigger versions_notify_file_change
+  after insert or update or delete on versions
+  for each row when (current_setting('textrepo.file_changes', true) = 'on')
+  execute function notify_file_change_by_file_id('file_id');
+
+create trigger files_metadata_notify_file_change
+  after insert or update or delete on files_metadata
+  for each row when (current_setting('textrepo.file_changes', true) = 'on')
+  execute function notify_file_change_by_file_id('file_id');
+
+create trigger documents_files_notify_file_change
+  after insert or update or delete on documents_files
+  for each row when (current_setting('textrepo.file_changes', true) = 'on')
+  execute function notify_file_change_by_file_id('file_id');
+
+create trigger versions_metadata_notify_file_change
+  after insert or update or delete on versions_metadata
+  for each row when (current_setting('textrepo.file_changes', true) = 'on')
+  execute function notify_file_change_by_version_id('version_id');
+
+create trigger documents_metadata_notify_file_change
+  after insert or update or delete on documents_metadata
+  for each row when (current_setting('textrepo.file_changes', true) = 'on')
+  execute function notify_file_change_by_document_id('document_id');
+
+-- Files of new documents are notified when linked in documents_files
+create trigger documents_notify_file_change
+  after update on documents
+  for each row when (current_setting('textrepo.file_changes', true) = 'on')
+  execute function notify_file_change_by_document_id('id');
@@ -0,0 +1,3 @@
+-- Support pagination by cursor: newest first, ties broken by ID
+create index documents_by_created_at_id on documents (created_at, id);
+create index versions_by_file_id_created_at_id on versions (file_id, created_at, id);
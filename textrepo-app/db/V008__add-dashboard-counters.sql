@@ -0,0 +1,165 @@
+-- Dashboard counters, kept up to date by triggers instead of scanning all documents.
+
+-- Number of files and metadata entries per document.
+-- Rows are added and removed together with their document by triggers. No foreign key:
+-- the cascaded deletes of files and metadata can run before or after removal of the row.
+create table documents_stats (
+  document_id uuid primary key,
+  file_count int not null default 0,
+  metadata_count int not null default 0
+);
+
+-- Find documents without files or metadata, without scanning all documents:
+create index documents_stats_orphans on documents_stats (document_id)
+  where file_count = 0 and metadata_count = 0;
+
+-- Counter totals: document_count, has_file, has_metadata, has_both
+create table dashboard_counts (
+  name varchar primary key,
+  count bigint not null
+);
+
+-- Counter changes, appended by triggers to prevent locking a single counter row,
+-- and periodically added to dashboard_counts by the app.
+create table dashboard_count_deltas (
+  name varchar not null,
+  delta bigint not null
+);
+
+create or replace function count_dashboard_delta(counter varchar, delta bigint) returns void as $$
+begin
+  insert into dashboard_count_deltas (name, delta) values (counter, delta);
+end;
+$$ language plpgsql;
+
+-- Add delta to file or metadata count of document, and count documents that gain or lose
+-- their first file or metadata entry.
+-- Entries removed after their document was deleted are not counted: the remaining entries
+-- of the document were uncounted when its stats were removed.
+create or replace function count_document_stats_delta(
+  changed_document_id uuid,
+  kind varchar,
+  delta int
+) returns void as $$
+declare
+  stats documents_stats;
+  changed_count int;
+  other_count int;
+begin
+  if delta < 0 then
+    if kind = 'file' then
+      update documents_stats set file_count = file_count + delta
+        where document_id = changed_document_id
+        returning * into stats;
+    else
+      update documents_stats set metadata_count = metadata_count + delta
+        where document_id = changed_document_id
+        returning * into stats;
+    end if;
+    if not found then
+      return;
+    end if;
+  elsif kind = 'file' then
+    insert into documents_stats as s (document_id, file_count)
+      values (changed_document_id, delta)
+      on conflict (document_id) do update set file_count = s.file_count + delta
+      returning * into stats;
+  else
+    insert into documents_stats as s (document_id, metadata_count)
+      values (changed_document_id, delta)
+      on conflict (document_id) do update set metadata_count = s.metadata_count + delta
+      returning * into stats;
+  end if;
+
+  if kind = 'file' then
+    changed_count := stats.file_count;
+    other_count := stats.metadata_count;
+  else
+    changed_count := stats.metadata_count;
+    other_count := stats.file_count;
+  end if;
+
+  -- first entry added, or last entry removed:
+  if (delta > 0 and changed_count = delta) or (delta < 0 and changed_count = 0) then
+    perform count_dashboard_delta('has_' || kind, delta);
+    if other_count > 0 then
+      perform count_dashboard_delta('has_both', delta);
+    end if;
+  end if;
+end;
+$$ language plpgsql;
+
+-- Trigger argument: kind of document entry, 'file' or 'metadata'
+create or replace function count_document_stats() returns trigger as $$
+begin
+  if tg_op = 'UPDATE' and old.document_id = new.document_id then
+    return null;
+  end if;
+  if tg_op in ('UPDATE', 'DELETE') then
+    perform count_document_stats_delta(old.document_id, tg_argv[0], -1);
+  end if;
+  if tg_op in ('INSERT', 'UPDATE') then
+    perform count_document_stats_delta(new.document_id, tg_argv[0], 1);
+  end if;
+  return null;
+end;
+$$ language plpgsql;
+
+-- Add stats of new documents, and remove stats of deleted documents
+-- together with the counts of their remaining files and metadata entries.
+create or replace function count_documents() returns trigger as $$
+declare
+  stats documents_stats;
+begin
+  if tg_op = 'INSERT' then
+    insert into documents_stats (document_id) values (new.id)
+      on conflict (document_id) do nothing;
+    perform count_dashboard_delta('document_count', 1);
+    return null;
+  end if;
+
+  delete from documents_stats where document_id = old.id
+    returning * into stats;
+  if found then
+    if stats.file_count > 0 then
+      perform count_dashboard_delta('has_file', -1);
+    end if;
+    if stats.metadata_count > 0 then
+      perform count_dashboard_delta('has_metadata', -1);
+    end if;
+    if stats.file_count > 0 and stats.metadata_count > 0 then
+      perform count_dashboard_delta('has_both', -1);
+    end if;
+  end if;
+  perform count_dashboard_delta('document_count', -1);
+  return null;
+end;
+$$ language plpgsql;
+
+create trigger documents_count_documents
+  after insert or delete on documents
+  for each row execute function count_documents();
+
+create trigger documents_files_count_document_stats
+  after insert or update or delete on documents_files
+  for each row execute function count_document_stats('file');
+
+create trigger documents_metadata_count_document_stats
+  after insert or update or delete on documents_metadata
+  for each row execute function count_document_stats('metadata');
+
+-- Count existing documents:
+insert into documents_stats (document_id, file_count, metadata_count)
+  select d.id,
+         (select count(*) from documents_files df where df.document_id = d.id),
+         (select count(*) from documents_metadata dm where dm.document_id = d.id)
+  from documents d;
+
+insert into dashboard_counts (name, count)
+  select 'document_count', count(*) from documents
+  union all
+  select 'has_file', count(*) from documents_stats where file_count > 0
+  union all
+  select 'has_metadata', count(*) from documents_stats where metadata_count > 0
+  union all
+  select 'has_both', count(*) from documents_stats where file_count > 0 and metadata_count > 0;
@@ -0,0 +1,57 @@
+-- Latest version of a file, kept up to date by triggers on versions,
+-- to find the latest version by primary key instead of sorting all versions of a file.
+-- No foreign key: the trigger resets the columns when the latest version is deleted.
+alter table files
+  add column latest_version_id uuid,
+  add column latest_contents_sha char(56);
+
+-- Newest version by creation date, ties broken by ID,
+-- using index versions_by_file_id_created_at_id
+create or replace function update_latest_version(changed_file_id uuid) returns void as $$
+declare
+  latest versions;
+begin
+  -- lock file first, so concurrent version changes see each other's versions;
+  -- no key update: the foreign key check of a new version already holds a key share lock,
+  -- which would deadlock a concurrent 'for update'
+  perform 1 from files where id = changed_file_id for no key update;
+  select * into latest
+    from versions
+    where file_id = changed_file_id
+    order by created_at desc, id desc
+    limit 1;
+  -- no versions left: latest is null
+  update files
+    set latest_version_id = latest.id,
+        latest_contents_sha = latest.contents_sha
+    where id = changed_file_id
+      and latest_version_id is distinct from latest.id;
+end;
+$$ language plpgsql;
+
+create or replace function update_latest_version_by_file_id() returns trigger as $$
+begin
+  if tg_op in ('UPDATE', 'DELETE') then
+    perform update_latest_version(old.file_id);
+  end if;
+  if tg_op = 'INSERT' or (tg_op = 'UPDATE' and old.file_id <> new.file_id) then
+    perform update_latest_version(new.file_id);
+  end if;
+  return null;
+end;
+$$ language plpgsql;
+
+create trigger versions_update_latest_version
+  after insert or update or delete on versions
+  for each row execute function update_latest_version_by_file_id();
+
+-- Set latest version of existing files:
+update files f
+  set latest_version_id = v.id,
+      latest_contents_sha = v.contents_sha
+  from (
+    select distinct on (file_id) file_id, id, contents_sha
+      from versions
+      order by file_id, created_at desc, id desc
+  ) v
+  where v.file_id = f.id;
@@ -0,0 +1,3 @@
+-- Find versions of a file with identical contents without reading all versions of the file
+create index versions_by_file_id_contents_sha_created_at
+  on versions (file_id, contents_sha, created_at);
@@ -0,0 +1,12 @@
+-- Search metadata by key and value, or by part of value.
+-- Values are indexed by their md5 hash, as btree index entries cannot contain long values.
+create extension if not exists pg_trgm;
+
+create index documents_metadata_by_key_value on documents_metadata (key, md5(value));
+create index files_metadata_by_key_value on files_metadata (key, md5(value));
+create index versions_metadata_by_key_value on versions_metadata (key, md5(value));
+
+-- Find values by prefix or by contained text
+create index documents_metadata_by_value_trgm on documents_metadata using gin (value gin_trgm_ops);
+create index files_metadata_by_value_trgm on files_metadata using gin (value gin_trgm_ops);
+create index versions_metadata_by_value_trgm on versions_metadata using gin (value gin_trgm_ops);
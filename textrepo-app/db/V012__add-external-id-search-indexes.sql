@@ -0,0 +1,6 @@
+-- Find documents by prefix of external ID, independent of collation
+create index documents_by_external_id_pattern on documents (external_id text_pattern_ops);
+
+-- Find documents by contained text or by like-pattern of external ID,
+-- using extension pg_trgm (see V011)
+create index documents_by_external_id_trgm on documents using gin (external_id gin_trgm_ops);
@@ -0,0 +1,75 @@
+-- Change log of documents, files, versions and their metadata.
+
+-- Changes appended by triggers, moved to the change log by the app.
+create table pending_changes (
+  id bigserial primary key,
+  entity varchar not null,
+  entity_id uuid not null,
+  operation varchar not null,
+  key varchar,
+  changed_at timestamp not null default now()
+);
+
+-- Sequence numbers are assigned when moving committed pending changes, one mover at a time,
+-- so a change is never added with a lower sequence number than a change already read.
+create table changes (
+  seq bigint primary key,
+  entity varchar not null,
+  entity_id uuid not null,
+  operation varchar not null,
+  key varchar,
+  changed_at timestamp not null
+);
+
+-- Trigger arguments: entity name, name of column containing entity ID,
+-- and optionally name of column containing metadata key
+create or replace function log_change() returns trigger as $$
+declare
+  changed jsonb;
+begin
+  if tg_op = 'DELETE' then
+    changed := to_jsonb(old);
+  else
+    changed := to_jsonb(new);
+  end if;
+  insert into pending_changes (entity, entity_id, operation, key)
+    values (
+      tg_argv[0],
+      (changed ->> tg_argv[1])::uuid,
+      lower(tg_op),
+      case when tg_nargs > 2 then changed ->> tg_argv[2] end
+    );
+  return null;
+end;
+$$ language plpgsql;
+
+create trigger documents_log_change
+  after insert or update or delete on documents
+  for each row execute function log_change('document', 'id');
+
+-- Ignore updates of latest version (see V009), logged as version changes:
+create trigger files_log_change
+  after insert or delete on files
+  for each row execute function log_change('file', 'id');
+
+create trigger files_log_type_change
+  after update on files
+  for each row
+  when (old.type_id is distinct from new.type_id)
+  execute function log_change('file', 'id');
+
+create trigger versions_log_change
+  after insert or update or delete on versions
+  for each row execute function log_change('version', 'id');
+
+create trigger documents_metadata_log_change
+  after insert or update or delete on documents_metadata
+  for each row execute function log_change('document_metadata', 'document_id', 'key');
+
+create trigger files_metadata_log_change
+  after insert or update or delete on files_metadata
+  for each row execute function log_change('file_metadata', 'file_id', 'key');
+
+create trigger versions_metadata_log_change
+  after insert or update or delete on versions_metadata
+  for each row execute function log_change('version_metadata', 'version_id', 'key');
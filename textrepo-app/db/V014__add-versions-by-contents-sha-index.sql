@@ -0,0 +1,3 @@
+-- Find versions referencing contents, when deleting contents that may no longer be in use
+-- (also used by the foreign key check on deleting contents)
+create index versions_by_contents_sha on versions (contents_sha);
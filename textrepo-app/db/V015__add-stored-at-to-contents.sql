@@ -0,0 +1,6 @@
+-- Time contents were last stored, by an import or a new version.
+-- Unused contents are only deleted after a grace period, so contents stored just before
+-- their version is created are not deleted in between.
+-- Existing contents get the time of this migration.
+alter table contents
+  add column stored_at timestamp not null default now();
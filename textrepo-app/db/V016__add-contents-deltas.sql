@@ -0,0 +1,11 @@
+-- Contents can be stored as a delta against the contents of an earlier version of the file:
+-- base_sha is the sha of those contents, and delta_depth the number of deltas to apply to the
+-- nearest full contents. Contents of base_sha are kept until no delta refers to them.
+alter table contents
+  add column base_sha char(56),
+  add column delta_depth smallint not null default 0,
+  -- constraint name is used in textrepo-app:
+  add constraint contents_base_sha_fkey foreign key (base_sha) references contents (sha224);
+
+-- Find deltas of contents, when deleting contents that may no longer be in use
+create index contents_by_base_sha on contents (base_sha) where base_sha is not null;
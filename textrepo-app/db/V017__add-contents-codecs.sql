@@ -0,0 +1,17 @@
+-- Compression dictionaries, trained per file type from a sample of its contents.
+-- No foreign key on type: dictionaries are needed to read contents after their type is deleted.
+create table contents_dictionaries (
+  id serial primary key,
+  type_id smallint not null,
+  dictionary bytea not null,
+  created_at timestamp with time zone not null default now()
+);
+
+-- Find latest dictionary of type, when compressing new contents
+create index contents_dictionaries_by_type_id on contents_dictionaries (type_id, id);
+
+-- Codec of full contents, optionally using a dictionary: 'gzip' or 'deflate'.
+-- Deltas are stored uncompressed, regardless of codec.
+alter table contents
+  add column codec varchar(16) not null default 'gzip',
+  add column dictionary_id int references contents_dictionaries (id);
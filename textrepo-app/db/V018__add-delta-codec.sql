@@ -0,0 +1,6 @@
+-- Deltas are stored uncompressed, with codec 'delta': full contents use any other codec.
+-- Deltas stored before this migration got the default codec of V017.
+update contents set codec = 'delta' where base_sha is not null;
+
+alter table contents
+  add constraint contents_delta_codec check ((base_sha is not null) = (codec = 'delta'));
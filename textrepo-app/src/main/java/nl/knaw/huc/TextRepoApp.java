@@ -1,6 +1,9 @@
 package nl.knaw.huc;
 
+import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toMap;
+import static nl.knaw.huc.service.index.IndexLane.BULK;
+import static nl.knaw.huc.service.index.IndexLane.INTERACTIVE;
 
 import com.codahale.metrics.health.HealthCheck;
 import com.fasterxml.jackson.databind.module.SimpleModule;
@@ -32,7 +35,12 @@ import nl.knaw.huc.resources.view.SegmentViewerResource;
 import nl.knaw.huc.resources.view.TextViewerResource;
 import nl.knaw.huc.resources.view.ViewBuilderFactory;
 import nl.knaw.huc.resources.view.XmlViewerResource;
+import nl.knaw.huc.service.changes.ChangeSequencer;
+import nl.knaw.huc.service.changes.JdbiChangeService;
 import nl.knaw.huc.service.contents.ContentsService;
+import nl.knaw.huc.service.contents.JdbiUnusedContentsService;
+import nl.knaw.huc.service.contents.UnusedContentsCollector;
+import nl.knaw.huc.service.dashboard.DashboardRefresher;
 import nl.knaw.huc.service.dashboard.JdbiDashboardService;
 import nl.knaw.huc.service.datetime.LocalDateTimeParamConverterProvider;
 import nl.knaw.huc.service.datetime.LocalDateTimeSerializer;
@@ -44,10 +52,17 @@ import nl.knaw.huc.service.file.metadata.JdbiFileMetadataService;
 import nl.knaw.huc.service.health.ElasticsearchHealthCheck;
 import nl.knaw.huc.service.health.IndexerHealthCheck;
 import nl.knaw.huc.service.index.EsIndexClient;
+import nl.knaw.huc.service.index.FileChangesListener;
+import nl.knaw.huc.service.index.FileChangesSetting;
+import nl.knaw.huc.service.index.IndexScheduler;
 import nl.knaw.huc.service.index.IndexerClient;
 import nl.knaw.huc.service.index.IndexerWithMappingClient;
 import nl.knaw.huc.service.index.JdbiIndexService;
+import nl.knaw.huc.service.index.ScheduledIndexService;
 import nl.knaw.huc.service.logging.LoggingApplicationEventListener;
+import nl.knaw.huc.service.metadata.JdbiMetadataSearchService;
+import nl.knaw.huc.service.replica.ReadJdbi;
+import nl.knaw.huc.service.replica.ReadPrimaryFilter;
 import nl.knaw.huc.service.store.JdbiContentsStorage;
 import nl.knaw.huc.service.task.JdbiTaskFactory;
 import nl.knaw.huc.service.type.JdbiTypeService;
@@ -109,13 +124,42 @@ public class TextRepoApp extends Application<TextRepoConfiguration> {
     var flyway = new Flyway(flywayConfig);
     flyway.migrate();
 
-    var contentsStoreService = new JdbiContentsStorage(jdbi);
+    var contentsStoreService = new JdbiContentsStorage(
+        jdbi, config.getContentsDeltas(), config.getContentsCompression());
     var contentsService = new ContentsService(contentsStoreService);
     var typeService = new JdbiTypeService(jdbi);
 
     var indexers = createIndexers(config);
     var indices = createIndexClients(config);
-    var indexService = new JdbiIndexService(indexers, indices, jdbi);
+    var jdbiIndexService = new JdbiIndexService(indexers, indices, jdbi);
+    var indexScheduler = new IndexScheduler(config.getIndexScheduler(), environment.metrics());
+    var indexService = new ScheduledIndexService(jdbiIndexService, indexScheduler, INTERACTIVE);
+    var bulkIndexService = new ScheduledIndexService(jdbiIndexService, indexScheduler, BULK);
+
+    var fileChanges = config.getFileChanges();
+    if (fileChanges.enabled) {
+      FileChangesSetting.enable(jdbi);
+      environment.lifecycle().manage(new FileChangesListener(
+          dataSourceFactory.build(environment.metrics(), "file-changes"),
+          fileChanges, jdbi, bulkIndexService));
+    }
+
+    var readJdbi = new ReadJdbi(jdbi, createReadReplicaJdbi(config, environment));
+    environment.jersey().register(new ReadPrimaryFilter());
+
+    var dashboardService = new JdbiDashboardService(jdbi, readJdbi);
+    environment.lifecycle().manage(new DashboardRefresher(dashboardService, config.getDashboard()));
+
+    var changeService = new JdbiChangeService(jdbi, readJdbi);
+    environment.lifecycle().manage(new ChangeSequencer(changeService, config.getChanges()));
+
+    var unusedContents = config.getUnusedContents();
+    if (unusedContents.enabled) {
+      var unusedContentsService =
+          new JdbiUnusedContentsService(jdbi, unusedContents, environment.metrics());
+      environment.lifecycle().manage(
+          new UnusedContentsCollector(unusedContentsService, unusedContents));
+    }
 
     var healthChecks = new HashMap<String, HealthCheck>();
     healthChecks.putAll(createElasticsearchHealthChecks(config));
@@ -128,19 +172,26 @@ public class TextRepoApp extends Application<TextRepoConfiguration> {
     var viewBuilderFactory = createViewBuilderFactory();
 
     var resources = new ResourcesBuilder(config)
+        .changeService(changeService)
         .contentsService(contentsService)
         .contentsHelper(new ContentsHelper(contentDecompressionLimit))
         .documentFilesService(new JdbiDocumentFilesService(jdbi))
-        .dashboardService(new JdbiDashboardService(jdbi))
+        .dashboardService(dashboardService)
         .documentService(new JdbiDocumentService(jdbi, uuidGenerator))
         .documentMetadataService(new JdbiDocumentMetadataService(jdbi))
         .fileService(new JdbiFileService(jdbi, uuidGenerator, indexService))
         .fileMetadataService(new JdbiFileMetadataService(jdbi))
+        .metadataSearchService(new JdbiMetadataSearchService(jdbi))
         .paginator(new Paginator(config.getPagination()))
         .taskBuilderFactory(new JdbiTaskFactory(jdbi, indexService)
-            .withIdGenerator(uuidGenerator))
+            .withIdGenerator(uuidGenerator)
+            .withBulkIndexService(bulkIndexService)
+            .withContentsDeltas(config.getContentsDeltas())
+            .withContentsCompression(config.getContentsCompression())
+            .withFileChanges(fileChanges)
+            .withReadJdbi(readJdbi))
         .typeService(typeService)
-        .versionContentsService(new JdbiVersionContentsService(jdbi))
+        .versionContentsService(new JdbiVersionContentsService(readJdbi))
         .versionMetadataService(new JdbiVersionMetadataService(jdbi))
         .versionService(versionService)
         .viewBuilderFactory(viewBuilderFactory)
@@ -216,6 +267,23 @@ public class TextRepoApp extends Application<TextRepoConfiguration> {
     return jdbi;
   }
 
+  /**
+   * Create Jdbi of read replica, or null when read replica is not enabled.
+   */
+  private Jdbi createReadReplicaJdbi(TextRepoConfiguration config, Environment environment) {
+    var readReplica = config.getReadReplica();
+    if (!readReplica.enabled) {
+      return null;
+    }
+    var database = requireNonNull(readReplica.database,
+        "readReplica.database is mandatory when read replica is enabled");
+    var jdbi = new JdbiFactory().build(environment, database, "postgresql-read-replica");
+    jdbi.installPlugin(new SqlObjectPlugin());
+    jdbi.installPlugin(new PostgresPlugin());
+    log.info("Reading from read replica: {}", database.getUrl());
+    return jdbi;
+  }
+
   private List<IndexerClient> createIndexers(
       TextRepoConfiguration config
   ) {
@@ -0,0 +1,57 @@
+package nl.knaw.huc.api;
+
+import com.google.common.base.MoreObjects;
+import java.util.UUID;
+import nl.knaw.huc.core.MetadataOwner;
+
+/**
+ * Metadata entry of a document, file or version, as a line of a bulk metadata import.
+ *
+ * <p>Documents are identified by id or externalId, files by id or by externalId and type,
+ * versions by id.
+ */
+public class FormBulkMetadataEntry {
+
+  public UUID id;
+
+  public String externalId;
+
+  public String type;
+
+  public String key;
+
+  public String value;
+
+  /**
+   * Get error message of invalid entry, or null when entry is valid.
+   */
+  public String validate(MetadataOwner owner) {
+    if (key == null || key.isBlank()) {
+      return "key is mandatory";
+    }
+    if (value == null) {
+      return "value is mandatory";
+    }
+    if (id != null) {
+      return null;
+    }
+    return switch (owner) {
+      case DOCUMENT -> externalId == null ? "id or externalId is mandatory" : null;
+      case FILE -> externalId == null || type == null
+          ? "id, or externalId and type are mandatory" : null;
+      case VERSION -> "id is mandatory";
+    };
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("id", id)
+        .add("externalId", externalId)
+        .add("type", type)
+        .add("key", key)
+        .add("value", value)
+        .toString();
+  }
+}
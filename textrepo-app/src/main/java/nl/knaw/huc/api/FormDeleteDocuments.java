@@ -0,0 +1,41 @@
+package nl.knaw.huc.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.AssertTrue;
+
+/**
+ * Filters of documents to delete: documents must match all filters that are set.
+ */
+public class FormDeleteDocuments {
+
+  @ApiModelProperty(value = "external IDs equal one of", example = "[\"document_1234\"]")
+  public List<String> externalIds;
+
+  @ApiModelProperty(value = "external ID starts with", example = "document_")
+  public String externalIdPrefix;
+
+  @ApiModelProperty(value = "has metadata entry")
+  @Valid
+  public FormMetadataCondition metadata;
+
+  @JsonIgnore
+  @AssertTrue(message = "has none of externalIds, externalIdPrefix and metadata")
+  public boolean isFiltered() {
+    return externalIds != null || externalIdPrefix != null || metadata != null;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("externalIds", externalIds == null ? null : externalIds.size())
+        .add("externalIdPrefix", externalIdPrefix)
+        .add("metadata", metadata)
+        .toString();
+  }
+
+}
@@ -0,0 +1,48 @@
+package nl.knaw.huc.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.base.MoreObjects;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.Objects;
+import java.util.stream.Stream;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotBlank;
+import nl.knaw.huc.core.MetadataCondition;
+
+public class FormMetadataCondition {
+
+  @ApiModelProperty(example = "archive", required = true)
+  @NotBlank(message = "is mandatory")
+  public String key;
+
+  @ApiModelProperty(value = "value equals", example = "Huygens ING")
+  public String value;
+
+  @ApiModelProperty(value = "value starts with", example = "Huygens")
+  public String valuePrefix;
+
+  @ApiModelProperty(value = "value contains", example = "ING")
+  public String valueContains;
+
+  @JsonIgnore
+  @AssertTrue(message = "has more than one of value, valuePrefix and valueContains")
+  public boolean isSingleValueCondition() {
+    return Stream.of(value, valuePrefix, valueContains).filter(Objects::nonNull).count() <= 1;
+  }
+
+  public MetadataCondition toCondition() {
+    return new MetadataCondition(key, value, valuePrefix, valueContains);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("key", key)
+        .add("value", value)
+        .add("valuePrefix", valuePrefix)
+        .add("valueContains", valueContains)
+        .toString();
+  }
+
+}
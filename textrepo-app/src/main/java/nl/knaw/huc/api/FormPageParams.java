@@ -15,6 +15,15 @@ public class FormPageParams implements Paginated {
   @QueryParam("offset")
   private Integer offset;
 
+  @ApiParam(value = "nextCursor of previous page, replaces offset")
+  @QueryParam("cursor")
+  private String cursor;
+
+  @ApiParam(value = "how to determine total", allowableValues = "exact,estimate,none",
+      example = "exact")
+  @QueryParam("total")
+  private String total;
+
   @Override
   public Integer getLimit() {
     return limit;
@@ -25,12 +34,22 @@ public class FormPageParams implements Paginated {
     return offset;
   }
 
+  public String getCursor() {
+    return cursor;
+  }
+
+  public String getTotal() {
+    return total;
+  }
+
   @Override
   public String toString() {
     return MoreObjects
         .toStringHelper(this)
         .add("limit", limit)
         .add("offset", offset)
+        .add("cursor", cursor)
+        .add("total", total)
         .toString();
   }
 
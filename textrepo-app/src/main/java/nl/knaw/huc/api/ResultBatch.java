@@ -0,0 +1,72 @@
+package nl.knaw.huc.api;
+
+import static java.util.stream.Collectors.toMap;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Items found by ID, in order of requested IDs, and requested IDs that were not found.
+ */
+public class ResultBatch<T> {
+
+  private final List<T> items;
+  private final List<UUID> missing;
+
+  public ResultBatch() {
+    throw new IllegalStateException("Do not use no arg constructor. "
+        + "It is only needed for generating swagger docs");
+  }
+
+  public ResultBatch(List<T> items, List<UUID> missing) {
+    this.items = items;
+    this.missing = missing;
+  }
+
+  /**
+   * Map found items to results, and list requested IDs without item.
+   * Duplicate requested IDs are included once.
+   */
+  public static <T, R> ResultBatch<R> of(
+      List<UUID> requested,
+      List<T> found,
+      Function<T, UUID> toId,
+      Function<T, R> toResult
+  ) {
+    var foundById = found.stream().collect(toMap(toId, item -> item));
+    var ids = new LinkedHashSet<>(requested);
+    var items = ids
+        .stream()
+        .filter(foundById::containsKey)
+        .map(id -> toResult.apply(foundById.get(id)))
+        .toList();
+    var missing = ids
+        .stream()
+        .filter(id -> !foundById.containsKey(id))
+        .toList();
+    return new ResultBatch<>(items, missing);
+  }
+
+  @JsonProperty
+  public List<T> getItems() {
+    return items;
+  }
+
+  @JsonProperty
+  public List<UUID> getMissing() {
+    return missing;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("items", items)
+        .add("missing", missing)
+        .toString();
+  }
+}
@@ -0,0 +1,72 @@
+package nl.knaw.huc.api;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import nl.knaw.huc.core.Change;
+
+public class ResultChange {
+  private final long seq;
+  private final String entity;
+  private final UUID entityId;
+  private final String operation;
+  private final String key;
+  private final LocalDateTime changedAt;
+
+  public ResultChange(Change change) {
+    this.seq = change.getSeq();
+    this.entity = change.getEntity();
+    this.entityId = change.getEntityId();
+    this.operation = change.getOperation();
+    this.key = change.getKey();
+    this.changedAt = change.getChangedAt();
+  }
+
+  @JsonProperty
+  @ApiModelProperty(value = "sequence number of change", example = "1234")
+  public long getSeq() {
+    return seq;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 1,
+      value = "changed entity: document, file, version, "
+          + "document_metadata, file_metadata or version_metadata",
+      example = "document")
+  public String getEntity() {
+    return entity;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 2,
+      value = "ID of changed document, file or version, or of the owner of changed metadata",
+      example = "34739357-eb75-449b-b2df-d3f6289470d6")
+  public UUID getEntityId() {
+    return entityId;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 3, value = "insert, update or delete", example = "insert")
+  public String getOperation() {
+    return operation;
+  }
+
+  @JsonProperty
+  @JsonInclude(NON_NULL)
+  @ApiModelProperty(position = 4, value = "key of changed metadata entry", example = "title")
+  public String getKey() {
+    return key;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 5,
+      value = "date and time of change",
+      example = "2021-04-16T09:03:03")
+  public LocalDateTime getChangedAt() {
+    return changedAt;
+  }
+}
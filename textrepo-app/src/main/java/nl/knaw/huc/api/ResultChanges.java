@@ -0,0 +1,30 @@
+package nl.knaw.huc.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+import nl.knaw.huc.core.Change;
+
+public class ResultChanges {
+  private final List<ResultChange> changes;
+  private final long cursor;
+
+  public ResultChanges(List<Change> changes, long since) {
+    this.changes = changes.stream().map(ResultChange::new).toList();
+    this.cursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+  }
+
+  @JsonProperty
+  @ApiModelProperty(value = "changes in order of sequence number")
+  public List<ResultChange> getChanges() {
+    return changes;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 1,
+      value = "sequence number of last change, to use as 'since' when requesting next changes",
+      example = "1234")
+  public long getCursor() {
+    return cursor;
+  }
+}
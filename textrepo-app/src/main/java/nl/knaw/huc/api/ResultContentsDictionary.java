@@ -0,0 +1,70 @@
+package nl.knaw.huc.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+
+public class ResultContentsDictionary {
+  private final int id;
+  private final short typeId;
+  private final int size;
+  private final int samples;
+  private final long gzippedSize;
+  private final long compressedSize;
+
+  public ResultContentsDictionary(
+      int id,
+      short typeId,
+      int size,
+      int samples,
+      long gzippedSize,
+      long compressedSize
+  ) {
+    this.id = id;
+    this.typeId = typeId;
+    this.size = size;
+    this.samples = samples;
+    this.gzippedSize = gzippedSize;
+    this.compressedSize = compressedSize;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(value = "dictionary ID", example = "1")
+  public int getId() {
+    return id;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 1, value = "type ID", example = "1")
+  public short getTypeId() {
+    return typeId;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 2, value = "dictionary size in bytes", example = "32768")
+  public int getSize() {
+    return size;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 3,
+      value = "number of sampled contents, of which at most the first 64KB are used",
+      example = "200")
+  public int getSamples() {
+    return samples;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 4, value = "gzipped size of sampled contents in bytes",
+      example = "1400000")
+  public long getGzippedSize() {
+    return gzippedSize;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 5,
+      value = "size of sampled contents in bytes, compressed with dictionary",
+      example = "600000")
+  public long getCompressedSize() {
+    return compressedSize;
+  }
+}
@@ -0,0 +1,36 @@
+package nl.knaw.huc.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+
+public class ResultDeleteDocuments {
+  private final long documents;
+  private final long files;
+  private final long indexFailures;
+
+  public ResultDeleteDocuments(long documents, long files, long indexFailures) {
+    this.documents = documents;
+    this.files = files;
+    this.indexFailures = indexFailures;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(value = "number of deleted documents", example = "1000")
+  public long getDocuments() {
+    return documents;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 1, value = "number of deleted files", example = "2000")
+  public long getFiles() {
+    return files;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 2,
+      value = "number of deleted files that could not be deleted from the indices",
+      example = "0")
+  public long getIndexFailures() {
+    return indexFailures;
+  }
+}
@@ -0,0 +1,41 @@
+package nl.knaw.huc.api;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+import java.util.Map;
+import nl.knaw.huc.core.Document;
+
+public class ResultExpandedDocument extends ResultDocument {
+
+  private final Map<String, String> metadata;
+  private final List<ResultExpandedFile> files;
+
+  public ResultExpandedDocument(
+      Document document,
+      Map<String, String> metadata,
+      List<ResultExpandedFile> files
+  ) {
+    super(document);
+    this.metadata = metadata;
+    this.files = files;
+  }
+
+  @JsonProperty
+  @JsonInclude(NON_NULL)
+  @ApiModelProperty(position = 3,
+      value = "metadata entries of document as key-value pairs, when expanded")
+  public Map<String, String> getMetadata() {
+    return metadata;
+  }
+
+  @JsonProperty
+  @JsonInclude(NON_NULL)
+  @ApiModelProperty(position = 4, value = "files of document ordered by ID, when expanded")
+  public List<ResultExpandedFile> getFiles() {
+    return files;
+  }
+}
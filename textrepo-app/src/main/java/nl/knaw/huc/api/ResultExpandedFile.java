@@ -0,0 +1,41 @@
+package nl.knaw.huc.api;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.Map;
+import java.util.UUID;
+import nl.knaw.huc.core.TextRepoFile;
+
+public class ResultExpandedFile extends ResultTextRepoFile {
+
+  private final Map<String, String> metadata;
+  private final ResultVersion latestVersion;
+
+  public ResultExpandedFile(
+      UUID docId,
+      TextRepoFile file,
+      Map<String, String> metadata,
+      ResultVersion latestVersion
+  ) {
+    super(docId, file);
+    this.metadata = metadata;
+    this.latestVersion = latestVersion;
+  }
+
+  @JsonProperty
+  @JsonInclude(NON_NULL)
+  @ApiModelProperty(value = "metadata entries of file as key-value pairs, when expanded")
+  public Map<String, String> getMetadata() {
+    return metadata;
+  }
+
+  @JsonProperty
+  @JsonInclude(NON_NULL)
+  @ApiModelProperty(value = "latest version of file, when expanded and file has versions")
+  public ResultVersion getLatestVersion() {
+    return latestVersion;
+  }
+}
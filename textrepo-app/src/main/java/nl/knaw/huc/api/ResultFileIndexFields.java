@@ -0,0 +1,70 @@
+package nl.knaw.huc.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * File with its type, document, metadata and versions, as needed to create the ES docs of a file.
+ */
+public class ResultFileIndexFields {
+
+  private final ResultTextRepoFile file;
+  private final Map<String, String> fileMetadata;
+  private final ResultType type;
+  private final ResultDocument doc;
+  private final Map<String, String> docMetadata;
+  private final List<ResultVersionWithMetadata> versions;
+
+  public ResultFileIndexFields(
+      ResultTextRepoFile file,
+      Map<String, String> fileMetadata,
+      ResultType type,
+      ResultDocument doc,
+      Map<String, String> docMetadata,
+      List<ResultVersionWithMetadata> versions
+  ) {
+    this.file = file;
+    this.fileMetadata = fileMetadata;
+    this.type = type;
+    this.doc = doc;
+    this.docMetadata = docMetadata;
+    this.versions = versions;
+  }
+
+  @JsonProperty
+  public ResultTextRepoFile getFile() {
+    return file;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 1)
+  public Map<String, String> getFileMetadata() {
+    return fileMetadata;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 2)
+  public ResultType getType() {
+    return type;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 3, value = "null when file has no document")
+  public ResultDocument getDoc() {
+    return doc;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 4)
+  public Map<String, String> getDocMetadata() {
+    return docMetadata;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 5, value = "all versions of file, newest first")
+  public List<ResultVersionWithMetadata> getVersions() {
+    return versions;
+  }
+}
@@ -0,0 +1,116 @@
+package nl.knaw.huc.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Differences between the files in the database and the ES docs in the index of an indexer.
+ */
+public class ResultIndexDrift {
+
+  /**
+   * Maximum number of file IDs listed per kind of drift.
+   */
+  public static final int MAX_LISTED_IDS = 100;
+
+  private final String indexer;
+  private final boolean repaired;
+  private final Drift missing = new Drift();
+  private final Drift stale = new Drift();
+  private final Drift orphaned = new Drift();
+  private long filesChecked;
+  private long docsChecked;
+  private long skipped;
+
+  public ResultIndexDrift(String indexer, boolean repaired) {
+    this.indexer = indexer;
+    this.repaired = repaired;
+  }
+
+  @JsonProperty
+  public String getIndexer() {
+    return indexer;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 1, value = "true iff drift was repaired while checking")
+  public boolean isRepaired() {
+    return repaired;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 2, value = "number of files that should be in index")
+  public long getFilesChecked() {
+    return filesChecked;
+  }
+
+  public void addFilesChecked(long count) {
+    filesChecked += count;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 3, value = "number of ES docs found in index")
+  public long getDocsChecked() {
+    return docsChecked;
+  }
+
+  public void addDocsChecked(long count) {
+    docsChecked += count;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 4,
+      value = "number of files without ES doc, because indexer skips them")
+  public long getSkipped() {
+    return skipped;
+  }
+
+  public void addSkipped(long count) {
+    skipped += count;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 5, value = "files without ES doc")
+  public Drift getMissing() {
+    return missing;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 6,
+      value = "ES docs not created from latest file version, or without stored contents sha")
+  public Drift getStale() {
+    return stale;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 7, value = "ES docs of deleted files or of unsupported types")
+  public Drift getOrphaned() {
+    return orphaned;
+  }
+
+  public static class Drift {
+    private final List<UUID> fileIds = new ArrayList<>();
+    private long count;
+
+    public void add(UUID fileId) {
+      count++;
+      if (fileIds.size() < MAX_LISTED_IDS) {
+        fileIds.add(fileId);
+      }
+    }
+
+    @JsonProperty
+    public long getCount() {
+      return count;
+    }
+
+    @JsonProperty
+    @ApiModelProperty(value = "first file IDs found, at most " + MAX_LISTED_IDS)
+    public List<UUID> getFileIds() {
+      return fileIds;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package nl.knaw.huc.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+
+public class ResultMetadataImport {
+  private final long upserted;
+  private final long notFound;
+  private final List<Long> notFoundLines;
+
+  public ResultMetadataImport(long upserted, long notFound, List<Long> notFoundLines) {
+    this.upserted = upserted;
+    this.notFound = notFound;
+    this.notFoundLines = notFoundLines;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(value = "number of inserted or updated metadata entries", example = "1000")
+  public long getUpserted() {
+    return upserted;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 1,
+      value = "number of entries of which document, file or version could not be found",
+      example = "1")
+  public long getNotFound() {
+    return notFound;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(position = 2,
+      value = "line numbers of first entries that could not be found")
+  public List<Long> getNotFoundLines() {
+    return notFoundLines;
+  }
+}
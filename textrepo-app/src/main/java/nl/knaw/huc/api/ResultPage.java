@@ -1,12 +1,16 @@
 package nl.knaw.huc.api;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 
 public class ResultPage<T> {
 
   private final List<T> items;
-  private final long total;
+  private final Long total;
+  private final String totalType;
   private final ResultPageParams page;
 
   public ResultPage() {
@@ -14,9 +18,10 @@ public class ResultPage<T> {
         + "It is only needed for generating swagger docs");
   }
 
-  public ResultPage(List<T> items, long total, ResultPageParams page) {
+  public ResultPage(List<T> items, Long total, String totalType, ResultPageParams page) {
     this.items = items;
     this.total = total;
+    this.totalType = totalType;
     this.page = page;
   }
 
@@ -25,11 +30,23 @@ public class ResultPage<T> {
     return items;
   }
 
+  /**
+   * Null when total type is none.
+   */
   @JsonProperty
-  public long getTotal() {
+  @JsonInclude(NON_NULL)
+  public Long getTotal() {
     return total;
   }
 
+  /**
+   * How total was determined: exact, estimate or none.
+   */
+  @JsonProperty
+  public String getTotalType() {
+    return totalType;
+  }
+
   @JsonProperty
   public ResultPageParams getPage() {
     return page;
@@ -1,5 +1,8 @@
 package nl.knaw.huc.api;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import nl.knaw.huc.core.Paginated;
 
@@ -7,10 +10,18 @@ public class ResultPageParams implements Paginated {
 
   private final Integer limit;
   private final Integer offset;
+  private final String cursor;
+  private final String nextCursor;
 
   public ResultPageParams(Integer limit, Integer offset) {
+    this(limit, offset, null, null);
+  }
+
+  public ResultPageParams(Integer limit, Integer offset, String cursor, String nextCursor) {
     this.limit = limit;
     this.offset = offset;
+    this.cursor = cursor;
+    this.nextCursor = nextCursor;
   }
 
   @Override
@@ -25,5 +36,19 @@ public class ResultPageParams implements Paginated {
     return offset;
   }
 
+  @JsonProperty
+  @JsonInclude(NON_NULL)
+  public String getCursor() {
+    return cursor;
+  }
+
+  /**
+   * Cursor to request next page with, null when on last page.
+   */
+  @JsonProperty
+  @JsonInclude(NON_NULL)
+  public String getNextCursor() {
+    return nextCursor;
+  }
 
 }
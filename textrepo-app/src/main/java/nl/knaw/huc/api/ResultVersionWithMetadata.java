@@ -0,0 +1,22 @@
+package nl.knaw.huc.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import java.util.Map;
+import nl.knaw.huc.core.Version;
+
+public class ResultVersionWithMetadata extends ResultVersion {
+
+  private final Map<String, String> metadata;
+
+  public ResultVersionWithMetadata(Version version, Map<String, String> metadata) {
+    super(version);
+    this.metadata = metadata;
+  }
+
+  @JsonProperty
+  @ApiModelProperty(value = "metadata entries of version as key-value pairs")
+  public Map<String, String> getMetadata() {
+    return metadata;
+  }
+}
@@ -0,0 +1,22 @@
+package nl.knaw.huc.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+public class ChangesConfiguration {
+  /**
+   * Interval of numbering committed changes, after which they can be read from the change log.
+   */
+  @Min(100)
+  @JsonProperty
+  public int sequenceMillis = 1000;
+
+  /**
+   * Maximum time a client can wait for new changes.
+   */
+  @Min(0)
+  @Max(300)
+  @JsonProperty
+  public int maxWaitSeconds = 60;
+}
@@ -0,0 +1,22 @@
+package nl.knaw.huc.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+public class ContentsCompressionConfiguration {
+  /**
+   * Compress new full contents with the latest dictionary trained for their file type,
+   * when smaller than gzip. Contents compressed with a dictionary are read regardless.
+   */
+  @JsonProperty
+  public boolean dictionaries = false;
+
+  /**
+   * Number of files of which to sample the latest contents, when training a dictionary.
+   */
+  @Min(2)
+  @Max(10000)
+  @JsonProperty
+  public int trainingSampleSize = 200;
+}
@@ -0,0 +1,22 @@
+package nl.knaw.huc.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+public class ContentsDeltasConfiguration {
+  /**
+   * Store new contents of a file as delta against the contents of its latest version.
+   * Existing deltas are read regardless.
+   */
+  @JsonProperty
+  public boolean enabled = false;
+
+  /**
+   * Store full contents at least every this many versions, to bound the deltas to apply.
+   */
+  @Min(2)
+  @Max(1000)
+  @JsonProperty
+  public int snapshotInterval = 16;
+}
@@ -0,0 +1,13 @@
+package nl.knaw.huc.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.validation.constraints.Min;
+
+public class DashboardConfiguration {
+  /**
+   * Interval of refreshing metadata counts and adding up document counters.
+   */
+  @Min(1)
+  @JsonProperty
+  public int refreshSeconds = 60;
+}
@@ -0,0 +1,22 @@
+package nl.knaw.huc.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.validation.constraints.Min;
+
+public class FileChangesConfiguration {
+  /**
+   * Index files when notified of changes in the database, including changes not made by the app.
+   *
+   * <p>Also switches the notifying triggers on or off for the whole database at startup:
+   * all instances sharing a database should use the same value.
+   */
+  @JsonProperty
+  public boolean enabled = false;
+
+  /**
+   * Time to collect notifications before indexing the changed files, each file only once.
+   */
+  @Min(0)
+  @JsonProperty
+  public int coalesceMillis = 1000;
+}
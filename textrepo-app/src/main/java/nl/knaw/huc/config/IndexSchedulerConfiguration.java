@@ -0,0 +1,20 @@
+package nl.knaw.huc.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.validation.constraints.Min;
+
+public class IndexSchedulerConfiguration {
+  /**
+   * Maximum number of interactive index updates, like adding a version, running at the same time.
+   */
+  @Min(1)
+  @JsonProperty
+  public int interactiveConcurrency = 8;
+
+  /**
+   * Maximum number of bulk index updates, like reindexing all files, running at the same time.
+   */
+  @Min(1)
+  @JsonProperty
+  public int bulkConcurrency = 2;
+}
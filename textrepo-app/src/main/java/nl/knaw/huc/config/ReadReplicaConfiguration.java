@@ -0,0 +1,20 @@
+package nl.knaw.huc.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.db.DataSourceFactory;
+import javax.validation.Valid;
+
+public class ReadReplicaConfiguration {
+  /**
+   * Read version contents, find tasks and dashboard from a read replica of the database.
+   */
+  @JsonProperty
+  public boolean enabled = false;
+
+  /**
+   * Read replica, mandatory when enabled.
+   */
+  @Valid
+  @JsonProperty
+  public DataSourceFactory database;
+}
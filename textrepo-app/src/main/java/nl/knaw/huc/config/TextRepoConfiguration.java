@@ -42,6 +42,39 @@ public class TextRepoConfiguration extends Configuration {
 
   private FlywayConfiguration flyway;
 
+  @Valid
+  @NotNull
+  private IndexSchedulerConfiguration indexScheduler = new IndexSchedulerConfiguration();
+
+  @Valid
+  @NotNull
+  private FileChangesConfiguration fileChanges = new FileChangesConfiguration();
+
+  @Valid
+  @NotNull
+  private DashboardConfiguration dashboard = new DashboardConfiguration();
+
+  @Valid
+  @NotNull
+  private ReadReplicaConfiguration readReplica = new ReadReplicaConfiguration();
+
+  @Valid
+  @NotNull
+  private ChangesConfiguration changes = new ChangesConfiguration();
+
+  @Valid
+  @NotNull
+  private UnusedContentsConfiguration unusedContents = new UnusedContentsConfiguration();
+
+  @Valid
+  @NotNull
+  private ContentsDeltasConfiguration contentsDeltas = new ContentsDeltasConfiguration();
+
+  @Valid
+  @NotNull
+  private ContentsCompressionConfiguration contentsCompression =
+      new ContentsCompressionConfiguration();
+
   @JsonProperty("database")
   public void setDataSourceFactory(DataSourceFactory factory) {
     this.database = factory;
@@ -122,4 +155,84 @@ public class TextRepoConfiguration extends Configuration {
   public void setFlyway(FlywayConfiguration flyway) {
     this.flyway = flyway;
   }
+
+  @JsonProperty("indexScheduler")
+  public IndexSchedulerConfiguration getIndexScheduler() {
+    return indexScheduler;
+  }
+
+  @JsonProperty("indexScheduler")
+  public void setIndexScheduler(IndexSchedulerConfiguration indexScheduler) {
+    this.indexScheduler = indexScheduler;
+  }
+
+  @JsonProperty("fileChanges")
+  public FileChangesConfiguration getFileChanges() {
+    return fileChanges;
+  }
+
+  @JsonProperty("fileChanges")
+  public void setFileChanges(FileChangesConfiguration fileChanges) {
+    this.fileChanges = fileChanges;
+  }
+
+  @JsonProperty("dashboard")
+  public DashboardConfiguration getDashboard() {
+    return dashboard;
+  }
+
+  @JsonProperty("dashboard")
+  public void setDashboard(DashboardConfiguration dashboard) {
+    this.dashboard = dashboard;
+  }
+
+  @JsonProperty("readReplica")
+  public ReadReplicaConfiguration getReadReplica() {
+    return readReplica;
+  }
+
+  @JsonProperty("readReplica")
+  public void setReadReplica(ReadReplicaConfiguration readReplica) {
+    this.readReplica = readReplica;
+  }
+
+  @JsonProperty("changes")
+  public ChangesConfiguration getChanges() {
+    return changes;
+  }
+
+  @JsonProperty("changes")
+  public void setChanges(ChangesConfiguration changes) {
+    this.changes = changes;
+  }
+
+  @JsonProperty("unusedContents")
+  public UnusedContentsConfiguration getUnusedContents() {
+    return unusedContents;
+  }
+
+  @JsonProperty("unusedContents")
+  public void setUnusedContents(UnusedContentsConfiguration unusedContents) {
+    this.unusedContents = unusedContents;
+  }
+
+  @JsonProperty("contentsDeltas")
+  public ContentsDeltasConfiguration getContentsDeltas() {
+    return contentsDeltas;
+  }
+
+  @JsonProperty("contentsDeltas")
+  public void setContentsDeltas(ContentsDeltasConfiguration contentsDeltas) {
+    this.contentsDeltas = contentsDeltas;
+  }
+
+  @JsonProperty("contentsCompression")
+  public ContentsCompressionConfiguration getContentsCompression() {
+    return contentsCompression;
+  }
+
+  @JsonProperty("contentsCompression")
+  public void setContentsCompression(ContentsCompressionConfiguration contentsCompression) {
+    this.contentsCompression = contentsCompression;
+  }
 }
@@ -0,0 +1,36 @@
+package nl.knaw.huc.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+public class UnusedContentsConfiguration {
+  /**
+   * Periodically delete contents that are no longer referenced by any version.
+   */
+  @JsonProperty
+  public boolean enabled = false;
+
+  /**
+   * Interval between runs, each run checking all contents.
+   */
+  @Min(1)
+  @JsonProperty
+  public int intervalMinutes = 60;
+
+  /**
+   * Time after contents were last stored before they can be deleted, to not delete contents of
+   * imports that did not yet create their version.
+   */
+  @Min(1)
+  @JsonProperty
+  public int graceMinutes = 24 * 60;
+
+  /**
+   * Number of contents deleted per transaction.
+   */
+  @Min(1)
+  @Max(10000)
+  @JsonProperty
+  public int batchSize = 100;
+}
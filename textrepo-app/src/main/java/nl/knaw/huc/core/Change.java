@@ -0,0 +1,77 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.beans.ConstructorProperties;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Insert, update or delete of a document, file, version or metadata entry,
+ * numbered by ascending sequence number.
+ */
+public class Change {
+
+  private final long seq;
+  private final String entity;
+  private final UUID entityId;
+  private final String operation;
+  private final String key;
+  private final LocalDateTime changedAt;
+
+  @ConstructorProperties({"seq", "entity", "entity_id", "operation", "key", "changed_at"})
+  public Change(
+      long seq,
+      String entity,
+      UUID entityId,
+      String operation,
+      String key,
+      LocalDateTime changedAt
+  ) {
+    this.seq = seq;
+    this.entity = entity;
+    this.entityId = entityId;
+    this.operation = operation;
+    this.key = key;
+    this.changedAt = changedAt;
+  }
+
+  public long getSeq() {
+    return seq;
+  }
+
+  public String getEntity() {
+    return entity;
+  }
+
+  public UUID getEntityId() {
+    return entityId;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * Key of changed metadata entry, or null when entity is not metadata.
+   */
+  public String getKey() {
+    return key;
+  }
+
+  public LocalDateTime getChangedAt() {
+    return changedAt;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("seq", seq)
+        .add("entity", entity)
+        .add("entityId", entityId)
+        .add("operation", operation)
+        .add("key", key)
+        .add("changedAt", changedAt)
+        .toString();
+  }
+}
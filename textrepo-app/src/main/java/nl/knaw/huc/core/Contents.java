@@ -53,11 +53,12 @@ public class Contents {
     }
   }
 
+  public byte[] uncompressed() {
+    return isGzipped(contents) ? decompress() : contents;
+  }
+
   public String asUtf8String() {
-    if (isGzipped(contents)) {
-      return new String(decompress(), UTF_8);
-    }
-    return new String(contents, UTF_8);
+    return new String(uncompressed(), UTF_8);
   }
 
   // toString helper to peek into the contents. If compressed show some initial bytes,
@@ -0,0 +1,42 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.beans.ConstructorProperties;
+
+/**
+ * Compression dictionary, trained from a sample of the contents of a file type.
+ */
+public class ContentsDictionary {
+  private final int id;
+  private final short typeId;
+  private final byte[] dictionary;
+
+  @ConstructorProperties({"id", "type_id", "dictionary"})
+  public ContentsDictionary(int id, short typeId, byte[] dictionary) {
+    this.id = id;
+    this.typeId = typeId;
+    this.dictionary = dictionary;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public short getTypeId() {
+    return typeId;
+  }
+
+  public byte[] getDictionary() {
+    return dictionary;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("id", id)
+        .add("typeId", typeId)
+        .add("size", dictionary.length)
+        .toString();
+  }
+}
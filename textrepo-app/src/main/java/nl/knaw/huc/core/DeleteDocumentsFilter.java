@@ -0,0 +1,64 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.util.List;
+
+/**
+ * Documents to delete: when set, with external ID in list, with external ID starting
+ * with prefix, and with metadata entry matching condition.
+ */
+public class DeleteDocumentsFilter {
+
+  private final List<String> externalIds;
+  private final ExternalIdQuery externalIdPrefix;
+  private final MetadataCondition metadata;
+
+  public DeleteDocumentsFilter(
+      List<String> externalIds,
+      String externalIdPrefix,
+      MetadataCondition metadata
+  ) {
+    this.externalIds = externalIds;
+    this.externalIdPrefix = externalIdPrefix == null
+        ? null
+        : new ExternalIdQuery(externalIdPrefix, ExternalIdMatch.PREFIX);
+    this.metadata = metadata;
+  }
+
+  public List<String> getExternalIds() {
+    return externalIds;
+  }
+
+  public String getExternalIdPrefix() {
+    return externalIdPrefix == null ? null : externalIdPrefix.getExternalId();
+  }
+
+  /**
+   * Upper bound of external IDs starting with prefix, see {@link ExternalIdQuery}.
+   */
+  public String getExternalIdPrefixUpper() {
+    return externalIdPrefix == null ? null : externalIdPrefix.getExternalIdUpper();
+  }
+
+  public String getMetadataKey() {
+    return metadata == null ? null : metadata.getKey();
+  }
+
+  public String getMetadataValue() {
+    return metadata == null ? null : metadata.getValue();
+  }
+
+  public String getMetadataValuePattern() {
+    return metadata == null ? null : metadata.getValuePattern();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("externalIds", externalIds == null ? null : externalIds.size())
+        .add("externalIdPrefix", getExternalIdPrefix())
+        .add("metadata", metadata)
+        .toString();
+  }
+}
@@ -0,0 +1,65 @@
+package nl.knaw.huc.core;
+
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.joining;
+
+import java.util.EnumSet;
+import java.util.Set;
+import javax.ws.rs.BadRequestException;
+
+/**
+ * Related resources to include when retrieving a document.
+ */
+public enum DocumentExpand {
+
+  /**
+   * Files of document.
+   */
+  FILES("files"),
+
+  /**
+   * Metadata of document, and of its files when files are included.
+   */
+  METADATA("metadata"),
+
+  /**
+   * Latest version of every file, includes files.
+   */
+  LATEST_VERSION("latestVersion");
+
+  private final String param;
+
+  DocumentExpand(String param) {
+    this.param = param;
+  }
+
+  public String getParam() {
+    return param;
+  }
+
+  /**
+   * Parse comma separated expand param, e.g. 'files,metadata'.
+   *
+   * @throws BadRequestException when param contains unknown values
+   */
+  public static Set<DocumentExpand> parse(String expand) {
+    var result = EnumSet.noneOf(DocumentExpand.class);
+    if (expand == null || expand.isBlank()) {
+      return result;
+    }
+    for (var value : expand.split(",")) {
+      result.add(stream(values())
+          .filter(e -> e.param.equals(value.strip()))
+          .findFirst()
+          .orElseThrow(() -> new BadRequestException(
+              "Invalid expand: " + value + "; use " + stream(values())
+                  .map(DocumentExpand::getParam)
+                  .collect(joining(", ")))));
+    }
+    if (result.contains(LATEST_VERSION)) {
+      result.add(FILES);
+    }
+    return result;
+  }
+
+}
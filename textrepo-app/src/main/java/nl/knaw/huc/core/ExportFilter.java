@@ -0,0 +1,43 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.time.LocalDateTime;
+
+/**
+ * Files to export: when set, of type, of document with external ID matching like-pattern,
+ * and of document created at or after a date.
+ */
+public class ExportFilter {
+
+  private final Short typeId;
+  private final String externalIdPattern;
+  private final LocalDateTime createdAfter;
+
+  public ExportFilter(Short typeId, String externalIdPattern, LocalDateTime createdAfter) {
+    this.typeId = typeId;
+    this.externalIdPattern = externalIdPattern;
+    this.createdAfter = createdAfter;
+  }
+
+  public Short getTypeId() {
+    return typeId;
+  }
+
+  public String getExternalIdPattern() {
+    return externalIdPattern;
+  }
+
+  public LocalDateTime getCreatedAfter() {
+    return createdAfter;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("typeId", typeId)
+        .add("externalIdPattern", externalIdPattern)
+        .add("createdAfter", createdAfter)
+        .toString();
+  }
+}
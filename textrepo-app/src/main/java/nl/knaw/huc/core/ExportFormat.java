@@ -0,0 +1,28 @@
+package nl.knaw.huc.core;
+
+/**
+ * Stream format of an export.
+ */
+public enum ExportFormat {
+
+  /**
+   * One json record per line, including contents of latest file version.
+   */
+  NDJSON("application/x-ndjson"),
+
+  /**
+   * Tar archive with a json record and the contents of the latest version of every file.
+   */
+  TAR("application/x-tar");
+
+  private final String mediaType;
+
+  ExportFormat(String mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  public String getMediaType() {
+    return mediaType;
+  }
+
+}
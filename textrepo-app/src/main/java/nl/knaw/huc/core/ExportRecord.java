@@ -0,0 +1,102 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.beans.ConstructorProperties;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * File with its document, type, metadata and latest version contents, as exported.
+ * Metadata of document and file are json objects.
+ * Contents stored as delta or with another codec than gzip are null until reconstructed.
+ */
+public class ExportRecord {
+
+  private final Document document;
+  private final String documentMetadata;
+  private final TextRepoFile file;
+  private final Type type;
+  private final String fileMetadata;
+  private final Version version;
+  private final byte[] contents;
+
+  @ConstructorProperties({
+      "document_id", "external_id", "document_created_at", "document_metadata",
+      "file_id", "type_id", "type_name", "type_mimetype", "file_metadata",
+      "version_id", "version_created_at", "contents_sha", "contents"})
+  public ExportRecord(
+      UUID documentId,
+      String externalId,
+      LocalDateTime documentCreatedAt,
+      String documentMetadata,
+      UUID fileId,
+      short typeId,
+      String typeName,
+      String typeMimetype,
+      String fileMetadata,
+      UUID versionId,
+      LocalDateTime versionCreatedAt,
+      String contentsSha,
+      byte[] contents
+  ) {
+    this.document = new Document(documentId, externalId, documentCreatedAt);
+    this.documentMetadata = documentMetadata;
+    this.file = new TextRepoFile(fileId, typeId);
+    this.type = new Type(typeId, typeName, typeMimetype);
+    this.fileMetadata = fileMetadata;
+    this.version = new Version(versionId, fileId, contentsSha, versionCreatedAt);
+    this.contents = contents;
+  }
+
+  private ExportRecord(ExportRecord record, byte[] contents) {
+    this.document = record.document;
+    this.documentMetadata = record.documentMetadata;
+    this.file = record.file;
+    this.type = record.type;
+    this.fileMetadata = record.fileMetadata;
+    this.version = record.version;
+    this.contents = contents;
+  }
+
+  public ExportRecord withContents(byte[] contents) {
+    return new ExportRecord(this, contents);
+  }
+
+  public Document getDocument() {
+    return document;
+  }
+
+  public String getDocumentMetadata() {
+    return documentMetadata;
+  }
+
+  public TextRepoFile getFile() {
+    return file;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public String getFileMetadata() {
+    return fileMetadata;
+  }
+
+  public Version getVersion() {
+    return version;
+  }
+
+  public byte[] getContents() {
+    return contents;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("document", document)
+        .add("file", file)
+        .add("version", version)
+        .toString();
+  }
+}
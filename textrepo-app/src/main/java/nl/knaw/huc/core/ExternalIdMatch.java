@@ -0,0 +1,28 @@
+package nl.knaw.huc.core;
+
+/**
+ * How to match external IDs of documents.
+ */
+public enum ExternalIdMatch {
+
+  /**
+   * External ID equals text.
+   */
+  EXACT,
+
+  /**
+   * External ID starts with text.
+   */
+  PREFIX,
+
+  /**
+   * External ID contains text.
+   */
+  CONTAINS,
+
+  /**
+   * External ID matches sql like-pattern, using wildcards '%' and '_'.
+   */
+  PATTERN
+
+}
@@ -0,0 +1,82 @@
+package nl.knaw.huc.core;
+
+import static nl.knaw.huc.helpers.LikePatterns.containing;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * External ID to match documents by, using one of the {@link ExternalIdMatch} modes.
+ *
+ * <p>A prefix is matched by a range, from the prefix up to its upper bound,
+ * which can use an index regardless of the value bound at execution time.
+ */
+public class ExternalIdQuery {
+
+  private final String externalId;
+  private final ExternalIdMatch match;
+
+  public ExternalIdQuery(String externalId, ExternalIdMatch match) {
+    this.externalId = externalId;
+    this.match = match;
+  }
+
+  public ExternalIdMatch getMatch() {
+    return match;
+  }
+
+  /**
+   * External ID to match exactly, or prefix to match.
+   */
+  public String getExternalId() {
+    return externalId;
+  }
+
+  /**
+   * Smallest text greater than any text starting with prefix,
+   * or null when no such text exists.
+   */
+  public String getExternalIdUpper() {
+    return match == ExternalIdMatch.PREFIX ? upperBoundOf(externalId) : null;
+  }
+
+  /**
+   * Like-pattern of contained text or pattern, or null when not matching by like-pattern.
+   */
+  public String getExternalIdPattern() {
+    return switch (match) {
+      case CONTAINS -> containing(externalId);
+      case PATTERN -> externalId;
+      default -> null;
+    };
+  }
+
+  /**
+   * Increment last code point of prefix that can be incremented, and drop code points after it.
+   *
+   * <p>Code point order equals the byte order of utf-8, as used by text_pattern_ops.
+   */
+  static String upperBoundOf(String prefix) {
+    var codePoints = prefix.codePoints().toArray();
+    for (int i = codePoints.length - 1; i >= 0; i--) {
+      if (codePoints[i] < Character.MAX_CODE_POINT) {
+        var next = codePoints[i] + 1;
+        if (next == Character.MIN_SURROGATE) {
+          next = Character.MAX_SURROGATE + 1;
+        }
+        return new StringBuilder(new String(codePoints, 0, i))
+            .appendCodePoint(next)
+            .toString();
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("externalId", externalId)
+        .add("match", match)
+        .toString();
+  }
+}
@@ -0,0 +1,48 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.beans.ConstructorProperties;
+import java.util.UUID;
+
+/**
+ * File with sha of its latest version contents, or blank sha when file has no versions.
+ */
+public class FileLatestSha {
+
+  private final UUID id;
+  private final Short typeId;
+  private final String contentsSha;
+
+  @ConstructorProperties({"id", "type_id", "contents_sha"})
+  public FileLatestSha(UUID id, Short typeId, String contentsSha) {
+    this.id = id;
+    this.typeId = typeId;
+    this.contentsSha = contentsSha;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public Short getTypeId() {
+    return typeId;
+  }
+
+  public String getContentsSha() {
+    return contentsSha;
+  }
+
+  public TextRepoFile toFile() {
+    return new TextRepoFile(id, typeId);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("id", id)
+        .add("typeId", typeId)
+        .add("contentsSha", contentsSha)
+        .toString();
+  }
+}
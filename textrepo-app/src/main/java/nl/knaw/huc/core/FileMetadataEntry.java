@@ -0,0 +1,44 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.beans.ConstructorProperties;
+import java.util.UUID;
+
+/**
+ * Metadata entry of a file, when retrieving metadata of multiple files at once.
+ */
+public class FileMetadataEntry {
+
+  private final UUID fileId;
+  private final String key;
+  private final String value;
+
+  @ConstructorProperties({"file_id", "key", "value"})
+  public FileMetadataEntry(UUID fileId, String key, String value) {
+    this.fileId = fileId;
+    this.key = key;
+    this.value = value;
+  }
+
+  public UUID getFileId() {
+    return fileId;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("fileId", fileId)
+        .add("key", key)
+        .add("value", value)
+        .toString();
+  }
+}
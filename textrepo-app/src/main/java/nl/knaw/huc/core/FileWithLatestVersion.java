@@ -0,0 +1,48 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.beans.ConstructorProperties;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * File joined with its latest version, if any.
+ */
+public class FileWithLatestVersion {
+
+  private final TextRepoFile file;
+  private final Version latestVersion;
+
+  @ConstructorProperties({
+      "id", "type_id", "version_id", "version_contents_sha", "version_created_at"})
+  public FileWithLatestVersion(
+      UUID id,
+      Short typeId,
+      UUID versionId,
+      String versionContentsSha,
+      LocalDateTime versionCreatedAt
+  ) {
+    this.file = new TextRepoFile(id, typeId);
+    this.latestVersion = versionId == null
+        ? null
+        : new Version(versionId, id, versionContentsSha, versionCreatedAt);
+  }
+
+  public TextRepoFile getFile() {
+    return file;
+  }
+
+  public Optional<Version> getLatestVersion() {
+    return Optional.ofNullable(latestVersion);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("file", file)
+        .add("latestVersion", latestVersion)
+        .toString();
+  }
+}
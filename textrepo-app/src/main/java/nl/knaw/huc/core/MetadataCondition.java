@@ -0,0 +1,64 @@
+package nl.knaw.huc.core;
+
+import static nl.knaw.huc.helpers.LikePatterns.containing;
+import static nl.knaw.huc.helpers.LikePatterns.startingWith;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Metadata entry with key, and optionally a value that equals, starts with or contains text.
+ */
+public class MetadataCondition {
+
+  private final String key;
+  private final String value;
+  private final String valuePrefix;
+  private final String valueContains;
+
+  public MetadataCondition(String key, String value, String valuePrefix, String valueContains) {
+    this.key = key;
+    this.value = value;
+    this.valuePrefix = valuePrefix;
+    this.valueContains = valueContains;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  public String getValuePrefix() {
+    return valuePrefix;
+  }
+
+  public String getValueContains() {
+    return valueContains;
+  }
+
+  /**
+   * Like-pattern of value prefix or contained text, or null when not matching part of value.
+   */
+  public String getValuePattern() {
+    if (valuePrefix != null) {
+      return startingWith(valuePrefix);
+    }
+    if (valueContains != null) {
+      return containing(valueContains);
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("key", key)
+        .add("value", value)
+        .add("valuePrefix", valuePrefix)
+        .add("valueContains", valueContains)
+        .toString();
+  }
+}
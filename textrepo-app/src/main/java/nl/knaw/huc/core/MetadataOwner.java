@@ -0,0 +1,10 @@
+package nl.knaw.huc.core;
+
+/**
+ * Kind of resource that metadata entries belong to.
+ */
+public enum MetadataOwner {
+  DOCUMENT,
+  FILE,
+  VERSION
+}
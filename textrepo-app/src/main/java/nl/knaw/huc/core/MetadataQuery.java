@@ -0,0 +1,57 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.util.List;
+
+/**
+ * Metadata conditions that must all be met.
+ *
+ * <p>The first condition selects candidates using an index,
+ * the other conditions are checked for every candidate.
+ */
+public class MetadataQuery {
+
+  private final MetadataCondition first;
+  private final List<MetadataCondition> others;
+
+  public MetadataQuery(List<MetadataCondition> conditions) {
+    if (conditions.isEmpty()) {
+      throw new IllegalArgumentException("Metadata query needs at least one condition");
+    }
+    this.first = conditions.get(0);
+    this.others = conditions.subList(1, conditions.size());
+  }
+
+  public String getKey() {
+    return first.getKey();
+  }
+
+  public String getValue() {
+    return first.getValue();
+  }
+
+  public String getValuePattern() {
+    return first.getValuePattern();
+  }
+
+  public String[] getOtherKeys() {
+    return others.stream().map(MetadataCondition::getKey).toArray(String[]::new);
+  }
+
+  public String[] getOtherValues() {
+    return others.stream().map(MetadataCondition::getValue).toArray(String[]::new);
+  }
+
+  public String[] getOtherValuePatterns() {
+    return others.stream().map(MetadataCondition::getValuePattern).toArray(String[]::new);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("first", first)
+        .add("others", others)
+        .toString();
+  }
+}
@@ -2,38 +2,81 @@ package nl.knaw.huc.core;
 
 import com.google.common.base.MoreObjects;
 import java.util.List;
+import java.util.function.Function;
 
 public class Page<T> {
 
   private final List<T> items;
   private final long total;
+  private final PageTotal totalType;
   private final PageParams params;
+  private final PageCursor nextCursor;
 
   public Page(List<T> items, long total, PageParams params) {
+    this(items, total, PageTotal.EXACT, params, null);
+  }
+
+  public Page(
+      List<T> items,
+      long total,
+      PageTotal totalType,
+      PageParams params,
+      PageCursor nextCursor
+  ) {
     this.items = items;
     this.total = total;
+    this.totalType = totalType;
     this.params = params;
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Create page with a cursor to its last item, unless page is the last page.
+   */
+  public static <T> Page<T> withCursor(
+      List<T> items,
+      long total,
+      PageTotal totalType,
+      PageParams params,
+      Function<T, PageCursor> toCursor
+  ) {
+    var isLastPage = items.isEmpty() || items.size() < params.getLimit();
+    var nextCursor = isLastPage ? null : toCursor.apply(items.get(items.size() - 1));
+    return new Page<>(items, total, totalType, params, nextCursor);
   }
 
   public List<T> getItems() {
     return items;
   }
 
+  /**
+   * Total number of items, determined as specified by total type.
+   */
   public long getTotal() {
     return total;
   }
 
+  public PageTotal getTotalType() {
+    return totalType;
+  }
+
   public PageParams getParams() {
     return params;
   }
 
+  public PageCursor getNextCursor() {
+    return nextCursor;
+  }
+
   @Override
   public String toString() {
     return MoreObjects
         .toStringHelper(this)
         .add("items", items)
         .add("total", total)
+        .add("totalType", totalType)
         .add("params", params)
+        .add("nextCursor", nextCursor)
         .toString();
   }
 }
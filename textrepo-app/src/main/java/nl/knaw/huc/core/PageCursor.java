@@ -0,0 +1,38 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Position of the last item of a page, of items sorted by creation date and ID.
+ *
+ * <p>Creation date is null when items are only sorted by ID.
+ */
+public class PageCursor {
+
+  private final LocalDateTime createdAt;
+  private final UUID id;
+
+  public PageCursor(LocalDateTime createdAt, UUID id) {
+    this.createdAt = createdAt;
+    this.id = id;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("createdAt", createdAt)
+        .add("id", id)
+        .toString();
+  }
+}
@@ -1,6 +1,8 @@
 package nl.knaw.huc.core;
 
 import com.google.common.base.MoreObjects;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 public class PageParams implements Paginated {
 
@@ -8,9 +10,30 @@ public class PageParams implements Paginated {
 
   private final int offset;
 
+  private final PageCursor cursor;
+
+  private final PageTotal total;
+
   public PageParams(int limit, int offset) {
+    this(limit, offset, null, PageTotal.EXACT);
+  }
+
+  /**
+   * Page starting after cursor, instead of at offset.
+   */
+  public PageParams(int limit, PageCursor cursor) {
+    this(limit, 0, cursor, PageTotal.EXACT);
+  }
+
+  private PageParams(int limit, int offset, PageCursor cursor, PageTotal total) {
     this.limit = limit;
     this.offset = offset;
+    this.cursor = cursor;
+    this.total = total;
+  }
+
+  public PageParams withTotal(PageTotal total) {
+    return new PageParams(limit, offset, cursor, total);
   }
 
   @Override
@@ -23,12 +46,30 @@ public class PageParams implements Paginated {
     return offset;
   }
 
+  public PageCursor getCursor() {
+    return cursor;
+  }
+
+  public LocalDateTime getCursorCreatedAt() {
+    return cursor == null ? null : cursor.getCreatedAt();
+  }
+
+  public UUID getCursorId() {
+    return cursor == null ? null : cursor.getId();
+  }
+
+  public PageTotal getTotal() {
+    return total;
+  }
+
   @Override
   public String toString() {
     return MoreObjects
         .toStringHelper(this)
         .add("limit", limit)
         .add("offset", offset)
+        .add("cursor", cursor)
+        .add("total", total)
         .toString();
   }
 }
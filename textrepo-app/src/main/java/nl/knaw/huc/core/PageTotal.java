@@ -0,0 +1,23 @@
+package nl.knaw.huc.core;
+
+/**
+ * How to determine the total number of items of a page.
+ */
+public enum PageTotal {
+
+  /**
+   * Count all items.
+   */
+  EXACT,
+
+  /**
+   * Use planner statistics when available, otherwise count all items.
+   */
+  ESTIMATE,
+
+  /**
+   * Do not determine total.
+   */
+  NONE
+
+}
@@ -0,0 +1,76 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.beans.ConstructorProperties;
+
+/**
+ * Contents as stored: full contents compressed with codec, or an uncompressed delta with codec
+ * 'delta' against the contents of baseSha.
+ */
+public class StoredContents {
+  private final String sha224;
+  private final byte[] contents;
+  private final String baseSha;
+  private final short deltaDepth;
+  private final String codec;
+  private final Integer dictionaryId;
+
+  @ConstructorProperties(
+      {"sha224", "contents", "base_sha", "delta_depth", "codec", "dictionary_id"})
+  public StoredContents(
+      String sha224,
+      byte[] contents,
+      String baseSha,
+      short deltaDepth,
+      String codec,
+      Integer dictionaryId
+  ) {
+    this.sha224 = sha224;
+    this.contents = contents;
+    this.baseSha = baseSha;
+    this.deltaDepth = deltaDepth;
+    this.codec = codec;
+    this.dictionaryId = dictionaryId;
+  }
+
+  public String getSha224() {
+    return sha224;
+  }
+
+  public byte[] getContents() {
+    return contents;
+  }
+
+  public String getBaseSha() {
+    return baseSha;
+  }
+
+  public short getDeltaDepth() {
+    return deltaDepth;
+  }
+
+  public String getCodec() {
+    return codec;
+  }
+
+  public Integer getDictionaryId() {
+    return dictionaryId;
+  }
+
+  public boolean isDelta() {
+    return baseSha != null;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("sha224", sha224)
+        .add("size", contents.length)
+        .add("baseSha", baseSha)
+        .add("deltaDepth", deltaDepth)
+        .add("codec", codec)
+        .add("dictionaryId", dictionaryId)
+        .toString();
+  }
+}
@@ -0,0 +1,49 @@
+package nl.knaw.huc.core;
+
+import com.google.common.base.MoreObjects;
+import java.beans.ConstructorProperties;
+import java.util.UUID;
+import nl.knaw.huc.api.MetadataEntry;
+
+/**
+ * Metadata entry of a version, when retrieving metadata of multiple versions at once.
+ */
+public class VersionMetadataEntry {
+
+  private final UUID versionId;
+  private final String key;
+  private final String value;
+
+  @ConstructorProperties({"version_id", "key", "value"})
+  public VersionMetadataEntry(UUID versionId, String key, String value) {
+    this.versionId = versionId;
+    this.key = key;
+    this.value = value;
+  }
+
+  public UUID getVersionId() {
+    return versionId;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  public MetadataEntry toEntry() {
+    return new MetadataEntry(key, value);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects
+        .toStringHelper(this)
+        .add("versionId", versionId)
+        .add("key", key)
+        .add("value", value)
+        .toString();
+  }
+}
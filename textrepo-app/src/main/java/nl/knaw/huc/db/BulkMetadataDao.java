@@ -0,0 +1,82 @@
+package nl.knaw.huc.db;
+
+import java.util.List;
+import java.util.UUID;
+import nl.knaw.huc.api.FormBulkMetadataEntry;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindFields;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+
+/**
+ * Upsert metadata entries of many documents, files or versions in a single batch.
+ *
+ * <p>Entries of which the document, file or version does not exist are skipped:
+ * their update count is zero.
+ *
+ * <p>Entries identified by id and entries identified by externalId are upserted by separate
+ * statements, so each plan can look up owners by primary key or by external ID.
+ *
+ * <p>Files affected by upserted entries are found by the same ids, externalIds and types.
+ */
+public interface BulkMetadataDao {
+
+  @SqlBatch("insert into documents_metadata (document_id, key, value) "
+      + "select d.id, :key, :value from documents d "
+      + "where d.id = :id "
+      + "on conflict (document_id, key) do update set value = excluded.value")
+  int[] upsertDocumentMetadataById(@BindFields List<FormBulkMetadataEntry> entries);
+
+  @SqlBatch("insert into documents_metadata (document_id, key, value) "
+      + "select d.id, :key, :value from documents d "
+      + "where d.external_id = :externalId "
+      + "on conflict (document_id, key) do update set value = excluded.value")
+  int[] upsertDocumentMetadataByExternalId(@BindFields List<FormBulkMetadataEntry> entries);
+
+  @SqlBatch("insert into files_metadata (file_id, key, value) "
+      + "select f.id, :key, :value from files f "
+      + "where f.id = :id "
+      + "on conflict (file_id, key) do update set value = excluded.value")
+  int[] upsertFileMetadataById(@BindFields List<FormBulkMetadataEntry> entries);
+
+  @SqlBatch("insert into files_metadata (file_id, key, value) "
+      + "select f.id, :key, :value from documents d "
+      + "join documents_files df on df.document_id = d.id "
+      + "join files f on f.id = df.file_id "
+      + "join types t on t.id = f.type_id "
+      + "where d.external_id = :externalId and t.name = :type "
+      + "on conflict (file_id, key) do update set value = excluded.value")
+  int[] upsertFileMetadataByExternalIdAndType(@BindFields List<FormBulkMetadataEntry> entries);
+
+  @SqlBatch("insert into versions_metadata (version_id, key, value) "
+      + "select v.id, :key, :value from versions v "
+      + "where v.id = :id\\:\\:uuid "
+      + "on conflict (version_id, key) do update set value = excluded.value")
+  int[] upsertVersionMetadata(@BindFields List<FormBulkMetadataEntry> entries);
+
+  @SqlQuery("select distinct df.file_id from documents d "
+      + "join documents_files df on df.document_id = d.id "
+      + "where d.id = any(:ids) or d.external_id = any(:externalIds)")
+  List<UUID> findFileIdsOfDocuments(
+      @Bind("ids") List<UUID> ids,
+      @Bind("externalIds") List<String> externalIds
+  );
+
+  @SqlQuery("select f.id from files f where f.id = any(:ids) "
+      + "union "
+      + "select df.file_id "
+      + "from unnest(:externalIds\\:\\:text[], :types\\:\\:text[]) e(external_id, type) "
+      + "join documents d on d.external_id = e.external_id "
+      + "join documents_files df on df.document_id = d.id "
+      + "join files tf on tf.id = df.file_id "
+      + "join types t on t.id = tf.type_id "
+      + "where t.name = e.type")
+  List<UUID> findFileIds(
+      @Bind("ids") List<UUID> ids,
+      @Bind("externalIds") List<String> externalIds,
+      @Bind("types") List<String> types
+  );
+
+  @SqlQuery("select distinct file_id from versions where id = any(:ids)")
+  List<UUID> findFileIdsOfVersions(@Bind("ids") List<UUID> ids);
+}
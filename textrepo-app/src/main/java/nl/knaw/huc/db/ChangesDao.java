@@ -0,0 +1,37 @@
+package nl.knaw.huc.db;
+
+import java.util.List;
+import nl.knaw.huc.core.Change;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.locator.UseClasspathSqlLocator;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+@UseClasspathSqlLocator
+public interface ChangesDao {
+
+  /**
+   * Prevent concurrent sequencing until end of transaction; does not block readers.
+   */
+  @SqlUpdate("lock table changes in exclusive mode")
+  void lockForSequencing();
+
+  /**
+   * Move committed pending changes to the change log, numbering them after the last change.
+   *
+   * @return number of moved changes
+   */
+  @SqlUpdate
+  int sequencePendingChanges();
+
+  @SqlQuery("select coalesce(max(seq), 0) from changes")
+  long lastSeq();
+
+  @SqlQuery("select seq, entity, entity_id, operation, key, changed_at from changes "
+      + "where seq > :since "
+      + "order by seq "
+      + "limit :limit")
+  @RegisterConstructorMapper(value = Change.class)
+  List<Change> findSince(@Bind("since") long since, @Bind("limit") int limit);
+}
@@ -1,8 +1,13 @@
 package nl.knaw.huc.db;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.ContentsDictionary;
+import nl.knaw.huc.core.StoredContents;
+import nl.knaw.huc.helpers.codec.ContentsCodecs;
+import nl.knaw.huc.helpers.delta.ContentsDeltas;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
@@ -11,20 +16,95 @@ import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 
 public interface ContentsDao {
 
+  /**
+   * Insert contents, or update stored_at of existing contents to prevent deleting them as unused.
+   */
   @SqlUpdate("insert into contents (sha224, contents) values (:sha224, :contents) "
-      + "on conflict do nothing")
+      + "on conflict (sha224) do update set stored_at = excluded.stored_at")
   void insert(@BindBean Contents contents);
 
-  @SqlQuery("select sha224, contents from contents where sha224 = ?")
-  @RegisterConstructorMapper(value = Contents.class)
-  Optional<Contents> findBySha224(@Bind String sha224);
+  /**
+   * Insert contents compressed with codec, see {@link ContentsCodecs}.
+   * Existing contents are kept as they are, updating stored_at.
+   */
+  @SqlUpdate("insert into contents (sha224, contents, codec, dictionary_id) "
+      + "values (:sha224, :contents, :codec, :dictionaryId) "
+      + "on conflict (sha224) do update set stored_at = excluded.stored_at")
+  void insertEncoded(
+      @Bind("sha224") String sha224,
+      @Bind("contents") byte[] contents,
+      @Bind("codec") String codec,
+      @Bind("dictionaryId") Integer dictionaryId
+  );
 
-  @SqlQuery("select sha224, contents from contents left join versions "
+  /**
+   * Insert contents as uncompressed delta against contents of baseSha, with codec 'delta',
+   * see {@link ContentsDeltas}. Existing contents are kept as they are, updating stored_at.
+   */
+  @SqlUpdate("insert into contents (sha224, contents, base_sha, delta_depth, codec) "
+      + "values (:sha224, :delta, :baseSha, :deltaDepth, 'delta') "
+      + "on conflict (sha224) do update set stored_at = excluded.stored_at")
+  void insertDelta(
+      @Bind("sha224") String sha224,
+      @Bind("delta") byte[] delta,
+      @Bind("baseSha") String baseSha,
+      @Bind("deltaDepth") short deltaDepth
+  );
+
+  /**
+   * Find contents, reconstructing contents stored as delta or with another codec than gzip.
+   */
+  default Optional<Contents> findBySha224(String sha224) {
+    return findStoredBySha224(sha224)
+        .map(stored -> ContentsDeltas.reconstruct(stored, this));
+  }
+
+  /**
+   * Find contents of version, reconstructing contents stored as delta or with another codec than
+   * gzip.
+   */
+  default Optional<Contents> findByVersionId(UUID versionId) {
+    return findStoredByVersionId(versionId)
+        .map(stored -> ContentsDeltas.reconstruct(stored, this));
+  }
+
+  @SqlQuery("select sha224, contents, base_sha, delta_depth, codec, dictionary_id "
+      + "from contents where sha224 = ?")
+  @RegisterConstructorMapper(value = StoredContents.class)
+  Optional<StoredContents> findStoredBySha224(@Bind String sha224);
+
+  @SqlQuery("select sha224, contents, base_sha, delta_depth, codec, dictionary_id "
+      + "from contents left join versions "
       + "on versions.contents_sha = contents.sha224 where versions.id = ?")
-  @RegisterConstructorMapper(value = Contents.class)
-  Optional<Contents> findByVersionId(UUID versionId);
+  @RegisterConstructorMapper(value = StoredContents.class)
+  Optional<StoredContents> findStoredByVersionId(UUID versionId);
 
   @SqlUpdate("delete from contents where sha224 = ?;")
   void delete(String contentsSha);
 
+  @SqlQuery("insert into contents_dictionaries (type_id, dictionary) values (:typeId, :dictionary) "
+      + "returning id, type_id, dictionary")
+  @RegisterConstructorMapper(value = ContentsDictionary.class)
+  ContentsDictionary insertDictionary(
+      @Bind("typeId") short typeId,
+      @Bind("dictionary") byte[] dictionary
+  );
+
+  @SqlQuery("select id, type_id, dictionary from contents_dictionaries where id = ?")
+  @RegisterConstructorMapper(value = ContentsDictionary.class)
+  Optional<ContentsDictionary> findDictionary(int id);
+
+  @SqlQuery("select id, type_id, dictionary from contents_dictionaries where type_id = ? "
+      + "order by id desc limit 1")
+  @RegisterConstructorMapper(value = ContentsDictionary.class)
+  Optional<ContentsDictionary> findLatestDictionary(short typeId);
+
+  /**
+   * Find contents of latest versions of files of type, in order of (random) file ID.
+   */
+  @SqlQuery("select latest_contents_sha from files "
+      + "where type_id = :typeId and latest_contents_sha is not null "
+      + "order by id limit :limit")
+  List<String> findSampleShas(@Bind("typeId") short typeId, @Bind("limit") int limit);
+
 }
@@ -12,6 +12,7 @@ import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
 import org.jdbi.v3.sqlobject.locator.UseClasspathSqlLocator;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 
 @UseClasspathSqlLocator
 public interface DashboardDao {
@@ -19,9 +20,6 @@ public interface DashboardDao {
   @RegisterConstructorMapper(DocumentsOverview.class)
   DocumentsOverview getDocumentsOverview();
 
-  @SqlQuery
-  long countOrphans();
-
   @SqlQuery
   @RegisterConstructorMapper(Document.class)
   List<Document> findOrphans(@BindBean PageParams pageParams);
@@ -36,4 +34,10 @@ public interface DashboardDao {
   @ValueColumn("count")
   LinkedHashMap<String, Integer> countDocumentsByMetadataValue(@Bind("key") String key);
 
+  /**
+   * Add counter deltas to counter totals.
+   */
+  @SqlUpdate
+  void foldCountDeltas();
+
 }
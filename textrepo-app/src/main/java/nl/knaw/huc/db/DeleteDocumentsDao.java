@@ -0,0 +1,46 @@
+package nl.knaw.huc.db;
+
+import java.util.List;
+import java.util.UUID;
+import nl.knaw.huc.core.DeleteDocumentsFilter;
+import nl.knaw.huc.core.Document;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.locator.UseClasspathSqlLocator;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+/**
+ * Delete documents in batches, including their files, versions and metadata.
+ *
+ * <p>Files, versions and metadata are removed by cascading foreign keys.
+ * Contents are left to unused contents deletion.
+ */
+@UseClasspathSqlLocator
+public interface DeleteDocumentsDao {
+
+  /**
+   * Find next batch of documents matching filter, ordered by ID, with IDs after afterId.
+   *
+   * <p>Conditions contain a predicate per filter that is set: a separate statement
+   * per combination of filters, so each plan can use the indexes of its filters.
+   */
+  @SqlQuery
+  @RegisterConstructorMapper(value = Document.class)
+  List<Document> findBatch(
+      @Define("conditions") String conditions,
+      @BindBean DeleteDocumentsFilter filter,
+      @Bind("afterId") UUID afterId,
+      @Bind("limit") int limit
+  );
+
+  @SqlQuery("delete from files where id in ("
+      + "select file_id from documents_files where document_id = any(:documentIds)"
+      + ") returning id")
+  List<UUID> deleteFiles(@Bind("documentIds") List<UUID> documentIds);
+
+  @SqlUpdate("delete from documents where id = any(:documentIds)")
+  int deleteDocuments(@Bind("documentIds") List<UUID> documentIds);
+}
@@ -1,12 +1,16 @@
 package nl.knaw.huc.db;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import javax.annotation.Nullable;
+import nl.knaw.huc.core.FileWithLatestVersion;
 import nl.knaw.huc.core.PageParams;
 import nl.knaw.huc.core.TextRepoFile;
+import org.jdbi.v3.sqlobject.config.KeyColumn;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.config.ValueColumn;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
@@ -24,6 +28,11 @@ public interface DocumentFilesDao {
   @SqlQuery("select distinct document_id from documents_files where file_id = :fileId")
   Optional<UUID> findDocumentId(@Bind("fileId") UUID fileId);
 
+  @SqlQuery("select file_id, document_id from documents_files where file_id = any(:fileIds)")
+  @KeyColumn("file_id")
+  @ValueColumn("document_id")
+  Map<UUID, UUID> findDocumentIds(@Bind("fileIds") List<UUID> fileIds);
+
   /**
    * Insert file id and document id.
    * When file id already exists, update document id
@@ -38,12 +47,46 @@ public interface DocumentFilesDao {
   @RegisterConstructorMapper(TextRepoFile.class)
   List<TextRepoFile> findFilesByDocumentId(UUID docId);
 
-  @SqlQuery("select id, type_id "
+  /**
+   * Find files of document with their latest version, using files.latest_version_id.
+   */
+  @SqlQuery("select f.id, f.type_id, v.id as version_id, "
+      + "v.contents_sha as version_contents_sha, v.created_at as version_created_at "
+      + "from documents_files as df join files as f on f.id = df.file_id "
+      + "left join versions as v on v.id = f.latest_version_id "
+      + "where df.document_id = ? "
+      + "order by f.id")
+  @RegisterConstructorMapper(FileWithLatestVersion.class)
+  List<FileWithLatestVersion> findFilesWithLatestVersionByDocumentId(UUID docId);
+
+  String FIND_FILES_BY_DOCUMENT_AND_TYPE_ID = "select id, type_id "
       + "from documents_files as df left join files as f on f.id = df.file_id "
-      + "where df.document_id = :docId and (:typeId is null or f.type_id = :typeId) "
-      + "limit :limit offset :offset")
+      + "where df.document_id = :docId and (:typeId is null or f.type_id = :typeId) ";
+
+  /**
+   * Find page of files of document, ordered by ID, starting after cursor or at offset.
+   */
+  default List<TextRepoFile> findFilesByDocumentAndTypeId(
+      UUID docId,
+      Short typeId,
+      PageParams pageParams
+  ) {
+    return pageParams.getCursor() == null
+        ? findFilesByDocumentAndTypeIdFromOffset(docId, typeId, pageParams)
+        : findFilesByDocumentAndTypeIdAfterCursor(docId, typeId, pageParams);
+  }
+
+  @SqlQuery(FIND_FILES_BY_DOCUMENT_AND_TYPE_ID + "order by f.id limit :limit offset :offset")
+  @RegisterConstructorMapper(TextRepoFile.class)
+  List<TextRepoFile> findFilesByDocumentAndTypeIdFromOffset(
+      @Bind("docId") UUID docId,
+      @Bind("typeId") Short typeId,
+      @BindBean PageParams pageParams
+  );
+
+  @SqlQuery(FIND_FILES_BY_DOCUMENT_AND_TYPE_ID + "and f.id > :cursorId order by f.id limit :limit")
   @RegisterConstructorMapper(TextRepoFile.class)
-  List<TextRepoFile> findFilesByDocumentAndTypeId(
+  List<TextRepoFile> findFilesByDocumentAndTypeIdAfterCursor(
       @Bind("docId") UUID docId,
       @Bind("typeId") Short typeId,
       @BindBean PageParams pageParams
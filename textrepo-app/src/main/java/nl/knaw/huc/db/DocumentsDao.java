@@ -5,10 +5,12 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import nl.knaw.huc.core.Document;
+import nl.knaw.huc.core.ExternalIdQuery;
 import nl.knaw.huc.core.PageParams;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.customizer.Define;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 
@@ -26,18 +28,59 @@ public interface DocumentsDao {
   @RegisterConstructorMapper(value = Document.class)
   Optional<Document> get(UUID id);
 
+  @SqlQuery("select id, external_id, created_at from documents where id = any(:ids)")
+  @RegisterConstructorMapper(value = Document.class)
+  List<Document> getByIds(@Bind("ids") List<UUID> ids);
+
+  @SqlQuery("select d.id, d.external_id, d.created_at "
+      + "from documents d join documents_files df on df.document_id = d.id "
+      + "where df.file_id = ?")
+  @RegisterConstructorMapper(value = Document.class)
+  Optional<Document> getByFileId(UUID fileId);
+
   @SqlQuery("select id, external_id, created_at from documents where external_id = ?")
   @RegisterConstructorMapper(value = Document.class)
   Optional<Document> getByExternalId(String externalId);
 
-  @SqlQuery("select id, external_id, created_at from documents "
-      + "where (:externalId is null or external_id like :externalId) "
-      + "and (:createdAfter\\:\\:timestamp is null or created_at >= :createdAfter\\:\\:timestamp) "
-      + "order by created_at desc "
-      + "limit :limit offset :offset")
+  String FIND_BY = "select id, external_id, created_at from documents "
+      + "where true <externalIdCondition> "
+      + "and (:createdAfter\\:\\:timestamp is null or created_at >= :createdAfter\\:\\:timestamp) ";
+
+  String NEWEST_FIRST = "order by created_at desc, id desc ";
+
+  /**
+   * Find documents by external ID, using condition of {@link ExternalIdQuery#getMatch()}.
+   *
+   * <p>Each condition results in a separate statement, so its plan can use the index
+   * of its match mode. Pages starting after a cursor use a separate statement without offset.
+   */
+  default List<Document> findBy(
+      String externalIdCondition,
+      ExternalIdQuery externalIdQuery,
+      LocalDateTime createdAfter,
+      PageParams pageParams
+  ) {
+    return pageParams.getCursor() == null
+        ? findByFromOffset(externalIdCondition, externalIdQuery, createdAfter, pageParams)
+        : findByAfterCursor(externalIdCondition, externalIdQuery, createdAfter, pageParams);
+  }
+
+  @SqlQuery(FIND_BY + NEWEST_FIRST + "limit :limit offset :offset")
   @RegisterConstructorMapper(value = Document.class)
-  List<Document> findBy(
-      @Bind("externalId") String externalId,
+  List<Document> findByFromOffset(
+      @Define("externalIdCondition") String externalIdCondition,
+      @BindBean ExternalIdQuery externalIdQuery,
+      @Bind("createdAfter") LocalDateTime createdAfter,
+      @BindBean PageParams pageParams
+  );
+
+  @SqlQuery(FIND_BY
+      + "and (created_at, id) < (:cursorCreatedAt, :cursorId) "
+      + NEWEST_FIRST + "limit :limit")
+  @RegisterConstructorMapper(value = Document.class)
+  List<Document> findByAfterCursor(
+      @Define("externalIdCondition") String externalIdCondition,
+      @BindBean ExternalIdQuery externalIdQuery,
       @Bind("createdAfter") LocalDateTime createdAfter,
       @BindBean PageParams pageParams
   );
@@ -45,11 +88,19 @@ public interface DocumentsDao {
   @SqlQuery("select count(*) from documents")
   long count();
 
+  /**
+   * Estimate number of documents using planner statistics, updated by (auto)vacuum and analyze.
+   */
+  @SqlQuery("select cast(greatest(reltuples, 0) as bigint) from pg_class "
+      + "where oid = cast('documents' as regclass)")
+  long estimateCount();
+
   @SqlQuery("select count(*) from documents "
-      + "where (:externalId is null or external_id like :externalId) "
+      + "where true <externalIdCondition> "
       + "and (:createdAfter\\:\\:timestamp is null or created_at >= :createdAfter\\:\\:timestamp)"
   )
-  long countBy(@Bind("externalId") String externalId,
+  long countBy(@Define("externalIdCondition") String externalIdCondition,
+               @BindBean ExternalIdQuery externalIdQuery,
                @Bind("createdAfter") LocalDateTime createdAfter);
 
   @SqlQuery("insert into documents (id, external_id) values (:id, :externalId) "
@@ -0,0 +1,26 @@
+package nl.knaw.huc.db;
+
+import java.util.function.Consumer;
+import nl.knaw.huc.core.ExportFilter;
+import nl.knaw.huc.core.ExportRecord;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.customizer.FetchSize;
+import org.jdbi.v3.sqlobject.locator.UseClasspathSqlLocator;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+
+/**
+ * Export latest versions of files.
+ *
+ * <p>Call within a transaction: postgres only uses a server-side cursor, fetching
+ * {@link #FETCH_SIZE} records at a time, when auto-commit is disabled.
+ */
+@UseClasspathSqlLocator
+public interface ExportDao {
+  int FETCH_SIZE = 100;
+
+  @SqlQuery
+  @FetchSize(FETCH_SIZE)
+  @RegisterConstructorMapper(value = ExportRecord.class)
+  void foreachLatestVersion(@BindBean ExportFilter filter, Consumer<ExportRecord> consumer);
+}
@@ -1,9 +1,12 @@
 package nl.knaw.huc.db;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import nl.knaw.huc.api.MetadataEntry;
+import nl.knaw.huc.core.FileMetadataEntry;
 import org.jdbi.v3.sqlobject.config.KeyColumn;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.config.ValueColumn;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
@@ -25,4 +28,10 @@ public interface FileMetadataDao {
   @KeyColumn("key")
   @ValueColumn("value")
   Map<String, String> getMetadataByFileId(@Bind("id") UUID fileId);
+
+  @SqlQuery("select m.file_id, m.key, m.value "
+      + "from files_metadata m join documents_files df on df.file_id = m.file_id "
+      + "where df.document_id = :docId")
+  @RegisterConstructorMapper(value = FileMetadataEntry.class)
+  List<FileMetadataEntry> getMetadataByDocumentId(@Bind("docId") UUID docId);
 }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
+import nl.knaw.huc.core.FileLatestSha;
 import nl.knaw.huc.core.TextRepoFile;
 import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
@@ -36,4 +37,27 @@ public interface FilesDao {
 
   @SqlQuery("select id from files")
   List<UUID> getAll();
+
+  @SqlQuery("select id from files where id = any(:ids)")
+  List<UUID> findExisting(@Bind("ids") List<UUID> ids);
+
+  @SqlQuery("select id, type_id from files where id = any(:ids)")
+  @RegisterConstructorMapper(value = TextRepoFile.class)
+  List<TextRepoFile> findByIds(@Bind("ids") List<UUID> ids);
+
+  /**
+   * Get page of files with type, ordered by ID, starting after file ID.
+   * Includes sha of latest version, or blank string when file has no versions.
+   */
+  @SqlQuery("select f.id, f.type_id, coalesce(f.latest_contents_sha, '') as contents_sha "
+      + "from files f "
+      + "where f.type_id in (<typeIds>) and f.id > :after "
+      + "order by f.id "
+      + "limit :limit")
+  @RegisterConstructorMapper(value = FileLatestSha.class)
+  List<FileLatestSha> findLatestShasByTypes(
+      @BindList("typeIds") List<Short> typeIds,
+      @Bind("after") UUID after,
+      @Bind("limit") int limit
+  );
 }
@@ -0,0 +1,37 @@
+package nl.knaw.huc.db;
+
+import java.util.List;
+import java.util.UUID;
+import nl.knaw.huc.core.MetadataQuery;
+import nl.knaw.huc.core.PageParams;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
+import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.locator.UseClasspathSqlLocator;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+
+/**
+ * Search documents, files or versions by their metadata.
+ *
+ * <p>Table is a metadata table, column contains the ID of the document, file or version.
+ * Value condition is the predicate on the value of the first condition, if any:
+ * a separate statement per kind of predicate, so each plan can use the index of its predicate.
+ */
+@UseClasspathSqlLocator
+public interface MetadataSearchDao {
+  @SqlQuery
+  List<UUID> findIds(
+      @Define("table") String table,
+      @Define("idColumn") String idColumn,
+      @Define("valueCondition") String valueCondition,
+      @BindBean MetadataQuery query,
+      @BindBean PageParams pageParams
+  );
+
+  @SqlQuery
+  long countIds(
+      @Define("table") String table,
+      @Define("idColumn") String idColumn,
+      @Define("valueCondition") String valueCondition,
+      @BindBean MetadataQuery query
+  );
+}
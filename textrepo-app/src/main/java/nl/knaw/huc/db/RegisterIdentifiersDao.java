@@ -0,0 +1,52 @@
+package nl.knaw.huc.db;
+
+import java.util.function.Consumer;
+import nl.knaw.huc.core.Document;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
+import org.jdbi.v3.sqlobject.customizer.FetchSize;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+
+/**
+ * Register many external IDs at once using temporary table registered_identifiers,
+ * filled by copying (id, external_id) rows into it. Call within a single transaction.
+ */
+public interface RegisterIdentifiersDao {
+  String TABLE = "registered_identifiers";
+
+  int FETCH_SIZE = 1000;
+
+  @SqlUpdate("create temporary table " + TABLE + " ("
+      + "ord bigserial primary key, "
+      + "id uuid not null, "
+      + "external_id varchar not null"
+      + ") on commit drop")
+  void createTable();
+
+  /**
+   * Collect statistics of copied rows: a new temporary table is estimated as empty otherwise.
+   */
+  @SqlUpdate("analyze " + TABLE)
+  void analyzeTable();
+
+  /**
+   * Insert documents of external IDs that are not registered yet, keeping existing documents.
+   * Of duplicate external IDs only the first ID is used.
+   */
+  @SqlUpdate("insert into documents (id, external_id) "
+      + "select distinct on (external_id) id, external_id from " + TABLE + " "
+      + "order by external_id, ord "
+      + "on conflict (external_id) do nothing")
+  int insertUnregistered();
+
+  /**
+   * Find document of every copied external ID, in order of copying.
+   * Duplicate external IDs result in the same document, once for every copy.
+   */
+  @SqlQuery("select d.id, d.external_id, d.created_at "
+      + "from " + TABLE + " r join documents d on d.external_id = r.external_id "
+      + "order by r.ord")
+  @FetchSize(FETCH_SIZE)
+  @RegisterConstructorMapper(value = Document.class)
+  void foreachRegistered(Consumer<Document> consumer);
+}
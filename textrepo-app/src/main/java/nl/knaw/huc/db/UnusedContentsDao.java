@@ -0,0 +1,51 @@
+package nl.knaw.huc.db;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+
+/**
+ * Find and delete contents that are not referenced by any version or delta.
+ *
+ * <p>Bases of deleted deltas become unused, and are found by the next run.
+ */
+public interface UnusedContentsDao {
+
+  /**
+   * Find next batch of shas of unused contents stored before storedBefore, ordered by sha.
+   */
+  @SqlQuery("select c.sha224 from contents c "
+      + "where (cast(:afterSha as char(56)) is null or c.sha224 > :afterSha) "
+      + "and c.stored_at < :storedBefore "
+      + "and not exists (select from versions v where v.contents_sha = c.sha224) "
+      + "and not exists (select from contents d where d.base_sha = c.sha224) "
+      + "order by c.sha224 "
+      + "limit :limit")
+  List<String> findBatch(
+      @Bind("afterSha") String afterSha,
+      @Bind("storedBefore") LocalDateTime storedBefore,
+      @Bind("limit") int limit
+  );
+
+  @SqlQuery("select distinct base_sha from contents "
+      + "where sha224 = any(:shas) and base_sha is not null")
+  List<String> findBaseShas(@Bind("shas") List<String> shas);
+
+  /**
+   * Delete contents of shas that are still unused, checking again in case they were used or
+   * stored in the meantime.
+   *
+   * @return stored sizes in bytes of deleted contents
+   */
+  @SqlQuery("delete from contents c "
+      + "where c.sha224 = any(:shas) "
+      + "and c.stored_at < :storedBefore "
+      + "and not exists (select from versions v where v.contents_sha = c.sha224) "
+      + "and not exists (select from contents d where d.base_sha = c.sha224) "
+      + "returning pg_column_size(c.contents)")
+  List<Long> delete(
+      @Bind("shas") List<String> shas,
+      @Bind("storedBefore") LocalDateTime storedBefore
+  );
+}
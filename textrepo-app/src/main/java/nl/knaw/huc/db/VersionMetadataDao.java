@@ -1,9 +1,12 @@
 package nl.knaw.huc.db;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import nl.knaw.huc.api.MetadataEntry;
+import nl.knaw.huc.core.VersionMetadataEntry;
 import org.jdbi.v3.sqlobject.config.KeyColumn;
+import org.jdbi.v3.sqlobject.config.RegisterConstructorMapper;
 import org.jdbi.v3.sqlobject.config.ValueColumn;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
@@ -27,4 +30,14 @@ public interface VersionMetadataDao {
   @KeyColumn("key")
   @ValueColumn("value")
   Map<String, String> getMetadataByVersionId(@Bind("id") UUID versionId);
+
+  @SqlQuery("select m.version_id, m.key, m.value "
+      + "from versions_metadata m join versions v on v.id = m.version_id "
+      + "where v.file_id = :fileId")
+  @RegisterConstructorMapper(value = VersionMetadataEntry.class)
+  List<VersionMetadataEntry> getMetadataByFileId(@Bind("fileId") UUID fileId);
+
+  @SqlQuery("select version_id, key, value from versions_metadata where version_id = any(:ids)")
+  @RegisterConstructorMapper(value = VersionMetadataEntry.class)
+  List<VersionMetadataEntry> getMetadataByVersionIds(@Bind("ids") List<UUID> versionIds);
 }
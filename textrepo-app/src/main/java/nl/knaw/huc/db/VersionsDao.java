@@ -19,23 +19,64 @@ public interface VersionsDao {
   @RegisterConstructorMapper(value = Version.class)
   Version insert(@BindBean Version version);
 
-  @SqlQuery("select id, file_id, created_at, contents_sha "
-      + "from versions where file_id = ? order by created_at desc limit 1")
+  /**
+   * Find latest version by primary key, using the latest version ID of file.
+   */
+  @SqlQuery("select v.id, v.file_id, v.created_at, v.contents_sha "
+      + "from files f join versions v on v.id = f.latest_version_id "
+      + "where f.id = ?")
   @RegisterConstructorMapper(value = Version.class)
   Optional<Version> findLatestByFileId(@Bind UUID fileId);
 
+  /**
+   * Find earliest version of file with contents sha, ties broken by ID.
+   */
+  @SqlQuery("select id, file_id, created_at, contents_sha "
+      + "from versions where file_id = :fileId and contents_sha = :contentsSha "
+      + "order by created_at, id limit 1")
+  @RegisterConstructorMapper(value = Version.class)
+  Optional<Version> findEarliestByFileIdAndContentsSha(
+      @Bind("fileId") UUID fileId,
+      @Bind("contentsSha") String contentsSha
+  );
+
   @SqlQuery("select id, file_id, created_at, contents_sha "
       + "from versions where file_id = ? order by created_at desc")
   @RegisterConstructorMapper(value = Version.class)
   List<Version> findByFileId(UUID fileId);
 
-  @SqlQuery("select id, file_id, created_at, contents_sha "
+  String FIND_BY_FILE_ID = "select id, file_id, created_at, contents_sha "
       + "from versions where file_id = :fileId "
-      + "and (:createdAfter\\:\\:timestamp is null or created_at >= :createdAfter\\:\\:timestamp) "
-      + "order by created_at desc "
-      + "limit :limit offset :offset")
+      + "and (:createdAfter\\:\\:timestamp is null or created_at >= :createdAfter\\:\\:timestamp) ";
+
+  String NEWEST_FIRST = "order by created_at desc, id desc ";
+
+  /**
+   * Find page of versions of file, newest first, starting after cursor or at offset.
+   */
+  default List<Version> findByFileId(
+      UUID fileId,
+      PageParams pageParams,
+      LocalDateTime createdAfter
+  ) {
+    return pageParams.getCursor() == null
+        ? findByFileIdFromOffset(fileId, pageParams, createdAfter)
+        : findByFileIdAfterCursor(fileId, pageParams, createdAfter);
+  }
+
+  @SqlQuery(FIND_BY_FILE_ID + NEWEST_FIRST + "limit :limit offset :offset")
   @RegisterConstructorMapper(value = Version.class)
-  List<Version> findByFileId(
+  List<Version> findByFileIdFromOffset(
+      @Bind("fileId") UUID fileId,
+      @BindBean PageParams pageParams,
+      @Bind("createdAfter") LocalDateTime createdAfter
+  );
+
+  @SqlQuery(FIND_BY_FILE_ID
+      + "and (created_at, id) < (:cursorCreatedAt, :cursorId) "
+      + NEWEST_FIRST + "limit :limit")
+  @RegisterConstructorMapper(value = Version.class)
+  List<Version> findByFileIdAfterCursor(
       @Bind("fileId") UUID fileId,
       @BindBean PageParams pageParams,
       @Bind("createdAfter") LocalDateTime createdAfter
@@ -54,6 +95,10 @@ public interface VersionsDao {
   @RegisterConstructorMapper(value = Version.class)
   Optional<Version> find(UUID id);
 
+  @SqlQuery("select id, file_id, created_at, contents_sha from versions where id = any(:ids)")
+  @RegisterConstructorMapper(value = Version.class)
+  List<Version> findByIds(@Bind("ids") List<UUID> ids);
+
   @SqlQuery("select mimetype from types "
       + "left join files on files.type_id = types.id "
       + "left join versions on versions.file_id = files.id "
@@ -3,6 +3,7 @@ package nl.knaw.huc.helpers;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_DISPOSITION;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
+import static nl.knaw.huc.helpers.gzip.GzipHelper.isGzipped;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -31,6 +32,11 @@ public class ContentsHelper {
                                       @Nullable String acceptEncoding) {
     final boolean compressionRequested = compressionRequested(acceptEncoding);
 
+    // contents that were never compressed are in memory already, and gzipped on the fly:
+    if (!isGzipped(contents.getContents())) {
+      return asAttachment(contents.getContents(), compressionRequested);
+    }
+
     final ResponseBuilder builder;
     if (compressionRequested || !contents.canDecompressInMemory(contentDecompressionLimit)) {
       builder = Response.ok(contents.getContents())
@@ -44,6 +50,21 @@ public class ContentsHelper {
 
   public ResponseBuilder asAttachment(@Nonnull String contents, @Nullable String acceptEncoding) {
     if (compressionRequested(acceptEncoding)) {
+      try {
+        return Response.ok(compress(contents.getBytes(UTF_8)))
+                       .header(CONTENT_DISPOSITION, "attachment;")
+                       .header(CONTENT_ENCODING, GZIP_ENCODED);
+      } catch (IOException err) {
+        log.warn("Failed to compress: {}", err.getMessage());
+      }
+    }
+
+    return Response.ok(contents)
+                   .header(CONTENT_DISPOSITION, "attachment;");
+  }
+
+  private ResponseBuilder asAttachment(@Nonnull byte[] contents, boolean compressionRequested) {
+    if (compressionRequested) {
       try {
         return Response.ok(compress(contents))
                        .header(CONTENT_DISPOSITION, "attachment;")
@@ -57,8 +78,8 @@ public class ContentsHelper {
                    .header(CONTENT_DISPOSITION, "attachment;");
   }
 
-  private InputStream compress(@Nonnull String contents) throws IOException {
-    return new GzipCompressingInputStream(new ByteArrayInputStream(contents.getBytes(UTF_8)));
+  private InputStream compress(@Nonnull byte[] contents) throws IOException {
+    return new GzipCompressingInputStream(new ByteArrayInputStream(contents));
   }
 
   private boolean compressionRequested(@Nullable String acceptEncoding) {
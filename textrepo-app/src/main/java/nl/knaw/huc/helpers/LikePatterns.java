@@ -0,0 +1,28 @@
+package nl.knaw.huc.helpers;
+
+/**
+ * Create patterns for sql operator like, that match text literally.
+ */
+public class LikePatterns {
+
+  private LikePatterns() {
+  }
+
+  public static String startingWith(String prefix) {
+    return escape(prefix) + "%";
+  }
+
+  public static String containing(String text) {
+    return "%" + escape(text) + "%";
+  }
+
+  /**
+   * Escape wildcards and the escape character itself, using the default escape character '\'.
+   */
+  public static String escape(String text) {
+    return text
+        .replace("\\", "\\\\")
+        .replace("%", "\\%")
+        .replace("_", "\\_");
+  }
+}
@@ -1,17 +1,28 @@
 package nl.knaw.huc.helpers;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.stream.Collectors.toList;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.UUID;
 import java.util.function.Function;
+import javax.ws.rs.BadRequestException;
 import nl.knaw.huc.api.FormPageParams;
 import nl.knaw.huc.api.ResultPage;
 import nl.knaw.huc.api.ResultPageParams;
 import nl.knaw.huc.config.PaginationConfiguration;
 import nl.knaw.huc.core.Page;
+import nl.knaw.huc.core.PageCursor;
 import nl.knaw.huc.core.PageParams;
+import nl.knaw.huc.core.PageTotal;
 
 public class Paginator {
 
+  private static final String CURSOR_SEPARATOR = "_";
+
   private final PaginationConfiguration config;
 
   public Paginator(PaginationConfiguration config) {
@@ -20,18 +31,73 @@ public class Paginator {
 
   public static <T, U> ResultPage<U> toResult(Page<T> page, Function<T, U> mapper) {
     var resultContent = page.getItems().stream().map(mapper).collect(toList());
-    var resultParams =
-        new ResultPageParams(page.getParams().getLimit(), page.getParams().getOffset());
-    return new ResultPage<>(resultContent, page.getTotal(), resultParams);
+    var params = page.getParams();
+    var resultParams = new ResultPageParams(
+        params.getLimit(),
+        params.getOffset(),
+        encode(params.getCursor()),
+        encode(page.getNextCursor())
+    );
+    var totalType = page.getTotalType();
+    var total = totalType == PageTotal.NONE ? null : page.getTotal();
+    return new ResultPage<>(
+        resultContent,
+        total,
+        totalType.name().toLowerCase(Locale.ROOT),
+        resultParams
+    );
   }
 
   /**
    * Use form params, or set defaults.
+   * When form contains a cursor, offset is ignored.
    */
   public PageParams fromForm(FormPageParams form) {
     var limit = form.getLimit() == null ? config.defaultLimit : form.getLimit();
+    var total = toTotal(form.getTotal());
+    if (form.getCursor() != null) {
+      return new PageParams(limit, decode(form.getCursor())).withTotal(total);
+    }
     var offset = form.getOffset() == null ? config.defaultOffset : form.getOffset();
-    return new PageParams(limit, offset);
+    return new PageParams(limit, offset).withTotal(total);
+  }
+
+  private static PageTotal toTotal(String total) {
+    if (total == null) {
+      return PageTotal.EXACT;
+    }
+    try {
+      return PageTotal.valueOf(total.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new BadRequestException("Invalid total: " + total + "; use exact, estimate or none");
+    }
+  }
+
+  /**
+   * Encode cursor as opaque, url safe string.
+   */
+  static String encode(PageCursor cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    var createdAt = cursor.getCreatedAt() == null ? "" : cursor.getCreatedAt().toString();
+    var decoded = createdAt + CURSOR_SEPARATOR + cursor.getId();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(UTF_8));
+  }
+
+  static PageCursor decode(String cursor) {
+    try {
+      var decoded = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+      var separator = decoded.indexOf(CURSOR_SEPARATOR);
+      var createdAt = decoded.substring(0, separator);
+      var id = decoded.substring(separator + 1);
+      return new PageCursor(
+          createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt),
+          UUID.fromString(id)
+      );
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+      throw new BadRequestException("Invalid cursor: " + cursor, ex);
+    }
   }
 
 }
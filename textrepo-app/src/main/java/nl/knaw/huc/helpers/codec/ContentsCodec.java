@@ -0,0 +1,41 @@
+package nl.knaw.huc.helpers.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.OptionalLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Compression of stored contents, recorded per contents by name.
+ */
+public interface ContentsCodec {
+
+  String getName();
+
+  /**
+   * Compress uncompressed contents, using dictionary when not null.
+   */
+  byte[] encode(@Nonnull byte[] contents, @Nullable byte[] dictionary);
+
+  /**
+   * Decompress contents, using the dictionary they were compressed with.
+   */
+  byte[] decode(@Nonnull byte[] encoded, @Nullable byte[] dictionary);
+
+  /**
+   * Decompress contents into out, using the dictionary they were compressed with.
+   */
+  default void decode(@Nonnull byte[] encoded, @Nullable byte[] dictionary,
+                      @Nonnull OutputStream out) throws IOException {
+    out.write(decode(encoded, dictionary));
+  }
+
+  /**
+   * Checksum of the dictionary that contents were compressed with, as recorded in the contents,
+   * or empty when the codec records no checksum.
+   */
+  default OptionalLong dictionaryChecksum(@Nonnull byte[] encoded) {
+    return OptionalLong.empty();
+  }
+}
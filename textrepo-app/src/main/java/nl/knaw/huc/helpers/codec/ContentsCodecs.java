@@ -0,0 +1,136 @@
+package nl.knaw.huc.helpers.codec;
+
+import static java.lang.String.format;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.ContentsDictionary;
+import nl.knaw.huc.core.StoredContents;
+import nl.knaw.huc.db.ContentsDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compress full contents with the codec and dictionary recorded per contents, and decompress them.
+ *
+ * <p>Uploaded contents are gzipped, and gzipped contents are read as stored: clients accepting
+ * gzip get them without recompressing. Contents stored with another codec are inflated into gzip
+ * when read, so they are limited and served like gzipped contents.
+ *
+ * <p>Dictionaries are cached by ID and by the dictionary checksum recorded in the contents, so a
+ * dictionary row that was rewritten or restored under the same ID is not mistaken for the cached
+ * one.
+ */
+public class ContentsCodecs {
+  private static final Logger log = LoggerFactory.getLogger(ContentsCodecs.class);
+
+  public static final ContentsCodec GZIP = new GzipCodec();
+  public static final ContentsCodec DEFLATE = new DeflateCodec();
+
+  private static final Map<String, ContentsCodec> codecs = Map.of(
+      GZIP.getName(), GZIP,
+      DEFLATE.getName(), DEFLATE
+  );
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final Map<String, ContentsDictionary> dictionaries = new ConcurrentHashMap<>();
+
+  private ContentsCodecs() {
+  }
+
+  public static ContentsCodec get(String name) {
+    var codec = codecs.get(name);
+    if (codec == null) {
+      throw new IllegalStateException(format("Unknown contents codec: %s", name));
+    }
+    return codec;
+  }
+
+  /**
+   * Insert full contents, compressed with the latest dictionary of type when that is smaller than
+   * the gzipped contents, otherwise gzipped.
+   */
+  public static void insert(ContentsDao contentsDao, Contents contents, short typeId) {
+    var dictionary = contentsDao.findLatestDictionary(typeId);
+    if (dictionary.isEmpty()) {
+      contentsDao.insert(contents);
+      return;
+    }
+
+    var encoded = DEFLATE.encode(contents.uncompressed(), dictionary.get().getDictionary());
+    if (encoded.length >= contents.getContents().length) {
+      contentsDao.insert(contents);
+      return;
+    }
+
+    log.debug("Storing {} as {} bytes using dictionary {}",
+        contents.getSha224(), encoded.length, dictionary.get().getId());
+    dictionaries.putIfAbsent(dictionaryKey(DEFLATE, encoded, dictionary.get().getId()),
+        dictionary.get());
+    contentsDao.insertEncoded(
+        contents.getSha224(), encoded, DEFLATE.getName(), dictionary.get().getId());
+  }
+
+  /**
+   * Decode full stored contents as gzipped contents: gzipped contents as stored, other codecs
+   * inflated into gzip, so they are served like gzipped contents.
+   */
+  public static Contents decode(StoredContents stored, ContentsDao contentsDao) {
+    requireFull(stored);
+    if (GZIP.getName().equals(stored.getCodec())) {
+      return new Contents(stored.getSha224(), stored.getContents());
+    }
+
+    var gzipped = new ByteArrayOutputStream(stored.getContents().length * 2);
+    try (var out = new GZIPOutputStream(gzipped, BUFFER_SIZE)) {
+      get(stored.getCodec()).decode(stored.getContents(), dictionaryOf(stored, contentsDao), out);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(format("Could not gzip contents %s", stored.getSha224()), ex);
+    }
+    return new Contents(stored.getSha224(), gzipped.toByteArray());
+  }
+
+  /**
+   * Decode full stored contents uncompressed, whatever their codec.
+   */
+  public static byte[] uncompressed(StoredContents stored, ContentsDao contentsDao) {
+    requireFull(stored);
+    return get(stored.getCodec()).decode(stored.getContents(), dictionaryOf(stored, contentsDao));
+  }
+
+  private static void requireFull(StoredContents stored) {
+    if (stored.isDelta()) {
+      throw new IllegalArgumentException(format("Contents %s are a delta", stored.getSha224()));
+    }
+  }
+
+  private static byte[] dictionaryOf(StoredContents stored, ContentsDao contentsDao) {
+    var id = stored.getDictionaryId();
+    if (id == null) {
+      return null;
+    }
+    var key = dictionaryKey(get(stored.getCodec()), stored.getContents(), id);
+    return dictionaries
+        .computeIfAbsent(key, k -> contentsDao
+            .findDictionary(id)
+            .orElseThrow(() -> new IllegalStateException(
+                format("Dictionary %d of contents %s not found", id, stored.getSha224()))))
+        .getDictionary();
+  }
+
+  /**
+   * Dictionary ID, with the dictionary checksum when recorded in the encoded contents.
+   */
+  private static String dictionaryKey(ContentsCodec codec, byte[] encoded, int dictionaryId) {
+    var checksum = codec.dictionaryChecksum(encoded);
+    return checksum.isPresent()
+        ? format("%d:%08x", dictionaryId, checksum.getAsLong())
+        : String.valueOf(dictionaryId);
+  }
+}
@@ -0,0 +1,131 @@
+package nl.knaw.huc.helpers.codec;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Train a deflate dictionary from a sample of uncompressed contents.
+ *
+ * <p>Finds segments that occur in many samples: runs of overlapping 8-byte grams, each of which
+ * occurs in at least a quarter of the samples. Segments are added by number of samples containing
+ * them times their length, skipping segments the dictionary already contains, until it is full.
+ * Deflate encodes nearby matches more cheaply, so the most valuable segments are put at the end.
+ *
+ * <p>Grams are counted by hash in a fixed size table, so memory use does not depend on the
+ * sample; collisions only make some grams seem more common.
+ */
+public class DictionaryTrainer {
+
+  /**
+   * Deflate refers back at most 32KB, including the dictionary.
+   */
+  public static final int MAX_SIZE = 32 * 1024;
+
+  /**
+   * Only the first 64KB of each sample are used.
+   */
+  public static final int MAX_SAMPLE_SIZE = 64 * 1024;
+
+  private static final int GRAM_SIZE = 8;
+  private static final int MIN_SEGMENT_SIZE = 12;
+  private static final int MAX_SEGMENT_SIZE = 1024;
+
+  private static final int TABLE_BITS = 22;
+
+  private final int[] frequencies = new int[1 << TABLE_BITS];
+  private final int[] lastSample = new int[1 << TABLE_BITS];
+
+  private DictionaryTrainer() {
+  }
+
+  /**
+   * Train dictionary from samples, of which only the first 64KB are used.
+   *
+   * @return dictionary, empty when samples have nothing in common
+   */
+  public static byte[] train(List<byte[]> samples) {
+    return new DictionaryTrainer().trainFrom(samples);
+  }
+
+  private byte[] trainFrom(List<byte[]> samples) {
+    for (int s = 0; s < samples.size(); s++) {
+      var sample = samples.get(s);
+      for (int i = 0; i + GRAM_SIZE <= size(sample); i++) {
+        var slot = slot(sample, i);
+        if (lastSample[slot] != s + 1) {
+          lastSample[slot] = s + 1;
+          frequencies[slot]++;
+        }
+      }
+    }
+    var minFrequency = Math.max(2, (samples.size() + 3) / 4);
+
+    var segments = new HashMap<String, Integer>();
+    for (var sample : samples) {
+      var found = new HashSet<String>();
+      var i = 0;
+      while (i + GRAM_SIZE <= size(sample)) {
+        if (frequencies[slot(sample, i)] < minFrequency) {
+          i++;
+          continue;
+        }
+        var start = i;
+        while (i + GRAM_SIZE <= size(sample) && frequencies[slot(sample, i)] >= minFrequency) {
+          i++;
+        }
+        var length = Math.min(i - 1 + GRAM_SIZE - start, MAX_SEGMENT_SIZE);
+        if (length >= MIN_SEGMENT_SIZE) {
+          found.add(new String(sample, start, length, ISO_8859_1));
+        }
+      }
+      found.forEach(segment -> segments.merge(segment, 1, Integer::sum));
+    }
+
+    return build(segments);
+  }
+
+  private static byte[] build(Map<String, Integer> segments) {
+    var ranked = new ArrayList<>(segments.entrySet());
+    ranked.sort(Comparator
+        .comparingLong((Map.Entry<String, Integer> e) -> (long) e.getValue() * e.getKey().length())
+        .reversed()
+        .thenComparing(Map.Entry::getKey));
+
+    var selected = new ArrayList<String>();
+    var dictionary = new StringBuilder(MAX_SIZE);
+    for (var entry : ranked) {
+      var segment = entry.getKey();
+      if (entry.getValue() < 2 || dictionary.length() + segment.length() > MAX_SIZE) {
+        continue;
+      }
+      if (dictionary.indexOf(segment) < 0) {
+        selected.add(segment);
+        dictionary.append(segment);
+      }
+    }
+
+    // most valuable segments last:
+    Collections.reverse(selected);
+    return String.join("", selected).getBytes(ISO_8859_1);
+  }
+
+  private static int size(byte[] sample) {
+    return Math.min(sample.length, MAX_SAMPLE_SIZE);
+  }
+
+  private static int slot(byte[] sample, int offset) {
+    long gram = 0;
+    for (int i = 0; i < GRAM_SIZE; i++) {
+      gram = gram << 8 | (sample[offset + i] & 0xff);
+    }
+    gram *= 0x9E3779B97F4A7C15L;
+    return (int) (gram >>> (64 - TABLE_BITS));
+  }
+}
@@ -0,0 +1,40 @@
+package nl.knaw.huc.helpers.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import nl.knaw.huc.helpers.gzip.GzipCompressingInputStream;
+
+/**
+ * Gzip, as uploaded contents are compressed and served to clients: does not use dictionaries.
+ */
+public class GzipCodec implements ContentsCodec {
+
+  public static final String NAME = "gzip";
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public byte[] encode(@Nonnull byte[] contents, @Nullable byte[] dictionary) {
+    try (var compressed = new GzipCompressingInputStream(new ByteArrayInputStream(contents))) {
+      return compressed.readAllBytes();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not gzip contents", ex);
+    }
+  }
+
+  @Override
+  public byte[] decode(@Nonnull byte[] encoded, @Nullable byte[] dictionary) {
+    try (var decompressed = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+      return decompressed.readAllBytes();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not gunzip contents", ex);
+    }
+  }
+}
@@ -0,0 +1,263 @@
+package nl.knaw.huc.helpers.delta;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Binary delta of a target against a source, as a list of copy and add instructions.
+ *
+ * <p>Copies are found by indexing fixed size blocks of the source by hash, and comparing them
+ * with every block of the target using a rolling hash, after which matches are extended in both
+ * directions. Like VCDIFF and rsync, but without their wire formats.
+ *
+ * <p>Format: magic, version, length of target, followed by instructions:
+ * {@code ADD length bytes} or {@code COPY sourceOffset length}; numbers as unsigned varints.
+ */
+public class BinaryDelta {
+
+  private static final byte MAGIC_0 = 'T';
+  private static final byte MAGIC_1 = 'D';
+  private static final byte VERSION = 1;
+
+  private static final int ADD = 0;
+  private static final int COPY = 1;
+
+  private static final int BLOCK_SIZE = 16;
+  private static final int HASH_BASE = 257;
+
+  private BinaryDelta() {
+  }
+
+  /**
+   * Create delta that turns source into target.
+   */
+  public static byte[] encode(byte[] source, byte[] target) {
+    var out = new ByteArrayOutputStream(64);
+    out.write(MAGIC_0);
+    out.write(MAGIC_1);
+    out.write(VERSION);
+    writeVarint(out, target.length);
+
+    var blocks = new BlockIndex(source);
+    var pendingAdd = 0;
+    var pos = 0;
+    var hash = target.length >= BLOCK_SIZE ? hash(target, 0) : 0;
+    while (pos + BLOCK_SIZE <= target.length) {
+      var sourcePos = blocks.find(hash, target, pos);
+      if (sourcePos < 0) {
+        if (pos + BLOCK_SIZE < target.length) {
+          hash = roll(hash, target[pos], target[pos + BLOCK_SIZE]);
+        }
+        pos++;
+        continue;
+      }
+
+      // extend backwards into pending add, and forwards:
+      var start = pos;
+      while (start > pendingAdd && sourcePos > 0 && target[start - 1] == source[sourcePos - 1]) {
+        start--;
+        sourcePos--;
+      }
+      var end = pos + BLOCK_SIZE;
+      var sourceEnd = sourcePos + (end - start);
+      while (end < target.length && sourceEnd < source.length
+          && target[end] == source[sourceEnd]) {
+        end++;
+        sourceEnd++;
+      }
+
+      writeAdd(out, target, pendingAdd, start);
+      out.write(COPY);
+      writeVarint(out, sourcePos);
+      writeVarint(out, end - start);
+
+      pos = end;
+      pendingAdd = end;
+      if (pos + BLOCK_SIZE <= target.length) {
+        hash = hash(target, pos);
+      }
+    }
+    writeAdd(out, target, pendingAdd, target.length);
+    return out.toByteArray();
+  }
+
+  /**
+   * Apply delta to source, recreating the target.
+   *
+   * @throws IllegalArgumentException when delta is invalid or does not fit source
+   */
+  public static byte[] apply(byte[] source, byte[] delta) {
+    if (delta.length < 3 || delta[0] != MAGIC_0 || delta[1] != MAGIC_1 || delta[2] != VERSION) {
+      throw new IllegalArgumentException("Not a delta");
+    }
+    var in = new Reader(delta, 3);
+    var target = new byte[in.readLength()];
+    var pos = 0;
+    while (in.hasMore()) {
+      var instruction = in.readByte();
+      if (instruction == ADD) {
+        var length = in.readLength();
+        pos = checkedEnd(pos, length, target.length);
+        in.readBytes(target, pos - length, length);
+      } else if (instruction == COPY) {
+        var offset = in.readLength();
+        var length = in.readLength();
+        checkedEnd(offset, length, source.length);
+        pos = checkedEnd(pos, length, target.length);
+        System.arraycopy(source, offset, target, pos - length, length);
+      } else {
+        throw new IllegalArgumentException("Unknown delta instruction: " + instruction);
+      }
+    }
+    if (pos != target.length) {
+      throw new IllegalArgumentException("Delta is incomplete");
+    }
+    return target;
+  }
+
+  private static int checkedEnd(int start, int length, int limit) {
+    if (length > limit - start) {
+      throw new IllegalArgumentException("Delta instruction exceeds bounds");
+    }
+    return start + length;
+  }
+
+  private static void writeAdd(ByteArrayOutputStream out, byte[] target, int from, int to) {
+    if (to > from) {
+      out.write(ADD);
+      writeVarint(out, to - from);
+      out.write(target, from, to - from);
+    }
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  private static int hash(byte[] bytes, int from) {
+    var hash = 0;
+    for (var i = from; i < from + BLOCK_SIZE; i++) {
+      hash = hash * HASH_BASE + (bytes[i] & 0xFF);
+    }
+    return hash;
+  }
+
+  /**
+   * Hash of next block: remove first byte of current block, add byte after it.
+   */
+  private static int roll(int hash, byte removed, byte added) {
+    return (hash - (removed & 0xFF) * BlockIndex.HIGHEST_POWER) * HASH_BASE + (added & 0xFF);
+  }
+
+  /**
+   * Open addressing hash table of source blocks at multiples of block size, by hash.
+   */
+  private static class BlockIndex {
+    private static final int HIGHEST_POWER = highestPower();
+
+    private final byte[] source;
+    private final int[] hashes;
+    private final int[] offsets;
+    private final int mask;
+
+    private BlockIndex(byte[] source) {
+      this.source = source;
+      var blockCount = source.length / BLOCK_SIZE;
+      var capacity = Integer.highestOneBit(Math.max(blockCount, 1) * 2 - 1) << 1;
+      this.hashes = new int[capacity];
+      this.offsets = new int[capacity];
+      this.mask = capacity - 1;
+      Arrays.fill(offsets, -1);
+      for (var block = 0; block < blockCount; block++) {
+        var offset = block * BLOCK_SIZE;
+        var hash = hash(source, offset);
+        var slot = slot(hash);
+        while (offsets[slot] >= 0 && hashes[slot] != hash) {
+          slot = (slot + 1) & mask;
+        }
+        if (offsets[slot] < 0) {
+          hashes[slot] = hash;
+          offsets[slot] = offset;
+        }
+      }
+    }
+
+    /**
+     * Find source offset of block equal to target block at pos, or -1.
+     */
+    private int find(int hash, byte[] target, int pos) {
+      var slot = slot(hash);
+      while (offsets[slot] >= 0) {
+        if (hashes[slot] == hash) {
+          var offset = offsets[slot];
+          return Arrays.equals(
+              source, offset, offset + BLOCK_SIZE,
+              target, pos, pos + BLOCK_SIZE
+          ) ? offset : -1;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    private int slot(int hash) {
+      return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int highestPower() {
+      var power = 1;
+      for (var i = 1; i < BLOCK_SIZE; i++) {
+        power *= HASH_BASE;
+      }
+      return power;
+    }
+  }
+
+  private static class Reader {
+    private final byte[] bytes;
+    private int pos;
+
+    private Reader(byte[] bytes, int pos) {
+      this.bytes = bytes;
+      this.pos = pos;
+    }
+
+    private boolean hasMore() {
+      return pos < bytes.length;
+    }
+
+    private int readByte() {
+      if (pos >= bytes.length) {
+        throw new IllegalArgumentException("Delta is truncated");
+      }
+      return bytes[pos++] & 0xFF;
+    }
+
+    private int readLength() {
+      var value = 0;
+      for (var shift = 0; shift < 32; shift += 7) {
+        var b = readByte();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          if (value < 0) {
+            throw new IllegalArgumentException("Delta contains negative length");
+          }
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Delta contains invalid length");
+    }
+
+    private void readBytes(byte[] target, int offset, int length) {
+      if (length > bytes.length - pos) {
+        throw new IllegalArgumentException("Delta is truncated");
+      }
+      System.arraycopy(bytes, pos, target, offset, length);
+      pos += length;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package nl.knaw.huc.helpers.delta;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import nl.knaw.huc.core.Contents;
+
+/**
+ * Least recently used contents by sha, limited by total size of the (gzipped) contents.
+ *
+ * <p>Contents of a sha never change: cached contents do not have to be invalidated.
+ */
+class ContentsCache {
+
+  private final long maxBytes;
+  private final Map<String, Contents> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long bytes;
+
+  ContentsCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  synchronized Contents get(String sha) {
+    return entries.get(sha);
+  }
+
+  /**
+   * Cache contents, unless larger than an eighth of the cache, evicting least recently used.
+   */
+  synchronized void put(Contents contents) {
+    var size = contents.getContents().length;
+    if (size > maxBytes / 8) {
+      return;
+    }
+    var previous = entries.put(contents.getSha224(), contents);
+    if (previous != null) {
+      bytes -= previous.getContents().length;
+    }
+    bytes += size;
+    var eldest = entries.values().iterator();
+    while (bytes > maxBytes && eldest.hasNext()) {
+      bytes -= eldest.next().getContents().length;
+      eldest.remove();
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package nl.knaw.huc.helpers.delta;
+
+import static java.lang.String.format;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Optional;
+import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.StoredContents;
+import nl.knaw.huc.db.ContentsDao;
+import nl.knaw.huc.helpers.codec.ContentsCodecs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Store contents as delta against contents of an earlier version, and reconstruct them.
+ *
+ * <p>Deltas are created from the uncompressed contents, and stored uncompressed. A delta is only
+ * stored when its base is at most snapshotInterval - 2 deltas away from full contents, which
+ * bounds reconstruction to snapshotInterval - 1 deltas, and when it is less than half the size of
+ * the gzipped contents. Full contents are decoded with their codec.
+ *
+ * <p>New deltas are applied to their base before they are stored: contents of which the delta
+ * does not reproduce them are stored in full, as the full contents are not kept.
+ *
+ * <p>Reconstructed contents are checked against their sha, and cached. Full contents stored with
+ * another codec than gzip are cached too, as they are gzipped when read.
+ */
+public class ContentsDeltas {
+  private static final Logger log = LoggerFactory.getLogger(ContentsDeltas.class);
+
+  private static final long CACHE_BYTES = 64L * 1024 * 1024;
+
+  private static final ContentsCache cache = new ContentsCache(CACHE_BYTES);
+
+  private ContentsDeltas() {
+  }
+
+  /**
+   * Store contents as delta against contents of baseSha when possible.
+   *
+   * @return false when contents should be stored in full
+   */
+  public static boolean storeDelta(
+      ContentsDao contentsDao,
+      Contents contents,
+      String baseSha,
+      int snapshotInterval
+  ) {
+    var base = baseSha.equals(contents.getSha224())
+        ? Optional.<StoredContents>empty()
+        : contentsDao.findStoredBySha224(baseSha);
+    if (base.isEmpty() || base.get().getDeltaDepth() + 1 >= snapshotInterval) {
+      return false;
+    }
+
+    var baseText = reconstruct(base.get(), contentsDao).uncompressed();
+    var text = contents.uncompressed();
+    var delta = BinaryDelta.encode(baseText, text);
+    if (delta.length * 2L >= contents.getContents().length) {
+      return false;
+    }
+    if (!reproduces(baseText, delta, text)) {
+      log.error("Delta of {} against {} does not reproduce contents, storing contents in full",
+          contents.getSha224(), baseSha);
+      return false;
+    }
+
+    var depth = (short) (base.get().getDeltaDepth() + 1);
+    log.debug("Storing {} as delta of {} bytes against {}, depth {}",
+        contents.getSha224(), delta.length, baseSha, depth);
+    contentsDao.insertDelta(contents.getSha224(), delta, baseSha, depth);
+    cache.put(contents);
+    return true;
+  }
+
+  static boolean reproduces(byte[] base, byte[] delta, byte[] text) {
+    try {
+      return Arrays.equals(BinaryDelta.apply(base, delta), text);
+    } catch (IllegalArgumentException ex) {
+      return false;
+    }
+  }
+
+  /**
+   * Reconstruct contents by applying deltas to the nearest full or cached base contents.
+   */
+  public static Contents reconstruct(StoredContents stored, ContentsDao contentsDao) {
+    if (!stored.isDelta() && ContentsCodecs.GZIP.getName().equals(stored.getCodec())) {
+      return ContentsCodecs.decode(stored, contentsDao);
+    }
+
+    var cached = cache.get(stored.getSha224());
+    if (cached != null) {
+      return cached;
+    }
+
+    if (!stored.isDelta()) {
+      var decoded = ContentsCodecs.decode(stored, contentsDao);
+      cache.put(decoded);
+      return decoded;
+    }
+
+    // walk back from delta to nearest cached or full contents:
+    var deltas = new ArrayDeque<StoredContents>();
+    var current = stored;
+    byte[] text = null;
+    while (text == null) {
+      if (deltas.size() > stored.getDeltaDepth()) {
+        throw new IllegalStateException(format(
+            "Delta chain of contents %s exceeds depth %d", stored.getSha224(),
+            stored.getDeltaDepth()));
+      }
+      deltas.push(current);
+      var baseSha = current.getBaseSha();
+      var base = cache.get(baseSha);
+      if (base != null) {
+        text = base.uncompressed();
+      } else {
+        current = contentsDao
+            .findStoredBySha224(baseSha)
+            .orElseThrow(() -> new IllegalStateException(
+                format("Base contents %s of delta %s not found", baseSha, stored.getSha224())));
+        if (!current.isDelta()) {
+          text = ContentsCodecs.uncompressed(current, contentsDao);
+        }
+      }
+    }
+
+    while (!deltas.isEmpty()) {
+      text = BinaryDelta.apply(text, deltas.pop().getContents());
+    }
+    var reconstructed = Contents.fromBytes(text);
+    if (!reconstructed.getSha224().equals(stored.getSha224())) {
+      throw new IllegalStateException(format(
+          "Reconstructed contents %s have sha %s", stored.getSha224(),
+          reconstructed.getSha224()));
+    }
+    var contents = new Contents(stored.getSha224(), ContentsCodecs.GZIP.encode(text, null));
+    cache.put(contents);
+    return contents;
+  }
+}
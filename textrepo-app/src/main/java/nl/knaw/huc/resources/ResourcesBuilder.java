@@ -2,11 +2,14 @@ package nl.knaw.huc.resources;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import javax.annotation.Nonnull;
+import nl.knaw.huc.config.ChangesConfiguration;
 import nl.knaw.huc.config.TextRepoConfiguration;
 import nl.knaw.huc.helpers.ContentsHelper;
 import nl.knaw.huc.helpers.Paginator;
 import nl.knaw.huc.resources.about.AboutResource;
+import nl.knaw.huc.resources.changes.ChangesResource;
 import nl.knaw.huc.resources.dashboard.DashboardResource;
 import nl.knaw.huc.resources.rest.ContentsResource;
 import nl.knaw.huc.resources.rest.DocumentFilesResource;
@@ -19,14 +22,18 @@ import nl.knaw.huc.resources.rest.MetadataResource;
 import nl.knaw.huc.resources.rest.TypesResource;
 import nl.knaw.huc.resources.rest.VersionContentsResource;
 import nl.knaw.huc.resources.rest.VersionMetadataResource;
+import nl.knaw.huc.resources.rest.VersionsMetadataResource;
 import nl.knaw.huc.resources.rest.VersionsResource;
 import nl.knaw.huc.resources.task.DeleteDocumentResource;
+import nl.knaw.huc.resources.task.DictionaryResource;
+import nl.knaw.huc.resources.task.ExportResource;
 import nl.knaw.huc.resources.task.FindResource;
 import nl.knaw.huc.resources.task.ImportResource;
 import nl.knaw.huc.resources.task.IndexResource;
 import nl.knaw.huc.resources.task.RegisterIdentifiersResource;
 import nl.knaw.huc.resources.view.ViewBuilderFactory;
 import nl.knaw.huc.resources.view.ViewVersionResource;
+import nl.knaw.huc.service.changes.ChangeService;
 import nl.knaw.huc.service.contents.ContentsService;
 import nl.knaw.huc.service.dashboard.DashboardService;
 import nl.knaw.huc.service.document.DocumentService;
@@ -34,6 +41,7 @@ import nl.knaw.huc.service.document.files.DocumentFilesService;
 import nl.knaw.huc.service.document.metadata.DocumentMetadataService;
 import nl.knaw.huc.service.file.FileService;
 import nl.knaw.huc.service.file.metadata.FileMetadataService;
+import nl.knaw.huc.service.metadata.MetadataSearchService;
 import nl.knaw.huc.service.task.TaskBuilderFactory;
 import nl.knaw.huc.service.type.TypeService;
 import nl.knaw.huc.service.version.VersionService;
@@ -42,6 +50,7 @@ import nl.knaw.huc.service.version.metadata.VersionMetadataService;
 
 public class ResourcesBuilder {
   private final TextRepoConfiguration config;
+  private ChangeService changeService;
   private ContentsService contentsService;
   private ContentsHelper contentsHelper;
   private DashboardService dashboardService;
@@ -51,6 +60,7 @@ public class ResourcesBuilder {
   private DocumentService documentService;
   private DocumentMetadataService documentMetadataService;
   private FileMetadataService fileMetadataService;
+  private MetadataSearchService metadataSearchService;
   private VersionService versionService;
   private FileService fileService;
   private TypeService typeService;
@@ -62,6 +72,11 @@ public class ResourcesBuilder {
     this.config = config;
   }
 
+  public ResourcesBuilder changeService(@Nonnull ChangeService changeService) {
+    this.changeService = changeService;
+    return this;
+  }
+
   public ResourcesBuilder contentsService(@Nonnull ContentsService contentsService) {
     this.contentsService = contentsService;
     return this;
@@ -108,6 +123,12 @@ public class ResourcesBuilder {
     return this;
   }
 
+  public ResourcesBuilder metadataSearchService(
+      @Nonnull MetadataSearchService metadataSearchService) {
+    this.metadataSearchService = metadataSearchService;
+    return this;
+  }
+
   public ResourcesBuilder versionService(@Nonnull VersionService versionService) {
     this.versionService = versionService;
     return this;
@@ -148,28 +169,41 @@ public class ResourcesBuilder {
   public List<Object> build() {
     return Arrays.asList(
         new AboutResource(config),
+        new ChangesResource(changeService, getChanges().maxWaitSeconds),
         new ContentsResource(contentsService, contentsHelper),
         new DashboardResource(dashboardService, paginator),
         new DeleteDocumentResource(taskBuilderFactory),
+        new DictionaryResource(taskBuilderFactory),
         new DocumentFilesResource(documentFilesService, paginator),
-        new DocumentsResource(documentService, paginator),
+        new DocumentsResource(documentService, taskBuilderFactory, paginator),
         new DocumentMetadataResource(documentMetadataService),
+        new ExportResource(taskBuilderFactory),
         new FileMetadataResource(fileMetadataService),
-        new FileVersionsResource(versionService, paginator),
+        new FileVersionsResource(versionService, versionMetadataService, paginator),
         new FindResource(taskBuilderFactory, contentsHelper),
         new FilesResource(fileService),
         new ImportResource(taskBuilderFactory),
         new IndexResource(taskBuilderFactory),
-        new MetadataResource(documentMetadataService),
+        new MetadataResource(documentMetadataService, metadataSearchService, paginator),
         new RegisterIdentifiersResource(taskBuilderFactory),
         new TypesResource(typeService),
         new VersionContentsResource(versionContentsService, contentsHelper),
         new VersionMetadataResource(versionMetadataService),
+        new VersionsMetadataResource(versionMetadataService),
         new VersionsResource(versionService),
         new ViewVersionResource(versionContentsService, contentsHelper, viewBuilderFactory)
     );
 
   }
 
+  /**
+   * Changes configuration, or its defaults when config has no changes section.
+   */
+  private ChangesConfiguration getChanges() {
+    return Optional
+        .ofNullable(config.getChanges())
+        .orElseGet(ChangesConfiguration::new);
+  }
+
 }
 
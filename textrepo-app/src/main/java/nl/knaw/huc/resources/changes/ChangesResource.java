@@ -0,0 +1,77 @@
+package nl.knaw.huc.resources.changes;
+
+import static java.util.Objects.requireNonNull;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import java.time.Duration;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import nl.knaw.huc.api.ResultChanges;
+import nl.knaw.huc.service.changes.ChangeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Api(tags = {"changes"})
+@Path("/changes")
+public class ChangesResource {
+
+  private static final Logger log = LoggerFactory.getLogger(ChangesResource.class);
+
+  private static final int MAX_LIMIT = 1000;
+
+  private final ChangeService changeService;
+  private final int maxWaitSeconds;
+
+  public ChangesResource(ChangeService changeService, int maxWaitSeconds) {
+    this.changeService = requireNonNull(changeService);
+    this.maxWaitSeconds = maxWaitSeconds;
+  }
+
+  @GET
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(value = "Get changes of documents, files, versions and metadata "
+      + "after cursor, in order of sequence number. When there are no changes yet, "
+      + "wait up to the given number of seconds for new changes (long polling).")
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, response = ResultChanges.class, message = "OK")})
+  public void getChanges(
+      @QueryParam("since")
+      @DefaultValue("0")
+      @ApiParam(value = "cursor of previous response, or 0 to start at first change",
+          example = "1234")
+      @Min(0)
+      long since,
+      @QueryParam("limit")
+      @DefaultValue("100")
+      @Min(1)
+      @Max(MAX_LIMIT)
+      int limit,
+      @QueryParam("wait")
+      @DefaultValue("0")
+      @ApiParam(value = "seconds to wait for new changes, limited by server configuration",
+          example = "30")
+      @Min(0)
+      int wait,
+      @Suspended
+      AsyncResponse response
+  ) {
+    log.debug("Get changes: since={}; limit={}; wait={}", since, limit, wait);
+    var waitDuration = Duration.ofSeconds(Math.min(wait, maxWaitSeconds));
+    changeService.await(since, limit, waitDuration, changes -> {
+      log.debug("Got changes: {}", changes.size());
+      response.resume(new ResultChanges(changes, since));
+    });
+  }
+}
@@ -5,14 +5,20 @@ import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static nl.knaw.huc.helpers.Paginator.toResult;
 import static nl.knaw.huc.resources.HeaderLink.Uri.DOCUMENT;
 
+import com.codahale.metrics.annotation.Timed;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.BeanParam;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -27,11 +33,16 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
 import nl.knaw.huc.api.FormDocument;
 import nl.knaw.huc.api.FormPageParams;
+import nl.knaw.huc.api.ResultBatch;
 import nl.knaw.huc.api.ResultDocument;
+import nl.knaw.huc.api.ResultExpandedDocument;
 import nl.knaw.huc.api.ResultPage;
 import nl.knaw.huc.core.Document;
+import nl.knaw.huc.core.DocumentExpand;
+import nl.knaw.huc.core.ExternalIdMatch;
 import nl.knaw.huc.helpers.Paginator;
 import nl.knaw.huc.service.document.DocumentService;
+import nl.knaw.huc.service.task.TaskBuilderFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,17 +51,24 @@ import org.slf4j.LoggerFactory;
 public class DocumentsResource {
 
   private static final Logger log = LoggerFactory.getLogger(DocumentsResource.class);
+  private static final int MAX_BATCH_IDS = 1000;
   private final DocumentService documentService;
+  private final TaskBuilderFactory factory;
   private final Paginator paginator;
 
   private static class ResultDocumentPage extends ResultPage<ResultDocument> {
   }
 
+  private static class ResultDocumentBatch extends ResultBatch<ResultDocument> {
+  }
+
   public DocumentsResource(
       DocumentService documentService,
+      TaskBuilderFactory factory,
       Paginator paginator
   ) {
     this.documentService = requireNonNull(documentService);
+    this.factory = requireNonNull(factory);
     this.paginator = requireNonNull(paginator);
   }
 
@@ -83,33 +101,79 @@ public class DocumentsResource {
       @QueryParam("externalId")
       @ApiParam(example = "document_1234")
       String externalId,
+      @QueryParam("match")
+      @ApiParam(value = "how to match externalId, pattern uses wildcards % and _",
+          allowableValues = "exact,prefix,contains,pattern", example = "prefix")
+      String match,
       @QueryParam("createdAfter")
       @ApiParam(example = "2021-04-16T09:03:03")
       LocalDateTime createdAfter,
       @BeanParam FormPageParams
           pageParams
   ) {
-    log.debug("Get documents: externalId={}; createdAfter={}; pageParams={}", externalId,
-        createdAfter, pageParams);
-    var docs = documentService.getAll(externalId, createdAfter, paginator.fromForm(pageParams));
+    log.debug("Get documents: externalId={}; match={}; createdAfter={}; pageParams={}",
+        externalId, match, createdAfter, pageParams);
+    var docs = documentService.getAll(externalId, toExternalIdMatch(match), createdAfter,
+        paginator.fromForm(pageParams));
     log.debug("Got documents: {}", docs);
     return Response
         .ok(toResult(docs, ResultDocument::new))
         .build();
   }
 
+  @POST
+  @Path("/_batch")
+  @Timed
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(value = "Retrieve multiple documents by ID, and list IDs that could not be found")
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, response = ResultDocumentBatch.class, message = "OK")})
+  public Response getDocumentsByIds(
+      @ApiParam(required = true, example = "[\"34739357-eb75-449b-b2df-d3f6289470d6\"]")
+      @NotNull
+      @Size(max = MAX_BATCH_IDS)
+      List<UUID> ids
+  ) {
+    log.debug("Get documents by IDs: {}", ids.size());
+    var result = ResultBatch.of(ids, documentService.getByIds(ids), Document::getId,
+        ResultDocument::new);
+    log.debug("Got documents by IDs: {}; missing: {}", result.getItems().size(),
+        result.getMissing().size());
+    return Response.ok(result).build();
+  }
+
   @GET
   @Path("/{id}")
   @Produces(APPLICATION_JSON)
-  @ApiOperation(value = "Retrieve document")
-  @ApiResponses(value = {@ApiResponse(code = 200, response = ResultDocument.class, message = "OK")})
+  @ApiOperation(value = "Retrieve document, "
+      + "optionally with its metadata, files, file metadata and latest file versions")
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, response = ResultExpandedDocument.class, message = "OK")})
   public Response getDocument(
       @PathParam("id")
       @ApiParam(required = true, example = "34739357-eb75-449b-b2df-d3f6289470d6")
       @Valid
-      UUID id
+      UUID id,
+      @QueryParam("expand")
+      @ApiParam(value = "comma separated resources to include: files, metadata, latestVersion",
+          example = "files,metadata,latestVersion")
+      String expand
   ) {
-    log.debug("Get document: id={}", id);
+    log.debug("Get document: id={}; expand={}", id, expand);
+    var toExpand = DocumentExpand.parse(expand);
+    if (!toExpand.isEmpty()) {
+      var expanded = factory
+          .getExpandedDocumentGetter()
+          .forDocument(id)
+          .withExpand(toExpand)
+          .build()
+          .run();
+      log.debug("Got expanded document: {}", expanded.getId());
+      return Response
+          .ok(expanded)
+          .build();
+    }
     final var doc = documentService
         .get(id)
         .orElseThrow(NotFoundException::new);
@@ -155,4 +219,16 @@ public class DocumentsResource {
     return Response.noContent().build();
   }
 
+  private static ExternalIdMatch toExternalIdMatch(String match) {
+    if (match == null) {
+      return ExternalIdMatch.PATTERN;
+    }
+    try {
+      return ExternalIdMatch.valueOf(match.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new BadRequestException(
+          "Invalid match: " + match + "; use exact, prefix, contains or pattern");
+    }
+  }
+
 }
@@ -25,6 +25,7 @@ import nl.knaw.huc.api.ResultPage;
 import nl.knaw.huc.api.ResultVersion;
 import nl.knaw.huc.helpers.Paginator;
 import nl.knaw.huc.service.version.VersionService;
+import nl.knaw.huc.service.version.metadata.VersionMetadataService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +36,7 @@ public class FileVersionsResource {
   private static final Logger log = LoggerFactory.getLogger(FileVersionsResource.class);
 
   private final VersionService versionService;
+  private final VersionMetadataService versionMetadataService;
   private final Paginator paginator;
 
   private static class ResultVersionPage extends ResultPage<ResultVersion> {
@@ -42,9 +44,11 @@ public class FileVersionsResource {
 
   public FileVersionsResource(
       VersionService versionService,
+      VersionMetadataService versionMetadataService,
       Paginator paginator
   ) {
     this.versionService = requireNonNull(versionService);
+    this.versionMetadataService = requireNonNull(versionMetadataService);
     this.paginator = requireNonNull(paginator);
   }
 
@@ -75,4 +79,23 @@ public class FileVersionsResource {
         .build();
   }
 
+  @GET
+  @Path("/metadata")
+  @Timed
+  @Produces(APPLICATION_JSON)
+  @ApiOperation("Retrieve metadata of all file versions, newest first")
+  @ApiResponses({
+      @ApiResponse(code = 200, responseContainer = "Map", response = Object.class, message = "OK")})
+  public Response getFileVersionsMetadata(
+      @PathParam("fileId")
+      @ApiParam(required = true, example = "34739357-eb75-449b-b2df-d3f6289470d6")
+      @Valid
+      UUID fileId
+  ) {
+    log.debug("Get metadata of file versions: fileId={}", fileId);
+    var metadata = versionMetadataService.getMetadataByFileId(fileId);
+    log.debug("Got metadata of file versions: {}", metadata.size());
+    return Response.ok(metadata).build();
+  }
+
 }
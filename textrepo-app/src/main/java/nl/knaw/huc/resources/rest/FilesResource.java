@@ -10,9 +10,11 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import java.util.List;
 import java.util.UUID;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -23,6 +25,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Response;
 import nl.knaw.huc.api.FormTextRepoFile;
+import nl.knaw.huc.api.ResultBatch;
 import nl.knaw.huc.api.ResultTextRepoFile;
 import nl.knaw.huc.core.TextRepoFile;
 import nl.knaw.huc.service.file.FileService;
@@ -34,9 +37,13 @@ import org.slf4j.LoggerFactory;
 public class FilesResource {
 
   private static final Logger log = LoggerFactory.getLogger(FilesResource.class);
+  private static final int MAX_BATCH_IDS = 1000;
 
   private final FileService fileService;
 
+  private static class ResultTextRepoFileBatch extends ResultBatch<ResultTextRepoFile> {
+  }
+
   public FilesResource(FileService fileService) {
     this.fileService = requireNonNull(fileService);
   }
@@ -59,6 +66,29 @@ public class FilesResource {
         .build();
   }
 
+  @POST
+  @Path("/_batch")
+  @Timed
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(value = "Retrieve multiple files by ID, and list IDs that could not be found")
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, response = ResultTextRepoFileBatch.class, message = "OK")})
+  public Response getFilesByIds(
+      @ApiParam(required = true, example = "[\"34739357-eb75-449b-b2df-d3f6289470d6\"]")
+      @NotNull
+      @Size(max = MAX_BATCH_IDS)
+      List<UUID> ids
+  ) {
+    log.debug("Get files by IDs: {}", ids.size());
+    var docIds = fileService.getDocumentIds(ids);
+    var result = ResultBatch.of(ids, fileService.getByIds(ids), TextRepoFile::getId,
+        file -> new ResultTextRepoFile(docIds.get(file.getId()), file));
+    log.debug("Got files by IDs: {}; missing: {}", result.getItems().size(),
+        result.getMissing().size());
+    return Response.ok(result).build();
+  }
+
   @GET
   @Path("/{id}")
   @Timed
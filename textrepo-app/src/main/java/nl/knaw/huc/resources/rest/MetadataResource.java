@@ -2,18 +2,38 @@ package nl.knaw.huc.resources.rest;
 
 import static java.util.Objects.requireNonNull;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static nl.knaw.huc.helpers.Paginator.toResult;
 
+import com.codahale.metrics.annotation.Timed;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import javax.ws.rs.BeanParam;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+import nl.knaw.huc.api.FormMetadataCondition;
+import nl.knaw.huc.api.FormPageParams;
+import nl.knaw.huc.api.ResultPage;
+import nl.knaw.huc.core.MetadataQuery;
+import nl.knaw.huc.core.Page;
+import nl.knaw.huc.core.PageParams;
+import nl.knaw.huc.helpers.Paginator;
 import nl.knaw.huc.service.document.metadata.DocumentMetadataService;
+import nl.knaw.huc.service.metadata.MetadataSearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,10 +42,27 @@ import org.slf4j.LoggerFactory;
 public class MetadataResource {
   private static final Logger log = LoggerFactory.getLogger(MetadataResource.class);
 
+  private static final int MAX_CONDITIONS = 10;
+
+  private static final String CONDITIONS_EXAMPLE =
+      "[{\"key\": \"archive\", \"value\": \"Huygens ING\"}, "
+          + "{\"key\": \"title\", \"valuePrefix\": \"Brief\"}]";
+
   private final DocumentMetadataService documentMetadataService;
+  private final MetadataSearchService metadataSearchService;
+  private final Paginator paginator;
+
+  private static class ResultIdPage extends ResultPage<UUID> {
+  }
 
-  public MetadataResource(DocumentMetadataService documentMetadataService) {
+  public MetadataResource(
+      DocumentMetadataService documentMetadataService,
+      MetadataSearchService metadataSearchService,
+      Paginator paginator
+  ) {
     this.documentMetadataService = requireNonNull(documentMetadataService);
+    this.metadataSearchService = requireNonNull(metadataSearchService);
+    this.paginator = requireNonNull(paginator);
   }
 
   @GET
@@ -43,4 +80,89 @@ public class MetadataResource {
     log.debug("Get documents with metadata key: [{}]", key);
     return documentMetadataService.findByMetadataKey(key);
   }
+
+  @POST
+  @Timed
+  @Path("search/documents")
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+      value = "Find IDs of documents with metadata matching all conditions, ordered by ID. "
+          + "Put the most selective condition first.",
+      tags = {"metadata", "documents"})
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, response = ResultIdPage.class, message = "OK")})
+  public Response searchDocuments(
+      @ApiParam(required = true, example = CONDITIONS_EXAMPLE)
+      @NotEmpty
+      @Size(max = MAX_CONDITIONS)
+      @Valid
+      List<FormMetadataCondition> conditions,
+      @BeanParam FormPageParams pageParams
+  ) {
+    return search("documents", conditions, pageParams, metadataSearchService::findDocuments);
+  }
+
+  @POST
+  @Timed
+  @Path("search/files")
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+      value = "Find IDs of files with metadata matching all conditions, ordered by ID. "
+          + "Put the most selective condition first.",
+      tags = {"metadata", "files"})
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, response = ResultIdPage.class, message = "OK")})
+  public Response searchFiles(
+      @ApiParam(required = true, example = CONDITIONS_EXAMPLE)
+      @NotEmpty
+      @Size(max = MAX_CONDITIONS)
+      @Valid
+      List<FormMetadataCondition> conditions,
+      @BeanParam FormPageParams pageParams
+  ) {
+    return search("files", conditions, pageParams, metadataSearchService::findFiles);
+  }
+
+  @POST
+  @Timed
+  @Path("search/versions")
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+      value = "Find IDs of versions with metadata matching all conditions, ordered by ID. "
+          + "Put the most selective condition first.",
+      tags = {"metadata", "versions"})
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, response = ResultIdPage.class, message = "OK")})
+  public Response searchVersions(
+      @ApiParam(required = true, example = CONDITIONS_EXAMPLE)
+      @NotEmpty
+      @Size(max = MAX_CONDITIONS)
+      @Valid
+      List<FormMetadataCondition> conditions,
+      @BeanParam FormPageParams pageParams
+  ) {
+    return search("versions", conditions, pageParams, metadataSearchService::findVersions);
+  }
+
+  private Response search(
+      String target,
+      List<FormMetadataCondition> conditions,
+      FormPageParams pageParams,
+      BiFunction<MetadataQuery, PageParams, Page<UUID>> find
+  ) {
+    log.debug("Search {} by metadata: conditions={}; pageParams={}", target, conditions,
+        pageParams);
+    var query = new MetadataQuery(conditions
+        .stream()
+        .map(FormMetadataCondition::toCondition)
+        .toList());
+    var found = find.apply(query, paginator.fromForm(pageParams));
+    log.debug("Found {} by metadata: {}", target, found);
+    return Response
+        .ok(toResult(found, id -> id))
+        .build();
+  }
 }
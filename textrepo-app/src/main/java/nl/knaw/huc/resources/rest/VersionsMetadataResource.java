@@ -0,0 +1,58 @@
+package nl.knaw.huc.resources.rest;
+
+import static java.util.Objects.requireNonNull;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+import com.codahale.metrics.annotation.Timed;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import java.util.List;
+import java.util.UUID;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+import nl.knaw.huc.service.version.metadata.VersionMetadataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Api(tags = {"versions", "metadata"})
+@Path("/rest/versions/metadata")
+public class VersionsMetadataResource {
+
+  private static final Logger log = LoggerFactory.getLogger(VersionsMetadataResource.class);
+
+  private static final int MAX_VERSION_IDS = 1000;
+
+  private final VersionMetadataService versionMetadataService;
+
+  public VersionsMetadataResource(VersionMetadataService versionMetadataService) {
+    this.versionMetadataService = requireNonNull(versionMetadataService);
+  }
+
+  @POST
+  @Timed
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(value = "Retrieve metadata of multiple versions, by version ID")
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, responseContainer = "Map", response = Object.class, message = "OK")})
+  public Response getVersionsMetadata(
+      @ApiParam(required = true, example = "[\"34739357-eb75-449b-b2df-d3f6289470d6\"]")
+      @NotNull
+      @Size(max = MAX_VERSION_IDS)
+      List<UUID> versionIds
+  ) {
+    log.debug("Get metadata of versions: versionIds={}", versionIds.size());
+    var metadata = versionMetadataService.getMetadata(versionIds);
+    log.debug("Got metadata of versions: {}", metadata.size());
+    return Response.ok(metadata).build();
+  }
+
+}
@@ -13,9 +13,11 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.io.InputStream;
+import java.util.List;
 import java.util.UUID;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -25,7 +27,9 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Response;
+import nl.knaw.huc.api.ResultBatch;
 import nl.knaw.huc.api.ResultVersion;
+import nl.knaw.huc.core.Version;
 import nl.knaw.huc.exceptions.MethodNotAllowedException;
 import nl.knaw.huc.service.version.VersionService;
 import org.glassfish.jersey.media.multipart.FormDataParam;
@@ -39,9 +43,13 @@ public class VersionsResource {
   private static final Logger log = LoggerFactory.getLogger(VersionsResource.class);
   private static final String PUT_ERROR_MSG =
       "Not allowed to update a version: create a new version using POST";
+  private static final int MAX_BATCH_IDS = 1000;
 
   private final VersionService versionService;
 
+  private static class ResultVersionBatch extends ResultBatch<ResultVersion> {
+  }
+
   public VersionsResource(VersionService versionService) {
     this.versionService = requireNonNull(versionService);
   }
@@ -69,6 +77,28 @@ public class VersionsResource {
         .build();
   }
 
+  @POST
+  @Path("/_batch")
+  @Timed
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(value = "Retrieve multiple versions by ID, and list IDs that could not be found")
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, response = ResultVersionBatch.class, message = "OK")})
+  public Response getVersionsByIds(
+      @ApiParam(required = true, example = "[\"34739357-eb75-449b-b2df-d3f6289470d6\"]")
+      @NotNull
+      @Size(max = MAX_BATCH_IDS)
+      List<UUID> ids
+  ) {
+    log.debug("Get versions by IDs: {}", ids.size());
+    var result = ResultBatch.of(ids, versionService.getByIds(ids), Version::getId,
+        ResultVersion::new);
+    log.debug("Got versions by IDs: {}; missing: {}", result.getItems().size(),
+        result.getMissing().size());
+    return Response.ok(result).build();
+  }
+
   @GET
   @Path("/{id}")
   @Timed
@@ -6,14 +6,20 @@ import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
+import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
+import nl.knaw.huc.api.FormDeleteDocuments;
+import nl.knaw.huc.api.ResultDeleteDocuments;
 import nl.knaw.huc.service.task.TaskBuilderFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,4 +63,40 @@ public class DeleteDocumentResource {
     log.debug("Deleted document");
     return Response.ok(doc).build();
   }
+
+  @POST
+  @ApiOperation(value = "Delete all documents matching every filter that is set, "
+      + "including their metadata, files and versions, in batches.<br />"
+      + "Contents no longer in use are left to the periodic unused contents deletion, "
+      + "which is disabled by default: without <code>TR_UNUSED_CONTENTS_ENABLED=true</code>, "
+      + "contents of deleted documents stay stored.<br />"
+      + "Every batch is committed separately: a failing request may have deleted earlier "
+      + "batches. Files of a batch are deleted from the indices after it is committed.<br />"
+      + "Use <code>index=false</code> to skip deleting the files in the indices.",
+      response = ResultDeleteDocuments.class)
+  @Path("documents")
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  public ResultDeleteDocuments deleteDocuments(
+      @NotNull
+      @Valid
+      FormDeleteDocuments form,
+      @QueryParam("index")
+      @DefaultValue("true")
+      boolean index
+  ) {
+    log.debug("Delete documents: {}", form);
+
+    final var result = factory
+        .getDocumentsDeleteBuilder()
+        .forExternalIds(form.externalIds)
+        .forExternalIdPrefix(form.externalIdPrefix)
+        .forMetadata(form.metadata == null ? null : form.metadata.toCondition())
+        .withIndexing(index)
+        .build()
+        .run();
+
+    log.debug("Deleted documents: {}", result.getDocuments());
+    return result;
+  }
 }
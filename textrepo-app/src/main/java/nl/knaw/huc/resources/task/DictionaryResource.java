@@ -0,0 +1,56 @@
+package nl.knaw.huc.resources.task;
+
+import static java.util.Objects.requireNonNull;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import javax.validation.constraints.NotBlank;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import nl.knaw.huc.api.ResultContentsDictionary;
+import nl.knaw.huc.service.task.TaskBuilderFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Api(tags = {"task", "contents"})
+@Path("/task/dictionaries")
+public class DictionaryResource {
+
+  private static final Logger log = LoggerFactory.getLogger(DictionaryResource.class);
+
+  private final TaskBuilderFactory factory;
+
+  public DictionaryResource(TaskBuilderFactory factory) {
+    this.factory = requireNonNull(factory);
+  }
+
+  @POST
+  @ApiOperation(value = "Train a compression dictionary from a sample of the latest contents of "
+      + "files of type.<br />"
+      + "When enabled, new contents of type are compressed with the latest dictionary of their "
+      + "type, when smaller than gzip. Existing contents are not recompressed.",
+      response = ResultContentsDictionary.class)
+  @Path("{type}")
+  @Produces(APPLICATION_JSON)
+  public ResultContentsDictionary trainDictionary(
+      @PathParam("type")
+      @ApiParam(required = true, example = "xml")
+      @NotBlank
+      String type
+  ) {
+    log.debug("Train dictionary: type={}", type);
+
+    final var result = factory
+        .getDictionaryTrainerBuilder()
+        .forType(type)
+        .build()
+        .run();
+
+    log.debug("Trained dictionary: {}", result.getId());
+    return result;
+  }
+}
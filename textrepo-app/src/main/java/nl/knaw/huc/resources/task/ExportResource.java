@@ -0,0 +1,90 @@
+package nl.knaw.huc.resources.task;
+
+import static java.util.Objects.requireNonNull;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_DISPOSITION;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Response;
+import nl.knaw.huc.core.ExportFormat;
+import nl.knaw.huc.service.task.TaskBuilderFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Api(tags = {"task", "export"})
+@Path("task/export")
+public class ExportResource {
+
+  private static final Logger log = LoggerFactory.getLogger(ExportResource.class);
+
+  private final TaskBuilderFactory factory;
+
+  public ExportResource(TaskBuilderFactory factory) {
+    this.factory = requireNonNull(factory);
+  }
+
+  @GET
+  @Produces({"application/x-ndjson", "application/x-tar"})
+  @ApiOperation(value = "Stream latest versions of files with their document, type and metadata, "
+      + "as ndjson with one file per line, or as tar with a json and a contents entry per file. "
+      + "Records are streamed while reading from the database, in no particular order.")
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "OK"),
+      @ApiResponse(code = 404, message = "Given type could not be found")})
+  public Response export(
+      @QueryParam("type")
+      @ApiParam(example = "plaintext")
+      String type,
+      @QueryParam("externalIdPrefix")
+      @ApiParam(example = "document_")
+      String externalIdPrefix,
+      @QueryParam("createdAfter")
+      @ApiParam(value = "creation date of document", example = "2021-04-16T09:03:03")
+      LocalDateTime createdAfter,
+      @QueryParam("format")
+      @DefaultValue("ndjson")
+      @ApiParam(allowableValues = "ndjson,tar")
+      String format,
+      @QueryParam("gzip")
+      @ApiParam(value = "write gzipped contents as stored, without decompressing them")
+      boolean gzip
+  ) {
+    log.debug("Export: type={}; externalIdPrefix={}; createdAfter={}; format={}; gzip={}",
+        type, externalIdPrefix, createdAfter, format, gzip);
+    var exportFormat = toExportFormat(format);
+    var output = factory
+        .getExportBuilder()
+        .forType(type)
+        .forExternalIdPrefix(externalIdPrefix)
+        .forCreatedAfter(createdAfter)
+        .withFormat(exportFormat)
+        .withGzip(gzip)
+        .build()
+        .run();
+    var filename = "export." + exportFormat.name().toLowerCase(Locale.ROOT);
+    return Response
+        .ok(output, exportFormat.getMediaType())
+        .header(CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+        .build();
+  }
+
+  private static ExportFormat toExportFormat(String format) {
+    try {
+      return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new BadRequestException("Invalid format: " + format + "; use ndjson or tar");
+    }
+  }
+
+}
@@ -28,6 +28,8 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
+import nl.knaw.huc.api.ResultExpandedDocument;
+import nl.knaw.huc.core.DocumentExpand;
 import nl.knaw.huc.helpers.ContentsHelper;
 import nl.knaw.huc.resources.HeaderLink.Rel;
 import nl.knaw.huc.resources.HeaderLink.Uri;
@@ -54,6 +56,43 @@ public class FindResource {
     this.contentsHelper = requireNonNull(contentsHelper);
   }
 
+  @GET
+  @Path("/document")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+      value = "Find document by external ID, "
+          + "optionally with its metadata, files, file metadata and latest file versions, "
+          + "with header link to original resource",
+      response = ResultExpandedDocument.class,
+      tags = {"task", "find", "documents"})
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "OK"),
+      @ApiResponse(code = 404, message = "Given document could not be found")})
+  public Response getDocumentForExternalId(
+      @PathParam("externalId")
+      @ApiParam(required = true, example = "document_1234")
+      @NotNull
+      String externalId,
+      @QueryParam("expand")
+      @ApiParam(value = "comma separated resources to include: files, metadata, latestVersion",
+          example = "files,metadata,latestVersion")
+      String expand
+  ) {
+    log.debug("Find document: externalId={}; expand={}", externalId, expand);
+    final var task = factory
+        .getExpandedDocumentGetter()
+        .forExternalId(externalId)
+        .withExpand(DocumentExpand.parse(expand))
+        .build();
+
+    final var result = task.run();
+
+    return Response
+        .ok(result, APPLICATION_JSON)
+        .link(DOCUMENT.build(result.getId()), ORIGINAL)
+        .build();
+  }
+
   @GET
   @Path("/document/metadata")
   @Produces(APPLICATION_JSON)
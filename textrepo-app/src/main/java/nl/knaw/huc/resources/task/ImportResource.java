@@ -30,6 +30,8 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import nl.knaw.huc.api.ResultImportDocument;
+import nl.knaw.huc.api.ResultMetadataImport;
+import nl.knaw.huc.core.MetadataOwner;
 import nl.knaw.huc.service.task.TaskBuilderFactory;
 import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
 import org.glassfish.jersey.media.multipart.FormDataParam;
@@ -45,6 +47,14 @@ public class ImportResource {
       "REST URIs of document, file, version, and contents used in this request";
   private static final String LOCATION_DESCRIPTION = "(absolute) URL of newly created version";
 
+  private static final String APPLICATION_NDJSON = "application/x-ndjson";
+  private static final String METADATA_NOTES =
+      "Post one json entry per line, e.g. <code>{\"externalId\": \"doc_1\", "
+          + "\"key\": \"title\", \"value\": \"Title\"}</code>.<br />"
+          + "Entries are upserted in chunks of one transaction each; "
+          + "entries of unknown owners are counted as not found.<br />"
+          + "Changed files are reindexed once per chunk.";
+
   private final TaskBuilderFactory factory;
 
   public ImportResource(TaskBuilderFactory factory) {
@@ -140,4 +150,57 @@ public class ImportResource {
                   .link(VERSION.build(result.getVersionId()), "version")
                   .build();
   }
+
+  @POST
+  @Path("metadata/documents")
+  @Consumes(APPLICATION_NDJSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(value = "Upsert metadata of documents by {id} or {externalId}",
+      notes = METADATA_NOTES,
+      tags = {"task", "import", "documents", "metadata"})
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "OK", response = ResultMetadataImport.class),
+      @ApiResponse(code = 400, message = "Invalid entry, earlier chunks remain upserted")})
+  public ResultMetadataImport importDocumentMetadata(@NotNull InputStream entries) {
+    return importMetadata(MetadataOwner.DOCUMENT, entries);
+  }
+
+  @POST
+  @Path("metadata/files")
+  @Consumes(APPLICATION_NDJSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(value = "Upsert metadata of files by {id}, or by {externalId} and {type}",
+      notes = METADATA_NOTES,
+      tags = {"task", "import", "files", "metadata"})
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "OK", response = ResultMetadataImport.class),
+      @ApiResponse(code = 400, message = "Invalid entry, earlier chunks remain upserted")})
+  public ResultMetadataImport importFileMetadata(@NotNull InputStream entries) {
+    return importMetadata(MetadataOwner.FILE, entries);
+  }
+
+  @POST
+  @Path("metadata/versions")
+  @Consumes(APPLICATION_NDJSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(value = "Upsert metadata of versions by {id}",
+      notes = METADATA_NOTES,
+      tags = {"task", "import", "versions", "metadata"})
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "OK", response = ResultMetadataImport.class),
+      @ApiResponse(code = 400, message = "Invalid entry, earlier chunks remain upserted")})
+  public ResultMetadataImport importVersionMetadata(@NotNull InputStream entries) {
+    return importMetadata(MetadataOwner.VERSION, entries);
+  }
+
+  private ResultMetadataImport importMetadata(MetadataOwner owner, InputStream entries) {
+    log.debug("Importing metadata of: {}", owner);
+    final var result = factory.getMetadataImportBuilder()
+                              .forOwner(owner)
+                              .withEntries(entries)
+                              .build()
+                              .run();
+    log.debug("Imported metadata: {}", result);
+    return result;
+  }
 }
@@ -7,14 +7,21 @@ import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
+import java.util.UUID;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
+import nl.knaw.huc.api.ResultFileIndexFields;
+import nl.knaw.huc.api.ResultIndexDrift;
 import nl.knaw.huc.service.task.TaskBuilderFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,6 +81,50 @@ public class IndexResource {
     return Response.ok().build();
   }
 
+  @GET
+  @Path("/fields/{fileId}")
+  @ApiOperation(value = "Retrieve file with its type, document, metadata and versions "
+      + "with their metadata, as needed by indexers to create an ES doc of a file",
+      response = ResultFileIndexFields.class)
+  @Produces(APPLICATION_JSON)
+  public Response getFileIndexFields(
+      @PathParam("fileId")
+      @ApiParam(required = true, example = "34739357-eb75-449b-b2df-d3f6289470d6")
+      @NotNull
+      @Valid
+      UUID fileId) {
+    log.debug("Get file index fields: fileId={}", fileId);
+    final var fields = factory
+        .getFileIndexFieldsGetter()
+        .forFile(fileId)
+        .build()
+        .run();
+    log.debug("Got file index fields");
+    return Response.ok(fields).build();
+  }
+
+  @POST
+  @Path("/consistency")
+  @ApiOperation(value = "Compare files in database with ES docs in indices. "
+      + "Reports files missing from index, ES docs not created from the latest file version, "
+      + "and ES docs of deleted files or unsupported types. Optionally repairs drift by "
+      + "reindexing missing and stale files and deleting orphaned ES docs.",
+      response = ResultIndexDrift.class, responseContainer = "List")
+  @Produces(APPLICATION_JSON)
+  public Response checkConsistency(
+      @QueryParam("indexer") @ApiParam(example = "file") String indexer,
+      @QueryParam("repair") @DefaultValue("false") boolean repair) {
+    log.debug("Check index consistency: indexer={}; repair={}", indexer, repair);
+    final var drift = factory
+        .getCheckIndexConsistencyBuilder()
+        .forIndexer(indexer)
+        .withRepair(repair)
+        .build()
+        .run();
+    log.debug("Checked index consistency: drift={}", drift);
+    return Response.ok(drift).build();
+  }
+
   @DELETE
   @Path("/orphaned-files")
   @ApiOperation("Delete all ES docs from all indices with IDs not present in the files table.")
@@ -4,14 +4,19 @@ import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.MULTIPART_FORM_DATA;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.util.List;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.Consumes;
@@ -19,7 +24,9 @@ import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.StreamingOutput;
 import nl.knaw.huc.api.ResultDocument;
+import nl.knaw.huc.core.Document;
 import nl.knaw.huc.service.task.TaskBuilderFactory;
 import org.glassfish.jersey.media.multipart.FormDataParam;
 import org.slf4j.Logger;
@@ -35,6 +42,11 @@ public class RegisterIdentifiersResource {
       "Returns list of (created / existing) documents";
   public static final String FILE_LAYOUT_NOTES = "File should contain a single externalId per line";
 
+  private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+  private static final JsonFactory jsonFactory = new JsonFactory()
+      .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
   private final TaskBuilderFactory factory;
 
   public RegisterIdentifiersResource(TaskBuilderFactory factory) {
@@ -80,6 +92,52 @@ public class RegisterIdentifiersResource {
     return registerIdentifiers(content);
   }
 
+  @POST
+  @Path("/stream")
+  @Consumes(TEXT_PLAIN)
+  @Produces(APPLICATION_NDJSON)
+  @ApiOperation(
+      value = "Create documents by POSTing externalIds as plain text, e.g., curl "
+          + "--data-binary '@file' -H 'Content-Type: text/plain'. "
+          + "Streams (created / existing) documents as ndjson, in order of externalIds.",
+      notes = FILE_LAYOUT_NOTES)
+  @ApiResponses(value = {
+      @ApiResponse(code = 200, message = "Returns ndjson with a document per line")})
+  public StreamingOutput postStreamIdentifiers(
+      @NotNull
+      InputStream content
+  ) {
+    return output -> {
+      var json = jsonFactory.createGenerator(output);
+      json.setRootValueSeparator(null);
+      final var externalIds = new BufferedReader(new InputStreamReader(content)).lines();
+      try {
+        final var count = factory
+            .getRegisterIdentifiersBuilder()
+            .forExternalIdentifiers(externalIds)
+            .buildStreaming(doc -> writeLine(json, doc))
+            .run();
+        log.debug("Registered {} identifiers", count);
+      } catch (UncheckedIOException ex) {
+        throw ex.getCause();
+      }
+      json.flush();
+    };
+  }
+
+  private static void writeLine(JsonGenerator json, Document doc) {
+    try {
+      json.writeStartObject();
+      json.writeStringField("id", doc.getId().toString());
+      json.writeStringField("externalId", doc.getExternalId());
+      json.writeStringField("createdAt", doc.getCreatedAt().toString());
+      json.writeEndObject();
+      json.writeRaw('\n');
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
   private List<ResultDocument> registerIdentifiers(InputStream inputStream) {
     final var externalIds = new BufferedReader(new InputStreamReader(inputStream)).lines();
     final var registerIdentifiersTask = factory
@@ -0,0 +1,61 @@
+package nl.knaw.huc.service.changes;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import io.dropwizard.lifecycle.Managed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import nl.knaw.huc.config.ChangesConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically number committed changes in the background.
+ */
+public class ChangeSequencer implements Managed {
+
+  private static final Logger log = LoggerFactory.getLogger(ChangeSequencer.class);
+
+  private final JdbiChangeService changeService;
+  private final ChangesConfiguration config;
+
+  private ScheduledExecutorService scheduler;
+
+  public ChangeSequencer(
+      JdbiChangeService changeService,
+      ChangesConfiguration config
+  ) {
+    this.changeService = requireNonNull(changeService);
+    this.config = requireNonNull(config);
+  }
+
+  @Override
+  public void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, "change-sequencer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(
+        this::sequence,
+        config.sequenceMillis,
+        config.sequenceMillis,
+        MILLISECONDS
+    );
+  }
+
+  @Override
+  public void stop() throws InterruptedException {
+    scheduler.shutdownNow();
+    scheduler.awaitTermination(config.sequenceMillis, MILLISECONDS);
+  }
+
+  private void sequence() {
+    try {
+      changeService.sequence();
+    } catch (RuntimeException ex) {
+      log.error("Could not sequence changes", ex);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package nl.knaw.huc.service.changes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import nl.knaw.huc.core.Change;
+
+public interface ChangeService {
+  /**
+   * Get changes with sequence number greater than since, in order of sequence number.
+   */
+  List<Change> getSince(long since, int limit);
+
+  /**
+   * Pass changes after since to callback as soon as there are any,
+   * or pass an empty list when none arrived within wait.
+   */
+  void await(long since, int limit, Duration wait, Consumer<List<Change>> callback);
+}
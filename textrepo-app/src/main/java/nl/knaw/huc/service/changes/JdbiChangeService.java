@@ -0,0 +1,116 @@
+package nl.knaw.huc.service.changes;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import nl.knaw.huc.core.Change;
+import nl.knaw.huc.db.ChangesDao;
+import nl.knaw.huc.service.replica.ReadJdbi;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Changes are logged by database triggers, and numbered by {@link ChangeSequencer}.
+ *
+ * <p>Waiting clients are checked after every sequencing run, instead of polling the database
+ * per client. Changes are read from the read replica when available.
+ */
+public class JdbiChangeService implements ChangeService {
+
+  private static final Logger log = LoggerFactory.getLogger(JdbiChangeService.class);
+
+  private final Jdbi jdbi;
+  private final ReadJdbi readJdbi;
+
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+  public JdbiChangeService(Jdbi jdbi, ReadJdbi readJdbi) {
+    this.jdbi = requireNonNull(jdbi);
+    this.readJdbi = requireNonNull(readJdbi);
+  }
+
+  @Override
+  public List<Change> getSince(long since, int limit) {
+    return changes().findSince(since, limit);
+  }
+
+  @Override
+  public void await(long since, int limit, Duration wait, Consumer<List<Change>> callback) {
+    var found = getSince(since, limit);
+    if (!found.isEmpty() || wait.isZero()) {
+      callback.accept(found);
+      return;
+    }
+    waiters.add(new Waiter(since, limit, System.nanoTime() + wait.toNanos(), callback));
+  }
+
+  /**
+   * Number committed pending changes, and pass new changes to waiting clients.
+   *
+   * <p>Waiting clients are also checked when sequencing fails, so their waits still end.
+   */
+  public void sequence() {
+    try {
+      var sequenced = jdbi.inTransaction(transaction -> {
+        var dao = transaction.attach(ChangesDao.class);
+        dao.lockForSequencing();
+        return dao.sequencePendingChanges();
+      });
+      log.debug("Sequenced {} changes", sequenced);
+    } catch (RuntimeException ex) {
+      log.error("Could not sequence changes", ex);
+    } finally {
+      notifyWaiters();
+    }
+  }
+
+  private void notifyWaiters() {
+    if (waiters.isEmpty()) {
+      return;
+    }
+    long lastSeq;
+    try {
+      lastSeq = changes().lastSeq();
+    } catch (RuntimeException ex) {
+      // still resume waiters whose wait has ended:
+      log.warn("Could not find last change", ex);
+      lastSeq = Long.MIN_VALUE;
+    }
+    var now = System.nanoTime();
+    for (var waiter : waiters) {
+      if (lastSeq > waiter.since) {
+        var found = getSince(waiter.since, waiter.limit);
+        if (!found.isEmpty()) {
+          resume(waiter, found);
+          continue;
+        }
+      }
+      if (now - waiter.deadline >= 0) {
+        resume(waiter, List.of());
+      }
+    }
+  }
+
+  private void resume(Waiter waiter, List<Change> found) {
+    if (!waiters.remove(waiter)) {
+      return;
+    }
+    try {
+      waiter.callback.accept(found);
+    } catch (RuntimeException ex) {
+      log.warn("Could not pass changes to waiting client", ex);
+    }
+  }
+
+  private ChangesDao changes() {
+    return readJdbi.get().onDemand(ChangesDao.class);
+  }
+
+  private record Waiter(long since, int limit, long deadline, Consumer<List<Change>> callback) {
+  }
+}
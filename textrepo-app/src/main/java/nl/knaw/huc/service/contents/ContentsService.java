@@ -4,6 +4,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import javax.annotation.Nonnull;
 import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.TextRepoFile;
 import nl.knaw.huc.service.store.ContentsStorage;
 
 public class ContentsService {
@@ -17,6 +18,13 @@ public class ContentsService {
     contentsStorage.storeContents(contents);
   }
 
+  /**
+   * Add contents of a new version of file, before adding the version.
+   */
+  public void addContents(Contents contents, TextRepoFile file) {
+    contentsStorage.storeContents(contents, file);
+  }
+
   public Contents getBySha(String sha) {
     return contentsStorage.get(sha);
   }
@@ -0,0 +1,102 @@
+package nl.knaw.huc.service.contents;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+import static nl.knaw.huc.helpers.PsqlExceptionHelper.Constraint.CONTENTS_BASE_SHA;
+import static nl.knaw.huc.helpers.PsqlExceptionHelper.Constraint.VERSIONS_CONTENTS_SHA;
+import static nl.knaw.huc.helpers.PsqlExceptionHelper.violatesConstraint;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.time.LocalDateTime;
+import java.util.List;
+import nl.knaw.huc.config.UnusedContentsConfiguration;
+import nl.knaw.huc.db.UnusedContentsDao;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.JdbiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delete contents no longer referenced by any version, in small transactions.
+ *
+ * <p>Contents are only deleted when last stored before the grace period, as contents are stored
+ * before the version referencing them is created.
+ *
+ * <p>Metrics: number and stored bytes of deleted contents, and duration of runs.
+ */
+public class JdbiUnusedContentsService {
+
+  private static final Logger log = LoggerFactory.getLogger(JdbiUnusedContentsService.class);
+
+  private final Jdbi jdbi;
+  private final UnusedContentsConfiguration config;
+
+  private final Counter deleted;
+  private final Counter deletedBytes;
+  private final Timer runs;
+
+  public JdbiUnusedContentsService(
+      Jdbi jdbi,
+      UnusedContentsConfiguration config,
+      MetricRegistry metrics
+  ) {
+    this.jdbi = requireNonNull(jdbi);
+    this.config = requireNonNull(config);
+    this.deleted = metrics.counter(name(JdbiUnusedContentsService.class, "deleted"));
+    this.deletedBytes = metrics.counter(name(JdbiUnusedContentsService.class, "deleted-bytes"));
+    this.runs = metrics.timer(name(JdbiUnusedContentsService.class, "runs"));
+  }
+
+  /**
+   * Check all contents once, deleting unused contents batch by batch.
+   */
+  public void deleteUnused() {
+    try (var ignored = runs.time()) {
+      var storedBefore = LocalDateTime.now().minusMinutes(config.graceMinutes);
+      var dao = jdbi.onDemand(UnusedContentsDao.class);
+      long count = 0;
+      long bytes = 0;
+      String afterSha = null;
+      List<String> batch;
+      while (!(batch = dao.findBatch(afterSha, storedBefore, config.batchSize)).isEmpty()) {
+        afterSha = batch.get(batch.size() - 1);
+        // follow deleted deltas to their bases, which may have become unused:
+        var shas = batch;
+        while (!shas.isEmpty()) {
+          var baseShas = dao.findBaseShas(shas);
+          var sizes = deleteBatch(dao, shas, storedBefore);
+          var batchBytes = sizes.stream().mapToLong(Long::longValue).sum();
+          deleted.inc(sizes.size());
+          deletedBytes.inc(batchBytes);
+          count += sizes.size();
+          bytes += batchBytes;
+          shas = sizes.isEmpty() ? List.of() : baseShas;
+        }
+      }
+      log.info("Deleted {} unused contents of {} bytes", count, bytes);
+    }
+  }
+
+  /**
+   * Delete batch in its own transaction. When a version or delta starts using any of the
+   * contents concurrently, a foreign key check fails: skip batch, to be retried on the next run.
+   */
+  private List<Long> deleteBatch(
+      UnusedContentsDao dao,
+      List<String> shas,
+      LocalDateTime storedBefore
+  ) {
+    try {
+      return dao.delete(shas, storedBefore);
+    } catch (JdbiException ex) {
+      if (violatesConstraint(ex, VERSIONS_CONTENTS_SHA)
+          || violatesConstraint(ex, CONTENTS_BASE_SHA)) {
+        log.debug("Skipping batch of unused contents, contents are in use again");
+        return List.of();
+      }
+      throw ex;
+    }
+  }
+}
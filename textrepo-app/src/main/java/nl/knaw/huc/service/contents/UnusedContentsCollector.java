@@ -0,0 +1,64 @@
+package nl.knaw.huc.service.contents;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import io.dropwizard.lifecycle.Managed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import nl.knaw.huc.config.UnusedContentsConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically delete unused contents in the background.
+ */
+public class UnusedContentsCollector implements Managed {
+
+  private static final Logger log = LoggerFactory.getLogger(UnusedContentsCollector.class);
+
+  private static final int STOP_SECONDS = 10;
+
+  private final JdbiUnusedContentsService unusedContentsService;
+  private final UnusedContentsConfiguration config;
+
+  private ScheduledExecutorService scheduler;
+
+  public UnusedContentsCollector(
+      JdbiUnusedContentsService unusedContentsService,
+      UnusedContentsConfiguration config
+  ) {
+    this.unusedContentsService = requireNonNull(unusedContentsService);
+    this.config = requireNonNull(config);
+  }
+
+  @Override
+  public void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, "unused-contents-collector");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(
+        this::collect,
+        config.intervalMinutes,
+        config.intervalMinutes,
+        MINUTES
+    );
+  }
+
+  @Override
+  public void stop() throws InterruptedException {
+    scheduler.shutdownNow();
+    scheduler.awaitTermination(STOP_SECONDS, SECONDS);
+  }
+
+  private void collect() {
+    try {
+      unusedContentsService.deleteUnused();
+    } catch (RuntimeException ex) {
+      log.error("Could not delete unused contents", ex);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package nl.knaw.huc.service.dashboard;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import io.dropwizard.lifecycle.Managed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import nl.knaw.huc.config.DashboardConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically refresh dashboard counts in the background.
+ */
+public class DashboardRefresher implements Managed {
+
+  private static final Logger log = LoggerFactory.getLogger(DashboardRefresher.class);
+
+  private final JdbiDashboardService dashboardService;
+  private final DashboardConfiguration config;
+
+  private ScheduledExecutorService scheduler;
+
+  public DashboardRefresher(
+      JdbiDashboardService dashboardService,
+      DashboardConfiguration config
+  ) {
+    this.dashboardService = requireNonNull(dashboardService);
+    this.config = requireNonNull(config);
+  }
+
+  @Override
+  public void start() {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, "dashboard-refresher");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(
+        this::refresh,
+        config.refreshSeconds,
+        config.refreshSeconds,
+        SECONDS
+    );
+  }
+
+  @Override
+  public void stop() throws InterruptedException {
+    scheduler.shutdownNow();
+    scheduler.awaitTermination(config.refreshSeconds, SECONDS);
+  }
+
+  private void refresh() {
+    try {
+      var start = System.currentTimeMillis();
+      dashboardService.refresh();
+      log.debug("Refreshed dashboard in {} ms", System.currentTimeMillis() - start);
+    } catch (RuntimeException ex) {
+      log.error("Could not refresh dashboard", ex);
+    }
+  }
+}
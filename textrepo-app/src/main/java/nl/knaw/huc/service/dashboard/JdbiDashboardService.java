@@ -1,24 +1,46 @@
 package nl.knaw.huc.service.dashboard;
 
+import static java.util.Collections.unmodifiableMap;
+
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import nl.knaw.huc.core.Document;
 import nl.knaw.huc.core.DocumentsOverview;
 import nl.knaw.huc.core.Page;
 import nl.knaw.huc.core.PageParams;
 import nl.knaw.huc.db.DashboardDao;
+import nl.knaw.huc.service.replica.ReadJdbi;
 import org.jdbi.v3.core.Jdbi;
 
+/**
+ * Document counts are kept up to date by database triggers.
+ *
+ * <p>Metadata counts are calculated when first requested, and then cached
+ * until refreshed by {@link DashboardRefresher}.
+ *
+ * <p>Counts are read from the read replica when available, counters are updated in the primary.
+ */
 public class JdbiDashboardService implements DashboardService {
 
+  /**
+   * Stop refreshing metadata counts that have not been requested for this many refreshes.
+   */
+  private static final int MAX_UNREQUESTED_REFRESHES = 10;
+
   private final Jdbi jdbi;
+  private final ReadJdbi readJdbi;
+
+  private volatile CachedCounts keyCounts;
+  private final Map<String, CachedCounts> valueCounts = new ConcurrentHashMap<>();
 
-  public JdbiDashboardService(Jdbi jdbi) {
+  public JdbiDashboardService(Jdbi jdbi, ReadJdbi readJdbi) {
     this.jdbi = jdbi;
+    this.readJdbi = readJdbi;
   }
 
   @Override
   public long countOrphans() {
-    return dashboard().countOrphans();
+    return getDocumentsOverview().getHasNone();
   }
 
   @Override
@@ -33,15 +55,58 @@ public class JdbiDashboardService implements DashboardService {
 
   @Override
   public Map<String, Integer> countDocumentsByMetadataKey() {
-    return dashboard().countDocumentsByMetadataKey();
+    var cached = keyCounts;
+    if (cached == null) {
+      cached = new CachedCounts(countKeys());
+      keyCounts = cached;
+    }
+    cached.unrequestedRefreshes = 0;
+    return cached.counts;
   }
 
   @Override
   public Map<String, Integer> countDocumentsByMetadataValue(String key) {
-    return dashboard().countDocumentsByMetadataValue(key);
+    var cached = valueCounts.computeIfAbsent(key, k -> new CachedCounts(countValues(k)));
+    cached.unrequestedRefreshes = 0;
+    return cached.counts;
+  }
+
+  /**
+   * Add up document counters, and recalculate cached metadata counts.
+   */
+  public void refresh() {
+    jdbi.onDemand(DashboardDao.class).foldCountDeltas();
+    var cachedKeys = keyCounts;
+    if (cachedKeys != null) {
+      if (++cachedKeys.unrequestedRefreshes > MAX_UNREQUESTED_REFRESHES) {
+        keyCounts = null;
+      } else {
+        cachedKeys.counts = countKeys();
+      }
+    }
+    valueCounts.entrySet().removeIf(entry ->
+        ++entry.getValue().unrequestedRefreshes > MAX_UNREQUESTED_REFRESHES);
+    valueCounts.forEach((key, cached) -> cached.counts = countValues(key));
+  }
+
+  private Map<String, Integer> countKeys() {
+    return unmodifiableMap(dashboard().countDocumentsByMetadataKey());
+  }
+
+  private Map<String, Integer> countValues(String key) {
+    return unmodifiableMap(dashboard().countDocumentsByMetadataValue(key));
   }
 
   private DashboardDao dashboard() {
-    return jdbi.onDemand(DashboardDao.class);
+    return readJdbi.get().onDemand(DashboardDao.class);
+  }
+
+  private static class CachedCounts {
+    private volatile Map<String, Integer> counts;
+    private volatile int unrequestedRefreshes;
+
+    private CachedCounts(Map<String, Integer> counts) {
+      this.counts = counts;
+    }
   }
 }
@@ -1,15 +1,22 @@
 package nl.knaw.huc.service.document;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import nl.knaw.huc.core.Document;
+import nl.knaw.huc.core.ExternalIdMatch;
 import nl.knaw.huc.core.Page;
 import nl.knaw.huc.core.PageParams;
 
 public interface DocumentService {
   Optional<Document> get(UUID docId);
 
+  /**
+   * Get documents that exist, in no particular order.
+   */
+  List<Document> getByIds(List<UUID> docIds);
+
   Document create(Document document);
 
   Document update(Document document);
@@ -18,5 +25,6 @@ public interface DocumentService {
 
   long count();
 
-  Page<Document> getAll(String externalId, LocalDateTime createdAfter, PageParams pageParams);
+  Page<Document> getAll(String externalId, ExternalIdMatch match, LocalDateTime createdAfter,
+                        PageParams pageParams);
 }
@@ -1,17 +1,23 @@
 package nl.knaw.huc.service.document;
 
 import static java.lang.String.format;
+import static nl.knaw.huc.core.PageTotal.ESTIMATE;
+import static nl.knaw.huc.core.PageTotal.EXACT;
 import static nl.knaw.huc.helpers.PsqlExceptionHelper.Constraint.DOCUMENTS_EXTERNAL_ID_KEY;
 import static nl.knaw.huc.helpers.PsqlExceptionHelper.violatesConstraint;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Supplier;
 import javax.ws.rs.BadRequestException;
 import nl.knaw.huc.core.Document;
+import nl.knaw.huc.core.ExternalIdMatch;
+import nl.knaw.huc.core.ExternalIdQuery;
 import nl.knaw.huc.core.Page;
+import nl.knaw.huc.core.PageCursor;
 import nl.knaw.huc.core.PageParams;
 import nl.knaw.huc.db.DocumentsDao;
 import org.jdbi.v3.core.Jdbi;
@@ -35,6 +41,11 @@ public class JdbiDocumentService implements DocumentService {
     return documents().get(docId);
   }
 
+  @Override
+  public List<Document> getByIds(List<UUID> docIds) {
+    return documents().getByIds(docIds);
+  }
+
   @Override
   public Document create(Document document) {
     document.setId(uuidGenerator.get());
@@ -70,17 +81,67 @@ public class JdbiDocumentService implements DocumentService {
 
   /**
    * Get all documents filtered by externalId.
+   *
+   * <p>Exact matches use the unique index on external IDs, prefixes the pattern index,
+   * and contained text and like-patterns the trigram index.
+   *
+   * <p>Total is only estimated when documents are not filtered,
+   * as planner statistics only cover the whole table.
    */
   @Override
-  public Page<Document> getAll(String externalId, LocalDateTime createdAfter,
-                               PageParams pageParams) {
+  public Page<Document> getAll(String externalId, ExternalIdMatch match,
+                               LocalDateTime createdAfter, PageParams pageParams) {
     externalId = isBlank(externalId) ? null : externalId;
-    var docs = documents().findBy(externalId, createdAfter, pageParams);
-    var total = documents().countBy(externalId, createdAfter);
-    return new Page<>(docs, total, pageParams);
+    var query = new ExternalIdQuery(externalId, match);
+    var condition = externalIdCondition(query);
+    var docs = documents().findBy(condition, query, createdAfter, pageParams);
+    var totalType = pageParams.getTotal();
+    if (totalType == ESTIMATE && (externalId != null || createdAfter != null)) {
+      totalType = EXACT;
+    }
+    var total = switch (totalType) {
+      case EXACT -> documents().countBy(condition, query, createdAfter);
+      case ESTIMATE -> Math.max(
+          documents().estimateCount(),
+          pageParams.getOffset() + docs.size()
+      );
+      case NONE -> 0L;
+    };
+    return Page.withCursor(docs, total, totalType, pageParams,
+        doc -> new PageCursor(doc.getCreatedAt(), doc.getId()));
+  }
+
+  private static String externalIdCondition(ExternalIdQuery query) {
+    if (query.getExternalId() == null) {
+      return ExternalIdCondition.NONE.sql;
+    }
+    return switch (query.getMatch()) {
+      case EXACT -> ExternalIdCondition.EQUALS.sql;
+      case PREFIX -> query.getExternalIdUpper() == null
+          ? ExternalIdCondition.FROM.sql
+          : ExternalIdCondition.RANGE.sql;
+      case CONTAINS, PATTERN -> ExternalIdCondition.LIKE.sql;
+    };
   }
 
   private DocumentsDao documents() {
     return jdbi.onDemand(DocumentsDao.class);
   }
+
+  /**
+   * Predicate on external ID, using byte-wise operators of text_pattern_ops for prefix ranges.
+   */
+  private enum ExternalIdCondition {
+    NONE(""),
+    EQUALS("and external_id = :externalId"),
+    RANGE("and external_id ~>=~ :externalId and external_id ~<~ :externalIdUpper"),
+    FROM("and external_id ~>=~ :externalId"),
+    LIKE("and external_id like :externalIdPattern");
+
+    private final String sql;
+
+    ExternalIdCondition(String sql) {
+      this.sql = sql;
+    }
+  }
 }
@@ -1,10 +1,13 @@
 package nl.knaw.huc.service.document.files;
 
 import static java.lang.String.format;
+import static nl.knaw.huc.core.PageTotal.EXACT;
+import static nl.knaw.huc.core.PageTotal.NONE;
 
 import java.util.UUID;
 import javax.ws.rs.NotFoundException;
 import nl.knaw.huc.core.Page;
+import nl.knaw.huc.core.PageCursor;
 import nl.knaw.huc.core.PageParams;
 import nl.knaw.huc.core.TextRepoFile;
 import nl.knaw.huc.db.DocumentFilesDao;
@@ -22,14 +25,17 @@ public class JdbiDocumentFilesService implements DocumentFilesService {
   @Override
   public Page<TextRepoFile> getFilesByDocumentAndTypeId(UUID docId, Short typeId,
                                                         PageParams pageParams) {
-    var total = documentsFiles().countByDocumentAndTypeId(docId, typeId);
+    // Files of a document are counted using an index: no need to estimate
+    var totalType = pageParams.getTotal() == NONE ? NONE : EXACT;
+    var total = totalType == EXACT ? documentsFiles().countByDocumentAndTypeId(docId, typeId) : 0L;
     if (total == 0) {
       if (jdbi.onDemand(DocumentsDao.class).get(docId).isEmpty()) {
         throw new NotFoundException(format("No document with id %s and type id %s", docId, typeId));
       }
     }
     var files = documentsFiles().findFilesByDocumentAndTypeId(docId, typeId, pageParams);
-    return new Page<>(files, total, pageParams);
+    return Page.withCursor(files, total, totalType, pageParams,
+        file -> new PageCursor(null, file.getId()));
   }
 
   private DocumentFilesDao documentsFiles() {
@@ -1,5 +1,7 @@
 package nl.knaw.huc.service.file;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import nl.knaw.huc.core.TextRepoFile;
 
@@ -10,6 +12,16 @@ public interface FileService {
 
   UUID getDocumentId(UUID fileId);
 
+  /**
+   * Get files that exist, in no particular order.
+   */
+  List<TextRepoFile> getByIds(List<UUID> fileIds);
+
+  /**
+   * Get document IDs by file ID, of files that have a document.
+   */
+  Map<UUID, UUID> getDocumentIds(List<UUID> fileIds);
+
   TextRepoFile upsert(UUID docId, TextRepoFile textRepoFile);
 
   void delete(UUID fileId);
@@ -2,6 +2,8 @@ package nl.knaw.huc.service.file;
 
 import static java.lang.String.format;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.Supplier;
 import javax.ws.rs.BadRequestException;
@@ -56,6 +58,16 @@ public class JdbiFileService implements FileService {
         .orElseThrow(() -> new NotFoundException(format("File %s has no document", fileId)));
   }
 
+  @Override
+  public List<TextRepoFile> getByIds(List<UUID> fileIds) {
+    return files().findByIds(fileIds);
+  }
+
+  @Override
+  public Map<UUID, UUID> getDocumentIds(List<UUID> fileIds) {
+    return documentsFiles().findDocumentIds(fileIds);
+  }
+
   @Override
   public TextRepoFile upsert(UUID docId, TextRepoFile file) {
     jdbi.useTransaction(transaction -> {
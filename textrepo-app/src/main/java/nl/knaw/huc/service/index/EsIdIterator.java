@@ -0,0 +1,160 @@
+package nl.knaw.huc.service.index;
+
+import static java.lang.String.format;
+import static org.elasticsearch.client.RequestOptions.DEFAULT;
+import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.ws.rs.WebApplicationException;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.PointInTimeBuilder;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterate over all doc IDs of an index, page by page, using a point in time and search_after.
+ *
+ * <p>Only one page of IDs is kept in memory. No _source is fetched.
+ * The point in time is closed when all pages are read, or when closing the iterator.
+ *
+ * <p>The high level client of this version cannot open or close a point in time,
+ * so the low level client is used for those requests.
+ */
+class EsIdIterator implements Iterator<UUID>, Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(EsIdIterator.class);
+
+  /**
+   * Keep point in time alive long enough to process a single page.
+   */
+  private static final TimeValue KEEP_ALIVE = TimeValue.timeValueMinutes(1L);
+
+  /**
+   * Tiebreaker that sorts hits in index order, cheapest sort available.
+   */
+  private static final String SHARD_DOC = "_shard_doc";
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  private final RestHighLevelClient client;
+  private final String index;
+  private final int pageSize;
+
+  private String pitId;
+  private Object[] searchAfter;
+  private Iterator<UUID> page = List.<UUID>of().iterator();
+  private boolean exhausted;
+
+  EsIdIterator(RestHighLevelClient client, String index, int pageSize) {
+    this.client = client;
+    this.index = index;
+    this.pageSize = pageSize;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!page.hasNext() && !exhausted) {
+      page = nextPage();
+    }
+    return page.hasNext();
+  }
+
+  @Override
+  public UUID next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException(format("No more IDs in index %s", index));
+    }
+    return page.next();
+  }
+
+  private Iterator<UUID> nextPage() {
+    try {
+      if (pitId == null) {
+        pitId = openPointInTime();
+      }
+      var source = new SearchSourceBuilder()
+          .query(matchAllQuery())
+          .fetchSource(false)
+          .trackTotalHits(false)
+          .size(pageSize)
+          .sort(SortBuilders.fieldSort(SHARD_DOC).order(SortOrder.ASC))
+          .pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(KEEP_ALIVE));
+      if (searchAfter != null) {
+        source.searchAfter(searchAfter);
+      }
+
+      // Search request with point in time should not specify an index:
+      var response = client.search(new SearchRequest().source(source), DEFAULT);
+      if (response.pointInTimeId() != null) {
+        pitId = response.pointInTimeId();
+      }
+
+      var hits = response.getHits().getHits();
+      if (hits.length < pageSize) {
+        close();
+      }
+      if (hits.length == 0) {
+        return List.<UUID>of().iterator();
+      }
+      searchAfter = hits[hits.length - 1].getSortValues();
+      log.debug("Retrieved page of {} IDs from index {}", hits.length, index);
+      return toIds(hits).iterator();
+    } catch (IOException ex) {
+      close();
+      throw new WebApplicationException(format("Could not retrieve IDs from index %s", index), ex);
+    }
+  }
+
+  private String openPointInTime() throws IOException {
+    var request = new Request("POST", format("/%s/_pit", index));
+    request.addParameter("keep_alive", KEEP_ALIVE.getStringRep());
+    var response = client.getLowLevelClient().performRequest(request);
+    try (var body = response.getEntity().getContent()) {
+      return mapper.readTree(body).get("id").asText();
+    }
+  }
+
+  private List<UUID> toIds(SearchHit[] hits) {
+    return Stream
+        .of(hits)
+        .map(hit -> UUID.fromString(hit.getId()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Close point in time, when still open.
+   */
+  @Override
+  public void close() {
+    exhausted = true;
+    if (pitId == null) {
+      return;
+    }
+    try {
+      var request = new Request("DELETE", "/_pit");
+      request.setJsonEntity(mapper.writeValueAsString(Map.of("id", pitId)));
+      client.getLowLevelClient().performRequest(request);
+    } catch (IOException ex) {
+      log.warn("Could not close point in time of index {}: {}", index, ex.getMessage());
+    } finally {
+      pitId = null;
+    }
+  }
+
+}
@@ -1,37 +1,45 @@
 package nl.knaw.huc.service.index;
 
 import static java.lang.String.format;
+import static java.util.Spliterator.DISTINCT;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
 import static java.util.stream.Collectors.toList;
 import static org.elasticsearch.client.RequestOptions.DEFAULT;
 import static org.elasticsearch.client.RestClient.builder;
 import static org.elasticsearch.common.xcontent.XContentType.JSON;
-import static org.elasticsearch.index.query.QueryBuilders.matchAllQuery;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
 import javax.ws.rs.WebApplicationException;
 import nl.knaw.huc.service.index.config.ElasticsearchConfiguration;
 import org.apache.http.HttpHost;
 import org.elasticsearch.ElasticsearchStatusException;
 import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.index.IndexResponse;
-import org.elasticsearch.action.search.ClearScrollRequest;
-import org.elasticsearch.action.search.SearchRequest;
-import org.elasticsearch.action.search.SearchResponse;
-import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CreateIndexRequest;
 import org.elasticsearch.cluster.health.ClusterHealthStatus;
-import org.elasticsearch.common.unit.TimeValue;
-import org.elasticsearch.search.Scroll;
-import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,7 +49,15 @@ import org.slf4j.LoggerFactory;
 public class EsIndexClient {
 
   private static final Logger log = LoggerFactory.getLogger(IndexerWithMappingClient.class);
+
+  /**
+   * Field added to every ES doc, containing sha of the contents it was created from.
+   * Stored in _source only, when mapping is not dynamic.
+   */
+  public static final String CONTENTS_SHA_FIELD = "textRepoContentsSha";
+
   private final ElasticsearchConfiguration config;
+  private final ObjectMapper mapper = new ObjectMapper();
 
   // Package private to make it testable:
   final RestHighLevelClient client;
@@ -71,6 +87,26 @@ public class EsIndexClient {
     return checkIndexStatus(response, fileId);
   }
 
+  /**
+   * Insert or update ES doc by file ID, storing sha of indexed contents in ES doc.
+   */
+  public Optional<String> upsert(@Nonnull UUID fileId, String esDoc, @Nonnull String contentsSha) {
+    return upsert(fileId, withContentsSha(fileId, esDoc, contentsSha));
+  }
+
+  private String withContentsSha(UUID fileId, String esDoc, String contentsSha) {
+    try {
+      var doc = mapper.readTree(esDoc);
+      if (!doc.isObject()) {
+        throw new WebApplicationException(format("ES doc of file %s is not an object", fileId));
+      }
+      ((ObjectNode) doc).put(CONTENTS_SHA_FIELD, contentsSha);
+      return mapper.writeValueAsString(doc);
+    } catch (JsonProcessingException ex) {
+      throw new WebApplicationException(format("Could not parse ES doc of file %s", fileId), ex);
+    }
+  }
+
   private IndexResponse indexRequest(IndexRequest indexRequest) {
     try {
       return client.index(indexRequest, DEFAULT);
@@ -132,49 +168,97 @@ public class EsIndexClient {
   }
 
   /**
-   * Retrieve all doc IDs from index using ES scroll api.
+   * Delete ES docs by file ID using a single bulk request.
+   * ES docs that do not exist are ignored.
    */
-  public List<UUID> getAllIds() {
-    var indexName = config.index;
+  public void delete(@Nonnull List<UUID> fileIds) {
+    if (fileIds.isEmpty()) {
+      return;
+    }
+    var index = config.index;
+    log.info("Deleting {} files from index {}", fileIds.size(), index);
+    var request = new BulkRequest();
+    fileIds.forEach(id -> request.add(new DeleteRequest(index, id.toString())));
+    BulkResponse response;
     try {
-      final var scroll = new Scroll(TimeValue.timeValueMinutes(1L));
-      var searchRequest = new SearchRequest(indexName);
-      searchRequest.scroll(scroll);
-      var searchSourceBuilder = new SearchSourceBuilder();
-      searchSourceBuilder.query(matchAllQuery());
-      searchRequest.source(searchSourceBuilder);
-
-      var searchResponse = client.search(searchRequest, DEFAULT);
-      var scrollId = searchResponse.getScrollId();
-      var result = getIds(searchResponse);
-      var hasHits = result.size() > 0;
-
-      while (hasHits) {
-        var scrollRequest = new SearchScrollRequest(scrollId);
-        scrollRequest.scroll(scroll);
-        searchResponse = client.scroll(scrollRequest, DEFAULT);
-        scrollId = searchResponse.getScrollId();
-        var newHits = getIds(searchResponse);
-        hasHits = newHits.size() > 0;
-        result.addAll(newHits);
-      }
+      response = client.bulk(request, DEFAULT);
+    } catch (IOException ex) {
+      throw new WebApplicationException(
+          format("Could not delete %d files in index %s", fileIds.size(), index), ex);
+    }
+    if (response.hasFailures()) {
+      throw new WebApplicationException(format("Could not delete files from index %s: %s",
+          index, response.buildFailureMessage()));
+    }
+  }
+
+  /**
+   * Retrieve all doc IDs from index.
+   * Collects all IDs in memory: prefer {@link #streamIds()} for large indices.
+   */
+  public List<UUID> getAllIds() {
+    try (var ids = streamIds()) {
+      var result = ids.collect(toList());
+      log.debug("Found {} files in index {}", result.size(), config.index);
+      return result;
+    }
+  }
+
+  /**
+   * Stream all doc IDs from index, page by page, using a point in time and search_after.
+   * Close stream to release point in time when not all IDs are consumed.
+   */
+  public Stream<UUID> streamIds() {
+    var ids = new EsIdIterator(client, config.index, config.pageSize);
+    return StreamSupport
+        .stream(spliteratorUnknownSize(ids, ORDERED | DISTINCT | NONNULL), false)
+        .onClose(ids::close);
+  }
+
+  /**
+   * Pass all doc IDs of index to consumer, one page at a time.
+   */
+  public void forEachId(Consumer<UUID> consumer) {
+    try (var ids = streamIds()) {
+      ids.forEach(consumer);
+    }
+  }
 
-      log.debug("Found {} files in index {}", result.size(), indexName);
-      var clearScrollRequest = new ClearScrollRequest();
-      clearScrollRequest.addScrollId(scrollId);
-      client.clearScroll(clearScrollRequest, DEFAULT);
+  /**
+   * Get stored contents sha of ES docs by file ID.
+   * Files without ES doc are absent; ES docs without stored sha map to null.
+   */
+  public Map<UUID, String> getContentsShas(List<UUID> fileIds) {
+    var result = new HashMap<UUID, String>();
+    if (fileIds.isEmpty()) {
       return result;
+    }
+    var index = config.index;
+    var fetchSha = new FetchSourceContext(true, new String[] {CONTENTS_SHA_FIELD}, null);
+    var request = new MultiGetRequest();
+    fileIds.forEach(id -> request.add(
+        new MultiGetRequest.Item(index, id.toString()).fetchSourceContext(fetchSha)));
+
+    MultiGetResponse response;
+    try {
+      response = client.mget(request, DEFAULT);
     } catch (IOException ex) {
-      throw new WebApplicationException(format("Could not retrieve IDs from index %s", indexName),
-          ex);
+      throw new WebApplicationException(format("Could not get docs from index %s", index), ex);
     }
-  }
 
-  private List<UUID> getIds(SearchResponse searchResponse) {
-    return Arrays
-        .stream(searchResponse.getHits().getHits())
-        .map(hit -> UUID.fromString(hit.getId()))
-        .collect(toList());
+    for (var item : response.getResponses()) {
+      if (item.isFailed()) {
+        throw new WebApplicationException(format("Could not get doc %s from index %s: %s",
+            item.getId(), index, item.getFailure().getMessage()));
+      }
+      var doc = item.getResponse();
+      if (doc.isExists()) {
+        var sha = doc.getSourceAsMap().get(CONTENTS_SHA_FIELD);
+        result.put(UUID.fromString(doc.getId()), sha == null ? null : sha.toString());
+      }
+    }
+    log.debug("Found {} of {} docs in index {}", result.size(), fileIds.size(), index);
+    return result;
   }
 
   public void createIndex(String mapping) {
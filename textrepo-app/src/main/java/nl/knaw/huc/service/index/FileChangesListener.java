@@ -0,0 +1,183 @@
+package nl.knaw.huc.service.index;
+
+import static java.util.Objects.requireNonNull;
+
+import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.lifecycle.Managed;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import nl.knaw.huc.config.FileChangesConfiguration;
+import nl.knaw.huc.db.FilesDao;
+import org.jdbi.v3.core.Jdbi;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index files when notified of changes by database triggers.
+ *
+ * <p>Listens to channel 'file_changes' using a dedicated data source, built from the database
+ * configuration of the app, so its properties and connection validation apply. The listening
+ * connection holds session state and is kept open, so it is not taken from the pool of the app.
+ * Notified file IDs are collected during the coalesce window, after which every file is
+ * indexed once, or deleted from the indices when the file no longer exists.
+ *
+ * <p>When several instances of textrepo-app listen, only the instance holding an advisory lock
+ * receives notifications, so every change is indexed once. Other instances retry to acquire
+ * the lock, and take over when the listening instance stops or loses its connection.
+ *
+ * <p>When the connection is lost, the listener reconnects. Changes made while not listening
+ * are not indexed: use the consistency check to find them.
+ */
+public class FileChangesListener implements Managed {
+
+  private static final Logger log = LoggerFactory.getLogger(FileChangesListener.class);
+
+  private static final String CHANNEL = "file_changes";
+
+  private static final int POLL_MILLIS = 500;
+  private static final int RECONNECT_MILLIS = 5000;
+
+  private final ManagedDataSource dataSource;
+  private final FileChangesConfiguration config;
+  private final Jdbi jdbi;
+  private final IndexService indexService;
+
+  private final Set<UUID> pending = new LinkedHashSet<>();
+  private long firstPendingAt;
+
+  private volatile boolean running;
+  private Thread thread;
+
+  public FileChangesListener(
+      ManagedDataSource dataSource,
+      FileChangesConfiguration config,
+      Jdbi jdbi,
+      IndexService indexService
+  ) {
+    this.dataSource = requireNonNull(dataSource);
+    this.config = requireNonNull(config);
+    this.jdbi = requireNonNull(jdbi);
+    this.indexService = requireNonNull(indexService);
+  }
+
+  @Override
+  public void start() throws Exception {
+    dataSource.start();
+    running = true;
+    thread = new Thread(this::listen, "file-changes-listener");
+    thread.setDaemon(true);
+    thread.start();
+    log.info("Started file changes listener");
+  }
+
+  @Override
+  public void stop() throws Exception {
+    running = false;
+    if (thread != null) {
+      thread.join(RECONNECT_MILLIS);
+    }
+    dataSource.stop();
+    log.info("Stopped listening to channel {}", CHANNEL);
+  }
+
+  private void listen() {
+    while (running) {
+      try (var connection = dataSource.getConnection()) {
+        if (acquireLock(connection)) {
+          receiveUntilStopped(connection);
+          continue;
+        }
+        log.debug("Another instance is listening to channel {}, waiting", CHANNEL);
+      } catch (SQLException ex) {
+        log.error("Lost connection while listening to channel {}, reconnecting", CHANNEL, ex);
+        indexPending();
+      }
+      pause();
+    }
+    indexPending();
+  }
+
+  /**
+   * Only one instance listens at a time, holding a session lock that is released when its
+   * connection is closed or lost.
+   */
+  private boolean acquireLock(Connection connection) throws SQLException {
+    try (var statement = connection.createStatement();
+         var result = statement.executeQuery(
+             "select pg_try_advisory_lock(hashtext('" + CHANNEL + "'))")) {
+      return result.next() && result.getBoolean(1);
+    }
+  }
+
+  private void receiveUntilStopped(Connection connection) throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute("listen " + CHANNEL);
+    }
+    log.info("Listening to channel {}", CHANNEL);
+    var pgConnection = connection.unwrap(PGConnection.class);
+    while (running) {
+      receive(pgConnection.getNotifications(POLL_MILLIS));
+      if (windowClosed()) {
+        indexPending();
+      }
+    }
+  }
+
+  private void receive(PGNotification[] notifications) {
+    if (notifications == null) {
+      return;
+    }
+    for (var notification : notifications) {
+      try {
+        if (pending.isEmpty()) {
+          firstPendingAt = System.currentTimeMillis();
+        }
+        pending.add(UUID.fromString(notification.getParameter()));
+      } catch (IllegalArgumentException ex) {
+        log.warn("Ignoring notification with invalid file ID: {}", notification.getParameter());
+      }
+    }
+  }
+
+  private boolean windowClosed() {
+    return !pending.isEmpty()
+        && System.currentTimeMillis() - firstPendingAt >= config.coalesceMillis;
+  }
+
+  private void indexPending() {
+    if (pending.isEmpty()) {
+      return;
+    }
+    var fileIds = new ArrayList<>(pending);
+    pending.clear();
+    log.debug("Indexing {} changed files", fileIds.size());
+    var files = jdbi.onDemand(FilesDao.class);
+    for (var fileId : fileIds) {
+      try {
+        var file = files.find(fileId);
+        if (file.isPresent()) {
+          indexService.index(file.get());
+        } else {
+          indexService.delete(fileId);
+        }
+      } catch (RuntimeException ex) {
+        log.error("Could not index changed file {}", fileId, ex);
+      }
+    }
+  }
+
+  private void pause() {
+    try {
+      Thread.sleep(RECONNECT_MILLIS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package nl.knaw.huc.service.index;
+
+import static java.lang.String.format;
+
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.JdbiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Switch on the file change triggers of V006 for the whole database.
+ *
+ * <p>Database setting 'textrepo.file_changes' is read by every new session, including sessions
+ * of clients other than textrepo-app. Sessions that are already open keep their setting.
+ *
+ * <p>The setting is only touched when file changes are enabled: switching the triggers off
+ * again is left to the database owner, using
+ * {@code alter database <name> reset textrepo.file_changes}, because other instances sharing
+ * the database may still be listening.
+ */
+public class FileChangesSetting {
+
+  private static final Logger log = LoggerFactory.getLogger(FileChangesSetting.class);
+
+  private static final String SETTING = "textrepo.file_changes";
+
+  private FileChangesSetting() {
+  }
+
+  /**
+   * Switch on setting before the file changes listener is started.
+   *
+   * <p>Changing database settings requires ownership of the database: when it fails, file
+   * changes cannot be indexed and startup fails.
+   */
+  public static void enable(Jdbi jdbi) {
+    var sql = format("do $$ begin "
+        + "execute format('alter database %%I set %s = %%L', current_database(), 'on'); "
+        + "end $$", SETTING);
+    try {
+      jdbi.useHandle(handle -> handle.execute(sql));
+      log.info("Set {} of database to on", SETTING);
+    } catch (JdbiException ex) {
+      throw new IllegalStateException(format("Could not set %s of database", SETTING), ex);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package nl.knaw.huc.service.index;
+
+/**
+ * Lanes of index updates, each with its own queue and concurrency budget.
+ */
+public enum IndexLane {
+
+  /**
+   * Index updates a user is waiting for, like adding a version.
+   */
+  INTERACTIVE,
+
+  /**
+   * Index updates of many files, like reindexing all files. Yields to interactive updates.
+   */
+  BULK
+
+}
@@ -0,0 +1,147 @@
+package nl.knaw.huc.service.index;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static nl.knaw.huc.service.index.IndexLane.BULK;
+import static nl.knaw.huc.service.index.IndexLane.INTERACTIVE;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import javax.ws.rs.WebApplicationException;
+import nl.knaw.huc.config.IndexSchedulerConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Run index updates in lanes, each lane with its own queue and concurrency budget.
+ *
+ * <p>Index updates run in the thread of the caller, as soon as their lane has a free slot.
+ * Bulk updates do not start while interactive updates are waiting for a slot.
+ *
+ * <p>Metrics per lane:
+ * - queued: number of updates waiting for a slot
+ * - running: number of updates holding a slot
+ * - wait: time spent waiting for a slot
+ */
+public class IndexScheduler {
+
+  private static final Logger log = LoggerFactory.getLogger(IndexScheduler.class);
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition slotFreed = lock.newCondition();
+
+  private final Map<IndexLane, Integer> budget = new EnumMap<>(IndexLane.class);
+  private final Map<IndexLane, Integer> queued = new EnumMap<>(IndexLane.class);
+  private final Map<IndexLane, Integer> running = new EnumMap<>(IndexLane.class);
+  private final Map<IndexLane, Timer> waits = new EnumMap<>(IndexLane.class);
+
+  public IndexScheduler(IndexSchedulerConfiguration config, MetricRegistry metrics) {
+    budget.put(INTERACTIVE, config.interactiveConcurrency);
+    budget.put(BULK, config.bulkConcurrency);
+    for (var lane : IndexLane.values()) {
+      queued.put(lane, 0);
+      running.put(lane, 0);
+      var prefix = name(IndexScheduler.class, lane.name().toLowerCase());
+      metrics.register(name(prefix, "queued"), (Gauge<Integer>) () -> getQueued(lane));
+      metrics.register(name(prefix, "running"), (Gauge<Integer>) () -> getRunning(lane));
+      waits.put(lane, metrics.timer(name(prefix, "wait")));
+    }
+  }
+
+  /**
+   * Run index update in lane, waiting for a free slot.
+   */
+  public void run(IndexLane lane, Runnable update) {
+    run(lane, () -> {
+      update.run();
+      return null;
+    });
+  }
+
+  /**
+   * Run index update in lane, waiting for a free slot.
+   */
+  public <T> T run(IndexLane lane, Supplier<T> update) {
+    acquire(lane);
+    try {
+      return update.get();
+    } finally {
+      release(lane);
+    }
+  }
+
+  public int getQueued(IndexLane lane) {
+    return withLock(() -> queued.get(lane));
+  }
+
+  public int getRunning(IndexLane lane) {
+    return withLock(() -> running.get(lane));
+  }
+
+  private void acquire(IndexLane lane) {
+    var waitStart = System.nanoTime();
+    lock.lock();
+    try {
+      increment(queued, lane);
+      try {
+        while (!mayRun(lane)) {
+          slotFreed.await();
+        }
+      } finally {
+        decrement(queued, lane);
+        // Bulk updates may be waiting for interactive queue to empty:
+        slotFreed.signalAll();
+      }
+      increment(running, lane);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new WebApplicationException(format("Interrupted while waiting for %s lane", lane), ex);
+    } finally {
+      lock.unlock();
+    }
+    var waited = System.nanoTime() - waitStart;
+    waits.get(lane).update(waited, NANOSECONDS);
+    log.debug("Waited {} ms for {} lane", NANOSECONDS.toMillis(waited), lane);
+  }
+
+  private boolean mayRun(IndexLane lane) {
+    if (running.get(lane) >= budget.get(lane)) {
+      return false;
+    }
+    return lane == INTERACTIVE || queued.get(INTERACTIVE) == 0;
+  }
+
+  private void release(IndexLane lane) {
+    lock.lock();
+    try {
+      decrement(running, lane);
+      slotFreed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private <T> T withLock(Supplier<T> supplier) {
+    lock.lock();
+    try {
+      return supplier.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static void increment(Map<IndexLane, Integer> counts, IndexLane lane) {
+    counts.merge(lane, 1, Integer::sum);
+  }
+
+  private static void decrement(Map<IndexLane, Integer> counts, IndexLane lane) {
+    counts.merge(lane, -1, Integer::sum);
+  }
+}
@@ -1,10 +1,13 @@
 package nl.knaw.huc.service.index;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import javax.validation.constraints.NotNull;
+import nl.knaw.huc.core.Contents;
 import nl.knaw.huc.core.TextRepoFile;
 
 /**
@@ -31,25 +34,63 @@ public interface IndexService {
   void index(@NotNull String indexer, @Nonnull TextRepoFile file);
 
   /**
-   * Index file with provided contents.
+   * Whether indexer converts file with latest version contents into an ES doc.
+   * Files skipped by indexer are not expected in its index.
    */
-  void index(@Nonnull TextRepoFile file, @NotNull String contents);
+  boolean createsDoc(@Nonnull String indexer, @Nonnull TextRepoFile file);
 
   /**
-   * Index file with mimetype and provided contents.
+   * Index file with provided contents, storing the sha of those contents.
    */
-  void index(@Nonnull UUID file, String mimetype, String contents);
+  void index(@Nonnull TextRepoFile file, @NotNull Contents contents);
+
+  /**
+   * Index file with mimetype and provided contents, storing the sha of those contents.
+   */
+  void index(@Nonnull UUID file, String mimetype, @NotNull Contents contents);
 
   /**
    * Delete file from indices.
    */
   void delete(UUID fileId);
 
+  /**
+   * Delete files from indices, using a bulk request per index.
+   */
+  void delete(@Nonnull List<UUID> fileIds);
+
+  /**
+   * Delete file from index of indexer.
+   */
+  void delete(@Nonnull String indexer, @Nonnull UUID fileId);
+
   /**
    * Get all IDs from all indices.
    */
   List<UUID> getAllIds();
 
+  /**
+   * Pass IDs of all indices to consumer, index by index, without collecting them in memory.
+   * IDs present in multiple indices are passed multiple times.
+   */
+  void forEachId(Consumer<UUID> consumer);
+
+  /**
+   * Pass IDs of index of indexer to consumer, without collecting them in memory.
+   */
+  void forEachId(@Nonnull String indexer, Consumer<UUID> consumer);
+
+  /**
+   * Get contents sha stored in ES docs of index of indexer, by file ID.
+   * Files without ES doc are absent; ES docs without stored sha map to null.
+   */
+  Map<UUID, String> getContentsShas(@Nonnull String indexer, List<UUID> fileIds);
+
+  /**
+   * Get names of all configured indexers.
+   */
+  List<String> getIndexerNames();
+
   /**
    * Get mimetypes by indexer name.
    */
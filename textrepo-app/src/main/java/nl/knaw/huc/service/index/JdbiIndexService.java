@@ -4,14 +4,18 @@ import static java.lang.String.format;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.NotSupportedException;
+import nl.knaw.huc.core.Contents;
 import nl.knaw.huc.core.TextRepoFile;
 import nl.knaw.huc.core.Type;
+import nl.knaw.huc.core.Version;
 import nl.knaw.huc.db.ContentsDao;
 import nl.knaw.huc.db.FilesDao;
 import nl.knaw.huc.db.TypesDao;
@@ -77,37 +81,57 @@ public class JdbiIndexService implements IndexService {
 
   @Override
   public void index(@Nonnull TextRepoFile file) {
-    var latestContents = getLatestVersionContents(file);
-    index(file, latestContents);
+    var latestVersion = findLatestVersion(file.getId());
+    var type = getType(file);
+    index(file.getId(), type.getMimetype(), getContentsSha(latestVersion),
+        getContents(latestVersion));
   }
 
   @Override
   public void index(@Nonnull String indexerName, @Nonnull TextRepoFile file) {
-    var contents = getLatestVersionContents(file);
+    var latestVersion = findLatestVersion(file.getId());
+    var contents = getContents(latestVersion);
+    var type = getType(file);
+    createAndUpsertEsDoc(indexerName, file.getId(), contents, type.getMimetype(),
+        getContentsSha(latestVersion));
+  }
+
+  @Override
+  public boolean createsDoc(@Nonnull String indexerName, @Nonnull TextRepoFile file) {
+    var contents = getContents(findLatestVersion(file.getId()));
     var type = getType(file);
-    createAndUpsertEsDoc(indexerName, file.getId(), contents, type.getMimetype());
+    return getIndexer(indexerName)
+        .fields(file.getId(), type.getMimetype(), contents)
+        .isPresent();
   }
 
   @Override
-  public void index(@Nonnull TextRepoFile file, String contents) {
+  public void index(@Nonnull TextRepoFile file, Contents contents) {
     var type = getType(file);
     index(file.getId(), type.getMimetype(), contents);
   }
 
   @Override
-  public void index(@Nonnull UUID file, String mimetype, String contents) {
+  public void index(@Nonnull UUID file, String mimetype, Contents contents) {
+    index(file, mimetype, contents.getSha224(), contents.asUtf8String());
+  }
+
+  /**
+   * Index contents with the sha of those contents, as read together from the same version.
+   */
+  private void index(UUID file, String mimetype, String contentsSha, String contents) {
     indexers.forEach(indexer -> {
-      createAndUpsertEsDoc(indexer.getConfig().name, file, contents, mimetype);
+      createAndUpsertEsDoc(indexer.getConfig().name, file, contents, mimetype, contentsSha);
     });
   }
 
   private void createAndUpsertEsDoc(String indexerName, UUID file, String contents,
-                                    String mimetype) {
+                                    String mimetype, String contentsSha) {
     var indexer = getIndexer(indexerName);
     var esDoc = indexer.fields(file, mimetype, contents);
     if (esDoc.isPresent()) {
       var indexName = indexer.getConfig().elasticsearch.index;
-      getIndex(indexName).upsert(file, esDoc.get());
+      getIndex(indexName).upsert(file, esDoc.get(), contentsSha);
     } else {
       log.info(format("Not indexing file %s: indexer %s returned nothing", file, indexerName));
     }
@@ -118,13 +142,46 @@ public class JdbiIndexService implements IndexService {
     indices.forEach(index -> index.delete(fileId));
   }
 
+  @Override
+  public void delete(@Nonnull List<UUID> fileIds) {
+    indices.forEach(index -> index.delete(fileIds));
+  }
+
+  @Override
+  public void delete(@Nonnull String indexer, @Nonnull UUID fileId) {
+    getIndexOf(indexer).delete(fileId);
+  }
+
   @Override
   public List<UUID> getAllIds() {
     var result = new HashSet<UUID>();
-    indices.forEach(index -> result.addAll(index.getAllIds()));
+    forEachId(result::add);
     return result.stream().toList();
   }
 
+  @Override
+  public void forEachId(Consumer<UUID> consumer) {
+    indices.forEach(index -> index.forEachId(consumer));
+  }
+
+  @Override
+  public void forEachId(@Nonnull String indexer, Consumer<UUID> consumer) {
+    getIndexOf(indexer).forEachId(consumer);
+  }
+
+  @Override
+  public Map<UUID, String> getContentsShas(@Nonnull String indexer, List<UUID> fileIds) {
+    return getIndexOf(indexer).getContentsShas(fileIds);
+  }
+
+  @Override
+  public List<String> getIndexerNames() {
+    return indexers
+        .stream()
+        .map(indexer -> indexer.getConfig().name)
+        .toList();
+  }
+
   private Type getType(@Nonnull TextRepoFile file) {
     return jdbi
         .onDemand(TypesDao.class)
@@ -145,6 +202,10 @@ public class JdbiIndexService implements IndexService {
         .orElseThrow(noSuchIndexer(indexerName));
   }
 
+  private EsIndexClient getIndexOf(String indexerName) {
+    return getIndex(getIndexer(indexerName).getConfig().elasticsearch.index);
+  }
+
   private EsIndexClient getIndex(String indexName) {
     return indices
         .stream()
@@ -153,10 +214,20 @@ public class JdbiIndexService implements IndexService {
         .orElseThrow(noSuchIndex(indexName));
   }
 
-  private String getLatestVersionContents(TextRepoFile file) {
-    var latestVersion = jdbi
+  private Optional<Version> findLatestVersion(UUID fileId) {
+    return jdbi
         .onDemand(VersionsDao.class)
-        .findLatestByFileId(file.getId());
+        .findLatestByFileId(fileId);
+  }
+
+  /**
+   * Sha of latest version contents, or blank string when file has no versions.
+   */
+  private String getContentsSha(Optional<Version> latestVersion) {
+    return latestVersion.map(Version::getContentsSha).orElse("");
+  }
+
+  private String getContents(Optional<Version> latestVersion) {
     String latestContents;
     if (latestVersion.isEmpty()) {
       latestContents = "";
@@ -0,0 +1,105 @@
+package nl.knaw.huc.service.index;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.TextRepoFile;
+
+/**
+ * Run index mutations of wrapped index service in a lane of the index scheduler.
+ *
+ * <p>Read-only methods are not scheduled and are passed on directly.
+ */
+public class ScheduledIndexService implements IndexService {
+
+  private final IndexService delegate;
+  private final IndexScheduler scheduler;
+  private final IndexLane lane;
+
+  public ScheduledIndexService(IndexService delegate, IndexScheduler scheduler, IndexLane lane) {
+    this.delegate = requireNonNull(delegate);
+    this.scheduler = requireNonNull(scheduler);
+    this.lane = requireNonNull(lane);
+  }
+
+  @Override
+  public void index(@Nonnull UUID fileId) {
+    scheduler.run(lane, () -> delegate.index(fileId));
+  }
+
+  @Override
+  public void index(@Nonnull TextRepoFile file) {
+    scheduler.run(lane, () -> delegate.index(file));
+  }
+
+  @Override
+  public void index(@Nonnull String indexer, @Nonnull TextRepoFile file) {
+    scheduler.run(lane, () -> delegate.index(indexer, file));
+  }
+
+  @Override
+  public void index(@Nonnull TextRepoFile file, Contents contents) {
+    scheduler.run(lane, () -> delegate.index(file, contents));
+  }
+
+  @Override
+  public void index(@Nonnull UUID file, String mimetype, Contents contents) {
+    scheduler.run(lane, () -> delegate.index(file, mimetype, contents));
+  }
+
+  @Override
+  public void delete(UUID fileId) {
+    scheduler.run(lane, () -> delegate.delete(fileId));
+  }
+
+  @Override
+  public void delete(@Nonnull List<UUID> fileIds) {
+    scheduler.run(lane, () -> delegate.delete(fileIds));
+  }
+
+  @Override
+  public void delete(@Nonnull String indexer, @Nonnull UUID fileId) {
+    scheduler.run(lane, () -> delegate.delete(indexer, fileId));
+  }
+
+  @Override
+  public List<UUID> getAllIds() {
+    return delegate.getAllIds();
+  }
+
+  @Override
+  public void forEachId(Consumer<UUID> consumer) {
+    delegate.forEachId(consumer);
+  }
+
+  @Override
+  public void forEachId(@Nonnull String indexer, Consumer<UUID> consumer) {
+    delegate.forEachId(indexer, consumer);
+  }
+
+  @Override
+  public Map<UUID, String> getContentsShas(@Nonnull String indexer, List<UUID> fileIds) {
+    return delegate.getContentsShas(indexer, fileIds);
+  }
+
+  @Override
+  public boolean createsDoc(@Nonnull String indexer, @Nonnull TextRepoFile file) {
+    return delegate.createsDoc(indexer, file);
+  }
+
+  @Override
+  public List<String> getIndexerNames() {
+    return delegate.getIndexerNames();
+  }
+
+  @Override
+  public Optional<List<String>> getMimetypes(String indexer) {
+    return delegate.getMimetypes(indexer);
+  }
+}
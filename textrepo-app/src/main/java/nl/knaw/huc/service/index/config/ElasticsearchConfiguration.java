@@ -21,4 +21,10 @@ public class ElasticsearchConfiguration {
    */
   @JsonProperty
   public String contentsField;
+
+  /**
+   * Number of doc IDs to request per page when iterating over all docs in index.
+   */
+  @JsonProperty
+  public int pageSize = 10_000;
 }
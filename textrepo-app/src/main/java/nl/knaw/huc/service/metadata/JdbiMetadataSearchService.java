@@ -0,0 +1,90 @@
+package nl.knaw.huc.service.metadata;
+
+import static nl.knaw.huc.core.PageTotal.EXACT;
+import static nl.knaw.huc.core.PageTotal.NONE;
+
+import java.util.UUID;
+import nl.knaw.huc.core.MetadataQuery;
+import nl.knaw.huc.core.Page;
+import nl.knaw.huc.core.PageCursor;
+import nl.knaw.huc.core.PageParams;
+import nl.knaw.huc.db.MetadataSearchDao;
+import org.jdbi.v3.core.Jdbi;
+
+public class JdbiMetadataSearchService implements MetadataSearchService {
+
+  private final Jdbi jdbi;
+
+  public JdbiMetadataSearchService(Jdbi jdbi) {
+    this.jdbi = jdbi;
+  }
+
+  @Override
+  public Page<UUID> findDocuments(MetadataQuery query, PageParams pageParams) {
+    return find(MetadataTable.DOCUMENTS, query, pageParams);
+  }
+
+  @Override
+  public Page<UUID> findFiles(MetadataQuery query, PageParams pageParams) {
+    return find(MetadataTable.FILES, query, pageParams);
+  }
+
+  @Override
+  public Page<UUID> findVersions(MetadataQuery query, PageParams pageParams) {
+    return find(MetadataTable.VERSIONS, query, pageParams);
+  }
+
+  private Page<UUID> find(MetadataTable table, MetadataQuery query, PageParams pageParams) {
+    // Matching entries are counted using an index: no need to estimate
+    var totalType = pageParams.getTotal() == NONE ? NONE : EXACT;
+    var total = totalType == EXACT
+        ? search().countIds(table.tableName, table.idColumn, valueCondition(query), query)
+        : 0L;
+    var ids = search()
+        .findIds(table.tableName, table.idColumn, valueCondition(query), query, pageParams);
+    return Page.withCursor(ids, total, totalType, pageParams, id -> new PageCursor(null, id));
+  }
+
+  private static String valueCondition(MetadataQuery query) {
+    if (query.getValue() != null) {
+      return ValueCondition.EQUALS.sql;
+    }
+    if (query.getValuePattern() != null) {
+      return ValueCondition.LIKE.sql;
+    }
+    return ValueCondition.NONE.sql;
+  }
+
+  private MetadataSearchDao search() {
+    return jdbi.onDemand(MetadataSearchDao.class);
+  }
+
+  private enum MetadataTable {
+    DOCUMENTS("documents_metadata", "document_id"),
+    FILES("files_metadata", "file_id"),
+    VERSIONS("versions_metadata", "version_id");
+
+    private final String tableName;
+    private final String idColumn;
+
+    MetadataTable(String tableName, String idColumn) {
+      this.tableName = tableName;
+      this.idColumn = idColumn;
+    }
+  }
+
+  /**
+   * Predicate on value of first condition, using md5 index for equals and trigram index for like.
+   */
+  private enum ValueCondition {
+    NONE(""),
+    EQUALS("AND md5(m.value) = md5(:value) AND m.value = :value"),
+    LIKE("AND m.value LIKE :valuePattern");
+
+    private final String sql;
+
+    ValueCondition(String sql) {
+      this.sql = sql;
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package nl.knaw.huc.service.metadata;
+
+import java.util.UUID;
+import nl.knaw.huc.core.MetadataQuery;
+import nl.knaw.huc.core.Page;
+import nl.knaw.huc.core.PageParams;
+
+public interface MetadataSearchService {
+  Page<UUID> findDocuments(MetadataQuery query, PageParams pageParams);
+
+  Page<UUID> findFiles(MetadataQuery query, PageParams pageParams);
+
+  Page<UUID> findVersions(MetadataQuery query, PageParams pageParams);
+}
@@ -0,0 +1,45 @@
+package nl.knaw.huc.service.replica;
+
+import static java.util.Objects.requireNonNull;
+
+import org.jdbi.v3.core.Jdbi;
+
+/**
+ * Jdbi of read replica when available, otherwise of primary database.
+ *
+ * <p>A replica can lag behind the primary database. Requests that need to read their own
+ * recent writes can read from the primary database instead, see {@link ReadPrimaryFilter}.
+ *
+ * <p>Only use for reads: replicas are read-only.
+ */
+public class ReadJdbi {
+
+  private static final ThreadLocal<Boolean> readPrimary = ThreadLocal.withInitial(() -> false);
+
+  private final Jdbi primary;
+  private final Jdbi replica;
+
+  /**
+   * Replica is null when no read replica is available.
+   */
+  public ReadJdbi(Jdbi primary, Jdbi replica) {
+    this.primary = requireNonNull(primary);
+    this.replica = replica;
+  }
+
+  /**
+   * Read replica, or primary database when no replica is available
+   * or when current thread should read from primary.
+   */
+  public Jdbi get() {
+    return replica == null || readPrimary.get() ? primary : replica;
+  }
+
+  static void setReadPrimary(boolean value) {
+    readPrimary.set(value);
+  }
+
+  static void clearReadPrimary() {
+    readPrimary.remove();
+  }
+}
@@ -0,0 +1,26 @@
+package nl.knaw.huc.service.replica;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+
+/**
+ * Let requests read from primary database instead of read replica, to read their own writes.
+ *
+ * <p>Reads from primary when request has header '{@value #READ_PRIMARY}: true'.
+ */
+public class ReadPrimaryFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  public static final String READ_PRIMARY = "Read-Primary";
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    ReadJdbi.setReadPrimary(Boolean.parseBoolean(request.getHeaderString(READ_PRIMARY)));
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    ReadJdbi.clearReadPrimary();
+  }
+}
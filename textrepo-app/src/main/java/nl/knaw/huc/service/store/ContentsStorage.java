@@ -2,10 +2,20 @@ package nl.knaw.huc.service.store;
 
 import javax.annotation.Nonnull;
 import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.TextRepoFile;
 
 public interface ContentsStorage {
   void storeContents(@Nonnull Contents contents);
 
+  /**
+   * Store contents of a new version of file, when enabled as delta against contents of its
+   * latest version, or compressed with the dictionary of its type.
+   */
+  void storeContents(@Nonnull Contents contents, @Nonnull TextRepoFile file);
+
+  /**
+   * Get contents, reconstructing contents stored as delta or with another codec than gzip.
+   */
   Contents get(@Nonnull String sha);
 
 }
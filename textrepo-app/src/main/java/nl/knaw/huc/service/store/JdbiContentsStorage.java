@@ -3,8 +3,12 @@ package nl.knaw.huc.service.store;
 import javax.annotation.Nonnull;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.WebApplicationException;
+import nl.knaw.huc.config.ContentsCompressionConfiguration;
+import nl.knaw.huc.config.ContentsDeltasConfiguration;
 import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.TextRepoFile;
 import nl.knaw.huc.db.ContentsDao;
+import nl.knaw.huc.service.task.StoreFileContents;
 import org.jdbi.v3.core.Jdbi;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,9 +18,21 @@ public class JdbiContentsStorage implements ContentsStorage {
   private static final Logger log = LoggerFactory.getLogger(JdbiContentsStorage.class);
 
   private final Jdbi jdbi;
+  private final ContentsDeltasConfiguration deltas;
+  private final ContentsCompressionConfiguration compression;
 
   public JdbiContentsStorage(Jdbi jdbi) {
+    this(jdbi, new ContentsDeltasConfiguration(), new ContentsCompressionConfiguration());
+  }
+
+  public JdbiContentsStorage(
+      Jdbi jdbi,
+      ContentsDeltasConfiguration deltas,
+      ContentsCompressionConfiguration compression
+  ) {
     this.jdbi = jdbi;
+    this.deltas = deltas;
+    this.compression = compression;
   }
 
   @Override
@@ -29,6 +45,21 @@ public class JdbiContentsStorage implements ContentsStorage {
     }
   }
 
+  @Override
+  public void storeContents(@Nonnull Contents contents, @Nonnull TextRepoFile file) {
+    if (!deltas.enabled && !compression.dictionaries) {
+      storeContents(contents);
+      return;
+    }
+    try {
+      jdbi.useTransaction(transaction -> new StoreFileContents(file, contents, deltas, compression)
+          .executeIn(transaction));
+    } catch (Exception e) {
+      log.warn("Failed to insert contents: {}", e.getMessage());
+      throw new WebApplicationException(e);
+    }
+  }
+
   @Override
   public Contents get(@Nonnull String sha) {
     return contents()
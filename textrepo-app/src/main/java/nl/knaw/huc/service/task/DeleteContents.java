@@ -1,5 +1,6 @@
 package nl.knaw.huc.service.task;
 
+import static nl.knaw.huc.helpers.PsqlExceptionHelper.Constraint.CONTENTS_BASE_SHA;
 import static nl.knaw.huc.helpers.PsqlExceptionHelper.Constraint.VERSIONS_CONTENTS_SHA;
 import static nl.knaw.huc.helpers.PsqlExceptionHelper.violatesConstraint;
 
@@ -26,7 +27,8 @@ public class DeleteContents implements InTransactionRunner {
     try {
       transaction.attach(ContentsDao.class).delete(contentsSha);
     } catch (JdbiException ex) {
-      if (violatesConstraint(ex, VERSIONS_CONTENTS_SHA)) {
+      if (violatesConstraint(ex, VERSIONS_CONTENTS_SHA)
+          || violatesConstraint(ex, CONTENTS_BASE_SHA)) {
         log.debug("Not deleting contents because {} is still in use", contentsSha);
         transaction.rollbackToSavepoint(savepoint);
       } else {
@@ -5,6 +5,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import nl.knaw.huc.core.Document;
@@ -37,6 +38,11 @@ public class JdbiRegisterIdentifiersTaskBuilder implements RegisterIdentifiersTa
     return new JdbiRegisterIdentifiersTask(externalIds);
   }
 
+  @Override
+  public Task<Long> buildStreaming(Consumer<Document> consumer) {
+    return new JdbiStreamRegisteredIdentifiersTask(externalIds, requireNonNull(consumer));
+  }
+
   private class JdbiRegisterIdentifiersTask implements Task<List<Document>> {
     private final Stream<String> externalIds;
 
@@ -46,16 +52,37 @@ public class JdbiRegisterIdentifiersTaskBuilder implements RegisterIdentifiersTa
 
     @Override
     public List<Document> run() {
-      return jdbi.inTransaction(transaction -> {
-        final List<Document> internalIds = new ArrayList<>();
-        externalIds.forEach(externalId -> {
-          final var internalId =
-              new RegisterIdentifier(externalId, idGenerator).executeIn(transaction);
-          log.debug("Registered internalId={} for externalId={}", internalId, externalId);
-          internalIds.add(internalId);
-        });
-        return internalIds;
-      });
+      final List<Document> registered = new ArrayList<>();
+      jdbi.useTransaction(transaction ->
+          new RegisterIdentifiers(externalIds, idGenerator, registered::add)
+              .executeIn(transaction));
+      log.debug("Registered {} external IDs", registered.size());
+      return registered;
+    }
+  }
+
+  private class JdbiStreamRegisteredIdentifiersTask implements Task<Long> {
+    private final Stream<String> externalIds;
+    private final Consumer<Document> consumer;
+
+    private JdbiStreamRegisteredIdentifiersTask(
+        Stream<String> externalIds,
+        Consumer<Document> consumer
+    ) {
+      this.externalIds = externalIds;
+      this.consumer = consumer;
+    }
+
+    @Override
+    public Long run() {
+      var count = new long[1];
+      jdbi.useTransaction(transaction ->
+          new RegisterIdentifiers(externalIds, idGenerator, doc -> {
+            consumer.accept(doc);
+            count[0]++;
+          }).executeIn(transaction));
+      log.debug("Registered {} external IDs", count[0]);
+      return count[0];
     }
   }
 }
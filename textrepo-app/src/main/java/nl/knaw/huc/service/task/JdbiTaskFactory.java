@@ -4,34 +4,60 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.UUID;
 import java.util.function.Supplier;
+import nl.knaw.huc.config.ContentsCompressionConfiguration;
+import nl.knaw.huc.config.ContentsDeltasConfiguration;
+import nl.knaw.huc.config.FileChangesConfiguration;
 import nl.knaw.huc.service.index.IndexService;
+import nl.knaw.huc.service.replica.ReadJdbi;
 import nl.knaw.huc.service.task.deleter.DeleteDocumentTaskBuilder;
+import nl.knaw.huc.service.task.deleter.DeleteDocumentsTaskBuilder;
 import nl.knaw.huc.service.task.deleter.JdbiDeleteDocumentTaskBuilder;
+import nl.knaw.huc.service.task.deleter.JdbiDeleteDocumentsTaskBuilder;
+import nl.knaw.huc.service.task.exporter.ExportTaskBuilder;
+import nl.knaw.huc.service.task.exporter.JdbiExportTaskBuilder;
 import nl.knaw.huc.service.task.finder.FindContentsTaskBuilder;
 import nl.knaw.huc.service.task.finder.JdbiFindContentsTaskBuilder;
 import nl.knaw.huc.service.task.getter.GetDocumentMetadataTaskBuilder;
+import nl.knaw.huc.service.task.getter.GetExpandedDocumentTaskBuilder;
+import nl.knaw.huc.service.task.getter.GetFileIndexFieldsTaskBuilder;
 import nl.knaw.huc.service.task.getter.GetFileMetadataTaskBuilder;
 import nl.knaw.huc.service.task.getter.JdbiGetDocumentMetadataTaskBuilder;
+import nl.knaw.huc.service.task.getter.JdbiGetExpandedDocumentTaskBuilder;
+import nl.knaw.huc.service.task.getter.JdbiGetFileIndexFieldsTaskBuilder;
 import nl.knaw.huc.service.task.getter.JdbiGetFileMetadataTaskBuilder;
 import nl.knaw.huc.service.task.importer.ImportFileTaskBuilder;
+import nl.knaw.huc.service.task.importer.ImportMetadataTaskBuilder;
 import nl.knaw.huc.service.task.importer.JdbiImportFileTaskBuilder;
+import nl.knaw.huc.service.task.importer.JdbiImportMetadataTaskBuilder;
+import nl.knaw.huc.service.task.indexer.CheckIndexConsistencyTaskBuilder;
 import nl.knaw.huc.service.task.indexer.IndexFileTaskBuilder;
+import nl.knaw.huc.service.task.indexer.JdbiCheckIndexConsistencyTaskBuilder;
 import nl.knaw.huc.service.task.indexer.JdbiIndexFileTaskBuilder;
 import nl.knaw.huc.service.task.indexer.JdbiRemoveDeletedFilesFromIndicesBuilder;
 import nl.knaw.huc.service.task.indexer.RemoveDeletedFilesFromIndicesTaskBuilder;
+import nl.knaw.huc.service.task.trainer.JdbiTrainDictionaryTaskBuilder;
+import nl.knaw.huc.service.task.trainer.TrainDictionaryTaskBuilder;
 import org.jdbi.v3.core.Jdbi;
 
 public class JdbiTaskFactory implements TaskBuilderFactory {
   private final Jdbi jdbi;
+  private ReadJdbi readJdbi;
   private Supplier<UUID> idGenerator;
   private final IndexService indexService;
+  private IndexService bulkIndexService;
+  private ContentsDeltasConfiguration contentsDeltas = new ContentsDeltasConfiguration();
+  private ContentsCompressionConfiguration contentsCompression =
+      new ContentsCompressionConfiguration();
+  private FileChangesConfiguration fileChanges = new FileChangesConfiguration();
 
   public JdbiTaskFactory(
       Jdbi jdbi,
       IndexService indexService
   ) {
     this.jdbi = requireNonNull(jdbi);
+    this.readJdbi = new ReadJdbi(jdbi, null);
     this.indexService = indexService;
+    this.bulkIndexService = indexService;
   }
 
   public JdbiTaskFactory withIdGenerator(Supplier<UUID> idGenerator) {
@@ -39,19 +65,72 @@ public class JdbiTaskFactory implements TaskBuilderFactory {
     return this;
   }
 
+  /**
+   * Index service used by tasks that index or check many files.
+   * Uses the same index service as all other tasks by default.
+   */
+  public JdbiTaskFactory withBulkIndexService(IndexService bulkIndexService) {
+    this.bulkIndexService = requireNonNull(bulkIndexService);
+    return this;
+  }
+
+  /**
+   * Storage of imported contents as deltas.
+   * Disabled by default.
+   */
+  public JdbiTaskFactory withContentsDeltas(ContentsDeltasConfiguration contentsDeltas) {
+    this.contentsDeltas = requireNonNull(contentsDeltas);
+    return this;
+  }
+
+  /**
+   * Compression of imported contents with dictionaries, and training of dictionaries.
+   * Imported contents are gzipped by default.
+   */
+  public JdbiTaskFactory withContentsCompression(
+      ContentsCompressionConfiguration contentsCompression
+  ) {
+    this.contentsCompression = requireNonNull(contentsCompression);
+    return this;
+  }
+
+  /**
+   * Indexing of changed files by file change notifications.
+   * When disabled, which is the default, tasks index the files they change themselves.
+   */
+  public JdbiTaskFactory withFileChanges(FileChangesConfiguration fileChanges) {
+    this.fileChanges = requireNonNull(fileChanges);
+    return this;
+  }
+
+  /**
+   * Jdbi used by tasks that only find and read.
+   * Uses the same Jdbi as all other tasks by default.
+   */
+  public JdbiTaskFactory withReadJdbi(ReadJdbi readJdbi) {
+    this.readJdbi = requireNonNull(readJdbi);
+    return this;
+  }
+
   @Override
   public ImportFileTaskBuilder getDocumentImportBuilder() {
-    return new JdbiImportFileTaskBuilder(jdbi, idGenerator, indexService);
+    return new JdbiImportFileTaskBuilder(
+        jdbi, idGenerator, indexService, contentsDeltas, contentsCompression);
+  }
+
+  @Override
+  public ImportMetadataTaskBuilder getMetadataImportBuilder() {
+    return new JdbiImportMetadataTaskBuilder(jdbi, bulkIndexService, !fileChanges.enabled);
   }
 
   @Override
   public IndexFileTaskBuilder getIndexBuilder() {
-    return new JdbiIndexFileTaskBuilder(jdbi, indexService);
+    return new JdbiIndexFileTaskBuilder(jdbi, indexService, bulkIndexService);
   }
 
   @Override
   public FindContentsTaskBuilder getContentsFinderBuilder() {
-    return new JdbiFindContentsTaskBuilder(jdbi);
+    return new JdbiFindContentsTaskBuilder(readJdbi.get());
   }
 
   @Override
@@ -59,14 +138,29 @@ public class JdbiTaskFactory implements TaskBuilderFactory {
     return new JdbiDeleteDocumentTaskBuilder(jdbi, indexService);
   }
 
+  @Override
+  public DeleteDocumentsTaskBuilder getDocumentsDeleteBuilder() {
+    return new JdbiDeleteDocumentsTaskBuilder(jdbi, bulkIndexService);
+  }
+
   @Override
   public GetDocumentMetadataTaskBuilder getDocumentMetadataGetter() {
-    return new JdbiGetDocumentMetadataTaskBuilder(jdbi);
+    return new JdbiGetDocumentMetadataTaskBuilder(readJdbi.get());
+  }
+
+  @Override
+  public GetExpandedDocumentTaskBuilder getExpandedDocumentGetter() {
+    return new JdbiGetExpandedDocumentTaskBuilder(readJdbi.get());
   }
 
   @Override
   public GetFileMetadataTaskBuilder getFileMetadataGetter() {
-    return new JdbiGetFileMetadataTaskBuilder(jdbi);
+    return new JdbiGetFileMetadataTaskBuilder(readJdbi.get());
+  }
+
+  @Override
+  public GetFileIndexFieldsTaskBuilder getFileIndexFieldsGetter() {
+    return new JdbiGetFileIndexFieldsTaskBuilder(jdbi);
   }
 
   @Override
@@ -76,6 +170,22 @@ public class JdbiTaskFactory implements TaskBuilderFactory {
 
   @Override
   public RemoveDeletedFilesFromIndicesTaskBuilder getRemoveDeletedFilesFromIndicesBuilder() {
-    return new JdbiRemoveDeletedFilesFromIndicesBuilder(jdbi, indexService);
+    return new JdbiRemoveDeletedFilesFromIndicesBuilder(jdbi, bulkIndexService);
+  }
+
+  @Override
+  public CheckIndexConsistencyTaskBuilder getCheckIndexConsistencyBuilder() {
+    return new JdbiCheckIndexConsistencyTaskBuilder(jdbi, bulkIndexService);
+  }
+
+  @Override
+  public ExportTaskBuilder getExportBuilder() {
+    return new JdbiExportTaskBuilder(readJdbi.get());
+  }
+
+  @Override
+  public TrainDictionaryTaskBuilder getDictionaryTrainerBuilder() {
+    return new JdbiTrainDictionaryTaskBuilder(
+        jdbi, readJdbi.get(), contentsCompression.trainingSampleSize);
   }
 }
@@ -0,0 +1,109 @@
+package nl.knaw.huc.service.task;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import nl.knaw.huc.core.Document;
+import nl.knaw.huc.db.RegisterIdentifiersDao;
+import org.jdbi.v3.core.Handle;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Register external IDs in bulk: copy them into a temporary table,
+ * insert all unregistered IDs with a single statement, and pass the new or existing
+ * document of every external ID to consumer, in order of external IDs.
+ *
+ * <p>External IDs that are already registered result in their existing document,
+ * and duplicate external IDs in the document of their first occurrence.
+ */
+public class RegisterIdentifiers implements InTransactionRunner {
+  private static final Logger log = LoggerFactory.getLogger(RegisterIdentifiers.class);
+
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  private final Stream<String> externalIds;
+  private final Supplier<UUID> idGenerator;
+  private final Consumer<Document> consumer;
+
+  public RegisterIdentifiers(
+      Stream<String> externalIds,
+      Supplier<UUID> idGenerator,
+      Consumer<Document> consumer
+  ) {
+    this.externalIds = requireNonNull(externalIds);
+    this.idGenerator = requireNonNull(idGenerator);
+    this.consumer = requireNonNull(consumer);
+  }
+
+  @Override
+  public void executeIn(Handle transaction) {
+    var dao = transaction.attach(RegisterIdentifiersDao.class);
+    dao.createTable();
+    var copied = copy(transaction);
+    dao.analyzeTable();
+    var inserted = dao.insertUnregistered();
+    log.debug("Registered {} new of {} external IDs", inserted, copied);
+    dao.foreachRegistered(consumer);
+  }
+
+  private long copy(Handle transaction) {
+    CopyIn copyIn = null;
+    try {
+      copyIn = transaction
+          .getConnection()
+          .unwrap(PGConnection.class)
+          .getCopyAPI()
+          .copyIn("copy " + RegisterIdentifiersDao.TABLE + " (id, external_id) from stdin");
+      var buffer = new ByteArrayOutputStream(COPY_BUFFER_SIZE);
+      var count = 0L;
+      for (var iterator = externalIds.iterator(); iterator.hasNext(); count++) {
+        var row = idGenerator.get() + "\t" + escape(iterator.next()) + "\n";
+        buffer.writeBytes(row.getBytes(UTF_8));
+        if (buffer.size() >= COPY_BUFFER_SIZE) {
+          copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+          buffer.reset();
+        }
+      }
+      copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+      copyIn.endCopy();
+      return count;
+    } catch (SQLException ex) {
+      cancel(copyIn);
+      throw new IllegalStateException("Could not copy external IDs", ex);
+    } catch (RuntimeException ex) {
+      cancel(copyIn);
+      throw ex;
+    }
+  }
+
+  private static void cancel(CopyIn copyIn) {
+    if (copyIn == null || !copyIn.isActive()) {
+      return;
+    }
+    try {
+      copyIn.cancelCopy();
+    } catch (SQLException ex) {
+      log.warn("Could not cancel copying external IDs", ex);
+    }
+  }
+
+  /**
+   * Escape backslash and delimiters of copy text format.
+   */
+  private static String escape(String value) {
+    return value
+        .replace("\\", "\\\\")
+        .replace("\t", "\\t")
+        .replace("\n", "\\n")
+        .replace("\r", "\\r");
+  }
+}
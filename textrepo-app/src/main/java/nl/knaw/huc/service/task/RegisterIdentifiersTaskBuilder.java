@@ -1,6 +1,7 @@
 package nl.knaw.huc.service.task;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import nl.knaw.huc.core.Document;
 
@@ -8,4 +9,10 @@ public interface RegisterIdentifiersTaskBuilder {
   RegisterIdentifiersTaskBuilder forExternalIdentifiers(Stream<String> ids);
 
   Task<List<Document>> build();
+
+  /**
+   * Task passes every registered document to consumer, without collecting them,
+   * and returns the number of registered documents.
+   */
+  Task<Long> buildStreaming(Consumer<Document> consumer);
 }
@@ -6,10 +6,11 @@ import static java.util.Objects.requireNonNull;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Supplier;
+import nl.knaw.huc.config.ContentsCompressionConfiguration;
+import nl.knaw.huc.config.ContentsDeltasConfiguration;
 import nl.knaw.huc.core.Contents;
 import nl.knaw.huc.core.TextRepoFile;
 import nl.knaw.huc.core.Version;
-import nl.knaw.huc.db.ContentsDao;
 import nl.knaw.huc.db.VersionsDao;
 import org.jdbi.v3.core.Handle;
 
@@ -20,15 +21,20 @@ public class SetFileContents implements InTransactionProvider<Version> {
   private final TextRepoFile file;
   private final Contents contents;
   private final boolean asLatestVersion;
+  private final ContentsDeltasConfiguration deltas;
+  private final ContentsCompressionConfiguration compression;
 
   private Handle transaction;
 
   public SetFileContents(Supplier<UUID> idGenerator, TextRepoFile file, Contents contents,
-                         boolean asLatestVersion) {
+                         boolean asLatestVersion, ContentsDeltasConfiguration deltas,
+                         ContentsCompressionConfiguration compression) {
     this.idGenerator = requireNonNull(idGenerator);
     this.file = requireNonNull(file);
     this.contents = requireNonNull(contents);
     this.asLatestVersion = asLatestVersion;
+    this.deltas = requireNonNull(deltas);
+    this.compression = requireNonNull(compression);
   }
 
   @Override
@@ -46,9 +52,7 @@ public class SetFileContents implements InTransactionProvider<Version> {
   }
 
   private Optional<Version> anyVersionIfIdentical() {
-    return versions().findByFileId(file.getId()).stream()
-                     .filter(this::hasIdenticalContents)
-                     .findFirst();
+    return versions().findEarliestByFileIdAndContentsSha(file.getId(), contents.getSha224());
   }
 
   private boolean hasIdenticalContents(Version candidate) {
@@ -58,7 +62,7 @@ public class SetFileContents implements InTransactionProvider<Version> {
   private Version createNewVersionWithContents() {
     final var id = idGenerator.get();
     final var version = new Version(id, file.getId(), contents.getSha224(), now());
-    contents().insert(contents);
+    new StoreFileContents(file, contents, deltas, compression).executeIn(transaction);
     versions().insert(version);
     return version;
   }
@@ -66,8 +70,4 @@ public class SetFileContents implements InTransactionProvider<Version> {
   private VersionsDao versions() {
     return transaction.attach(VersionsDao.class);
   }
-
-  private ContentsDao contents() {
-    return transaction.attach(ContentsDao.class);
-  }
 }
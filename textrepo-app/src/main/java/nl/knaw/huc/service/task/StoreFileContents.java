@@ -0,0 +1,55 @@
+package nl.knaw.huc.service.task;
+
+import static java.util.Objects.requireNonNull;
+
+import nl.knaw.huc.config.ContentsCompressionConfiguration;
+import nl.knaw.huc.config.ContentsDeltasConfiguration;
+import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.TextRepoFile;
+import nl.knaw.huc.db.ContentsDao;
+import nl.knaw.huc.db.VersionsDao;
+import nl.knaw.huc.helpers.codec.ContentsCodecs;
+import nl.knaw.huc.helpers.delta.ContentsDeltas;
+import org.jdbi.v3.core.Handle;
+
+/**
+ * Store contents of a new version of file: as delta against the contents of its latest version,
+ * or compressed with the dictionary of its type, when enabled.
+ * Call before inserting the new version.
+ */
+public class StoreFileContents implements InTransactionRunner {
+
+  private final TextRepoFile file;
+  private final Contents contents;
+  private final ContentsDeltasConfiguration deltas;
+  private final ContentsCompressionConfiguration compression;
+
+  public StoreFileContents(
+      TextRepoFile file,
+      Contents contents,
+      ContentsDeltasConfiguration deltas,
+      ContentsCompressionConfiguration compression
+  ) {
+    this.file = requireNonNull(file);
+    this.contents = requireNonNull(contents);
+    this.deltas = requireNonNull(deltas);
+    this.compression = requireNonNull(compression);
+  }
+
+  @Override
+  public void executeIn(Handle transaction) {
+    var contentsDao = transaction.attach(ContentsDao.class);
+    if (deltas.enabled) {
+      var previous = transaction.attach(VersionsDao.class).findLatestByFileId(file.getId());
+      if (previous.isPresent() && ContentsDeltas.storeDelta(
+          contentsDao, contents, previous.get().getContentsSha(), deltas.snapshotInterval)) {
+        return;
+      }
+    }
+    if (compression.dictionaries) {
+      ContentsCodecs.insert(contentsDao, contents, file.getTypeId());
+    } else {
+      contentsDao.insert(contents);
+    }
+  }
+}
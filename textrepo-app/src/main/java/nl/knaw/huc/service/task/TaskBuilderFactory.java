@@ -1,28 +1,49 @@
 package nl.knaw.huc.service.task;
 
 import nl.knaw.huc.service.task.deleter.DeleteDocumentTaskBuilder;
+import nl.knaw.huc.service.task.deleter.DeleteDocumentsTaskBuilder;
+import nl.knaw.huc.service.task.exporter.ExportTaskBuilder;
 import nl.knaw.huc.service.task.finder.FindContentsTaskBuilder;
 import nl.knaw.huc.service.task.getter.GetDocumentMetadataTaskBuilder;
+import nl.knaw.huc.service.task.getter.GetExpandedDocumentTaskBuilder;
+import nl.knaw.huc.service.task.getter.GetFileIndexFieldsTaskBuilder;
 import nl.knaw.huc.service.task.getter.GetFileMetadataTaskBuilder;
 import nl.knaw.huc.service.task.importer.ImportFileTaskBuilder;
+import nl.knaw.huc.service.task.importer.ImportMetadataTaskBuilder;
+import nl.knaw.huc.service.task.indexer.CheckIndexConsistencyTaskBuilder;
 import nl.knaw.huc.service.task.indexer.IndexFileTaskBuilder;
 import nl.knaw.huc.service.task.indexer.RemoveDeletedFilesFromIndicesTaskBuilder;
+import nl.knaw.huc.service.task.trainer.TrainDictionaryTaskBuilder;
 
 public interface TaskBuilderFactory {
   ImportFileTaskBuilder getDocumentImportBuilder();
 
+  ImportMetadataTaskBuilder getMetadataImportBuilder();
+
   IndexFileTaskBuilder getIndexBuilder();
 
   FindContentsTaskBuilder getContentsFinderBuilder();
 
   DeleteDocumentTaskBuilder getDocumentDeleteBuilder();
 
+  DeleteDocumentsTaskBuilder getDocumentsDeleteBuilder();
+
   GetDocumentMetadataTaskBuilder getDocumentMetadataGetter();
 
+  GetExpandedDocumentTaskBuilder getExpandedDocumentGetter();
+
   GetFileMetadataTaskBuilder getFileMetadataGetter();
 
+  GetFileIndexFieldsTaskBuilder getFileIndexFieldsGetter();
+
   RegisterIdentifiersTaskBuilder getRegisterIdentifiersBuilder();
 
   RemoveDeletedFilesFromIndicesTaskBuilder getRemoveDeletedFilesFromIndicesBuilder();
 
+  CheckIndexConsistencyTaskBuilder getCheckIndexConsistencyBuilder();
+
+  ExportTaskBuilder getExportBuilder();
+
+  TrainDictionaryTaskBuilder getDictionaryTrainerBuilder();
+
 }
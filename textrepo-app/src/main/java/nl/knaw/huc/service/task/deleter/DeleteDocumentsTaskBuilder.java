@@ -0,0 +1,22 @@
+package nl.knaw.huc.service.task.deleter;
+
+import java.util.List;
+import nl.knaw.huc.api.ResultDeleteDocuments;
+import nl.knaw.huc.core.MetadataCondition;
+import nl.knaw.huc.service.task.Task;
+
+/**
+ * Delete all documents matching every filter that is set.
+ */
+public interface DeleteDocumentsTaskBuilder {
+
+  DeleteDocumentsTaskBuilder forExternalIds(List<String> externalIds);
+
+  DeleteDocumentsTaskBuilder forExternalIdPrefix(String externalIdPrefix);
+
+  DeleteDocumentsTaskBuilder forMetadata(MetadataCondition metadata);
+
+  DeleteDocumentsTaskBuilder withIndexing(boolean indexing);
+
+  Task<ResultDeleteDocuments> build();
+}
@@ -0,0 +1,188 @@
+package nl.knaw.huc.service.task.deleter;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.UUID;
+import javax.ws.rs.BadRequestException;
+import nl.knaw.huc.api.ResultDeleteDocuments;
+import nl.knaw.huc.core.DeleteDocumentsFilter;
+import nl.knaw.huc.core.Document;
+import nl.knaw.huc.core.MetadataCondition;
+import nl.knaw.huc.db.DeleteDocumentsDao;
+import nl.knaw.huc.service.index.IndexService;
+import nl.knaw.huc.service.task.Task;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delete documents in batches, each batch in its own transaction.
+ *
+ * <p>Files of a batch are deleted from the indices after the batch is committed, using a bulk
+ * request per index, to keep transactions short and independent of Elasticsearch.
+ *
+ * <p>Contents are not deleted: a concurrent import may store the same contents again.
+ * Contents no longer in use are deleted after a grace period by {@link
+ * nl.knaw.huc.service.contents.UnusedContentsCollector}, when enabled.
+ */
+public class JdbiDeleteDocumentsTaskBuilder implements DeleteDocumentsTaskBuilder {
+  private static final Logger log = LoggerFactory.getLogger(JdbiDeleteDocumentsTaskBuilder.class);
+
+  private static final int BATCH_SIZE = 1000;
+
+  private final Jdbi jdbi;
+  private final IndexService indexService;
+
+  private List<String> externalIds;
+  private String externalIdPrefix;
+  private MetadataCondition metadata;
+  private boolean indexing = true;
+
+  public JdbiDeleteDocumentsTaskBuilder(Jdbi jdbi, IndexService indexService) {
+    this.jdbi = requireNonNull(jdbi);
+    this.indexService = requireNonNull(indexService);
+  }
+
+  @Override
+  public DeleteDocumentsTaskBuilder forExternalIds(List<String> externalIds) {
+    this.externalIds = externalIds;
+    return this;
+  }
+
+  @Override
+  public DeleteDocumentsTaskBuilder forExternalIdPrefix(String externalIdPrefix) {
+    this.externalIdPrefix = externalIdPrefix;
+    return this;
+  }
+
+  @Override
+  public DeleteDocumentsTaskBuilder forMetadata(MetadataCondition metadata) {
+    this.metadata = metadata;
+    return this;
+  }
+
+  @Override
+  public DeleteDocumentsTaskBuilder withIndexing(boolean indexing) {
+    this.indexing = indexing;
+    return this;
+  }
+
+  @Override
+  public Task<ResultDeleteDocuments> build() {
+    if (externalIds == null && externalIdPrefix == null && metadata == null) {
+      throw new BadRequestException("Deleting documents requires externalIds, "
+          + "externalIdPrefix or metadata");
+    }
+    var filter = new DeleteDocumentsFilter(externalIds, externalIdPrefix, metadata);
+    return new DeleteDocumentsTask(filter, conditions(filter), indexing);
+  }
+
+  /**
+   * Predicates of filters that are set, using unique and pattern index of external IDs,
+   * and md5 and trigram index of metadata values.
+   */
+  private static String conditions(DeleteDocumentsFilter filter) {
+    var conditions = new StringBuilder();
+    if (filter.getExternalIds() != null) {
+      conditions.append(" AND d.external_id = ANY(:externalIds)");
+    }
+    if (filter.getExternalIdPrefix() != null) {
+      conditions.append(" AND d.external_id ~>=~ :externalIdPrefix");
+      if (filter.getExternalIdPrefixUpper() != null) {
+        conditions.append(" AND d.external_id ~<~ :externalIdPrefixUpper");
+      }
+    }
+    if (filter.getMetadataKey() != null) {
+      conditions.append(" AND d.id IN (SELECT m.document_id FROM documents_metadata m"
+          + " WHERE m.key = :metadataKey");
+      if (filter.getMetadataValue() != null) {
+        conditions.append(" AND md5(m.value) = md5(:metadataValue)"
+            + " AND m.value = :metadataValue");
+      } else if (filter.getMetadataValuePattern() != null) {
+        conditions.append(" AND m.value LIKE :metadataValuePattern");
+      }
+      conditions.append(")");
+    }
+    return conditions.toString();
+  }
+
+  private class DeleteDocumentsTask implements Task<ResultDeleteDocuments> {
+    private final DeleteDocumentsFilter filter;
+    private final String conditions;
+    private final boolean indexing;
+
+    private long deletedDocuments;
+    private long deletedFiles;
+    private long indexFailures;
+
+    private DeleteDocumentsTask(
+        DeleteDocumentsFilter filter,
+        String conditions,
+        boolean indexing
+    ) {
+      this.filter = filter;
+      this.conditions = conditions;
+      this.indexing = indexing;
+    }
+
+    @Override
+    public ResultDeleteDocuments run() {
+      log.info("Deleting documents: {}", filter);
+      for (var batch = findBatch(null); !batch.isEmpty(); batch = findBatch(lastId(batch))) {
+        var fileIds = deleteBatch(batch.stream().map(Document::getId).toList());
+        if (indexing) {
+          deleteFromIndices(fileIds);
+        }
+        log.debug("Deleted {} documents so far", deletedDocuments);
+      }
+      log.info("Deleted {} documents and {} files; index failures: {}",
+          deletedDocuments, deletedFiles, indexFailures);
+      return new ResultDeleteDocuments(deletedDocuments, deletedFiles, indexFailures);
+    }
+
+    private List<Document> findBatch(UUID afterId) {
+      return jdbi
+          .onDemand(DeleteDocumentsDao.class)
+          .findBatch(conditions, filter, afterId, BATCH_SIZE);
+    }
+
+    private UUID lastId(List<Document> batch) {
+      return batch.get(batch.size() - 1).getId();
+    }
+
+    /**
+     * Delete documents with their files.
+     *
+     * @return IDs of deleted files
+     */
+    private List<UUID> deleteBatch(List<UUID> documentIds) {
+      var deleted = jdbi.inTransaction(transaction -> {
+        var dao = transaction.attach(DeleteDocumentsDao.class);
+        var fileIds = dao.deleteFiles(documentIds);
+        var documentCount = dao.deleteDocuments(documentIds);
+        return new DeletedBatch(documentCount, fileIds);
+      });
+      deletedDocuments += deleted.documentCount;
+      deletedFiles += deleted.fileIds.size();
+      return deleted.fileIds;
+    }
+
+    /**
+     * Deleted files are already committed: when deleting from the indices fails, log and
+     * continue; the remaining ES docs can be removed with the orphaned ES docs task.
+     */
+    private void deleteFromIndices(List<UUID> fileIds) {
+      try {
+        indexService.delete(fileIds);
+      } catch (RuntimeException ex) {
+        indexFailures += fileIds.size();
+        log.error("Could not delete {} files from indices", fileIds.size(), ex);
+      }
+    }
+  }
+
+  private record DeletedBatch(int documentCount, List<UUID> fileIds) {
+  }
+
+}
@@ -0,0 +1,41 @@
+package nl.knaw.huc.service.task.exporter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import nl.knaw.huc.core.ExportRecord;
+
+/**
+ * Write document, file and version fields of exported record, without contents.
+ */
+class ExportRecordJson {
+
+  private ExportRecordJson() {
+  }
+
+  static void writeFields(JsonGenerator json, ExportRecord record) throws IOException {
+    var document = record.getDocument();
+    json.writeObjectFieldStart("document");
+    json.writeStringField("id", document.getId().toString());
+    json.writeStringField("externalId", document.getExternalId());
+    json.writeStringField("createdAt", document.getCreatedAt().toString());
+    json.writeFieldName("metadata");
+    json.writeRawValue(record.getDocumentMetadata());
+    json.writeEndObject();
+
+    var type = record.getType();
+    json.writeObjectFieldStart("file");
+    json.writeStringField("id", record.getFile().getId().toString());
+    json.writeStringField("type", type.getName());
+    json.writeStringField("mimetype", type.getMimetype());
+    json.writeFieldName("metadata");
+    json.writeRawValue(record.getFileMetadata());
+    json.writeEndObject();
+
+    var version = record.getVersion();
+    json.writeObjectFieldStart("version");
+    json.writeStringField("id", version.getId().toString());
+    json.writeStringField("createdAt", version.getCreatedAt().toString());
+    json.writeStringField("contentsSha", version.getContentsSha());
+    json.writeEndObject();
+  }
+}
@@ -0,0 +1,23 @@
+package nl.knaw.huc.service.task.exporter;
+
+import java.time.LocalDateTime;
+import javax.ws.rs.core.StreamingOutput;
+import nl.knaw.huc.core.ExportFormat;
+import nl.knaw.huc.service.task.Task;
+
+public interface ExportTaskBuilder {
+  ExportTaskBuilder forType(String typeName);
+
+  ExportTaskBuilder forExternalIdPrefix(String externalIdPrefix);
+
+  ExportTaskBuilder forCreatedAfter(LocalDateTime createdAfter);
+
+  ExportTaskBuilder withFormat(ExportFormat format);
+
+  ExportTaskBuilder withGzip(boolean gzip);
+
+  /**
+   * Task checks filters and returns output that streams the export when written.
+   */
+  Task<StreamingOutput> build();
+}
@@ -0,0 +1,16 @@
+package nl.knaw.huc.service.task.exporter;
+
+import java.io.IOException;
+import nl.knaw.huc.core.ExportRecord;
+
+/**
+ * Write exported records to a stream, without buffering all records.
+ */
+public interface ExportWriter {
+  void write(ExportRecord record) throws IOException;
+
+  /**
+   * Write end of stream, if any, and flush; does not close the stream.
+   */
+  void finish() throws IOException;
+}
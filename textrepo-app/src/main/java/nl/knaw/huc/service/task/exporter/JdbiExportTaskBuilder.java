@@ -0,0 +1,154 @@
+package nl.knaw.huc.service.task.exporter;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static nl.knaw.huc.helpers.LikePatterns.startingWith;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import javax.ws.rs.core.StreamingOutput;
+import nl.knaw.huc.core.ExportFilter;
+import nl.knaw.huc.core.ExportFormat;
+import nl.knaw.huc.core.ExportRecord;
+import nl.knaw.huc.db.ContentsDao;
+import nl.knaw.huc.db.ExportDao;
+import nl.knaw.huc.service.task.FindType;
+import nl.knaw.huc.service.task.Task;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class JdbiExportTaskBuilder implements ExportTaskBuilder {
+  private static final Logger log = LoggerFactory.getLogger(JdbiExportTaskBuilder.class);
+
+  private final Jdbi jdbi;
+
+  private String typeName;
+  private String externalIdPrefix;
+  private LocalDateTime createdAfter;
+  private ExportFormat format = ExportFormat.NDJSON;
+  private boolean gzip;
+
+  public JdbiExportTaskBuilder(Jdbi jdbi) {
+    this.jdbi = requireNonNull(jdbi);
+  }
+
+  @Override
+  public ExportTaskBuilder forType(String typeName) {
+    this.typeName = typeName;
+    return this;
+  }
+
+  @Override
+  public ExportTaskBuilder forExternalIdPrefix(String externalIdPrefix) {
+    this.externalIdPrefix = externalIdPrefix;
+    return this;
+  }
+
+  @Override
+  public ExportTaskBuilder forCreatedAfter(LocalDateTime createdAfter) {
+    this.createdAfter = createdAfter;
+    return this;
+  }
+
+  @Override
+  public ExportTaskBuilder withFormat(ExportFormat format) {
+    this.format = requireNonNull(format);
+    return this;
+  }
+
+  @Override
+  public ExportTaskBuilder withGzip(boolean gzip) {
+    this.gzip = gzip;
+    return this;
+  }
+
+  @Override
+  public Task<StreamingOutput> build() {
+    return new ExportTask(typeName, externalIdPrefix, createdAfter, format, gzip);
+  }
+
+  private class ExportTask implements Task<StreamingOutput> {
+    private final String typeName;
+    private final String externalIdPrefix;
+    private final LocalDateTime createdAfter;
+    private final ExportFormat format;
+    private final boolean gzip;
+
+    private ExportTask(
+        String typeName,
+        String externalIdPrefix,
+        LocalDateTime createdAfter,
+        ExportFormat format,
+        boolean gzip
+    ) {
+      this.typeName = typeName;
+      this.externalIdPrefix = externalIdPrefix;
+      this.createdAfter = createdAfter;
+      this.format = format;
+      this.gzip = gzip;
+    }
+
+    /**
+     * Find type before streaming, to fail while the response can still be changed.
+     */
+    @Override
+    public StreamingOutput run() {
+      var typeId = typeName == null
+          ? null
+          : jdbi.inTransaction(transaction -> new FindType(typeName).executeIn(transaction))
+                .getId();
+      var pattern = externalIdPrefix == null ? null : startingWith(externalIdPrefix);
+      var filter = new ExportFilter(typeId, pattern, createdAfter);
+      return output -> export(filter, output);
+    }
+
+    private void export(ExportFilter filter, OutputStream output) throws IOException {
+      log.info("Exporting as {}: {}", format, filter);
+      var writer = format == ExportFormat.TAR
+          ? new TarExportWriter(output, gzip)
+          : new NdjsonExportWriter(output, gzip);
+      var count = new long[1];
+      try {
+        jdbi.useTransaction(transaction -> {
+          var contents = transaction.attach(ContentsDao.class);
+          transaction
+              .attach(ExportDao.class)
+              .foreachLatestVersion(filter, record -> {
+                write(writer, withContents(record, contents));
+                count[0]++;
+              });
+        });
+      } catch (UncheckedIOException ex) {
+        throw ex.getCause();
+      }
+      writer.finish();
+      log.info("Exported {} files", count[0]);
+    }
+
+    /**
+     * Reconstruct contents stored as delta or with another codec than gzip.
+     */
+    private ExportRecord withContents(ExportRecord record, ContentsDao contents) {
+      if (record.getContents() != null) {
+        return record;
+      }
+      var sha = record.getVersion().getContentsSha();
+      return record.withContents(contents
+          .findBySha224(sha)
+          .orElseThrow(() -> new IllegalStateException(format("No contents %s", sha)))
+          .getContents());
+    }
+
+    private void write(ExportWriter writer, ExportRecord record) {
+      try {
+        writer.write(record);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+
+}
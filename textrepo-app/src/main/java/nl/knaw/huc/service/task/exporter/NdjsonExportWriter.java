@@ -0,0 +1,80 @@
+package nl.knaw.huc.service.task.exporter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static nl.knaw.huc.helpers.gzip.GzipHelper.isGzipped;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.ExportRecord;
+
+/**
+ * Write every record as a json object on a single line.
+ *
+ * <p>Contents are written as a string, or as base64 encoded gzip with field
+ * contentsEncoding set to 'gzip' when gzip is requested and the contents are stored gzipped.
+ * Contents of types that are not text, or that are not valid utf-8, are written as base64
+ * with contentsEncoding set to 'base64'.
+ */
+public class NdjsonExportWriter implements ExportWriter {
+
+  private static final JsonFactory jsonFactory = new JsonFactory()
+      .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+  private final JsonGenerator json;
+  private final boolean gzip;
+
+  public NdjsonExportWriter(OutputStream output, boolean gzip) throws IOException {
+    this.json = jsonFactory.createGenerator(output);
+    this.json.setRootValueSeparator(null);
+    this.gzip = gzip;
+  }
+
+  @Override
+  public void write(ExportRecord record) throws IOException {
+    json.writeStartObject();
+    ExportRecordJson.writeFields(json, record);
+    var contents = record.getContents();
+    if (gzip && isGzipped(contents)) {
+      json.writeStringField("contentsEncoding", "gzip");
+      json.writeBinaryField("contents", contents);
+    } else {
+      var sha = record.getVersion().getContentsSha();
+      var uncompressed = new Contents(sha, contents).uncompressed();
+      var text = isText(record.getType().getMimetype()) ? decodeUtf8(uncompressed) : null;
+      if (text != null) {
+        json.writeStringField("contents", text);
+      } else {
+        json.writeStringField("contentsEncoding", "base64");
+        json.writeBinaryField("contents", uncompressed);
+      }
+    }
+    json.writeEndObject();
+    json.writeRaw('\n');
+  }
+
+  private static boolean isText(String mimetype) {
+    var mediaType = mimetype.split(";", 2)[0].trim().toLowerCase();
+    return mediaType.startsWith("text/") || mediaType.endsWith("json") || mediaType.endsWith("xml");
+  }
+
+  /**
+   * @return text, or null when contents are not valid utf-8
+   */
+  private static String decodeUtf8(byte[] contents) {
+    try {
+      return UTF_8.newDecoder().decode(ByteBuffer.wrap(contents)).toString();
+    } catch (CharacterCodingException ex) {
+      return null;
+    }
+  }
+
+  @Override
+  public void finish() throws IOException {
+    json.flush();
+  }
+}
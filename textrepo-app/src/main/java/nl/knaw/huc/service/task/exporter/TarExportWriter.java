@@ -0,0 +1,131 @@
+package nl.knaw.huc.service.task.exporter;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static nl.knaw.huc.helpers.gzip.GzipHelper.isGzipped;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneId;
+import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.ExportRecord;
+
+/**
+ * Write records as ustar archive, with per file two entries in directory of document ID:
+ * {fileId}.json with document, file and version fields, and {fileId} with the contents
+ * of the latest version, or {fileId}.gz when gzip is requested and contents are stored gzipped.
+ */
+public class TarExportWriter implements ExportWriter {
+
+  static final int BLOCK_SIZE = 512;
+
+  private static final JsonFactory jsonFactory = new JsonFactory();
+
+  private final OutputStream output;
+  private final boolean gzip;
+
+  public TarExportWriter(OutputStream output, boolean gzip) {
+    this.output = output;
+    this.gzip = gzip;
+  }
+
+  @Override
+  public void write(ExportRecord record) throws IOException {
+    var dir = record.getDocument().getId() + "/" + record.getFile().getId();
+    var modified = record
+        .getVersion()
+        .getCreatedAt()
+        .atZone(ZoneId.systemDefault())
+        .toEpochSecond();
+
+    writeEntry(dir + ".json", toJson(record), modified);
+
+    var contents = record.getContents();
+    if (gzip && isGzipped(contents)) {
+      writeEntry(dir + ".gz", contents, modified);
+    } else if (isGzipped(contents)) {
+      var sha = record.getVersion().getContentsSha();
+      writeEntry(dir, new Contents(sha, contents).decompress(), modified);
+    } else {
+      writeEntry(dir, contents, modified);
+    }
+  }
+
+  /**
+   * End archive with two empty blocks.
+   */
+  @Override
+  public void finish() throws IOException {
+    output.write(new byte[2 * BLOCK_SIZE]);
+    output.flush();
+  }
+
+  private byte[] toJson(ExportRecord record) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var json = jsonFactory.createGenerator(bytes)) {
+      json.writeStartObject();
+      ExportRecordJson.writeFields(json, record);
+      json.writeEndObject();
+    }
+    return bytes.toByteArray();
+  }
+
+  private void writeEntry(String name, byte[] data, long modified) throws IOException {
+    output.write(header(name, data.length, modified));
+    output.write(data);
+    var remainder = data.length % BLOCK_SIZE;
+    if (remainder > 0) {
+      output.write(new byte[BLOCK_SIZE - remainder]);
+    }
+  }
+
+  /**
+   * Header of regular file entry; name should not exceed 100 bytes.
+   */
+  static byte[] header(String name, long size, long modified) {
+    var header = new byte[BLOCK_SIZE];
+    putString(header, 0, 100, name);
+    putOctal(header, 100, 8, 0644);
+    putOctal(header, 108, 8, 0);
+    putOctal(header, 116, 8, 0);
+    putOctal(header, 124, 12, size);
+    putOctal(header, 136, 12, modified);
+    header[156] = '0';
+    putString(header, 257, 6, "ustar");
+    putString(header, 263, 2, "00");
+
+    // checksum is calculated with checksum field set to spaces:
+    for (int i = 148; i < 156; i++) {
+      header[i] = ' ';
+    }
+    var checksum = 0L;
+    for (var b : header) {
+      checksum += b & 0xff;
+    }
+    putOctal(header, 148, 7, checksum);
+    return header;
+  }
+
+  private static void putString(byte[] header, int offset, int length, String value) {
+    var bytes = value.getBytes(UTF_8);
+    if (bytes.length > length) {
+      throw new IllegalArgumentException("Tar header field too long: " + value);
+    }
+    System.arraycopy(bytes, 0, header, offset, bytes.length);
+  }
+
+  /**
+   * Zero padded octal number, terminated by NUL.
+   */
+  private static void putOctal(byte[] header, int offset, int length, long value) {
+    var octal = String.format("%0" + (length - 1) + "o", value);
+    var bytes = octal.getBytes(US_ASCII);
+    if (bytes.length > length - 1) {
+      throw new IllegalArgumentException("Tar header value too large: " + value);
+    }
+    System.arraycopy(bytes, 0, header, offset, bytes.length);
+    header[offset + length - 1] = 0;
+  }
+}
@@ -0,0 +1,17 @@
+package nl.knaw.huc.service.task.getter;
+
+import java.util.Set;
+import java.util.UUID;
+import nl.knaw.huc.api.ResultExpandedDocument;
+import nl.knaw.huc.core.DocumentExpand;
+import nl.knaw.huc.service.task.Task;
+
+public interface GetExpandedDocumentTaskBuilder {
+  GetExpandedDocumentTaskBuilder forDocument(UUID docId);
+
+  GetExpandedDocumentTaskBuilder forExternalId(String externalId);
+
+  GetExpandedDocumentTaskBuilder withExpand(Set<DocumentExpand> expand);
+
+  Task<ResultExpandedDocument> build();
+}
@@ -0,0 +1,11 @@
+package nl.knaw.huc.service.task.getter;
+
+import java.util.UUID;
+import nl.knaw.huc.api.ResultFileIndexFields;
+import nl.knaw.huc.service.task.Task;
+
+public interface GetFileIndexFieldsTaskBuilder {
+  GetFileIndexFieldsTaskBuilder forFile(UUID fileId);
+
+  Task<ResultFileIndexFields> build();
+}
@@ -0,0 +1,132 @@
+package nl.knaw.huc.service.task.getter;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+import static nl.knaw.huc.core.DocumentExpand.FILES;
+import static nl.knaw.huc.core.DocumentExpand.LATEST_VERSION;
+import static nl.knaw.huc.core.DocumentExpand.METADATA;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import javax.ws.rs.NotFoundException;
+import nl.knaw.huc.api.ResultExpandedDocument;
+import nl.knaw.huc.api.ResultExpandedFile;
+import nl.knaw.huc.api.ResultVersion;
+import nl.knaw.huc.core.Document;
+import nl.knaw.huc.core.DocumentExpand;
+import nl.knaw.huc.core.FileMetadataEntry;
+import nl.knaw.huc.db.DocumentFilesDao;
+import nl.knaw.huc.db.DocumentsDao;
+import nl.knaw.huc.db.FileMetadataDao;
+import nl.knaw.huc.service.task.FindDocumentByExternalId;
+import nl.knaw.huc.service.task.GetDocumentMetadata;
+import nl.knaw.huc.service.task.Task;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+
+public class JdbiGetExpandedDocumentTaskBuilder implements GetExpandedDocumentTaskBuilder {
+  private final Jdbi jdbi;
+
+  private UUID docId;
+  private String externalId;
+  private Set<DocumentExpand> expand = EnumSet.noneOf(DocumentExpand.class);
+
+  public JdbiGetExpandedDocumentTaskBuilder(Jdbi jdbi) {
+    this.jdbi = requireNonNull(jdbi);
+  }
+
+  @Override
+  public GetExpandedDocumentTaskBuilder forDocument(UUID docId) {
+    this.docId = requireNonNull(docId);
+    return this;
+  }
+
+  @Override
+  public GetExpandedDocumentTaskBuilder forExternalId(String externalId) {
+    this.externalId = requireNonNull(externalId);
+    return this;
+  }
+
+  @Override
+  public GetExpandedDocumentTaskBuilder withExpand(Set<DocumentExpand> expand) {
+    this.expand = requireNonNull(expand);
+    return this;
+  }
+
+  @Override
+  public Task<ResultExpandedDocument> build() {
+    return new GetExpandedDocumentTask(docId, externalId, expand);
+  }
+
+  /**
+   * Retrieve document with metadata, files, file metadata and latest file versions
+   * in a single transaction, using at most three queries after finding the document.
+   */
+  private class GetExpandedDocumentTask implements Task<ResultExpandedDocument> {
+    private final UUID docId;
+    private final String externalId;
+    private final Set<DocumentExpand> expand;
+
+    private GetExpandedDocumentTask(UUID docId, String externalId, Set<DocumentExpand> expand) {
+      this.docId = docId;
+      this.externalId = externalId;
+      this.expand = expand;
+    }
+
+    @Override
+    public ResultExpandedDocument run() {
+      return jdbi.inTransaction(transaction -> {
+        var doc = findDocument(transaction);
+        var metadata = expand.contains(METADATA)
+            ? new GetDocumentMetadata(doc.getId()).executeIn(transaction)
+            : null;
+        var files = expand.contains(FILES)
+            ? getFiles(transaction, doc.getId())
+            : null;
+        return new ResultExpandedDocument(doc, metadata, files);
+      });
+    }
+
+    private Document findDocument(Handle transaction) {
+      if (docId == null) {
+        return new FindDocumentByExternalId(externalId).executeIn(transaction);
+      }
+      return transaction
+          .attach(DocumentsDao.class)
+          .get(docId)
+          .orElseThrow(() -> new NotFoundException("No document found for id: " + docId));
+    }
+
+    private List<ResultExpandedFile> getFiles(Handle transaction, UUID docId) {
+      Map<UUID, Map<String, String>> fileMetadata = expand.contains(METADATA)
+          ? transaction
+              .attach(FileMetadataDao.class)
+              .getMetadataByDocumentId(docId)
+              .stream()
+              .collect(groupingBy(
+                  FileMetadataEntry::getFileId,
+                  toMap(FileMetadataEntry::getKey, FileMetadataEntry::getValue)
+              ))
+          : null;
+      return transaction
+          .attach(DocumentFilesDao.class)
+          .findFilesWithLatestVersionByDocumentId(docId)
+          .stream()
+          .map(found -> new ResultExpandedFile(
+              docId,
+              found.getFile(),
+              fileMetadata == null
+                  ? null
+                  : fileMetadata.getOrDefault(found.getFile().getId(), Map.of()),
+              expand.contains(LATEST_VERSION)
+                  ? found.getLatestVersion().map(ResultVersion::new).orElse(null)
+                  : null))
+          .toList();
+    }
+  }
+
+}
@@ -0,0 +1,105 @@
+package nl.knaw.huc.service.task.getter;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+
+import java.util.Map;
+import java.util.UUID;
+import javax.ws.rs.NotFoundException;
+import nl.knaw.huc.api.ResultDocument;
+import nl.knaw.huc.api.ResultFileIndexFields;
+import nl.knaw.huc.api.ResultTextRepoFile;
+import nl.knaw.huc.api.ResultType;
+import nl.knaw.huc.api.ResultVersionWithMetadata;
+import nl.knaw.huc.core.Document;
+import nl.knaw.huc.core.VersionMetadataEntry;
+import nl.knaw.huc.db.DocumentsDao;
+import nl.knaw.huc.db.TypesDao;
+import nl.knaw.huc.db.VersionMetadataDao;
+import nl.knaw.huc.db.VersionsDao;
+import nl.knaw.huc.service.task.FindFile;
+import nl.knaw.huc.service.task.GetDocumentMetadata;
+import nl.knaw.huc.service.task.GetFileMetadata;
+import nl.knaw.huc.service.task.Task;
+import org.jdbi.v3.core.Jdbi;
+
+public class JdbiGetFileIndexFieldsTaskBuilder implements GetFileIndexFieldsTaskBuilder {
+  private final Jdbi jdbi;
+
+  private UUID fileId;
+
+  public JdbiGetFileIndexFieldsTaskBuilder(Jdbi jdbi) {
+    this.jdbi = requireNonNull(jdbi);
+  }
+
+  @Override
+  public GetFileIndexFieldsTaskBuilder forFile(UUID fileId) {
+    this.fileId = requireNonNull(fileId);
+    return this;
+  }
+
+  @Override
+  public Task<ResultFileIndexFields> build() {
+    return new GetFileIndexFieldsTask(fileId);
+  }
+
+  /**
+   * Retrieve file with type, document, metadata and versions in a single transaction.
+   */
+  private class GetFileIndexFieldsTask implements Task<ResultFileIndexFields> {
+    private final UUID fileId;
+
+    private GetFileIndexFieldsTask(UUID fileId) {
+      this.fileId = fileId;
+    }
+
+    @Override
+    public ResultFileIndexFields run() {
+      return jdbi.inTransaction(transaction -> {
+        var file = new FindFile(fileId).executeIn(transaction);
+        var type = transaction
+            .attach(TypesDao.class)
+            .getById(file.getTypeId())
+            .orElseThrow(() -> new NotFoundException(
+                format("No such type: %s", file.getTypeId())));
+        var fileMetadata = new GetFileMetadata(fileId).executeIn(transaction);
+
+        var doc = transaction
+            .attach(DocumentsDao.class)
+            .getByFileId(fileId);
+        Map<String, String> docMetadata = doc.isPresent()
+            ? new GetDocumentMetadata(doc.get().getId()).executeIn(transaction)
+            : Map.of();
+
+        var versionMetadata = transaction
+            .attach(VersionMetadataDao.class)
+            .getMetadataByFileId(fileId)
+            .stream()
+            .collect(groupingBy(
+                VersionMetadataEntry::getVersionId,
+                toMap(VersionMetadataEntry::getKey, VersionMetadataEntry::getValue)
+            ));
+        var versions = transaction
+            .attach(VersionsDao.class)
+            .findByFileId(fileId)
+            .stream()
+            .map(version -> new ResultVersionWithMetadata(
+                version,
+                versionMetadata.getOrDefault(version.getId(), Map.of())))
+            .toList();
+
+        return new ResultFileIndexFields(
+            new ResultTextRepoFile(doc.map(Document::getId).orElse(null), file),
+            fileMetadata,
+            new ResultType(type),
+            doc.map(ResultDocument::new).orElse(null),
+            docMetadata,
+            versions
+        );
+      });
+    }
+  }
+
+}
@@ -0,0 +1,17 @@
+package nl.knaw.huc.service.task.importer;
+
+import java.io.InputStream;
+import nl.knaw.huc.api.ResultMetadataImport;
+import nl.knaw.huc.core.MetadataOwner;
+import nl.knaw.huc.service.task.Task;
+
+public interface ImportMetadataTaskBuilder {
+  ImportMetadataTaskBuilder forOwner(MetadataOwner owner);
+
+  /**
+   * Metadata entries as ndjson, see {@link nl.knaw.huc.api.FormBulkMetadataEntry}.
+   */
+  ImportMetadataTaskBuilder withEntries(InputStream ndjson);
+
+  Task<ResultMetadataImport> build();
+}
@@ -7,6 +7,8 @@ import java.io.InputStream;
 import java.util.UUID;
 import java.util.function.Supplier;
 import nl.knaw.huc.api.ResultImportDocument;
+import nl.knaw.huc.config.ContentsCompressionConfiguration;
+import nl.knaw.huc.config.ContentsDeltasConfiguration;
 import nl.knaw.huc.core.Contents;
 import nl.knaw.huc.core.Document;
 import nl.knaw.huc.core.TextRepoFile;
@@ -29,6 +31,8 @@ public class JdbiImportFileTaskBuilder implements ImportFileTaskBuilder {
   private final Jdbi jdbi;
   private final Supplier<UUID> idGenerator;
   private final IndexService indexService;
+  private final ContentsDeltasConfiguration deltas;
+  private final ContentsCompressionConfiguration compression;
 
   private String externalId;
   private String typeName;
@@ -39,10 +43,14 @@ public class JdbiImportFileTaskBuilder implements ImportFileTaskBuilder {
   private InputStream inputStream;
 
   public JdbiImportFileTaskBuilder(Jdbi jdbi, Supplier<UUID> idGenerator,
-                                   IndexService indexService) {
+                                   IndexService indexService,
+                                   ContentsDeltasConfiguration deltas,
+                                   ContentsCompressionConfiguration compression) {
     this.jdbi = requireNonNull(jdbi);
     this.idGenerator = requireNonNull(idGenerator);
     this.indexService = requireNonNull(indexService);
+    this.deltas = requireNonNull(deltas);
+    this.compression = requireNonNull(compression);
   }
 
   @Override
@@ -103,7 +111,9 @@ public class JdbiImportFileTaskBuilder implements ImportFileTaskBuilder {
         filename,
         inputStream,
         asLatestVersion,
-        indexing
+        indexing,
+        deltas,
+        compression
     );
   }
 
@@ -117,6 +127,8 @@ public class JdbiImportFileTaskBuilder implements ImportFileTaskBuilder {
     private final InputStream inputStream;
     private final boolean asLatestVersion;
     private final boolean indexing;
+    private final ContentsDeltasConfiguration deltas;
+    private final ContentsCompressionConfiguration compression;
 
     private JdbiImportDocumentTask(
         Jdbi jdbi,
@@ -127,7 +139,9 @@ public class JdbiImportFileTaskBuilder implements ImportFileTaskBuilder {
         String filename,
         InputStream inputStream,
         boolean asLatestVersion,
-        boolean indexing
+        boolean indexing,
+        ContentsDeltasConfiguration deltas,
+        ContentsCompressionConfiguration compression
     ) {
       this.jdbi = jdbi;
       this.documentFinder = documentFinder;
@@ -138,6 +152,8 @@ public class JdbiImportFileTaskBuilder implements ImportFileTaskBuilder {
       this.inputStream = inputStream;
       this.asLatestVersion = asLatestVersion;
       this.indexing = indexing;
+      this.deltas = deltas;
+      this.compression = compression;
     }
 
     @Override
@@ -153,7 +169,8 @@ public class JdbiImportFileTaskBuilder implements ImportFileTaskBuilder {
         var file = new HaveFileForDocumentByType(idGenerator, doc, typeName).executeIn(transaction);
         new SetFileProvenance(file, filename).executeIn(transaction);
         final var justBeforeCreation = now();
-        final var version = new SetFileContents(idGenerator, file, contents, asLatestVersion)
+        final var version = new SetFileContents(
+            idGenerator, file, contents, asLatestVersion, deltas, compression)
             .executeIn(transaction);
         final var wasCreatedInThisRun = version.getCreatedAt().isAfter(justBeforeCreation);
         return new ResultImportDocument(doc, file, version, wasCreatedInThisRun);
@@ -161,7 +178,7 @@ public class JdbiImportFileTaskBuilder implements ImportFileTaskBuilder {
 
       if (indexing) {
         var file = new TextRepoFile(result.getFileId(), result.getTypeId());
-        this.indexService.index(file, contents.asUtf8String());
+        this.indexService.index(file, contents);
         result.setIndexed(true);
       }
 
@@ -0,0 +1,212 @@
+package nl.knaw.huc.service.task.importer;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.ws.rs.BadRequestException;
+import nl.knaw.huc.api.FormBulkMetadataEntry;
+import nl.knaw.huc.api.ResultMetadataImport;
+import nl.knaw.huc.core.MetadataOwner;
+import nl.knaw.huc.db.BulkMetadataDao;
+import nl.knaw.huc.service.index.IndexService;
+import nl.knaw.huc.service.task.Task;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Upsert metadata entries in chunks, using a batch and a transaction per chunk.
+ *
+ * <p>After a chunk is committed, every file affected by it is reindexed once: files of documents,
+ * files, and files of versions. When changed files are already reindexed through file change
+ * notifications (see V006 and {@link nl.knaw.huc.service.index.FileChangesListener}),
+ * affected files are not reindexed by this task.
+ */
+public class JdbiImportMetadataTaskBuilder implements ImportMetadataTaskBuilder {
+  private static final Logger log = LoggerFactory.getLogger(JdbiImportMetadataTaskBuilder.class);
+
+  private static final int CHUNK_SIZE = 1000;
+  private static final int MAX_NOT_FOUND_LINES = 100;
+
+  private static final ObjectReader entryReader =
+      new ObjectMapper().readerFor(FormBulkMetadataEntry.class);
+
+  private final Jdbi jdbi;
+  private final IndexService indexService;
+  private final boolean indexAffectedFiles;
+
+  private MetadataOwner owner;
+  private InputStream ndjson;
+
+  public JdbiImportMetadataTaskBuilder(
+      Jdbi jdbi,
+      IndexService indexService,
+      boolean indexAffectedFiles
+  ) {
+    this.jdbi = requireNonNull(jdbi);
+    this.indexService = requireNonNull(indexService);
+    this.indexAffectedFiles = indexAffectedFiles;
+  }
+
+  @Override
+  public ImportMetadataTaskBuilder forOwner(MetadataOwner owner) {
+    this.owner = requireNonNull(owner);
+    return this;
+  }
+
+  @Override
+  public ImportMetadataTaskBuilder withEntries(InputStream ndjson) {
+    this.ndjson = requireNonNull(ndjson);
+    return this;
+  }
+
+  @Override
+  public Task<ResultMetadataImport> build() {
+    return new ImportMetadataTask(owner, ndjson);
+  }
+
+  private class ImportMetadataTask implements Task<ResultMetadataImport> {
+    private final MetadataOwner owner;
+    private final InputStream ndjson;
+
+    private final List<FormBulkMetadataEntry> chunk = new ArrayList<>(CHUNK_SIZE);
+    private final List<Long> chunkLines = new ArrayList<>(CHUNK_SIZE);
+    private final List<Long> notFoundLines = new ArrayList<>();
+    private long upserted;
+    private long notFound;
+    private long indexed;
+
+    private ImportMetadataTask(MetadataOwner owner, InputStream ndjson) {
+      this.owner = requireNonNull(owner);
+      this.ndjson = requireNonNull(ndjson);
+    }
+
+    @Override
+    public ResultMetadataImport run() {
+      try (MappingIterator<FormBulkMetadataEntry> entries = entryReader.readValues(ndjson)) {
+        while (entries.hasNextValue()) {
+          var entry = entries.nextValue();
+          var line = (long) entries.getCurrentLocation().getLineNr();
+          var error = entry.validate(owner);
+          if (error != null) {
+            throw invalidEntry(line, error);
+          }
+          chunk.add(entry);
+          chunkLines.add(line);
+          if (chunk.size() == CHUNK_SIZE) {
+            upsertChunk();
+          }
+        }
+      } catch (IOException ex) {
+        throw new BadRequestException(format(
+            "Could not read metadata entries after %d upserts: %s", upserted, ex.getMessage()));
+      }
+      upsertChunk();
+      log.info("Upserted {} metadata entries of {}; not found: {}; indexed files: {}",
+          upserted, owner, notFound, indexed);
+      return new ResultMetadataImport(upserted, notFound, notFoundLines);
+    }
+
+    private void upsertChunk() {
+      if (chunk.isEmpty()) {
+        return;
+      }
+      var upsertedChunk = jdbi.inTransaction(transaction -> {
+        var dao = transaction.attach(BulkMetadataDao.class);
+        var counts = upsert(dao);
+        var fileIds = indexAffectedFiles ? findAffectedFileIds(dao) : List.<UUID>of();
+        return new UpsertedChunk(counts, fileIds);
+      });
+      var counts = upsertedChunk.counts;
+      for (int i = 0; i < counts.length; i++) {
+        if (counts[i] > 0) {
+          upserted += counts[i];
+        } else {
+          notFound++;
+          if (notFoundLines.size() < MAX_NOT_FOUND_LINES) {
+            notFoundLines.add(chunkLines.get(i));
+          }
+        }
+      }
+      chunk.clear();
+      chunkLines.clear();
+      upsertedChunk.fileIds.forEach(indexService::index);
+      indexed += upsertedChunk.fileIds.size();
+    }
+
+    /**
+     * Upsert consecutive entries identified by id, or by externalId, as a single batch,
+     * keeping the order of entries in chunk.
+     *
+     * @return update counts in order of chunk
+     */
+    private int[] upsert(BulkMetadataDao dao) {
+      var counts = new int[chunk.size()];
+      var start = 0;
+      while (start < chunk.size()) {
+        var byId = chunk.get(start).id != null;
+        var end = start + 1;
+        while (end < chunk.size() && (chunk.get(end).id != null) == byId) {
+          end++;
+        }
+        var entries = List.copyOf(chunk.subList(start, end));
+        var batchCounts = byId ? upsertById(dao, entries) : upsertByExternalId(dao, entries);
+        System.arraycopy(batchCounts, 0, counts, start, batchCounts.length);
+        start = end;
+      }
+      return counts;
+    }
+
+    private int[] upsertById(BulkMetadataDao dao, List<FormBulkMetadataEntry> entries) {
+      return switch (owner) {
+        case DOCUMENT -> dao.upsertDocumentMetadataById(entries);
+        case FILE -> dao.upsertFileMetadataById(entries);
+        case VERSION -> dao.upsertVersionMetadata(entries);
+      };
+    }
+
+    private int[] upsertByExternalId(BulkMetadataDao dao, List<FormBulkMetadataEntry> entries) {
+      return switch (owner) {
+        case DOCUMENT -> dao.upsertDocumentMetadataByExternalId(entries);
+        case FILE -> dao.upsertFileMetadataByExternalIdAndType(entries);
+        case VERSION -> throw new IllegalStateException("Versions can only be found by id");
+      };
+    }
+
+    private List<UUID> findAffectedFileIds(BulkMetadataDao dao) {
+      var ids = new ArrayList<UUID>();
+      var externalIds = new ArrayList<String>();
+      var types = new ArrayList<String>();
+      for (var entry : chunk) {
+        if (entry.id != null) {
+          ids.add(entry.id);
+        } else {
+          externalIds.add(entry.externalId);
+          types.add(entry.type);
+        }
+      }
+      return switch (owner) {
+        case DOCUMENT -> dao.findFileIdsOfDocuments(ids, externalIds);
+        case FILE -> dao.findFileIds(ids, externalIds, types);
+        case VERSION -> dao.findFileIdsOfVersions(ids);
+      };
+    }
+
+    private BadRequestException invalidEntry(long line, String error) {
+      return new BadRequestException(format(
+          "Invalid metadata entry at line %d after %d upserts: %s", line, upserted, error));
+    }
+  }
+
+  private record UpsertedChunk(int[] counts, List<UUID> fileIds) {
+  }
+
+}
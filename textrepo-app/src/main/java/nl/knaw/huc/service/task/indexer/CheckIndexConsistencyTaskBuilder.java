@@ -0,0 +1,23 @@
+package nl.knaw.huc.service.task.indexer;
+
+import java.util.List;
+import nl.knaw.huc.api.ResultIndexDrift;
+import nl.knaw.huc.service.task.Task;
+
+/**
+ * Compare files in database with ES docs in indices, and optionally repair drift.
+ */
+public interface CheckIndexConsistencyTaskBuilder {
+
+  /**
+   * Only check index of indexer. Checks all indices by default.
+   */
+  CheckIndexConsistencyTaskBuilder forIndexer(String name);
+
+  /**
+   * Reindex missing and stale files, and delete orphaned ES docs.
+   */
+  CheckIndexConsistencyTaskBuilder withRepair(boolean repair);
+
+  Task<List<ResultIndexDrift>> build();
+}
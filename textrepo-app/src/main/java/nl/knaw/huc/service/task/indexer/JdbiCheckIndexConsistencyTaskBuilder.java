@@ -0,0 +1,241 @@
+package nl.knaw.huc.service.task.indexer;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.ws.rs.WebApplicationException;
+import nl.knaw.huc.api.ResultIndexDrift;
+import nl.knaw.huc.core.FileLatestSha;
+import nl.knaw.huc.core.TextRepoFile;
+import nl.knaw.huc.core.Type;
+import nl.knaw.huc.db.FilesDao;
+import nl.knaw.huc.db.TypesDao;
+import nl.knaw.huc.service.index.IndexService;
+import nl.knaw.huc.service.task.Task;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Check indices for drift by comparing files in database with ES docs.
+ *
+ * <p>Every index is checked in two passes, run in parallel:
+ * - files: iterate over files with a type supported by the indexer, ordered by file ID,
+ * and compare sha of latest version with contents sha stored in ES doc (missing, stale);
+ * files without ES doc are only missing when the indexer does not skip them
+ * - docs: iterate over ES doc IDs and check that a file with a supported type exists (orphaned)
+ *
+ * <p>Both passes keep only a single batch of files or ES doc IDs in memory.
+ */
+public class JdbiCheckIndexConsistencyTaskBuilder implements CheckIndexConsistencyTaskBuilder {
+  private static final Logger log =
+      LoggerFactory.getLogger(JdbiCheckIndexConsistencyTaskBuilder.class);
+
+  /**
+   * Number of files or ES doc IDs to compare in a single query.
+   */
+  private static final int BATCH_SIZE = 1000;
+
+  /**
+   * Maximum number of passes to run in parallel.
+   */
+  private static final int MAX_PARALLEL_PASSES = 4;
+
+  /**
+   * Lowest possible file ID, to start iterating over files.
+   */
+  private static final UUID NIL_ID = new UUID(0L, 0L);
+
+  private final Jdbi jdbi;
+  private final IndexService indexService;
+
+  private String indexer;
+  private boolean repair;
+
+  public JdbiCheckIndexConsistencyTaskBuilder(Jdbi jdbi, IndexService indexService) {
+    this.jdbi = requireNonNull(jdbi);
+    this.indexService = requireNonNull(indexService);
+  }
+
+  @Override
+  public CheckIndexConsistencyTaskBuilder forIndexer(String name) {
+    this.indexer = name;
+    return this;
+  }
+
+  @Override
+  public CheckIndexConsistencyTaskBuilder withRepair(boolean repair) {
+    this.repair = repair;
+    return this;
+  }
+
+  @Override
+  public Task<List<ResultIndexDrift>> build() {
+    var indexers = indexer == null ? indexService.getIndexerNames() : List.of(indexer);
+    return new JdbiCheckIndexConsistencyTask(indexers, repair);
+  }
+
+  private class JdbiCheckIndexConsistencyTask implements Task<List<ResultIndexDrift>> {
+
+    private final List<String> indexers;
+    private final boolean repair;
+
+    private JdbiCheckIndexConsistencyTask(List<String> indexers, boolean repair) {
+      this.indexers = indexers;
+      this.repair = repair;
+    }
+
+    @Override
+    public List<ResultIndexDrift> run() {
+      var reports = new ArrayList<ResultIndexDrift>();
+      var passes = new ArrayList<Future<?>>();
+      var threads = Math.max(1, Math.min(MAX_PARALLEL_PASSES, 2 * indexers.size()));
+      var executor = Executors.newFixedThreadPool(threads);
+      try {
+        for (var name : indexers) {
+          var types = getTypesToCheck(name);
+          // Passes update separate fields of report:
+          var report = new ResultIndexDrift(name, repair);
+          reports.add(report);
+          passes.add(executor.submit(() -> checkFiles(name, types, report)));
+          passes.add(executor.submit(() -> checkDocs(name, types, report)));
+        }
+        passes.forEach(this::await);
+      } finally {
+        executor.shutdownNow();
+      }
+      return reports;
+    }
+
+    private void await(Future<?> pass) {
+      try {
+        pass.get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new WebApplicationException("Interrupted while checking indices", ex);
+      } catch (ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) ex.getCause();
+        }
+        throw new WebApplicationException("Could not check indices", ex.getCause());
+      }
+    }
+
+    private List<Short> getTypesToCheck(String name) {
+      var allTypes = jdbi.onDemand(TypesDao.class).list();
+      var mimetypes = indexService.getMimetypes(name);
+      List<Type> toCheck;
+      if (mimetypes.isEmpty()) {
+        toCheck = allTypes;
+      } else {
+        var supported = mimetypes.get();
+        toCheck = allTypes
+            .stream()
+            .filter(type -> supported.contains(type.getMimetype()))
+            .toList();
+      }
+      return toCheck.stream().map(Type::getId).toList();
+    }
+
+    /**
+     * Find files that are missing from index, or with ES docs of an older version.
+     */
+    private void checkFiles(String name, List<Short> types, ResultIndexDrift report) {
+      if (types.isEmpty()) {
+        return;
+      }
+      log.info("Checking files of index {}", name);
+      var files = jdbi.onDemand(FilesDao.class);
+      var after = NIL_ID;
+      List<FileLatestSha> batch;
+      do {
+        batch = files.findLatestShasByTypes(types, after, BATCH_SIZE);
+        if (batch.isEmpty()) {
+          break;
+        }
+        var ids = batch.stream().map(FileLatestSha::getId).toList();
+        var indexed = indexService.getContentsShas(name, ids);
+        for (var file : batch) {
+          var id = file.getId();
+          if (!indexed.containsKey(id)) {
+            if (indexService.createsDoc(name, file.toFile())) {
+              report.getMissing().add(id);
+              repair(name, file);
+            } else {
+              report.addSkipped(1);
+            }
+          } else if (!Objects.equals(file.getContentsSha(), indexed.get(id))) {
+            report.getStale().add(id);
+            repair(name, file);
+          }
+        }
+        report.addFilesChecked(batch.size());
+        after = batch.get(batch.size() - 1).getId();
+        log.debug("Checked {} files of index {}", report.getFilesChecked(), name);
+      } while (batch.size() == BATCH_SIZE);
+      log.info(format("Checked %d files of index %s: %d missing, %d stale, %d skipped",
+          report.getFilesChecked(), name, report.getMissing().getCount(),
+          report.getStale().getCount(), report.getSkipped()));
+    }
+
+    private void repair(String name, FileLatestSha file) {
+      if (repair) {
+        indexService.index(name, file.toFile());
+      }
+    }
+
+    /**
+     * Find ES docs of files that are deleted, or have a type not supported by indexer.
+     */
+    private void checkDocs(String name, List<Short> types, ResultIndexDrift report) {
+      log.info("Checking docs of index {}", name);
+      var batch = new ArrayList<UUID>(BATCH_SIZE);
+      indexService.forEachId(name, id -> {
+        batch.add(id);
+        if (batch.size() == BATCH_SIZE) {
+          checkOrphans(name, types, batch, report);
+          batch.clear();
+        }
+      });
+      checkOrphans(name, types, batch, report);
+      log.info(format("Checked %d docs of index %s: %d orphaned",
+          report.getDocsChecked(), name, report.getOrphaned().getCount()));
+    }
+
+    private void checkOrphans(
+        String name,
+        List<Short> types,
+        List<UUID> batch,
+        ResultIndexDrift report
+    ) {
+      if (batch.isEmpty()) {
+        return;
+      }
+      var expected = jdbi
+          .onDemand(FilesDao.class)
+          .findByIds(batch)
+          .stream()
+          .filter(file -> types.contains(file.getTypeId()))
+          .map(TextRepoFile::getId)
+          .collect(toSet());
+      for (var id : batch) {
+        if (!expected.contains(id)) {
+          report.getOrphaned().add(id);
+          if (repair) {
+            indexService.delete(name, id);
+          }
+        }
+      }
+      report.addDocsChecked(batch.size());
+    }
+  }
+
+}
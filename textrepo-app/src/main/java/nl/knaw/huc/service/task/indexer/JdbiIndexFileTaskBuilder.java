@@ -26,6 +26,7 @@ public class JdbiIndexFileTaskBuilder implements IndexFileTaskBuilder {
 
   private final Jdbi jdbi;
   private final IndexService indexService;
+  private final IndexService bulkIndexService;
 
   private String externalId;
   private String typeName;
@@ -34,9 +35,14 @@ public class JdbiIndexFileTaskBuilder implements IndexFileTaskBuilder {
   private final long filesAffected = 0;
   private long filesTotal = -1;
 
-  public JdbiIndexFileTaskBuilder(Jdbi jdbi, IndexService indexService) {
+  public JdbiIndexFileTaskBuilder(
+      Jdbi jdbi,
+      IndexService indexService,
+      IndexService bulkIndexService
+  ) {
     this.jdbi = requireNonNull(jdbi);
     this.indexService = requireNonNull(indexService);
+    this.bulkIndexService = requireNonNull(bulkIndexService);
   }
 
   @Override
@@ -80,15 +86,19 @@ public class JdbiIndexFileTaskBuilder implements IndexFileTaskBuilder {
       this.typeName = typeName;
     }
 
+    /**
+     * Find file in a transaction, but index it afterwards, so waiting for an index lane does not
+     * hold a connection and transaction.
+     */
     @Override
     public String run() {
-      return jdbi.inTransaction(txn -> {
+      final var file = jdbi.inTransaction(txn -> {
         final var doc = new FindDocumentByExternalId(externalId).executeIn(txn);
         final var type = new FindType(typeName).executeIn(txn);
-        final var file = new FindDocumentFileByType(doc, type).executeIn(txn);
-        indexService.index(file);
-        return format("Indexed file %s", file.getId());
+        return new FindDocumentFileByType(doc, type).executeIn(txn);
       });
+      indexService.index(file);
+      return format("Indexed file %s", file.getId());
     }
   }
 
@@ -133,11 +143,9 @@ public class JdbiIndexFileTaskBuilder implements IndexFileTaskBuilder {
 
     private void indexFile(TextRepoFile file) {
       log.debug("Indexing file: {}", file.getId());
-      jdbi.useTransaction(txn -> {
-        indexService.index(file.getId());
-        filesAffected++;
-        log.info("Indexed file {} ({} of estimated {})", file.getId(), filesAffected, filesTotal);
-      });
+      bulkIndexService.index(file.getId());
+      filesAffected++;
+      log.info("Indexed file {} ({} of estimated {})", file.getId(), filesAffected, filesTotal);
     }
   }
 
@@ -152,7 +160,7 @@ public class JdbiIndexFileTaskBuilder implements IndexFileTaskBuilder {
 
     public JdbiIndexAllFilesByIndexTask(String indexer) {
       this.indexer = indexer;
-      this.mimetypes = indexService.getMimetypes(indexer);
+      this.mimetypes = bulkIndexService.getMimetypes(indexer);
     }
 
     @Override
@@ -189,7 +197,7 @@ public class JdbiIndexFileTaskBuilder implements IndexFileTaskBuilder {
     private void indexFilesByType(Short typeId) {
       log.info("Indexing files by type: {}", typeId);
       jdbi.onDemand(FilesDao.class)
-          .foreachByType(typeId, file -> indexService.index(indexer, file));
+          .foreachByType(typeId, file -> bulkIndexService.index(indexer, file));
     }
 
   }
@@ -3,7 +3,10 @@ package nl.knaw.huc.service.task.indexer;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import nl.knaw.huc.db.FilesDao;
 import nl.knaw.huc.service.index.IndexService;
@@ -15,8 +18,8 @@ import org.slf4j.LoggerFactory;
 /**
  * Remove ES docs without file IDs.
  * Removes all ES docs with file IDs not present in database by:
- * - retrieving all ES doc IDs
- * - comparing es IDs to database file IDs
+ * - iterating over all ES doc IDs in batches
+ * - comparing each batch of es IDs to database file IDs
  * - removing all ES docs with an ID not found the file table
  */
 
@@ -25,6 +28,11 @@ public class JdbiRemoveDeletedFilesFromIndicesBuilder
   private static final Logger log =
       LoggerFactory.getLogger(JdbiRemoveDeletedFilesFromIndicesBuilder.class);
 
+  /**
+   * Number of ES doc IDs to check against database in a single query.
+   */
+  private static final int BATCH_SIZE = 1000;
+
   private final Jdbi jdbi;
   private final IndexService indexService;
 
@@ -40,22 +48,40 @@ public class JdbiRemoveDeletedFilesFromIndicesBuilder
 
   private class JdbiRemoveDeletedFilesFromIndicesTask implements Task<List<UUID>> {
 
+    private final List<UUID> batch = new ArrayList<>(BATCH_SIZE);
+    private final Set<UUID> deleted = new LinkedHashSet<>();
+
     private JdbiRemoveDeletedFilesFromIndicesTask() {
     }
 
     @Override
     public List<UUID> run() {
       log.debug("Removing all orphaned docs from indices");
-      var esDocIds = indexService.getAllIds();
-      log.debug("Got {} ES doc IDs from all indices", esDocIds.size());
-      var fileIds = jdbi.onDemand(FilesDao.class).getAll();
-      log.debug("Got {} database file IDs", fileIds.size());
-      var toDelete = new ArrayList<>(esDocIds);
-      toDelete.removeAll(fileIds);
-      log.debug("Found {} IDs not present in database", toDelete.size());
-      toDelete.forEach(indexService::delete);
-      log.debug("Removed orphaned docs");
-      return toDelete;
+      indexService.forEachId(this::check);
+      deleteOrphans();
+      log.debug("Removed {} orphaned docs", deleted.size());
+      return new ArrayList<>(deleted);
+    }
+
+    private void check(UUID esDocId) {
+      batch.add(esDocId);
+      if (batch.size() == BATCH_SIZE) {
+        deleteOrphans();
+      }
+    }
+
+    private void deleteOrphans() {
+      if (batch.isEmpty()) {
+        return;
+      }
+      var existing = jdbi.onDemand(FilesDao.class).findExisting(batch);
+      batch.removeAll(new HashSet<>(existing));
+      // Orphans present in multiple indices are already deleted from all indices:
+      batch.removeAll(deleted);
+      log.debug("Found {} IDs not present in database", batch.size());
+      batch.forEach(indexService::delete);
+      deleted.addAll(batch);
+      batch.clear();
     }
   }
 
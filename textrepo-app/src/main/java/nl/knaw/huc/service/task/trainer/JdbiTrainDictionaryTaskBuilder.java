@@ -0,0 +1,112 @@
+package nl.knaw.huc.service.task.trainer;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.ws.rs.BadRequestException;
+import nl.knaw.huc.api.ResultContentsDictionary;
+import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.db.ContentsDao;
+import nl.knaw.huc.helpers.codec.ContentsCodecs;
+import nl.knaw.huc.helpers.codec.DictionaryTrainer;
+import nl.knaw.huc.service.task.FindType;
+import nl.knaw.huc.service.task.Task;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Train a dictionary from the contents of latest versions of a type.
+ *
+ * <p>Samples are read from the read jdbi, and only kept up to the size used by the trainer.
+ * The dictionary is inserted using the primary jdbi.
+ */
+public class JdbiTrainDictionaryTaskBuilder implements TrainDictionaryTaskBuilder {
+  private static final Logger log = LoggerFactory.getLogger(JdbiTrainDictionaryTaskBuilder.class);
+
+  private final Jdbi jdbi;
+  private final Jdbi readJdbi;
+  private final int sampleSize;
+
+  private String typeName;
+
+  public JdbiTrainDictionaryTaskBuilder(Jdbi jdbi, Jdbi readJdbi, int sampleSize) {
+    this.jdbi = requireNonNull(jdbi);
+    this.readJdbi = requireNonNull(readJdbi);
+    this.sampleSize = sampleSize;
+  }
+
+  @Override
+  public TrainDictionaryTaskBuilder forType(String typeName) {
+    this.typeName = requireNonNull(typeName);
+    return this;
+  }
+
+  @Override
+  public Task<ResultContentsDictionary> build() {
+    return new TrainDictionaryTask(typeName);
+  }
+
+  private class TrainDictionaryTask implements Task<ResultContentsDictionary> {
+    private final String typeName;
+
+    private TrainDictionaryTask(String typeName) {
+      this.typeName = typeName;
+    }
+
+    @Override
+    public ResultContentsDictionary run() {
+      var type = readJdbi.inTransaction(txn -> new FindType(typeName).executeIn(txn));
+      var readContentsDao = readJdbi.onDemand(ContentsDao.class);
+
+      var samples = new ArrayList<byte[]>();
+      for (var sha : readContentsDao.findSampleShas(type.getId(), sampleSize)) {
+        readContentsDao
+            .findBySha224(sha)
+            .map(Contents::uncompressed)
+            .map(JdbiTrainDictionaryTaskBuilder::truncate)
+            .ifPresent(samples::add);
+      }
+      if (samples.size() < 2) {
+        throw new BadRequestException(
+            format("Type %s has too few contents to train a dictionary", typeName));
+      }
+
+      log.info("Training dictionary of type {} from {} contents", typeName, samples.size());
+      var dictionary = DictionaryTrainer.train(samples);
+      if (dictionary.length == 0) {
+        throw new BadRequestException(
+            format("Contents of type %s have too little in common to train a dictionary",
+                typeName));
+      }
+
+      var inserted = jdbi.onDemand(ContentsDao.class).insertDictionary(type.getId(), dictionary);
+      log.info("Trained dictionary {} of {} bytes", inserted, dictionary.length);
+      return new ResultContentsDictionary(
+          inserted.getId(),
+          inserted.getTypeId(),
+          dictionary.length,
+          samples.size(),
+          compressedSize(samples, null),
+          compressedSize(samples, dictionary)
+      );
+    }
+
+    private long compressedSize(List<byte[]> samples, byte[] dictionary) {
+      var codec = dictionary == null ? ContentsCodecs.GZIP : ContentsCodecs.DEFLATE;
+      return samples
+          .stream()
+          .mapToLong(sample -> codec.encode(sample, dictionary).length)
+          .sum();
+    }
+  }
+
+  private static byte[] truncate(byte[] sample) {
+    return sample.length > DictionaryTrainer.MAX_SAMPLE_SIZE
+        ? Arrays.copyOf(sample, DictionaryTrainer.MAX_SAMPLE_SIZE)
+        : sample;
+  }
+}
@@ -0,0 +1,15 @@
+package nl.knaw.huc.service.task.trainer;
+
+import nl.knaw.huc.api.ResultContentsDictionary;
+import nl.knaw.huc.service.task.Task;
+
+/**
+ * Train a compression dictionary from a sample of the latest contents of files of a type,
+ * used for new contents of that type.
+ */
+public interface TrainDictionaryTaskBuilder {
+
+  TrainDictionaryTaskBuilder forType(String typeName);
+
+  Task<ResultContentsDictionary> build();
+}
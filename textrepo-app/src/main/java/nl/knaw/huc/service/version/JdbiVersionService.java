@@ -1,14 +1,18 @@
 package nl.knaw.huc.service.version;
 
 import static java.lang.String.format;
+import static nl.knaw.huc.core.PageTotal.EXACT;
+import static nl.knaw.huc.core.PageTotal.NONE;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.ws.rs.NotFoundException;
 import nl.knaw.huc.core.Contents;
 import nl.knaw.huc.core.Page;
+import nl.knaw.huc.core.PageCursor;
 import nl.knaw.huc.core.PageParams;
 import nl.knaw.huc.core.TextRepoFile;
 import nl.knaw.huc.core.Version;
@@ -59,25 +63,27 @@ public class JdbiVersionService implements VersionService {
       @Nonnull TextRepoFile file,
       @Nonnull Contents contents
   ) {
-    contentsService.addContents(contents);
-    var latestVersionContents = contents.asUtf8String();
+    contentsService.addContents(contents, file);
     var id = uuidGenerator.get();
     var newVersion = new Version(id, file.getId(), contents.getSha224());
     newVersion = versions().insert(newVersion);
-    indexService.index(file, latestVersionContents);
+    indexService.index(file, contents);
     return newVersion;
   }
 
   @Override
   public Page<Version> getAll(UUID fileId, PageParams pageParams, LocalDateTime createdAfter) {
-    var total = versions().countByFileId(fileId, createdAfter);
+    // Versions of a file are counted using an index: no need to estimate
+    var totalType = pageParams.getTotal() == NONE ? NONE : EXACT;
+    var total = totalType == EXACT ? versions().countByFileId(fileId, createdAfter) : 0L;
     if (total == 0) {
       if (jdbi.onDemand(FilesDao.class).find(fileId).isEmpty()) {
         throw new NotFoundException(format("No file with ID %s", fileId));
       }
     }
     var items = versions().findByFileId(fileId, pageParams, createdAfter);
-    return new Page<>(items, total, pageParams);
+    return Page.withCursor(items, total, totalType, pageParams,
+        version -> new PageCursor(version.getCreatedAt(), version.getId()));
   }
 
   @Override
@@ -87,6 +93,11 @@ public class JdbiVersionService implements VersionService {
         .orElseThrow(() -> new NotFoundException(format("Version %s could not be found", id)));
   }
 
+  @Override
+  public List<Version> getByIds(List<UUID> ids) {
+    return versions().findByIds(ids);
+  }
+
 
   private static class DeleteVersionResult {
     public boolean deletedIsLatestVersion;
@@ -1,6 +1,7 @@
 package nl.knaw.huc.service.version;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 import javax.annotation.Nonnull;
 import nl.knaw.huc.core.Contents;
@@ -19,5 +20,10 @@ public interface VersionService {
 
   Version get(UUID id);
 
+  /**
+   * Get versions that exist, in no particular order.
+   */
+  List<Version> getByIds(List<UUID> ids);
+
   void delete(UUID id);
 }
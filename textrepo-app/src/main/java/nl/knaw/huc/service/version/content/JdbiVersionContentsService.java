@@ -8,14 +8,14 @@ import javax.ws.rs.NotFoundException;
 import nl.knaw.huc.core.Contents;
 import nl.knaw.huc.db.ContentsDao;
 import nl.knaw.huc.db.VersionsDao;
-import org.jdbi.v3.core.Jdbi;
+import nl.knaw.huc.service.replica.ReadJdbi;
 
 public class JdbiVersionContentsService implements VersionContentsService {
 
-  private final Jdbi jdbi;
+  private final ReadJdbi readJdbi;
 
-  public JdbiVersionContentsService(Jdbi jdbi) {
-    this.jdbi = jdbi;
+  public JdbiVersionContentsService(ReadJdbi readJdbi) {
+    this.readJdbi = readJdbi;
   }
 
   @Override
@@ -32,11 +32,11 @@ public class JdbiVersionContentsService implements VersionContentsService {
   }
 
   private ContentsDao contents() {
-    return jdbi.onDemand(ContentsDao.class);
+    return readJdbi.get().onDemand(ContentsDao.class);
   }
 
   private VersionsDao versions() {
-    return jdbi.onDemand(VersionsDao.class);
+    return readJdbi.get().onDemand(VersionsDao.class);
   }
 
 }
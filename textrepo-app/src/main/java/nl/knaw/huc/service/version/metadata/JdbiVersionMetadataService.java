@@ -4,12 +4,19 @@ import static java.lang.String.format;
 import static nl.knaw.huc.helpers.PsqlExceptionHelper.Constraint.FILES_METADATA_FILE_ID_FKEY;
 import static nl.knaw.huc.helpers.PsqlExceptionHelper.violatesConstraint;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import javax.annotation.Nonnull;
 import javax.ws.rs.NotFoundException;
 import nl.knaw.huc.api.MetadataEntry;
+import nl.knaw.huc.core.Version;
+import nl.knaw.huc.core.VersionMetadataEntry;
+import nl.knaw.huc.db.FilesDao;
 import nl.knaw.huc.db.VersionMetadataDao;
+import nl.knaw.huc.db.VersionsDao;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.JdbiException;
 
@@ -25,6 +32,31 @@ public class JdbiVersionMetadataService implements VersionMetadataService {
     return metadata().getMetadataByVersionId(versionId);
   }
 
+  @Override
+  public Map<UUID, Map<String, String>> getMetadata(@Nonnull List<UUID> versionIds) {
+    var entries = metadata().getMetadataByVersionIds(versionIds);
+    return groupByVersion(versionIds, entries);
+  }
+
+  @Override
+  public Map<UUID, Map<String, String>> getMetadataByFileId(@Nonnull UUID fileId) {
+    return jdbi.inTransaction(transaction -> {
+      var versionIds = transaction
+          .attach(VersionsDao.class)
+          .findByFileId(fileId)
+          .stream()
+          .map(Version::getId)
+          .toList();
+      if (versionIds.isEmpty() && transaction.attach(FilesDao.class).find(fileId).isEmpty()) {
+        throw new NotFoundException(format("No file with ID %s", fileId));
+      }
+      var entries = transaction
+          .attach(VersionMetadataDao.class)
+          .getMetadataByFileId(fileId);
+      return groupByVersion(versionIds, entries);
+    });
+  }
+
   @Override
   public void insert(@Nonnull UUID versionId, @Nonnull MetadataEntry entry) {
     metadata().insert(versionId, entry);
@@ -48,6 +80,26 @@ public class JdbiVersionMetadataService implements VersionMetadataService {
     metadata().delete(versionId, key);
   }
 
+  /**
+   * Group entries by version, in order of versionIds.
+   * Entries of other versions are ignored: in read committed, a version created between
+   * finding versionIds and their entries has entries but no ID.
+   */
+  private static Map<UUID, Map<String, String>> groupByVersion(
+      List<UUID> versionIds,
+      List<VersionMetadataEntry> entries
+  ) {
+    var result = new LinkedHashMap<UUID, Map<String, String>>();
+    versionIds.forEach(versionId -> result.put(versionId, new HashMap<>()));
+    for (var entry : entries) {
+      var versionMetadata = result.get(entry.getVersionId());
+      if (versionMetadata != null) {
+        versionMetadata.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return result;
+  }
+
   private VersionMetadataDao metadata() {
     return jdbi.onDemand(VersionMetadataDao.class);
   }
@@ -1,5 +1,6 @@
 package nl.knaw.huc.service.version.metadata;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import javax.annotation.Nonnull;
@@ -8,6 +9,16 @@ import nl.knaw.huc.api.MetadataEntry;
 public interface VersionMetadataService {
   Map<String, String> getMetadata(UUID versionId);
 
+  /**
+   * Get metadata of versions, including versions without metadata.
+   */
+  Map<UUID, Map<String, String>> getMetadata(@Nonnull List<UUID> versionIds);
+
+  /**
+   * Get metadata of all file versions, newest first.
+   */
+  Map<UUID, Map<String, String>> getMetadataByFileId(@Nonnull UUID fileId);
+
   void insert(@Nonnull UUID versionId, @Nonnull MetadataEntry entry);
 
   void upsert(@Nonnull UUID versionId, MetadataEntry entry);
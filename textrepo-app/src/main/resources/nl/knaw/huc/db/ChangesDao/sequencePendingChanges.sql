@@ -0,0 +1,12 @@
+WITH moved AS (
+    DELETE FROM pending_changes
+    RETURNING id, entity, entity_id, operation, key, changed_at
+)
+INSERT INTO changes (seq, entity, entity_id, operation, key, changed_at)
+SELECT (SELECT coalesce(max(c.seq), 0) FROM changes c) + row_number() OVER (ORDER BY m.id),
+       m.entity,
+       m.entity_id,
+       m.operation,
+       m.key,
+       m.changed_at
+FROM moved m
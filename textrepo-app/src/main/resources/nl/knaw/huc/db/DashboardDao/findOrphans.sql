@@ -1,6 +1,7 @@
 SELECT d.id, d.external_id, d.created_at
-FROM documents d
-WHERE NOT EXISTS(SELECT FROM documents_files fm WHERE fm.document_id = d.id)
-  AND NOT EXISTS(SELECT FROM documents_metadata dm WHERE dm.document_id = d.id)
+FROM documents_stats ds
+         JOIN documents d ON d.id = ds.document_id
+WHERE ds.file_count = 0
+  AND ds.metadata_count = 0
 ORDER BY d.external_id
 LIMIT :limit OFFSET :offset
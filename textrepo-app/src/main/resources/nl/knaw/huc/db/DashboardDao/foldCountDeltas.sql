@@ -0,0 +1,9 @@
+WITH folded AS (
+    DELETE FROM dashboard_count_deltas
+    RETURNING name, delta
+)
+INSERT INTO dashboard_counts (name, count)
+SELECT f.name, sum(f.delta)
+FROM folded f
+GROUP BY f.name
+ON CONFLICT (name) DO UPDATE SET count = dashboard_counts.count + excluded.count;
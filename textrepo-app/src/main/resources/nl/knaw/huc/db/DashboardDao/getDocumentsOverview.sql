@@ -1,15 +1,9 @@
-SELECT (SELECT count(*) as document_count
-        FROM documents d),
-
-       (SELECT count(*) AS has_file
-        FROM documents d
-        WHERE exists(SELECT df.document_id from documents_files df WHERE df.document_id = d.id)),
-
-       (SELECT count(*) AS has_metadata
-        FROM documents d
-        WHERE exists(SELECT dm.document_id from documents_metadata dm WHERE dm.document_id = d.id)),
-
-       (SELECT count(*) as has_both
-        FROM documents d
-        WHERE exists(SELECT df.document_id from documents_metadata df WHERE df.document_id = d.id)
-          AND exists(SELECT dm.document_id from documents_files dm WHERE dm.document_id = d.id));
+SELECT CAST(coalesce(sum(c.count) FILTER (WHERE c.name = 'document_count'), 0) AS bigint) AS document_count,
+       CAST(coalesce(sum(c.count) FILTER (WHERE c.name = 'has_file'), 0) AS bigint)       AS has_file,
+       CAST(coalesce(sum(c.count) FILTER (WHERE c.name = 'has_metadata'), 0) AS bigint)   AS has_metadata,
+       CAST(coalesce(sum(c.count) FILTER (WHERE c.name = 'has_both'), 0) AS bigint)       AS has_both
+FROM (SELECT dc.name, dc.count
+      FROM dashboard_counts dc
+      UNION ALL
+      SELECT dcd.name, dcd.delta
+      FROM dashboard_count_deltas dcd) c;
@@ -0,0 +1,6 @@
+SELECT d.id, d.external_id, d.created_at
+FROM documents d
+WHERE (CAST(:afterId AS uuid) IS NULL OR d.id > :afterId)
+  <conditions>
+ORDER BY d.id
+LIMIT :limit
@@ -0,0 +1,30 @@
+SELECT d.id AS document_id,
+       d.external_id,
+       d.created_at AS document_created_at,
+       CAST(coalesce(
+         (SELECT jsonb_object_agg(dm.key, dm.value)
+          FROM documents_metadata dm
+          WHERE dm.document_id = d.id),
+         '{}') AS text) AS document_metadata,
+       f.id AS file_id,
+       t.id AS type_id,
+       t.name AS type_name,
+       t.mimetype AS type_mimetype,
+       CAST(coalesce(
+         (SELECT jsonb_object_agg(fm.key, fm.value)
+          FROM files_metadata fm
+          WHERE fm.file_id = f.id),
+         '{}') AS text) AS file_metadata,
+       v.id AS version_id,
+       v.created_at AS version_created_at,
+       v.contents_sha,
+       CASE WHEN c.base_sha IS NULL AND c.codec = 'gzip' THEN c.contents END AS contents
+FROM documents d
+  JOIN documents_files df ON df.document_id = d.id
+  JOIN files f ON f.id = df.file_id
+  JOIN types t ON t.id = f.type_id
+  JOIN versions v ON v.id = f.latest_version_id
+  JOIN contents c ON c.sha224 = v.contents_sha
+WHERE (CAST(:typeId AS smallint) IS NULL OR f.type_id = :typeId)
+  AND (CAST(:externalIdPattern AS text) IS NULL OR d.external_id LIKE :externalIdPattern)
+  AND (CAST(:createdAfter AS timestamp) IS NULL OR d.created_at >= :createdAfter)
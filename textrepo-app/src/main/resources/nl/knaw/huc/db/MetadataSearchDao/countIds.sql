@@ -0,0 +1,20 @@
+SELECT count(*)
+FROM <table> m
+WHERE m.key = :key
+  <valueCondition>
+  AND NOT EXISTS(
+    SELECT
+    FROM unnest(
+      CAST(:otherKeys AS text[]),
+      CAST(:otherValues AS text[]),
+      CAST(:otherValuePatterns AS text[])
+    ) AS c(key, value, value_pattern)
+    WHERE NOT EXISTS(
+      SELECT
+      FROM <table> o
+      WHERE o.<idColumn> = m.<idColumn>
+        AND o.key = c.key
+        AND (c.value IS NULL OR o.value = c.value)
+        AND (c.value_pattern IS NULL OR o.value LIKE c.value_pattern)
+    )
+  )
@@ -0,0 +1,64 @@
+package nl.knaw.huc.core;
+
+import org.junit.jupiter.api.Test;
+
+import static nl.knaw.huc.core.ExternalIdMatch.CONTAINS;
+import static nl.knaw.huc.core.ExternalIdMatch.EXACT;
+import static nl.knaw.huc.core.ExternalIdMatch.PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExternalIdQueryTest {
+
+  @Test
+  public void getExternalIdUpper_incrementsLastCharacterOfPrefix() {
+    var query = new ExternalIdQuery("document_12", PREFIX);
+
+    assertThat(query.getExternalIdUpper()).isEqualTo("document_13");
+    assertThat(query.getExternalIdPattern()).isNull();
+  }
+
+  @Test
+  public void getExternalIdUpper_incrementsCodePointOutsideBasicPlane() {
+    var query = new ExternalIdQuery("doc_\ud83d\udcc4", PREFIX);
+
+    assertThat(query.getExternalIdUpper()).isEqualTo("doc_\ud83d\udcc5");
+  }
+
+  @Test
+  public void getExternalIdUpper_skipsSurrogates() {
+    var query = new ExternalIdQuery("doc_\ud7ff", PREFIX);
+
+    assertThat(query.getExternalIdUpper()).isEqualTo("doc_\ue000");
+  }
+
+  @Test
+  public void getExternalIdUpper_dropsTrailingMaximumCodePoints() {
+    var max = new String(Character.toChars(Character.MAX_CODE_POINT));
+    var query = new ExternalIdQuery("doc" + max + max, PREFIX);
+
+    assertThat(query.getExternalIdUpper()).isEqualTo("dod");
+  }
+
+  @Test
+  public void getExternalIdUpper_isNullWithoutIncrementableCodePoint() {
+    var max = new String(Character.toChars(Character.MAX_CODE_POINT));
+    var query = new ExternalIdQuery(max, PREFIX);
+
+    assertThat(query.getExternalIdUpper()).isNull();
+  }
+
+  @Test
+  public void getExternalIdUpper_isNullWhenNotMatchingPrefix() {
+    var query = new ExternalIdQuery("document_12", EXACT);
+
+    assertThat(query.getExternalIdUpper()).isNull();
+    assertThat(query.getExternalIdPattern()).isNull();
+  }
+
+  @Test
+  public void getExternalIdPattern_escapesContainedText() {
+    var query = new ExternalIdQuery("doc_1%", CONTAINS);
+
+    assertThat(query.getExternalIdPattern()).isEqualTo("%doc\\_1\\%%");
+  }
+}
@@ -1,5 +1,8 @@
 package nl.knaw.huc.helpers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
 import nl.knaw.huc.core.Contents;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -27,6 +30,8 @@ class ContentsHelperTest {
   private static final String GZIP_ENCODING = "gzip";
 
   private static final Contents CONTENTS = new Contents("just-a-test-not-a-real-sha224", LOREM_GZ);
+  private static final Contents RAW_CONTENTS =
+      new Contents("just-a-test-not-a-real-sha224", LOREM_RAW);
   private static final int SUFFICIENT_SPACE_TO_DECOMPRESS = LOREM_GZ.length * 2;
   private static final int INSUFFICIENT_SPACE_TO_DECOMPRESS = LOREM_GZ.length / 2;
 
@@ -67,4 +72,24 @@ class ContentsHelperTest {
     assertThat(response.getHeaderString(CONTENT_ENCODING)).isNull();
     assertThat((byte[]) response.getEntity()).containsExactly(LOREM_RAW);
   }
+
+  @Test
+  void asAttachment_shouldCompress_whenContentsUncompressed_AndCompressionRequested()
+      throws IOException {
+    var sut = new ContentsHelper(SUFFICIENT_SPACE_TO_DECOMPRESS);
+    final var responseBuilder = sut.asAttachment(RAW_CONTENTS, GZIP_ENCODING);
+    final var response = responseBuilder.build();
+    assertThat(response.getHeaderString(CONTENT_ENCODING)).isEqualTo(GZIP_ENCODING);
+    final var entity = new GZIPInputStream((InputStream) response.getEntity());
+    assertThat(entity.readAllBytes()).containsExactly(LOREM_RAW);
+  }
+
+  @Test
+  void asAttachment_shouldNotCompress_whenContentsUncompressed_AndNoCompressionRequested() {
+    var sut = new ContentsHelper(INSUFFICIENT_SPACE_TO_DECOMPRESS);
+    final var responseBuilder = sut.asAttachment(RAW_CONTENTS, null);
+    final var response = responseBuilder.build();
+    assertThat(response.getHeaderString(CONTENT_ENCODING)).isNull();
+    assertThat((byte[]) response.getEntity()).containsExactly(LOREM_RAW);
+  }
 }
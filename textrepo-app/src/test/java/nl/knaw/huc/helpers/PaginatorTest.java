@@ -0,0 +1,41 @@
+package nl.knaw.huc.helpers;
+
+import nl.knaw.huc.core.PageCursor;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.BadRequestException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PaginatorTest {
+
+  private static final UUID ID = UUID.fromString("34739357-eb75-449b-b2df-d3f6289470d6");
+
+  @Test
+  void decode_shouldReturnEncodedCursor() {
+    var createdAt = LocalDateTime.of(2021, 4, 16, 9, 3, 0, 123456000);
+
+    var cursor = Paginator.decode(Paginator.encode(new PageCursor(createdAt, ID)));
+
+    assertThat(cursor.getCreatedAt()).isEqualTo(createdAt);
+    assertThat(cursor.getId()).isEqualTo(ID);
+  }
+
+  @Test
+  void decode_shouldReturnEncodedCursor_whenCreatedAtIsNull() {
+    var cursor = Paginator.decode(Paginator.encode(new PageCursor(null, ID)));
+
+    assertThat(cursor.getCreatedAt()).isNull();
+    assertThat(cursor.getId()).isEqualTo(ID);
+  }
+
+  @Test
+  void decode_shouldThrowBadRequest_whenCursorIsInvalid() {
+    assertThatThrownBy(() -> Paginator.decode("not-a-cursor"))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("Invalid cursor");
+  }
+}
@@ -0,0 +1,170 @@
+package nl.knaw.huc.helpers.codec;
+
+import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.ContentsDictionary;
+import nl.knaw.huc.core.StoredContents;
+import nl.knaw.huc.db.ContentsDao;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static nl.knaw.huc.helpers.gzip.GzipHelper.isGzipped;
+import static nl.knaw.huc.helpers.codec.Pages.page;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContentsCodecsTest {
+
+  private static final short TYPE_ID = 1;
+
+  private static byte[] dictionary;
+
+  private final ContentsDao contentsDao = mock(ContentsDao.class);
+
+  @BeforeAll
+  static void trainDictionary() {
+    dictionary = Pages.trainDictionary();
+  }
+
+  @Test
+  void insert_shouldInsertGzipped_whenTypeHasNoDictionary() {
+    var contents = gzipped(page(100));
+    when(contentsDao.findLatestDictionary(TYPE_ID)).thenReturn(Optional.empty());
+
+    ContentsCodecs.insert(contentsDao, contents, TYPE_ID);
+
+    verify(contentsDao).insert(contents);
+    verify(contentsDao, never()).insertEncoded(anyString(), any(), anyString(), anyInt());
+  }
+
+  @Test
+  void insert_shouldInsertAsUploaded_whenDictionaryDoesNotCompressBetter() {
+    var contents = new Contents("sha-small", "x".getBytes(UTF_8));
+    when(contentsDao.findLatestDictionary(TYPE_ID))
+        .thenReturn(Optional.of(new ContentsDictionary(1, TYPE_ID, dictionary)));
+
+    ContentsCodecs.insert(contentsDao, contents, TYPE_ID);
+
+    verify(contentsDao).insert(contents);
+    verify(contentsDao, never()).insertEncoded(anyString(), any(), anyString(), anyInt());
+  }
+
+  @Test
+  void insert_shouldInsertEncodedWithDictionary_whenDictionaryCompressesBetter() {
+    var contents = gzipped(page(100));
+    when(contentsDao.findLatestDictionary(TYPE_ID))
+        .thenReturn(Optional.of(new ContentsDictionary(2, TYPE_ID, dictionary)));
+
+    ContentsCodecs.insert(contentsDao, contents, TYPE_ID);
+
+    verify(contentsDao).insertEncoded(
+        eq(contents.getSha224()), any(), eq(ContentsCodecs.DEFLATE.getName()), eq(2));
+    verify(contentsDao, never()).insert(any());
+  }
+
+  @Test
+  void decode_shouldReturnStoredContents_whenGzipped() {
+    var gzipped = ContentsCodecs.GZIP.encode(page(100), null);
+    var stored = new StoredContents(
+        "sha-gzip", gzipped, null, (short) 0, ContentsCodecs.GZIP.getName(), null);
+
+    var decoded = ContentsCodecs.decode(stored, contentsDao);
+
+    assertThat(decoded.getContents()).isSameAs(gzipped);
+    assertThat(decoded.uncompressed()).containsExactly(page(100));
+  }
+
+  @Test
+  void decode_shouldFindDictionaryOnce_whenEncodedWithDictionary() {
+    var encoded = ContentsCodecs.DEFLATE.encode(page(100), dictionary);
+    var stored = new StoredContents(
+        "sha-deflate", encoded, null, (short) 0, ContentsCodecs.DEFLATE.getName(), 3);
+    when(contentsDao.findDictionary(3))
+        .thenReturn(Optional.of(new ContentsDictionary(3, TYPE_ID, dictionary)));
+
+    assertThat(ContentsCodecs.decode(stored, contentsDao).uncompressed())
+        .containsExactly(page(100));
+    assertThat(ContentsCodecs.uncompressed(stored, contentsDao))
+        .containsExactly(page(100));
+
+    verify(contentsDao, times(1)).findDictionary(3);
+  }
+
+  @Test
+  void decode_shouldReturnGzippedContents_whenEncodedWithDictionary() {
+    var encoded = ContentsCodecs.DEFLATE.encode(page(100), dictionary);
+    var stored = new StoredContents(
+        "sha-deflate-gzip", encoded, null, (short) 0, ContentsCodecs.DEFLATE.getName(), 5);
+    when(contentsDao.findDictionary(5))
+        .thenReturn(Optional.of(new ContentsDictionary(5, TYPE_ID, dictionary)));
+
+    var decoded = ContentsCodecs.decode(stored, contentsDao);
+
+    assertThat(isGzipped(decoded.getContents())).isTrue();
+    assertThat(decoded.canDecompressInMemory(decoded.getContents().length)).isFalse();
+    assertThat(decoded.uncompressed()).containsExactly(page(100));
+  }
+
+  @Test
+  void uncompressed_shouldGunzip_whenGzipped() {
+    var stored = new StoredContents("sha-gunzip", ContentsCodecs.GZIP.encode(page(100), null),
+        null, (short) 0, ContentsCodecs.GZIP.getName(), null);
+
+    assertThat(ContentsCodecs.uncompressed(stored, contentsDao)).containsExactly(page(100));
+  }
+
+  @Test
+  void decode_shouldFindDictionaryAgain_whenDictionaryWithSameIdChanged() {
+    var other = "<TextRegion><TextLine><TextEquiv><Unicode>".getBytes(UTF_8);
+    var stored = new StoredContents("sha-first",
+        ContentsCodecs.DEFLATE.encode(page(100), dictionary), null, (short) 0,
+        ContentsCodecs.DEFLATE.getName(), 6);
+    var restored = new StoredContents("sha-restored",
+        ContentsCodecs.DEFLATE.encode(page(101), other), null, (short) 0,
+        ContentsCodecs.DEFLATE.getName(), 6);
+    when(contentsDao.findDictionary(6))
+        .thenReturn(Optional.of(new ContentsDictionary(6, TYPE_ID, dictionary)))
+        .thenReturn(Optional.of(new ContentsDictionary(6, TYPE_ID, other)));
+
+    assertThat(ContentsCodecs.uncompressed(stored, contentsDao)).containsExactly(page(100));
+    assertThat(ContentsCodecs.uncompressed(restored, contentsDao)).containsExactly(page(101));
+
+    verify(contentsDao, times(2)).findDictionary(6);
+  }
+
+  @Test
+  void decode_shouldThrow_whenDictionaryIsNotFound() {
+    var encoded = ContentsCodecs.DEFLATE.encode(page(100), dictionary);
+    var stored = new StoredContents(
+        "sha-missing", encoded, null, (short) 0, ContentsCodecs.DEFLATE.getName(), 4);
+    when(contentsDao.findDictionary(4)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> ContentsCodecs.decode(stored, contentsDao))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Dictionary 4");
+  }
+
+  @Test
+  void decode_shouldThrow_whenContentsAreDelta() {
+    var stored = new StoredContents("sha-delta", new byte[0], "sha-base", (short) 1, "delta", null);
+
+    assertThatThrownBy(() -> ContentsCodecs.decode(stored, contentsDao))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Contents gzipped(byte[] contents) {
+    return new Contents(Contents.fromBytes(contents).getSha224(),
+        ContentsCodecs.GZIP.encode(contents, null));
+  }
+}
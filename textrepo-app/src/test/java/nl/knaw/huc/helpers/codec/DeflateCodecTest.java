@@ -0,0 +1,69 @@
+package nl.knaw.huc.helpers.codec;
+
+import java.util.zip.Adler32;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static nl.knaw.huc.helpers.codec.Pages.page;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeflateCodecTest {
+
+  private static final DeflateCodec codec = new DeflateCodec();
+
+  private static byte[] dictionary;
+
+  @BeforeAll
+  static void trainDictionary() {
+    dictionary = Pages.trainDictionary();
+  }
+
+  @Test
+  void decode_shouldReturnContents_whenEncodedWithDictionary() {
+    var contents = page(100);
+    var encoded = codec.encode(contents, dictionary);
+    assertThat(codec.decode(encoded, dictionary)).containsExactly(contents);
+  }
+
+  @Test
+  void encode_shouldCompressBetterThanGzip_whenUsingDictionary() {
+    var contents = page(100);
+    var gzipped = ContentsCodecs.GZIP.encode(contents, null);
+    assertThat(codec.encode(contents, dictionary).length).isLessThan(gzipped.length / 2);
+  }
+
+  @Test
+  void decode_shouldReturnContents_whenEncodedWithoutDictionary() {
+    var contents = page(100);
+    assertThat(codec.decode(codec.encode(contents, null), null)).containsExactly(contents);
+  }
+
+  @Test
+  void decode_shouldThrow_whenDictionaryIsMissing() {
+    var encoded = codec.encode(page(100), dictionary);
+    assertThatThrownBy(() -> codec.decode(encoded, null))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void decode_shouldThrow_whenDictionaryIsDifferent() {
+    var encoded = codec.encode(page(100), dictionary);
+    assertThatThrownBy(() -> codec.decode(encoded, "other".getBytes(UTF_8)))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void dictionaryChecksum_shouldBeAdler32OfDictionary_whenEncodedWithDictionary() {
+    var adler32 = new Adler32();
+    adler32.update(dictionary);
+    assertThat(codec.dictionaryChecksum(codec.encode(page(100), dictionary)))
+        .hasValue(adler32.getValue());
+  }
+
+  @Test
+  void dictionaryChecksum_shouldBeEmpty_whenEncodedWithoutDictionary() {
+    assertThat(codec.dictionaryChecksum(codec.encode(page(100), null))).isEmpty();
+  }
+}
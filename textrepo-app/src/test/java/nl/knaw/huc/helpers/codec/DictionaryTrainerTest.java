@@ -0,0 +1,41 @@
+package nl.knaw.huc.helpers.codec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static nl.knaw.huc.helpers.codec.Pages.page;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DictionaryTrainerTest {
+
+  @Test
+  void train_shouldCreateDictionary_whenSamplesHaveMarkupInCommon() {
+    var dictionary = Pages.trainDictionary();
+    assertThat(dictionary).isNotEmpty();
+    assertThat(dictionary.length).isLessThanOrEqualTo(DictionaryTrainer.MAX_SIZE);
+    assertThat(new String(dictionary, UTF_8)).contains("<TextEquiv><Unicode>");
+  }
+
+  @Test
+  void train_shouldCreateEmptyDictionary_whenTooFewSamples() {
+    assertThat(DictionaryTrainer.train(List.of())).isEmpty();
+    assertThat(DictionaryTrainer.train(List.of(page(1)))).isEmpty();
+  }
+
+  @Test
+  void train_shouldOnlyUseStartOfSamples_whenSamplesExceedMaxSampleSize() {
+    var samples = new ArrayList<byte[]>();
+    for (int i = 0; i < 20; i++) {
+      var sample = new byte[DictionaryTrainer.MAX_SAMPLE_SIZE + 1024];
+      Arrays.fill(sample, (byte) ('a' + i));
+      var tail = "<common markup after first 64KB>".getBytes(UTF_8);
+      System.arraycopy(tail, 0, sample, DictionaryTrainer.MAX_SAMPLE_SIZE, tail.length);
+      samples.add(sample);
+    }
+    assertThat(new String(DictionaryTrainer.train(samples), UTF_8))
+        .doesNotContain("common markup");
+  }
+}
@@ -0,0 +1,37 @@
+package nl.knaw.huc.helpers.codec;
+
+import java.util.ArrayList;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Page xml contents with markup in common, to train and use dictionaries.
+ */
+class Pages {
+
+  private Pages() {
+  }
+
+  static byte[] trainDictionary() {
+    var samples = new ArrayList<byte[]>();
+    for (int i = 0; i < 20; i++) {
+      samples.add(page(i));
+    }
+    return DictionaryTrainer.train(samples);
+  }
+
+  static byte[] page(int number) {
+    var page = new StringBuilder()
+        .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+        .append("<PcGts xmlns=\"http://schema.primaresearch.org/PAGE/gts/pagecontent/2013-07-15\">\n")
+        .append("  <Page imageFilename=\"scan_").append(number).append(".jpg\">\n");
+    for (int line = 0; line < 10; line++) {
+      page.append("    <TextLine id=\"line_").append(number).append('_').append(line)
+          .append("\">\n      <Coords points=\"").append(number * 7 % 1000).append(',')
+          .append(line * 31).append("\"/>\n      <TextEquiv><Unicode>regel ").append(line)
+          .append(" van pagina ").append(number).append("</Unicode></TextEquiv>\n")
+          .append("    </TextLine>\n");
+    }
+    return page.append("  </Page>\n</PcGts>\n").toString().getBytes(UTF_8);
+  }
+}
@@ -0,0 +1,59 @@
+package nl.knaw.huc.helpers.delta;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryDeltaTest {
+
+  private static final byte[] SOURCE = ("lorem ipsum dolor sit amet, consectetur adipiscing elit, "
+      + "sed do eiusmod tempor incididunt ut labore et dolore magna aliqua").getBytes(UTF_8);
+
+  @Test
+  void apply_shouldReturnTarget_whenTargetIsEdit() {
+    var target = ("lorem ipsum dolor sit amet, consectetur elit, sed do eiusmod tempor "
+        + "incididunt ut labore et dolore magna aliqua, ut enim ad minim").getBytes(UTF_8);
+    var delta = BinaryDelta.encode(SOURCE, target);
+    assertThat(BinaryDelta.apply(SOURCE, delta)).containsExactly(target);
+  }
+
+  @Test
+  void encode_shouldCreateSmallDelta_whenTargetIsSmallEdit() {
+    var random = new Random(42);
+    var source = new byte[100_000];
+    random.nextBytes(source);
+    var target = source.clone();
+    target[50_000] ^= 1;
+
+    var delta = BinaryDelta.encode(source, target);
+
+    assertThat(delta.length).isLessThan(100);
+    assertThat(BinaryDelta.apply(source, delta)).containsExactly(target);
+  }
+
+  @Test
+  void apply_shouldReturnTarget_whenSourceOrTargetIsEmpty() {
+    var empty = new byte[0];
+    assertThat(BinaryDelta.apply(empty, BinaryDelta.encode(empty, SOURCE))).containsExactly(SOURCE);
+    assertThat(BinaryDelta.apply(SOURCE, BinaryDelta.encode(SOURCE, empty))).isEmpty();
+  }
+
+  @Test
+  void apply_shouldThrow_whenNotADelta() {
+    assertThatThrownBy(() -> BinaryDelta.apply(SOURCE, SOURCE))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void apply_shouldThrow_whenDeltaIsTruncated() {
+    var target = "lorem ipsum dolor sit amet, ut enim ad minim veniam".getBytes(UTF_8);
+    var delta = BinaryDelta.encode(SOURCE, target);
+    var truncated = new byte[delta.length - 1];
+    System.arraycopy(delta, 0, truncated, 0, truncated.length);
+    assertThatThrownBy(() -> BinaryDelta.apply(SOURCE, truncated))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,131 @@
+package nl.knaw.huc.helpers.delta;
+
+import nl.knaw.huc.core.Contents;
+import nl.knaw.huc.core.ContentsDictionary;
+import nl.knaw.huc.core.StoredContents;
+import nl.knaw.huc.db.ContentsDao;
+import nl.knaw.huc.helpers.codec.ContentsCodecs;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static nl.knaw.huc.helpers.gzip.GzipHelper.isGzipped;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ContentsDeltasTest {
+
+  private final ContentsDao contentsDao = mock(ContentsDao.class);
+
+  @Test
+  public void storeDelta_shouldInsertDelta_whenDeltaReproducesContents() {
+    var base = randomBytes(10_000, 1);
+    var text = base.clone();
+    text[5_000] ^= 1;
+    storeFull("base-sha-1", base);
+
+    var stored = ContentsDeltas.storeDelta(contentsDao, gzipped("sha-1", text), "base-sha-1", 16);
+
+    assertThat(stored).isTrue();
+    verify(contentsDao).insertDelta(eq("sha-1"), any(), eq("base-sha-1"), eq((short) 1));
+  }
+
+  @Test
+  public void storeDelta_shouldNotInsertDelta_whenDeltaIsNotSmaller() {
+    storeFull("base-sha-2", randomBytes(10_000, 1));
+
+    var stored = ContentsDeltas
+        .storeDelta(contentsDao, gzipped("sha-2", randomBytes(10_000, 2)), "base-sha-2", 16);
+
+    assertThat(stored).isFalse();
+    verify(contentsDao, never()).insertDelta(anyString(), any(), anyString(), anyShort());
+  }
+
+  @Test
+  public void reconstruct_shouldApplyDelta_whenBaseIsStoredWithDictionary() {
+    var dictionary = "<TextLine><TextEquiv><Unicode>".getBytes(UTF_8);
+    var base = "<TextLine><TextEquiv><Unicode>regel 1 van pagina 7</Unicode>".getBytes(UTF_8);
+    var text = "<TextLine><TextEquiv><Unicode>regel 2 van pagina 7</Unicode>".getBytes(UTF_8);
+    var baseSha = Contents.fromBytes(base).getSha224();
+    var sha = Contents.fromBytes(text).getSha224();
+    when(contentsDao.findStoredBySha224(baseSha)).thenReturn(Optional.of(new StoredContents(
+        baseSha, ContentsCodecs.DEFLATE.encode(base, dictionary), null, (short) 0,
+        ContentsCodecs.DEFLATE.getName(), 11)));
+    when(contentsDao.findDictionary(11))
+        .thenReturn(Optional.of(new ContentsDictionary(11, (short) 1, dictionary)));
+    var delta = new StoredContents(
+        sha, BinaryDelta.encode(base, text), baseSha, (short) 1, "delta", null);
+
+    var reconstructed = ContentsDeltas.reconstruct(delta, contentsDao);
+
+    assertThat(reconstructed.getSha224()).isEqualTo(sha);
+    assertThat(reconstructed.uncompressed()).containsExactly(text);
+  }
+
+  @Test
+  public void reconstruct_shouldCacheGzippedContents_whenStoredWithDictionary() {
+    var dictionary = "<TextLine><TextEquiv><Unicode>".getBytes(UTF_8);
+    var text = "<TextLine><TextEquiv><Unicode>regel 3 van pagina 7</Unicode>".getBytes(UTF_8);
+    var sha = Contents.fromBytes(text).getSha224();
+    when(contentsDao.findDictionary(12))
+        .thenReturn(Optional.of(new ContentsDictionary(12, (short) 1, dictionary)));
+    var stored = new StoredContents(
+        sha, ContentsCodecs.DEFLATE.encode(text, dictionary), null, (short) 0,
+        ContentsCodecs.DEFLATE.getName(), 12);
+
+    var reconstructed = ContentsDeltas.reconstruct(stored, contentsDao);
+
+    assertThat(isGzipped(reconstructed.getContents())).isTrue();
+    assertThat(reconstructed.uncompressed()).containsExactly(text);
+    assertThat(ContentsDeltas.reconstruct(stored, contentsDao)).isSameAs(reconstructed);
+  }
+
+  @Test
+  public void reproduces_shouldBeTrue_whenDeltaAppliesToTarget() {
+    var base = randomBytes(1_000, 1);
+    var text = base.clone();
+    text[500] ^= 1;
+    assertThat(ContentsDeltas.reproduces(base, BinaryDelta.encode(base, text), text)).isTrue();
+  }
+
+  @Test
+  public void reproduces_shouldBeFalse_whenDeltaAppliesToOtherContents() {
+    var base = randomBytes(1_000, 1);
+    var text = base.clone();
+    text[500] ^= 1;
+    var other = base.clone();
+    other[501] ^= 1;
+    assertThat(ContentsDeltas.reproduces(base, BinaryDelta.encode(base, other), text)).isFalse();
+  }
+
+  @Test
+  public void reproduces_shouldBeFalse_whenDeltaIsInvalid() {
+    var base = randomBytes(1_000, 1);
+    assertThat(ContentsDeltas.reproduces(base, base, base)).isFalse();
+  }
+
+  private void storeFull(String sha, byte[] text) {
+    var encoded = ContentsCodecs.GZIP.encode(text, null);
+    when(contentsDao.findStoredBySha224(sha)).thenReturn(Optional.of(
+        new StoredContents(sha, encoded, null, (short) 0, ContentsCodecs.GZIP.getName(), null)));
+  }
+
+  private static Contents gzipped(String sha, byte[] text) {
+    return new Contents(sha, ContentsCodecs.GZIP.encode(text, null));
+  }
+
+  private static byte[] randomBytes(int size, long seed) {
+    var bytes = new byte[size];
+    new Random(seed).nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -18,6 +18,7 @@ import nl.knaw.huc.resources.rest.DocumentsResource;
 import nl.knaw.huc.service.document.DocumentService;
 import nl.knaw.huc.service.datetime.LocalDateTimeParamConverterProvider;
 import nl.knaw.huc.service.logging.LoggingApplicationEventListener;
+import nl.knaw.huc.service.task.TaskBuilderFactory;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -98,8 +99,8 @@ public class LoggingTest {
     var documents = new ArrayList<Document>();
     documents.add(new Document(null, null, null));
     var page = new Page<>(documents, 0, new PageParams(0, 10));
-    when(documentService.getAll(anyString(), isNull(), any())).thenReturn(page);
-    when(documentService.getAll(anyString(), isNull(), any())).thenAnswer(invocation -> {
+    when(documentService.getAll(anyString(), any(), isNull(), any())).thenReturn(page);
+    when(documentService.getAll(anyString(), any(), isNull(), any())).thenAnswer(invocation -> {
       var items = new ArrayList<Document>();
       var doc = new Document(UUID.randomUUID(), invocation.getArgument(0, String.class), now());
       items.add(doc);
@@ -187,7 +188,7 @@ public class LoggingTest {
     @Override
     public void run(TextRepoConfiguration config, Environment environment) {
       environment.jersey().register(new LocalDateTimeParamConverterProvider(config.getDateFormat()));
-      environment.jersey().register(new DocumentsResource(documentService, paginator));
+      environment.jersey().register(new DocumentsResource(documentService, mock(TaskBuilderFactory.class), paginator));
       environment.jersey().register(new LoggingApplicationEventListener(UUID::randomUUID));
       environment.jersey().register(this);
     }
@@ -6,6 +6,7 @@ import nl.knaw.huc.helpers.ContentsHelper;
 import nl.knaw.huc.helpers.Paginator;
 import nl.knaw.huc.resources.ResourcesBuilder;
 import nl.knaw.huc.resources.view.ViewBuilderFactory;
+import nl.knaw.huc.service.changes.ChangeService;
 import nl.knaw.huc.service.contents.ContentsService;
 import nl.knaw.huc.service.dashboard.DashboardService;
 import nl.knaw.huc.service.document.DocumentService;
@@ -13,6 +14,7 @@ import nl.knaw.huc.service.document.files.DocumentFilesService;
 import nl.knaw.huc.service.document.metadata.DocumentMetadataService;
 import nl.knaw.huc.service.file.FileService;
 import nl.knaw.huc.service.file.metadata.FileMetadataService;
+import nl.knaw.huc.service.metadata.MetadataSearchService;
 import nl.knaw.huc.service.task.TaskBuilderFactory;
 import nl.knaw.huc.service.type.TypeService;
 import nl.knaw.huc.service.version.VersionService;
@@ -52,6 +54,7 @@ public class ResourcesBuilderTest {
 
     // Build list of resources:
     var buildResources = new ResourcesBuilder(mock(TextRepoConfiguration.class))
+        .changeService(mock(ChangeService.class))
         .contentsHelper(mock(ContentsHelper.class))
         .contentsService(mock(ContentsService.class))
         .dashboardService(mock(DashboardService.class))
@@ -60,6 +63,7 @@ public class ResourcesBuilderTest {
         .documentService(mock(DocumentService.class))
         .fileService(mock(FileService.class))
         .fileMetadataService(mock(FileMetadataService.class))
+        .metadataSearchService(mock(MetadataSearchService.class))
         .paginator(mock(Paginator.class))
         .taskBuilderFactory(mock(TaskBuilderFactory.class))
         .typeService(mock(TypeService.class))
@@ -5,15 +5,25 @@ import com.jayway.jsonpath.JsonPath;
 import io.dropwizard.logging.BootstrapLogging;
 import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
 import io.dropwizard.testing.junit5.ResourceExtension;
+import nl.knaw.huc.api.ResultExpandedDocument;
+import nl.knaw.huc.api.ResultExpandedFile;
+import nl.knaw.huc.api.ResultVersion;
 import nl.knaw.huc.config.PaginationConfiguration;
 import nl.knaw.huc.core.Document;
+import nl.knaw.huc.core.DocumentExpand;
+import nl.knaw.huc.core.ExternalIdMatch;
 import nl.knaw.huc.core.Page;
 import nl.knaw.huc.core.PageParams;
+import nl.knaw.huc.core.TextRepoFile;
+import nl.knaw.huc.core.Version;
 import nl.knaw.huc.exceptions.MethodNotAllowedExceptionMapper;
 import nl.knaw.huc.helpers.Paginator;
 import nl.knaw.huc.service.datetime.LocalDateTimeParamConverterProvider;
 import nl.knaw.huc.service.document.DocumentService;
 import nl.knaw.huc.service.file.FileService;
+import nl.knaw.huc.service.task.Task;
+import nl.knaw.huc.service.task.TaskBuilderFactory;
+import nl.knaw.huc.service.task.getter.GetExpandedDocumentTaskBuilder;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.jdbi.v3.core.Jdbi;
 import org.junit.jupiter.api.AfterEach;
@@ -24,16 +34,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.MockitoAnnotations;
 
+import javax.ws.rs.client.Entity;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static java.time.LocalDateTime.now;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -48,6 +64,7 @@ public class DocumentsResourceTest {
   private static final Jdbi jdbi = mock(Jdbi.class);
   private static final DocumentService documentService = mock(DocumentService.class);
   private static final FileService fileService = mock(FileService.class);
+  private static final TaskBuilderFactory taskBuilderFactory = mock(TaskBuilderFactory.class);
 
   @Captor
   private ArgumentCaptor<PageParams> pageParamsCaptor;
@@ -78,7 +95,7 @@ public class DocumentsResourceTest {
       .builder()
       .addProvider(MultiPartFeature.class)
       .addProvider(() -> new LocalDateTimeParamConverterProvider(dateFormat))
-      .addResource(new DocumentsResource(documentService, paginator))
+      .addResource(new DocumentsResource(documentService, taskBuilderFactory, paginator))
       .addResource(new MethodNotAllowedExceptionMapper())
       .build();
 
@@ -89,7 +106,7 @@ public class DocumentsResourceTest {
 
   @AfterEach
   public void resetMocks() {
-    reset(jdbi, fileService, documentService);
+    reset(jdbi, fileService, documentService, taskBuilderFactory);
   }
 
   @Test
@@ -113,7 +130,7 @@ public class DocumentsResourceTest {
     var offset = 2;
     var limit = 7;
     var total = 12;
-    when(documentService.getAll(isNull(), isNull(), any(PageParams.class)))
+    when(documentService.getAll(isNull(), any(), isNull(), any(PageParams.class)))
         .thenReturn(new Page<>(new ArrayList<>(), total, new PageParams(limit, offset)));
 
     // Request:
@@ -127,6 +144,7 @@ public class DocumentsResourceTest {
     // Check service call:
     verify(documentService, times(1)).getAll(
         isNull(),
+        eq(ExternalIdMatch.PATTERN),
         any(),
         pageParamsCaptor.capture()
     );
@@ -150,7 +168,7 @@ public class DocumentsResourceTest {
     var expectedDateTime = now.format(DateTimeFormatter.ofPattern(dateFormat));
 
     var expectedTotal = 5;
-    when(documentService.getAll(isNull(), any(LocalDateTime.class), any(PageParams.class)))
+    when(documentService.getAll(isNull(), any(), any(LocalDateTime.class), any(PageParams.class)))
         .thenReturn(new Page<>(new ArrayList<>(), expectedTotal, new PageParams(TEST_LIMIT, TEST_OFFSET)));
 
     // Request:
@@ -163,6 +181,7 @@ public class DocumentsResourceTest {
     // Check service call:
     verify(documentService, times(1)).getAll(
         isNull(),
+        any(),
         createdAfterCaptor.capture(),
         pageParamsCaptor.capture()
     );
@@ -179,4 +198,100 @@ public class DocumentsResourceTest {
     assertThat(response.getStatus()).isEqualTo(200);
   }
 
+  @Test
+  public void getDocuments_matchesExternalIdByPrefix() {
+    when(documentService.getAll(any(), any(), any(), any(PageParams.class)))
+        .thenReturn(new Page<>(new ArrayList<>(), 0, new PageParams(TEST_LIMIT, TEST_OFFSET)));
+
+    var response = resource
+        .client()
+        .target("/rest/documents?externalId=document_12&match=prefix")
+        .request()
+        .get();
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    verify(documentService, times(1)).getAll(
+        eq("document_12"),
+        eq(ExternalIdMatch.PREFIX),
+        isNull(),
+        any(PageParams.class)
+    );
+  }
+
+  @Test
+  public void getDocuments_rejectsInvalidMatch() {
+    var response = resource
+        .client()
+        .target("/rest/documents?externalId=document_12&match=fuzzy")
+        .request()
+        .get();
+
+    assertThat(response.getStatus()).isEqualTo(400);
+  }
+
+  @Test
+  public void getDocumentsByIds_returnsFoundDocumentsAndMissingIds() {
+    var foundId = UUID.randomUUID();
+    var missingId = UUID.randomUUID();
+    when(documentService.getByIds(any()))
+        .thenReturn(List.of(new Document(foundId, TEST_EXTERNAL_ID, now())));
+
+    var response = resource
+        .client()
+        .target("/rest/documents/_batch")
+        .request()
+        .post(Entity.json(List.of(missingId, foundId)));
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    var body = JsonPath.parse(response.readEntity(String.class));
+    assertThat(body.read("$.items.length()", Integer.class)).isEqualTo(1);
+    assertThat(body.read("$.items[0].id", String.class)).isEqualTo(foundId.toString());
+    assertThat(body.read("$.items[0].externalId", String.class)).isEqualTo(TEST_EXTERNAL_ID);
+    assertThat(body.read("$.missing", List.class)).containsExactly(missingId.toString());
+    verify(documentService, times(1)).getByIds(List.of(missingId, foundId));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void getDocument_expandsFilesMetadataAndLatestVersion() {
+    var docId = UUID.randomUUID();
+    var fileId = UUID.randomUUID();
+    var versionId = UUID.randomUUID();
+    var doc = new Document(docId, TEST_EXTERNAL_ID, now());
+    var expanded = new ResultExpandedDocument(doc, Map.of("title", "Document title"), List.of(
+        new ResultExpandedFile(docId, new TextRepoFile(fileId, (short) 1), Map.of(),
+            new ResultVersion(new Version(versionId, fileId, "abc", now())))));
+    var getter = mock(GetExpandedDocumentTaskBuilder.class, RETURNS_SELF);
+    Task<ResultExpandedDocument> task = mock(Task.class);
+    when(taskBuilderFactory.getExpandedDocumentGetter()).thenReturn(getter);
+    when(getter.build()).thenReturn(task);
+    when(task.run()).thenReturn(expanded);
+
+    var response = resource
+        .client()
+        .target("/rest/documents/" + docId + "?expand=metadata,latestVersion")
+        .request()
+        .get();
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    var body = JsonPath.parse(response.readEntity(String.class));
+    assertThat(body.read("$.metadata.title", String.class)).isEqualTo("Document title");
+    assertThat(body.read("$.files[0].id", String.class)).isEqualTo(fileId.toString());
+    assertThat(body.read("$.files[0].latestVersion.id", String.class))
+        .isEqualTo(versionId.toString());
+    verify(getter).forDocument(docId);
+    verify(getter).withExpand(EnumSet.of(
+        DocumentExpand.FILES, DocumentExpand.METADATA, DocumentExpand.LATEST_VERSION));
+  }
+
+  @Test
+  public void getDocument_rejectsInvalidExpand() {
+    var response = resource
+        .client()
+        .target("/rest/documents/" + UUID.randomUUID() + "?expand=files,versions")
+        .request()
+        .get();
+
+    assertThat(response.getStatus()).isEqualTo(400);
+  }
 }
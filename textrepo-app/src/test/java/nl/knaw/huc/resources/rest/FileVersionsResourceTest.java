@@ -15,6 +15,7 @@ import nl.knaw.huc.service.datetime.LocalDateTimeParamConverterProvider;
 import nl.knaw.huc.service.index.IndexService;
 import nl.knaw.huc.service.version.JdbiVersionService;
 import nl.knaw.huc.service.version.VersionService;
+import nl.knaw.huc.service.version.metadata.VersionMetadataService;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.jdbi.v3.core.Jdbi;
 import org.junit.jupiter.api.AfterEach;
@@ -27,7 +28,9 @@ import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -63,6 +66,8 @@ public class FileVersionsResourceTest {
   private static final VersionsDao VERSIONS_DAO = mock(VersionsDao.class);
   private static final FilesDao FILES_DAO = mock(FilesDao.class);
   private static final IndexService INDEX_SERVICE = mock(IndexService.class);
+  private static final VersionMetadataService VERSION_METADATA_SERVICE =
+      mock(VersionMetadataService.class);
 
   private static final VersionService versionService = new JdbiVersionService(
       JDBI,
@@ -82,7 +87,7 @@ public class FileVersionsResourceTest {
         .builder()
         .addProvider(MultiPartFeature.class)
         .addProvider(() -> new LocalDateTimeParamConverterProvider(dateFormat))
-        .addResource(new FileVersionsResource(versionService, paginator))
+        .addResource(new FileVersionsResource(versionService, VERSION_METADATA_SERVICE, paginator))
         .build();
   }
 
@@ -95,7 +100,7 @@ public class FileVersionsResourceTest {
 
   @AfterEach
   public void resetMocks() {
-    reset(JDBI, INDEX_SERVICE, VERSIONS_DAO, FILES_DAO);
+    reset(JDBI, INDEX_SERVICE, VERSIONS_DAO, FILES_DAO, VERSION_METADATA_SERVICE);
   }
 
   @Test
@@ -126,6 +131,26 @@ public class FileVersionsResourceTest {
     assertThat(actual.read("$.items[1].contentsSha", String.class)).isEqualTo(sha2);
   }
 
+  @Test
+  public void testGetVersions_skipsCount_whenTotalIsNone() {
+    var sha = "fcd01d3b5648843931feb9ef4468250ac1a968a41add37f663af3bb0";
+    var version = new Version(UUID.randomUUID(), fileUuid, sha, LocalDateTime.now());
+    when(FILES_DAO.find(any())).thenReturn(Optional.of(file));
+    when(VERSIONS_DAO.findByFileId(any(), any(PageParams.class), any())).thenReturn(List.of(version));
+
+    var response = resource
+        .client()
+        .target("/rest/files/" + fileUuid.toString() + "/versions?total=none")
+        .request()
+        .get();
+
+    verify(VERSIONS_DAO, times(0)).countByFileId(any(), any());
+    var actual = JsonPath.parse(response.readEntity(String.class));
+    assertThat(actual.read("$.items.length()", Integer.class)).isEqualTo(1);
+    assertThat(actual.read("$.totalType", String.class)).isEqualTo("none");
+    assertThat(actual.read("$", Map.class)).doesNotContainKey("total");
+  }
+
   @Test
   public void testGetVersions_returns404() {
     when(VERSIONS_DAO.find(any())).thenReturn(Optional.empty());
@@ -172,6 +197,27 @@ public class FileVersionsResourceTest {
     assertThat(actual.read("$.items[1].contentsSha", String.class)).isEqualTo(sha2);
   }
 
+  @Test
+  public void testGetVersionsMetadata_returnsMetadataPerVersion() {
+    var newest = UUID.randomUUID();
+    var oldest = UUID.randomUUID();
+    var metadata = new LinkedHashMap<UUID, Map<String, String>>();
+    metadata.put(newest, Map.of("foo", "bar"));
+    metadata.put(oldest, Map.of());
+    when(VERSION_METADATA_SERVICE.getMetadataByFileId(fileUuid)).thenReturn(metadata);
+
+    var response = resource
+        .client()
+        .target("/rest/files/" + fileUuid.toString() + "/versions/metadata")
+        .request()
+        .get();
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    var actual = JsonPath.parse(response.readEntity(String.class));
+    assertThat(actual.read("$['" + newest + "'].foo", String.class)).isEqualTo("bar");
+    assertThat(actual.read("$['" + oldest + "']", Map.class)).isEmpty();
+  }
+
   @Test
   public void testGetVersions_returnsMessageAboutDateFormat_whenWrongDateFormat() {
     var noSAndMs = "yyyy-MM-dd'T'HH:mm";
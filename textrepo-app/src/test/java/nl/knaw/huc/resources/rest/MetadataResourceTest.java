@@ -0,0 +1,145 @@
+package nl.knaw.huc.resources.rest;
+
+import com.jayway.jsonpath.JsonPath;
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.dropwizard.testing.junit5.ResourceExtension;
+import nl.knaw.huc.config.PaginationConfiguration;
+import nl.knaw.huc.core.MetadataQuery;
+import nl.knaw.huc.core.PageParams;
+import nl.knaw.huc.db.MetadataSearchDao;
+import nl.knaw.huc.helpers.Paginator;
+import nl.knaw.huc.service.document.metadata.DocumentMetadataService;
+import nl.knaw.huc.service.metadata.JdbiMetadataSearchService;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+import javax.ws.rs.client.Entity;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+public class MetadataResourceTest {
+
+  private static final Jdbi jdbi = mock(Jdbi.class);
+  private static final MetadataSearchDao METADATA_SEARCH_DAO = mock(MetadataSearchDao.class);
+
+  private static final int TEST_LIMIT = 2;
+
+  public static final ResourceExtension resource = ResourceExtension
+      .builder()
+      .addResource(new MetadataResource(
+          mock(DocumentMetadataService.class),
+          new JdbiMetadataSearchService(jdbi),
+          createPaginator()
+      ))
+      .build();
+
+  private static Paginator createPaginator() {
+    var config = new PaginationConfiguration();
+    config.defaultOffset = 0;
+    config.defaultLimit = TEST_LIMIT;
+    return new Paginator(config);
+  }
+
+  @BeforeEach
+  public void setupMocks() {
+    when(jdbi.onDemand(MetadataSearchDao.class)).thenReturn(METADATA_SEARCH_DAO);
+  }
+
+  @AfterEach
+  public void resetMocks() {
+    reset(jdbi, METADATA_SEARCH_DAO);
+  }
+
+  @Test
+  public void testSearchDocuments_returnsPageOfIds() {
+    var ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+    when(METADATA_SEARCH_DAO.findIds(any(), any(), any(), any(), any())).thenReturn(ids);
+    when(METADATA_SEARCH_DAO.countIds(any(), any(), any(), any())).thenReturn(3L);
+
+    var response = resource
+        .client()
+        .target("/rest/metadata/search/documents")
+        .request()
+        .post(Entity.json("[{\"key\": \"archive\", \"value\": \"huygens\"}, "
+            + "{\"key\": \"title\", \"valuePrefix\": \"50%_\"}]"));
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    var actual = JsonPath.parse(response.readEntity(String.class));
+    assertThat(actual.read("$.items.length()", Integer.class)).isEqualTo(2);
+    assertThat(actual.read("$.items[0]", String.class)).isEqualTo(ids.get(0).toString());
+    assertThat(actual.read("$.total", Integer.class)).isEqualTo(3);
+    assertThat(actual.read("$.page.nextCursor", String.class)).isNotBlank();
+
+    var query = ArgumentCaptor.forClass(MetadataQuery.class);
+    verify(METADATA_SEARCH_DAO).findIds(
+        eq("documents_metadata"),
+        eq("document_id"),
+        eq("AND md5(m.value) = md5(:value) AND m.value = :value"),
+        query.capture(),
+        any(PageParams.class));
+    assertThat(query.getValue().getKey()).isEqualTo("archive");
+    assertThat(query.getValue().getValue()).isEqualTo("huygens");
+    assertThat(query.getValue().getValuePattern()).isNull();
+    assertThat(query.getValue().getOtherKeys()).containsExactly("title");
+    assertThat(query.getValue().getOtherValuePatterns()).containsExactly("50\\%\\_%");
+  }
+
+  @Test
+  public void testSearchVersions_searchesVersionMetadata() {
+    when(METADATA_SEARCH_DAO.findIds(any(), any(), any(), any(), any())).thenReturn(List.of());
+
+    var response = resource
+        .client()
+        .target("/rest/metadata/search/versions")
+        .queryParam("total", "none")
+        .request()
+        .post(Entity.json("[{\"key\": \"status\", \"valueContains\": \"final\"}]"));
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    verify(METADATA_SEARCH_DAO).findIds(
+        eq("versions_metadata"),
+        eq("version_id"),
+        eq("AND m.value LIKE :valuePattern"),
+        any(),
+        any());
+    verify(METADATA_SEARCH_DAO, never()).countIds(any(), any(), any(), any());
+  }
+
+  @Test
+  public void testSearchFiles_rejectsConditionWithMultipleValues() {
+    var response = resource
+        .client()
+        .target("/rest/metadata/search/files")
+        .request()
+        .post(Entity.json("[{\"key\": \"filename\", \"value\": \"a\", \"valuePrefix\": \"b\"}]"));
+
+    assertThat(response.getStatus()).isEqualTo(422);
+    verify(METADATA_SEARCH_DAO, never()).findIds(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void testSearchFiles_rejectsEmptyConditions() {
+    var response = resource
+        .client()
+        .target("/rest/metadata/search/files")
+        .request()
+        .post(Entity.json("[]"));
+
+    assertThat(response.getStatus()).isEqualTo(422);
+  }
+
+}
@@ -0,0 +1,87 @@
+package nl.knaw.huc.service.changes;
+
+import nl.knaw.huc.core.Change;
+import nl.knaw.huc.db.ChangesDao;
+import nl.knaw.huc.service.replica.ReadJdbi;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JdbiChangeServiceTest {
+
+  private final Jdbi jdbi = mock(Jdbi.class);
+  private final ChangesDao changesDao = mock(ChangesDao.class);
+  private final List<List<Change>> received = new ArrayList<>();
+
+  private JdbiChangeService changeService;
+
+  @BeforeEach
+  public void setup() {
+    when(jdbi.onDemand(ChangesDao.class)).thenReturn(changesDao);
+    when(jdbi.inTransaction(any())).thenReturn(0);
+    changeService = new JdbiChangeService(jdbi, new ReadJdbi(jdbi, null));
+  }
+
+  @Test
+  public void testAwait_passesChangesImmediately_whenAvailable() {
+    var change = createChange(11);
+    when(changesDao.findSince(10, 100)).thenReturn(List.of(change));
+
+    changeService.await(10, 100, Duration.ofSeconds(30), received::add);
+
+    assertThat(received).containsExactly(List.of(change));
+  }
+
+  @Test
+  public void testAwait_passesNewChanges_afterSequencing() {
+    when(changesDao.findSince(10, 100)).thenReturn(List.of());
+    changeService.await(10, 100, Duration.ofSeconds(30), received::add);
+    assertThat(received).isEmpty();
+
+    var change = createChange(11);
+    when(changesDao.lastSeq()).thenReturn(11L);
+    when(changesDao.findSince(10, 100)).thenReturn(List.of(change));
+    changeService.sequence();
+    changeService.sequence();
+
+    assertThat(received).containsExactly(List.of(change));
+  }
+
+  @Test
+  public void testAwait_passesEmptyList_afterWait() {
+    when(changesDao.findSince(10, 100)).thenReturn(List.of());
+    when(changesDao.lastSeq()).thenReturn(10L);
+    changeService.await(10, 100, Duration.ofNanos(1), received::add);
+
+    changeService.sequence();
+
+    assertThat(received).containsExactly(List.of());
+  }
+
+  @Test
+  public void testAwait_passesEmptyList_afterWait_whenSequencingFails() {
+    when(changesDao.findSince(10, 100)).thenReturn(List.of());
+    when(changesDao.lastSeq()).thenThrow(new IllegalStateException("connection lost"));
+    when(jdbi.inTransaction(any())).thenThrow(new IllegalStateException("connection lost"));
+    changeService.await(10, 100, Duration.ofNanos(1), received::add);
+
+    changeService.sequence();
+
+    assertThat(received).containsExactly(List.of());
+  }
+
+  private static Change createChange(long seq) {
+    return new Change(seq, "document", UUID.randomUUID(), "insert", null, LocalDateTime.now());
+  }
+}
@@ -0,0 +1,139 @@
+package nl.knaw.huc.service.contents;
+
+import com.codahale.metrics.MetricRegistry;
+import nl.knaw.huc.config.UnusedContentsConfiguration;
+import nl.knaw.huc.db.UnusedContentsDao;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the service against a dao that keeps contents in memory, with the same conditions
+ * as the sql of {@link UnusedContentsDao}.
+ */
+public class JdbiUnusedContentsServiceTest {
+
+  private static final int GRACE_MINUTES = 60;
+
+  private final Jdbi jdbi = mock(Jdbi.class);
+  private final UnusedContentsDao dao = mock(UnusedContentsDao.class);
+  private final Map<String, StoredContents> contents = new TreeMap<>();
+
+  private JdbiUnusedContentsService service;
+
+  @BeforeEach
+  public void setup() {
+    var config = new UnusedContentsConfiguration();
+    config.graceMinutes = GRACE_MINUTES;
+    config.batchSize = 2;
+    service = new JdbiUnusedContentsService(jdbi, config, new MetricRegistry());
+
+    when(jdbi.onDemand(UnusedContentsDao.class)).thenReturn(dao);
+    when(dao.findBatch(any(), any(), anyInt())).thenAnswer(invocation -> {
+      String afterSha = invocation.getArgument(0);
+      LocalDateTime storedBefore = invocation.getArgument(1);
+      int limit = invocation.getArgument(2);
+      return contents
+          .keySet()
+          .stream()
+          .filter(sha -> afterSha == null || sha.compareTo(afterSha) > 0)
+          .filter(sha -> isUnused(sha, storedBefore))
+          .limit(limit)
+          .toList();
+    });
+    when(dao.findBaseShas(anyList())).thenAnswer(invocation -> invocation
+        .<List<String>>getArgument(0)
+        .stream()
+        .map(sha -> contents.get(sha).baseSha)
+        .filter(Objects::nonNull)
+        .distinct()
+        .toList());
+    when(dao.delete(anyList(), any())).thenAnswer(invocation -> {
+      List<String> shas = invocation.getArgument(0);
+      LocalDateTime storedBefore = invocation.getArgument(1);
+      var deletable = shas.stream().filter(sha -> isUnused(sha, storedBefore)).toList();
+      deletable.forEach(contents::remove);
+      return deletable.stream().map(sha -> 10L).toList();
+    });
+  }
+
+  @Test
+  public void testDeleteUnused_deletesOldUnusedContents() {
+    store("a-old", 2 * GRACE_MINUTES, null, false);
+    store("b-old", 2 * GRACE_MINUTES, null, false);
+    store("c-old", 2 * GRACE_MINUTES, null, false);
+
+    service.deleteUnused();
+
+    assertThat(contents).isEmpty();
+  }
+
+  @Test
+  public void testDeleteUnused_keepsContentsYoungerThanGracePeriod() {
+    store("a-old", 2 * GRACE_MINUTES, null, false);
+    store("b-young", GRACE_MINUTES / 2, null, false);
+
+    service.deleteUnused();
+
+    assertThat(contents).containsOnlyKeys("b-young");
+  }
+
+  @Test
+  public void testDeleteUnused_keepsContentsUsedByVersion() {
+    store("a-used", 2 * GRACE_MINUTES, null, true);
+
+    service.deleteUnused();
+
+    assertThat(contents).containsOnlyKeys("a-used");
+  }
+
+  @Test
+  public void testDeleteUnused_keepsBaseOfUsedDelta() {
+    store("a-base", 2 * GRACE_MINUTES, null, false);
+    store("b-delta", 2 * GRACE_MINUTES, "a-base", true);
+
+    service.deleteUnused();
+
+    assertThat(contents).containsOnlyKeys("a-base", "b-delta");
+  }
+
+  @Test
+  public void testDeleteUnused_deletesBasesOfUnusedDeltas_inSameRun() {
+    store("a-base", 2 * GRACE_MINUTES, null, false);
+    store("b-delta", 2 * GRACE_MINUTES, "a-base", false);
+    store("c-delta", 2 * GRACE_MINUTES, "b-delta", false);
+
+    service.deleteUnused();
+
+    assertThat(contents).isEmpty();
+  }
+
+  private void store(String sha, int minutesAgo, String baseSha, boolean usedByVersion) {
+    var storedAt = LocalDateTime.now().minusMinutes(minutesAgo);
+    contents.put(sha, new StoredContents(storedAt, baseSha, usedByVersion));
+  }
+
+  private boolean isUnused(String sha, LocalDateTime storedBefore) {
+    var stored = contents.get(sha);
+    return stored != null
+        && stored.storedAt.isBefore(storedBefore)
+        && !stored.usedByVersion
+        && contents.values().stream().noneMatch(other -> sha.equals(other.baseSha));
+  }
+
+  private record StoredContents(LocalDateTime storedAt, String baseSha, boolean usedByVersion) {
+  }
+}
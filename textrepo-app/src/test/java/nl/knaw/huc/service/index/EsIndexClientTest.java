@@ -16,6 +16,7 @@ import org.mockserver.integration.ClientAndServer;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockserver.model.HttpRequest.request;
@@ -88,4 +89,41 @@ public class EsIndexClientTest {
     mockServer.verify(request, once());
   }
 
+  @Test
+  public void getContentsShas_returnsStoredShaOfFoundDocs() {
+    var withSha = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    var withoutSha = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    var notFound = UUID.fromString("33333333-3333-3333-3333-333333333333");
+    mockServer.when(
+        request().withPath("/_mget"))
+              .respond(
+        response()
+            .withStatusCode(200)
+            .withBody("{\"docs\": ["
+                + "{\"_index\": \"foo\", \"_type\": \"_doc\", \"_id\": \"" + withSha + "\", "
+                + "\"_version\": 1, \"_seq_no\": 0, \"_primary_term\": 1, \"found\": true, "
+                + "\"_source\": {\"textRepoContentsSha\": \"abc\"}}, "
+                + "{\"_index\": \"foo\", \"_type\": \"_doc\", \"_id\": \"" + withoutSha + "\", "
+                + "\"_version\": 1, \"_seq_no\": 1, \"_primary_term\": 1, \"found\": true, "
+                + "\"_source\": {}}, "
+                + "{\"_index\": \"foo\", \"_type\": \"_doc\", \"_id\": \"" + notFound + "\", "
+                + "\"found\": false}"
+                + "]}")
+            .withHeader("Content-Type", "application/json")
+    );
+
+    var config = new ElasticsearchConfiguration();
+    config.hosts = List.of("localhost");
+    config.index = "foo";
+    var client = new EsIndexClient(config);
+
+    var result = client.getContentsShas(List.of(withSha, withoutSha, notFound));
+
+    assertThat(result).hasSize(2);
+    assertThat(result.get(withSha)).isEqualTo("abc");
+    assertThat(result).containsKey(withoutSha);
+    assertThat(result.get(withoutSha)).isNull();
+    assertThat(result).doesNotContainKey(notFound);
+  }
+
 }
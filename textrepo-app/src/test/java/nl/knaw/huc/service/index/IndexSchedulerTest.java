@@ -0,0 +1,105 @@
+package nl.knaw.huc.service.index;
+
+import com.codahale.metrics.MetricRegistry;
+import nl.knaw.huc.config.IndexSchedulerConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static nl.knaw.huc.service.index.IndexLane.BULK;
+import static nl.knaw.huc.service.index.IndexLane.INTERACTIVE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IndexSchedulerTest {
+
+  private MetricRegistry metrics;
+  private IndexScheduler scheduler;
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void before() {
+    var config = new IndexSchedulerConfiguration();
+    config.interactiveConcurrency = 1;
+    config.bulkConcurrency = 1;
+    metrics = new MetricRegistry();
+    scheduler = new IndexScheduler(config, metrics);
+    executor = Executors.newFixedThreadPool(3);
+  }
+
+  @AfterEach
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void run_shouldNotStartBulk_whenInteractiveIsWaiting() throws Exception {
+    var started = new CopyOnWriteArrayList<String>();
+    var releaseFirst = new CountDownLatch(1);
+
+    executor.submit(() -> scheduler.run(INTERACTIVE, () -> {
+      started.add("first");
+      await(releaseFirst);
+    }));
+    waitUntil(() -> scheduler.getRunning(INTERACTIVE) == 1);
+
+    executor.submit(() -> scheduler.run(INTERACTIVE, () -> started.add("second")));
+    waitUntil(() -> scheduler.getQueued(INTERACTIVE) == 1);
+
+    var bulkDone = new CountDownLatch(1);
+    executor.submit(() -> scheduler.run(BULK, () -> {
+      started.add("bulk");
+      bulkDone.countDown();
+    }));
+    waitUntil(() -> scheduler.getQueued(BULK) == 1);
+
+    assertThat(scheduler.getRunning(BULK)).isEqualTo(0);
+    assertThat(started).isEqualTo(List.of("first"));
+
+    releaseFirst.countDown();
+    assertThat(bulkDone.await(5, TimeUnit.SECONDS)).isTrue();
+    waitUntil(() -> started.size() == 3);
+    assertThat(started).containsExactlyInAnyOrder("first", "second", "bulk");
+  }
+
+  @Test
+  public void run_shouldRegisterMetricsPerLane() {
+    scheduler.run(BULK, () -> {
+    });
+
+    assertThat(metrics.getGauges()).containsKeys(
+        "nl.knaw.huc.service.index.IndexScheduler.interactive.queued",
+        "nl.knaw.huc.service.index.IndexScheduler.interactive.running",
+        "nl.knaw.huc.service.index.IndexScheduler.bulk.queued",
+        "nl.knaw.huc.service.index.IndexScheduler.bulk.running"
+    );
+    assertThat(metrics.timer("nl.knaw.huc.service.index.IndexScheduler.bulk.wait").getCount())
+        .isEqualTo(1);
+    assertThat(metrics.timer("nl.knaw.huc.service.index.IndexScheduler.interactive.wait")
+                      .getCount())
+        .isEqualTo(0);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    var deadline = System.currentTimeMillis() + 5000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+}
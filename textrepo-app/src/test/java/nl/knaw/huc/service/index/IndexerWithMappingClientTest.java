@@ -1,5 +1,6 @@
 package nl.knaw.huc.service.index;
 
+import nl.knaw.huc.core.Contents;
 import nl.knaw.huc.core.TextRepoFile;
 import nl.knaw.huc.core.Type;
 import nl.knaw.huc.service.type.TypeService;
@@ -20,6 +21,7 @@ import java.io.IOException;
 import java.util.UUID;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static nl.knaw.huc.resources.TestUtils.getResourceAsString;
 import static nl.knaw.huc.service.index.FieldsType.MULTIPART;
@@ -117,7 +119,7 @@ public class IndexerWithMappingClientTest {
         .withBody(jsonSchema(getResourceAsString("fields/fields.schema.json")));
     mockIndexFieldsResponse(putFileRequest);
 
-    indexer.index(file.getId(), testType.getMimetype(), getResourceAsString("fields/file.xml"));
+    indexer.index(file.getId(), testType.getMimetype(), fileContents());
 
     mockServer.verify(postDoc2FieldsRequest, once());
     mockIndexServer.verify(putFileRequest, once());
@@ -153,12 +155,16 @@ public class IndexerWithMappingClientTest {
         .withPath(format("/%s/_doc/%s", config.elasticsearch.index, file.getId()));
     mockIndexFieldsResponse(putFileRequest);
 
-    indexService.index(file.getId(), testType.getMimetype(), getResourceAsString("fields/file.xml"));
+    indexService.index(file.getId(), testType.getMimetype(), fileContents());
 
     mockServer.verify(postDoc2FieldsRequest, once());
     mockIndexServer.verify(putFileRequest, once());
   }
 
+  private static Contents fileContents() throws IOException {
+    return Contents.fromBytes(getResourceAsString("fields/file.xml").getBytes(UTF_8));
+  }
+
   private JdbiIndexService createIndexService(IndexerWithMappingConfiguration config) {
     var indexer = new IndexerWithMappingClient(config);
     var index = new EsIndexClient(config.elasticsearch);
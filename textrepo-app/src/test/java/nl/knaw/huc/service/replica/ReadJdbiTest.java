@@ -0,0 +1,42 @@
+package nl.knaw.huc.service.replica;
+
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ReadJdbiTest {
+
+  private static final Jdbi PRIMARY = mock(Jdbi.class);
+  private static final Jdbi REPLICA = mock(Jdbi.class);
+
+  @AfterEach
+  public void clearReadPrimary() {
+    ReadJdbi.clearReadPrimary();
+  }
+
+  @Test
+  public void testGet_returnsReplica_whenAvailable() {
+    assertThat(new ReadJdbi(PRIMARY, REPLICA).get()).isSameAs(REPLICA);
+  }
+
+  @Test
+  public void testGet_returnsPrimary_whenNoReplica() {
+    assertThat(new ReadJdbi(PRIMARY, null).get()).isSameAs(PRIMARY);
+  }
+
+  @Test
+  public void testGet_returnsPrimary_whenThreadShouldReadPrimary() {
+    ReadJdbi.setReadPrimary(true);
+    assertThat(new ReadJdbi(PRIMARY, REPLICA).get()).isSameAs(PRIMARY);
+  }
+
+  @Test
+  public void testGet_returnsReplica_whenReadPrimaryIsCleared() {
+    ReadJdbi.setReadPrimary(true);
+    ReadJdbi.clearReadPrimary();
+    assertThat(new ReadJdbi(PRIMARY, REPLICA).get()).isSameAs(REPLICA);
+  }
+}
@@ -0,0 +1,152 @@
+package nl.knaw.huc.service.task;
+
+import nl.knaw.huc.core.Document;
+import nl.knaw.huc.db.RegisterIdentifiersDao;
+import org.jdbi.v3.core.Handle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RegisterIdentifiersTest {
+
+  private final Handle transaction = mock(Handle.class);
+  private final RegisterIdentifiersDao dao = mock(RegisterIdentifiersDao.class);
+  private final CopyIn copyIn = mock(CopyIn.class);
+  private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+
+  @BeforeEach
+  public void setup() throws SQLException {
+    var connection = mock(Connection.class);
+    var pgConnection = mock(PGConnection.class);
+    var copyManager = mock(CopyManager.class);
+    when(transaction.attach(RegisterIdentifiersDao.class)).thenReturn(dao);
+    when(transaction.getConnection()).thenReturn(connection);
+    when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+    when(copyManager.copyIn(any(String.class))).thenReturn(copyIn);
+    doAnswer(invocation -> {
+      byte[] bytes = invocation.getArgument(0);
+      copied.write(bytes, invocation.getArgument(1), invocation.getArgument(2));
+      return null;
+    }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+  }
+
+  @Test
+  public void testExecuteIn_copiesRowsInOrderOfExternalIds() {
+    var ids = ids(3);
+
+    register(Stream.of("document_1", "document_2", "document_1"), ids);
+
+    assertThat(copied.toString(UTF_8)).isEqualTo(
+        ids.get(0) + "\tdocument_1\n"
+            + ids.get(1) + "\tdocument_2\n"
+            + ids.get(2) + "\tdocument_1\n");
+  }
+
+  @Test
+  public void testExecuteIn_escapesDelimitersOfCopyTextFormat() {
+    var ids = ids(4);
+
+    register(Stream.of("tab\there", "back\\slash", "new\nline", "carriage\rreturn"), ids);
+
+    assertThat(copied.toString(UTF_8)).isEqualTo(
+        ids.get(0) + "\ttab\\there\n"
+            + ids.get(1) + "\tback\\\\slash\n"
+            + ids.get(2) + "\tnew\\nline\n"
+            + ids.get(3) + "\tcarriage\\rreturn\n");
+  }
+
+  @Test
+  public void testExecuteIn_copiesInChunks() throws SQLException {
+    var count = 10_000;
+    var externalIds = IntStream.range(0, count).mapToObj(i -> "document_" + i);
+
+    register(externalIds, ids(count));
+
+    var rows = copied.toString(UTF_8).lines().toList();
+    assertThat(rows).hasSize(count);
+    assertThat(rows.get(count - 1)).endsWith("\tdocument_" + (count - 1));
+    verify(copyIn, atLeast(2)).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    verify(copyIn).endCopy();
+  }
+
+  @Test
+  public void testExecuteIn_analyzesCopiedRows_beforeInsertingUnregistered() throws SQLException {
+    register(Stream.of("document_1"), ids(1));
+
+    InOrder inOrder = inOrder(dao, copyIn);
+    inOrder.verify(dao).createTable();
+    inOrder.verify(copyIn).endCopy();
+    inOrder.verify(dao).analyzeTable();
+    inOrder.verify(dao).insertUnregistered();
+    inOrder.verify(dao).foreachRegistered(any());
+  }
+
+  @Test
+  public void testExecuteIn_passesRegisteredDocumentsToConsumer() {
+    var existing = new Document(UUID.randomUUID(), "document_1", now());
+    var created = new Document(UUID.randomUUID(), "document_2", now());
+    doAnswer(invocation -> {
+      Consumer<Document> consumer = invocation.getArgument(0);
+      List.of(existing, created, existing).forEach(consumer);
+      return null;
+    }).when(dao).foreachRegistered(any());
+
+    var registered = register(Stream.of("document_1", "document_2", "document_1"), ids(3));
+
+    assertThat(registered).containsExactly(existing, created, existing);
+  }
+
+  @Test
+  public void testExecuteIn_cancelsCopy_whenCopyFails() throws SQLException {
+    when(copyIn.isActive()).thenReturn(true);
+    doThrow(new SQLException("copy failed")).when(copyIn).endCopy();
+
+    assertThatThrownBy(() -> register(Stream.of("document_1"), ids(1)))
+        .isInstanceOf(IllegalStateException.class);
+    verify(copyIn).cancelCopy();
+    verify(dao, never()).insertUnregistered();
+  }
+
+  private List<Document> register(Stream<String> externalIds, List<UUID> ids) {
+    var registered = new ArrayList<Document>();
+    Iterator<UUID> idIterator = ids.iterator();
+    Supplier<UUID> idGenerator = idIterator::next;
+    new RegisterIdentifiers(externalIds, idGenerator, registered::add).executeIn(transaction);
+    return registered;
+  }
+
+  private static List<UUID> ids(int count) {
+    return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+  }
+}
@@ -0,0 +1,177 @@
+package nl.knaw.huc.service.task.deleter;
+
+import nl.knaw.huc.api.ResultDeleteDocuments;
+import nl.knaw.huc.core.DeleteDocumentsFilter;
+import nl.knaw.huc.core.Document;
+import nl.knaw.huc.core.MetadataCondition;
+import nl.knaw.huc.db.DeleteDocumentsDao;
+import nl.knaw.huc.service.index.IndexService;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.ws.rs.BadRequestException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JdbiDeleteDocumentsTaskBuilderTest {
+
+  private final Jdbi jdbi = mock(Jdbi.class);
+  private final Handle handle = mock(Handle.class);
+  private final DeleteDocumentsDao dao = mock(DeleteDocumentsDao.class);
+  private final IndexService indexService = mock(IndexService.class);
+
+  @BeforeEach
+  public void setup() {
+    when(jdbi.onDemand(DeleteDocumentsDao.class)).thenReturn(dao);
+    when(jdbi.inTransaction(any())).thenAnswer(invocation ->
+        invocation.<HandleCallback<?, ?>>getArgument(0).withHandle(handle));
+    when(handle.attach(DeleteDocumentsDao.class)).thenReturn(dao);
+    when(dao.deleteDocuments(anyList())).thenAnswer(invocation ->
+        invocation.<List<UUID>>getArgument(0).size());
+  }
+
+  @Test
+  public void testBuild_throwsBadRequest_whenNoFilterIsSet() {
+    assertThatThrownBy(() -> new JdbiDeleteDocumentsTaskBuilder(jdbi, indexService).build())
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  public void testRun_findsDocumentsMatchingEverySelector() {
+    var conditions = ArgumentCaptor.forClass(String.class);
+    var filter = ArgumentCaptor.forClass(DeleteDocumentsFilter.class);
+    when(dao.findBatch(conditions.capture(), filter.capture(), any(), anyInt()))
+        .thenReturn(List.of());
+
+    new JdbiDeleteDocumentsTaskBuilder(jdbi, indexService)
+        .forExternalIds(List.of("document_1", "document_2"))
+        .forExternalIdPrefix("document_")
+        .forMetadata(new MetadataCondition("archive", null, null, "ING"))
+        .build()
+        .run();
+
+    assertThat(filter.getValue().getExternalIds()).containsExactly("document_1", "document_2");
+    assertThat(filter.getValue().getExternalIdPrefix()).isEqualTo("document_");
+    assertThat(filter.getValue().getExternalIdPrefixUpper()).isEqualTo("document`");
+    assertThat(filter.getValue().getMetadataKey()).isEqualTo("archive");
+    assertThat(filter.getValue().getMetadataValue()).isNull();
+    assertThat(filter.getValue().getMetadataValuePattern()).isEqualTo("%ING%");
+    assertThat(conditions.getValue())
+        .contains("d.external_id = ANY(:externalIds)")
+        .contains("d.external_id ~>=~ :externalIdPrefix")
+        .contains("d.external_id ~<~ :externalIdPrefixUpper")
+        .contains("m.key = :metadataKey")
+        .contains("m.value LIKE :metadataValuePattern")
+        .doesNotContain(":metadataValue)");
+  }
+
+  @Test
+  public void testRun_onlyHasConditionsOfFiltersThatAreSet() {
+    var conditions = ArgumentCaptor.forClass(String.class);
+    when(dao.findBatch(conditions.capture(), any(), any(), anyInt())).thenReturn(List.of());
+
+    new JdbiDeleteDocumentsTaskBuilder(jdbi, indexService)
+        .forExternalIds(List.of("document_1"))
+        .build()
+        .run();
+
+    assertThat(conditions.getValue())
+        .isEqualTo(" AND d.external_id = ANY(:externalIds)");
+  }
+
+  @Test
+  public void testRun_deletesBatchesAfterLastIdOfPreviousBatch() {
+    var batch1 = createDocuments(1000);
+    var batch2 = createDocuments(10);
+    var lastId1 = batch1.get(999).getId();
+    var lastId2 = batch2.get(9).getId();
+    when(dao.findBatch(any(), any(), isNull(), eq(1000))).thenReturn(batch1);
+    when(dao.findBatch(any(), any(), eq(lastId1), eq(1000))).thenReturn(batch2);
+    when(dao.findBatch(any(), any(), eq(lastId2), eq(1000))).thenReturn(List.of());
+    var fileIds1 = List.of(UUID.randomUUID(), UUID.randomUUID());
+    var fileIds2 = List.of(UUID.randomUUID());
+    when(dao.deleteFiles(ids(batch1))).thenReturn(fileIds1);
+    when(dao.deleteFiles(ids(batch2))).thenReturn(fileIds2);
+
+    var result = deleteByPrefix(true);
+
+    verify(dao).deleteDocuments(ids(batch1));
+    verify(dao).deleteDocuments(ids(batch2));
+    verify(indexService).delete(fileIds1);
+    verify(indexService).delete(fileIds2);
+    assertThat(result.getDocuments()).isEqualTo(1010);
+    assertThat(result.getFiles()).isEqualTo(3);
+    assertThat(result.getIndexFailures()).isZero();
+  }
+
+  @Test
+  public void testRun_countsIndexFailures_andContinues() {
+    var batch1 = createDocuments(1000);
+    var batch2 = createDocuments(1);
+    when(dao.findBatch(any(), any(), isNull(), anyInt())).thenReturn(batch1);
+    when(dao.findBatch(any(), any(), eq(batch1.get(999).getId()), anyInt())).thenReturn(batch2);
+    when(dao.findBatch(any(), any(), eq(batch2.get(0).getId()), anyInt())).thenReturn(List.of());
+    var fileIds1 = List.of(UUID.randomUUID(), UUID.randomUUID());
+    var fileIds2 = List.of(UUID.randomUUID());
+    when(dao.deleteFiles(ids(batch1))).thenReturn(fileIds1);
+    when(dao.deleteFiles(ids(batch2))).thenReturn(fileIds2);
+    doThrow(new IllegalStateException("index down")).when(indexService).delete(fileIds1);
+
+    var result = deleteByPrefix(true);
+
+    verify(indexService).delete(fileIds2);
+    assertThat(result.getDocuments()).isEqualTo(1001);
+    assertThat(result.getIndexFailures()).isEqualTo(2);
+  }
+
+  @Test
+  public void testRun_doesNotDeleteFromIndices_whenIndexingIsDisabled() {
+    var batch = createDocuments(1);
+    when(dao.findBatch(any(), any(), isNull(), anyInt())).thenReturn(batch);
+    when(dao.findBatch(any(), any(), eq(batch.get(0).getId()), anyInt())).thenReturn(List.of());
+    when(dao.deleteFiles(anyList())).thenReturn(List.of(UUID.randomUUID()));
+
+    var result = deleteByPrefix(false);
+
+    verify(indexService, never()).delete(anyList());
+    assertThat(result.getFiles()).isEqualTo(1);
+  }
+
+  private ResultDeleteDocuments deleteByPrefix(boolean indexing) {
+    return new JdbiDeleteDocumentsTaskBuilder(jdbi, indexService)
+        .forExternalIdPrefix("document_")
+        .withIndexing(indexing)
+        .build()
+        .run();
+  }
+
+  private static List<Document> createDocuments(int count) {
+    return IntStream
+        .range(0, count)
+        .mapToObj(i -> new Document(UUID.randomUUID(), "document_" + i, LocalDateTime.now()))
+        .toList();
+  }
+
+  private static List<UUID> ids(List<Document> documents) {
+    return documents.stream().map(Document::getId).toList();
+  }
+}
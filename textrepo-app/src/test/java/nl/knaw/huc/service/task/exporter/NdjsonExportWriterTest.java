@@ -0,0 +1,65 @@
+package nl.knaw.huc.service.task.exporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.knaw.huc.core.ExportRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NdjsonExportWriterTest {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  @Test
+  public void testWrite_writesTextAsString() throws IOException {
+    var contents = "hëllo wörld".getBytes(UTF_8);
+
+    var json = write("text/plain", contents);
+
+    assertThat(json.has("contentsEncoding")).isFalse();
+    assertThat(json.get("contents").asText()).isEqualTo("hëllo wörld");
+  }
+
+  @Test
+  public void testWrite_writesBase64_whenTextIsNotUtf8() throws IOException {
+    var contents = new byte[] {'a', (byte) 0xe9, 'b', (byte) 0xff};
+
+    var json = write("text/plain", contents);
+
+    assertThat(json.get("contentsEncoding").asText()).isEqualTo("base64");
+    assertThat(Base64.getDecoder().decode(json.get("contents").asText())).isEqualTo(contents);
+  }
+
+  @Test
+  public void testWrite_writesBase64_whenTypeIsNotText() throws IOException {
+    var contents = "%PDF-1.4".getBytes(UTF_8);
+
+    var json = write("application/pdf", contents);
+
+    assertThat(json.get("contentsEncoding").asText()).isEqualTo("base64");
+    assertThat(Base64.getDecoder().decode(json.get("contents").asText())).isEqualTo(contents);
+  }
+
+  private static JsonNode write(String mimetype, byte[] contents) throws IOException {
+    var record = new ExportRecord(UUID.randomUUID(), "document_1234", LocalDateTime.now(), "{}",
+        UUID.randomUUID(), (short) 1, "type", mimetype, "{}",
+        UUID.randomUUID(), LocalDateTime.now(), "sha", contents);
+    var output = new ByteArrayOutputStream();
+
+    var writer = new NdjsonExportWriter(output, false);
+    writer.write(record);
+    writer.finish();
+
+    var ndjson = output.toString(UTF_8);
+    assertThat(ndjson).endsWith("\n").hasLineCount(1);
+    return mapper.readTree(ndjson);
+  }
+}
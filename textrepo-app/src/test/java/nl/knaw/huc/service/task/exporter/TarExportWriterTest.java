@@ -0,0 +1,68 @@
+package nl.knaw.huc.service.task.exporter;
+
+import nl.knaw.huc.core.ExportRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static nl.knaw.huc.service.task.exporter.TarExportWriter.BLOCK_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TarExportWriterTest {
+
+  @Test
+  public void testHeader_hasValidChecksum() {
+    var header = TarExportWriter.header("doc/file.json", 1234, 1618563783L);
+
+    var expected = 0L;
+    for (int i = 0; i < BLOCK_SIZE; i++) {
+      expected += (i >= 148 && i < 156) ? ' ' : header[i] & 0xff;
+    }
+    assertThat(field(header, 148, 6)).isEqualTo(String.format("%06o", expected));
+    assertThat(field(header, 124, 11)).isEqualTo(String.format("%011o", 1234));
+    assertThat(field(header, 257, 5)).isEqualTo("ustar");
+  }
+
+  @Test
+  public void testWrite_writesJsonAndContentsEntries_paddedToBlocks() throws IOException {
+    var docId = UUID.randomUUID();
+    var fileId = UUID.randomUUID();
+    var contents = "hello world".getBytes(UTF_8);
+    var record = new ExportRecord(docId, "document_1234", LocalDateTime.now(), "{\"a\":\"b\"}",
+        fileId, (short) 1, "plaintext", "text/plain", "{}",
+        UUID.randomUUID(), LocalDateTime.now(), "sha", contents);
+    var output = new ByteArrayOutputStream();
+
+    var writer = new TarExportWriter(output, false);
+    writer.write(record);
+    writer.finish();
+
+    var tar = output.toByteArray();
+    assertThat(tar.length % BLOCK_SIZE).isZero();
+    assertThat(field(tar, 0, 100).trim()).isEqualTo(docId + "/" + fileId + ".json");
+
+    var jsonSize = Integer.parseInt(field(tar, 124, 11), 8);
+    var json = new String(tar, BLOCK_SIZE, jsonSize, UTF_8);
+    assertThat(json).contains("\"externalId\":\"document_1234\"", "\"metadata\":{\"a\":\"b\"}");
+
+    var contentsHeader = BLOCK_SIZE + ((jsonSize + BLOCK_SIZE - 1) / BLOCK_SIZE) * BLOCK_SIZE;
+    assertThat(field(tar, contentsHeader, 100).trim()).isEqualTo(docId + "/" + fileId);
+    var contentsStart = contentsHeader + BLOCK_SIZE;
+    assertThat(Arrays.copyOfRange(tar, contentsStart, contentsStart + contents.length))
+        .isEqualTo(contents);
+
+    // two empty blocks at end of archive:
+    assertThat(Arrays.copyOfRange(tar, tar.length - 2 * BLOCK_SIZE, tar.length))
+        .containsOnly(0);
+  }
+
+  private static String field(byte[] bytes, int offset, int length) {
+    return new String(bytes, offset, length, US_ASCII).replace("\0", "");
+  }
+}
@@ -0,0 +1,160 @@
+package nl.knaw.huc.service.task.importer;
+
+import nl.knaw.huc.api.FormBulkMetadataEntry;
+import nl.knaw.huc.api.ResultMetadataImport;
+import nl.knaw.huc.core.MetadataOwner;
+import nl.knaw.huc.db.BulkMetadataDao;
+import nl.knaw.huc.service.index.IndexService;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.HandleCallback;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JdbiImportMetadataTaskBuilderTest {
+
+  private final Jdbi jdbi = mock(Jdbi.class);
+  private final Handle handle = mock(Handle.class);
+  private final BulkMetadataDao dao = mock(BulkMetadataDao.class);
+  private final IndexService indexService = mock(IndexService.class);
+
+  private final List<List<String>> upsertedChunks = new ArrayList<>();
+
+  @BeforeEach
+  public void setup() {
+    when(jdbi.inTransaction(any())).thenAnswer(invocation ->
+        invocation.<HandleCallback<?, ?>>getArgument(0).withHandle(handle));
+    when(handle.attach(BulkMetadataDao.class)).thenReturn(dao);
+    when(dao.upsertDocumentMetadataByExternalId(anyList())).thenAnswer(invocation -> {
+      List<FormBulkMetadataEntry> entries = invocation.getArgument(0);
+      upsertedChunks.add(entries.stream().map(e -> e.externalId).toList());
+      // documents starting with 'unknown' do not exist:
+      return entries.stream().mapToInt(e -> e.externalId.startsWith("unknown") ? 0 : 1).toArray();
+    });
+  }
+
+  @Test
+  public void testRun_upsertsEntriesInChunks() {
+    var result = importDocumentMetadata(2500, true);
+
+    assertThat(upsertedChunks).extracting(List::size).containsExactly(1000, 1000, 500);
+    assertThat(upsertedChunks.get(2)).endsWith("document_2499");
+    assertThat(result.getUpserted()).isEqualTo(2500);
+    assertThat(result.getNotFound()).isZero();
+  }
+
+  @Test
+  public void testRun_reportsLinesOfEntriesNotFound() {
+    var ndjson = entry("document_0") + entry("unknown_1") + entry("document_2")
+        + entry("unknown_3");
+
+    var result = importDocumentMetadata(ndjson, true);
+
+    assertThat(result.getUpserted()).isEqualTo(2);
+    assertThat(result.getNotFound()).isEqualTo(2);
+    assertThat(result.getNotFoundLines()).containsExactly(2L, 4L);
+  }
+
+  @Test
+  public void testRun_upsertsEntriesByIdAndByExternalIdSeparately_inOrder() {
+    var id1 = UUID.randomUUID();
+    var id2 = UUID.randomUUID();
+    var upsertedIds = new ArrayList<List<UUID>>();
+    when(dao.upsertDocumentMetadataById(anyList())).thenAnswer(invocation -> {
+      List<FormBulkMetadataEntry> entries = invocation.getArgument(0);
+      upsertedIds.add(entries.stream().map(e -> e.id).toList());
+      // document with id2 does not exist:
+      return entries.stream().mapToInt(e -> e.id.equals(id2) ? 0 : 1).toArray();
+    });
+    var ndjson = entry("document_0") + entry(id1) + entry(id2) + entry("unknown_3")
+        + entry("document_4");
+
+    var result = importDocumentMetadata(ndjson, true);
+
+    assertThat(upsertedChunks).containsExactly(
+        List.of("document_0"),
+        List.of("unknown_3", "document_4")
+    );
+    assertThat(upsertedIds).containsExactly(List.of(id1, id2));
+    assertThat(result.getUpserted()).isEqualTo(3);
+    assertThat(result.getNotFoundLines()).containsExactly(3L, 4L);
+  }
+
+  @Test
+  public void testRun_indexesEveryAffectedFileOncePerChunk() {
+    var fileId1 = UUID.randomUUID();
+    var fileId2 = UUID.randomUUID();
+    when(dao.findFileIdsOfDocuments(anyList(), anyList())).thenReturn(List.of(fileId1, fileId2));
+
+    importDocumentMetadata(1500, true);
+
+    verify(dao, times(2)).findFileIdsOfDocuments(anyList(), anyList());
+    verify(indexService, times(2)).index(fileId1);
+    verify(indexService, times(2)).index(fileId2);
+  }
+
+  @Test
+  public void testRun_doesNotIndex_whenFileChangesAreIndexed() {
+    importDocumentMetadata(10, false);
+
+    verify(dao, never()).findFileIdsOfDocuments(anyList(), anyList());
+    verify(indexService, never()).index(any(UUID.class));
+  }
+
+  @Test
+  public void testRun_throwsBadRequest_whenEntryIsInvalid() {
+    var ndjson = entry("document_0") + "{\"externalId\":\"document_1\",\"key\":\"k\"}\n";
+
+    assertThatThrownBy(() -> importDocumentMetadata(ndjson, true))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("line 2");
+    verify(dao, never()).upsertDocumentMetadataByExternalId(anyList());
+  }
+
+  private ResultMetadataImport importDocumentMetadata(
+      int count,
+      boolean indexAffectedFiles
+  ) {
+    var ndjson = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      ndjson.append(entry("document_" + i));
+    }
+    return importDocumentMetadata(ndjson.toString(), indexAffectedFiles);
+  }
+
+  private ResultMetadataImport importDocumentMetadata(
+      String ndjson,
+      boolean indexAffectedFiles
+  ) {
+    return new JdbiImportMetadataTaskBuilder(jdbi, indexService, indexAffectedFiles)
+        .forOwner(MetadataOwner.DOCUMENT)
+        .withEntries(new ByteArrayInputStream(ndjson.getBytes(UTF_8)))
+        .build()
+        .run();
+  }
+
+  private static String entry(UUID id) {
+    return "{\"id\":\"" + id + "\",\"key\":\"k\",\"value\":\"v\"}\n";
+  }
+
+  private static String entry(String externalId) {
+    return "{\"externalId\":\"" + externalId + "\",\"key\":\"k\",\"value\":\"v\"}\n";
+  }
+}